@@ -0,0 +1,253 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.benchmark;
+
+import static com.amazon.ion.IonType.LIST;
+import static com.amazon.ion.IonType.STRUCT;
+
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.Timestamp;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * Synthetic data shapes used to parameterize the benchmarks.
+ * <p>
+ * Each corpus is generated deterministically from a fixed seed so that results are comparable across runs and
+ * across versions of the library. Symbols (field names, annotations and symbol values) are always drawn from
+ * {@link #VOCABULARY} so that writers that operate on symbol IDs can resolve them up front.
+ */
+public enum Corpus
+{
+    /** Many small, shallow structs with a mix of scalar types--the typical record stream. */
+    FLAT_STRUCTS(20000)
+    {
+        @Override
+        void generateValue(final Random random, final Emitter out) throws IOException
+        {
+            out.writer.stepIn(STRUCT);
+            for (int i = 0; i < 12; i++)
+            {
+                out.fieldName(i);
+                writeScalar(random, out, i);
+            }
+            out.writer.stepOut();
+        }
+    },
+
+    /** Fewer values, each a deeply nested tree of structs and lists. */
+    DEEP_STRUCTS(2000)
+    {
+        @Override
+        void generateValue(final Random random, final Emitter out) throws IOException
+        {
+            writeTree(random, out, 12);
+        }
+
+        private void writeTree(final Random random, final Emitter out, final int depth) throws IOException
+        {
+            if (depth == 0)
+            {
+                writeScalar(random, out, random.nextInt(8));
+                return;
+            }
+            final boolean isStruct = (depth & 1) == 0;
+            out.writer.stepIn(isStruct ? STRUCT : LIST);
+            for (int i = 0; i < 2; i++)
+            {
+                if (isStruct)
+                {
+                    out.fieldName(depth + i);
+                }
+                writeTree(random, out, depth - 1);
+            }
+            out.writer.stepOut();
+        }
+    },
+
+    /** Structs dominated by annotations, field names and symbol values. */
+    SYMBOL_HEAVY(20000)
+    {
+        @Override
+        void generateValue(final Random random, final Emitter out) throws IOException
+        {
+            out.annotation(random.nextInt(VOCABULARY.length));
+            out.writer.stepIn(STRUCT);
+            for (int i = 0; i < 16; i++)
+            {
+                out.fieldName(random.nextInt(VOCABULARY.length));
+                out.symbolValue(random.nextInt(VOCABULARY.length));
+            }
+            out.writer.stepOut();
+        }
+    },
+
+    /** Structs dominated by string values of varying length, including non-ASCII content. */
+    STRING_HEAVY(10000)
+    {
+        @Override
+        void generateValue(final Random random, final Emitter out) throws IOException
+        {
+            out.writer.stepIn(STRUCT);
+            for (int i = 0; i < 8; i++)
+            {
+                out.fieldName(i);
+                out.writer.writeString(randomString(random, 8 + random.nextInt(120)));
+            }
+            out.writer.stepOut();
+        }
+    },
+
+    /** A small number of large blobs. */
+    LARGE_BLOBS(64)
+    {
+        @Override
+        void generateValue(final Random random, final Emitter out) throws IOException
+        {
+            final byte[] data = new byte[64 * 1024];
+            random.nextBytes(data);
+            out.writer.writeBlob(data);
+        }
+    };
+
+    /** The symbols used by all corpora. */
+    public static final String[] VOCABULARY;
+    static
+    {
+        VOCABULARY = new String[64];
+        for (int i = 0; i < VOCABULARY.length; i++)
+        {
+            VOCABULARY[i] = "symbol_" + i;
+        }
+    }
+
+    private static final long SEED = 0x10FEEDL;
+
+    private static final String ALPHABET =
+        "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 \u00e9\u00fc\u4e2d\u6587";
+
+    private final int topLevelValueCount;
+
+    private Corpus(final int topLevelValueCount)
+    {
+        this.topLevelValueCount = topLevelValueCount;
+    }
+
+    /**
+     * Adapts an {@link IonWriter} for symbolic content, allowing the same generation logic to drive writers that
+     * operate on symbol text as well as those that operate on symbol IDs.
+     */
+    public static abstract class Emitter
+    {
+        public final IonWriter writer;
+
+        protected Emitter(final IonWriter writer)
+        {
+            this.writer = writer;
+        }
+
+        /** Sets the field name to the given index into {@link #VOCABULARY}. */
+        public abstract void fieldName(int symbol);
+
+        /** Adds an annotation for the given index into {@link #VOCABULARY}. */
+        public abstract void annotation(int symbol);
+
+        /** Writes a symbol value for the given index into {@link #VOCABULARY}. */
+        public abstract void symbolValue(int symbol) throws IOException;
+    }
+
+    /** Returns an {@link Emitter} that writes symbols by their text. */
+    public static Emitter textEmitter(final IonWriter writer)
+    {
+        return new Emitter(writer)
+        {
+            @Override
+            public void fieldName(final int symbol)
+            {
+                writer.setFieldName(VOCABULARY[symbol]);
+            }
+
+            @Override
+            public void annotation(final int symbol)
+            {
+                writer.addTypeAnnotation(VOCABULARY[symbol]);
+            }
+
+            @Override
+            public void symbolValue(final int symbol) throws IOException
+            {
+                writer.writeSymbol(VOCABULARY[symbol]);
+            }
+        };
+    }
+
+    abstract void generateValue(Random random, Emitter out) throws IOException;
+
+    /** Writes all of the top-level values of this corpus, without finishing the writer. */
+    public final void generate(final Emitter out) throws IOException
+    {
+        final Random random = new Random(SEED);
+        for (int i = 0; i < topLevelValueCount; i++)
+        {
+            generateValue(random, out);
+        }
+    }
+
+    private static void writeScalar(final Random random, final Emitter out, final int kind) throws IOException
+    {
+        final IonWriter writer = out.writer;
+        switch (kind % 8)
+        {
+            case 0:
+                writer.writeInt(random.nextInt(1000));
+                break;
+            case 1:
+                writer.writeInt(random.nextLong());
+                break;
+            case 2:
+                writer.writeFloat(random.nextDouble());
+                break;
+            case 3:
+                writer.writeDecimal(BigDecimal.valueOf(random.nextInt(10000000), 2));
+                break;
+            case 4:
+                writer.writeTimestamp(Timestamp.forMillis(1500000000000L + random.nextInt(Integer.MAX_VALUE), 0));
+                break;
+            case 5:
+                writer.writeString(randomString(random, 4 + random.nextInt(20)));
+                break;
+            case 6:
+                out.symbolValue(random.nextInt(VOCABULARY.length));
+                break;
+            default:
+                writer.writeBool(random.nextBoolean());
+                break;
+        }
+    }
+
+    private static String randomString(final Random random, final int length)
+    {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+        {
+            // bias heavily towards ASCII which is the common case
+            final int bound = random.nextInt(16) == 0 ? ALPHABET.length() : ALPHABET.length() - 4;
+            builder.append(ALPHABET.charAt(random.nextInt(bound)));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.benchmark;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.IonTextWriterBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shared, read-only benchmark state holding a {@link Corpus} in each of the representations the benchmarks consume.
+ */
+@State(Scope.Benchmark)
+public class CorpusState
+{
+    @Param
+    public Corpus corpus;
+
+    public IonSystem system;
+
+    /** The corpus encoded as Ion binary. */
+    public byte[] binary;
+
+    /** The corpus encoded as Ion text. */
+    public byte[] text;
+
+    /** The corpus materialized as a DOM. */
+    public IonDatagram datagram;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        system = IonSystemBuilder.standard().build();
+        binary = encode(IonBinaryWriterBuilder.standard().immutable());
+        text = encode(IonTextWriterBuilder.standard().immutable());
+        datagram = system.getLoader().load(binary);
+    }
+
+    private byte[] encode(final IonBinaryWriterBuilder builder) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = builder.build(out);
+        corpus.generate(Corpus.textEmitter(writer));
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private byte[] encode(final IonTextWriterBuilder builder) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = builder.build(out);
+        corpus.generate(Corpus.textEmitter(writer));
+        writer.close();
+        return out.toByteArray();
+    }
+}
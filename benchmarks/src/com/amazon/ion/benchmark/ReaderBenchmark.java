@@ -0,0 +1,139 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.benchmark;
+
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures full traversal of a stream through the streaming readers, materializing every scalar.
+ * <p>
+ * Binary input is decoded by {@code IonReaderBinaryRawX}, text input by {@code IonReaderTextRawX}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReaderBenchmark
+{
+    private static final IonReaderBuilder READER_BUILDER = IonReaderBuilder.standard().immutable();
+
+    @Benchmark
+    public void binaryFromBytes(final CorpusState state, final Blackhole sink) throws IOException
+    {
+        final IonReader reader = READER_BUILDER.build(state.binary);
+        consume(reader, sink);
+        reader.close();
+    }
+
+    @Benchmark
+    public void binaryFromStream(final CorpusState state, final Blackhole sink) throws IOException
+    {
+        final IonReader reader = READER_BUILDER.build(new ByteArrayInputStream(state.binary));
+        consume(reader, sink);
+        reader.close();
+    }
+
+    @Benchmark
+    public void textFromBytes(final CorpusState state, final Blackhole sink) throws IOException
+    {
+        final IonReader reader = READER_BUILDER.build(state.text);
+        consume(reader, sink);
+        reader.close();
+    }
+
+    @Benchmark
+    public void textFromStream(final CorpusState state, final Blackhole sink) throws IOException
+    {
+        final IonReader reader = READER_BUILDER.build(new ByteArrayInputStream(state.text));
+        consume(reader, sink);
+        reader.close();
+    }
+
+    /** Recursively visits every value, materializing its content into the sink. */
+    static void consume(final IonReader reader, final Blackhole sink)
+    {
+        IonType type;
+        while ((type = reader.next()) != null)
+        {
+            if (reader.isInStruct())
+            {
+                sink.consume(reader.getFieldName());
+            }
+            sink.consume(reader.getTypeAnnotations());
+            if (reader.isNullValue())
+            {
+                continue;
+            }
+            switch (type)
+            {
+                case BOOL:
+                    sink.consume(reader.booleanValue());
+                    break;
+                case INT:
+                    switch (reader.getIntegerSize())
+                    {
+                        case BIG_INTEGER:
+                            sink.consume(reader.bigIntegerValue());
+                            break;
+                        default:
+                            sink.consume(reader.longValue());
+                            break;
+                    }
+                    break;
+                case FLOAT:
+                    sink.consume(reader.doubleValue());
+                    break;
+                case DECIMAL:
+                    sink.consume(reader.decimalValue());
+                    break;
+                case TIMESTAMP:
+                    sink.consume(reader.timestampValue());
+                    break;
+                case SYMBOL:
+                case STRING:
+                    sink.consume(reader.stringValue());
+                    break;
+                case CLOB:
+                case BLOB:
+                    sink.consume(reader.newBytes());
+                    break;
+                case LIST:
+                case SEXP:
+                case STRUCT:
+                    reader.stepIn();
+                    consume(reader, sink);
+                    reader.stepOut();
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.benchmark;
+
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.impl.bin._Private_IonManagedWriter;
+import com.amazon.ion.impl.bin._Private_IonRawWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures encoding of a {@link Corpus} through the streaming binary writers.
+ * <p>
+ * {@link #managed} exercises {@code IonManagedBinaryWriter} including symbol interning, while {@link #raw} drives the
+ * underlying {@code IonRawBinaryWriter} with pre-resolved symbol IDs to isolate the encoding cost.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@SuppressWarnings("deprecation")
+public class WriterBenchmark
+{
+    /** Per-thread writer configuration. */
+    @State(Scope.Thread)
+    public static class WriterState
+    {
+        IonBinaryWriterBuilder builder;
+        IonBinaryWriterBuilder rawBuilder;
+        int[] sids;
+        OutputStream out;
+
+        @Setup(Level.Trial)
+        public void setup(final CorpusState corpus, final Blackhole sink)
+        {
+            builder = IonBinaryWriterBuilder.standard().immutable();
+
+            // seed an initial symbol table with the whole vocabulary so the raw writer can refer to it by ID
+            final SymbolTable symbols = corpus.system.newLocalSymbolTable();
+            sids = new int[Corpus.VOCABULARY.length];
+            for (int i = 0; i < sids.length; i++)
+            {
+                sids[i] = symbols.intern(Corpus.VOCABULARY[i]).getSid();
+            }
+            rawBuilder = IonBinaryWriterBuilder.standard().withInitialSymbolTable(symbols).immutable();
+
+            out = new BlackholeOutputStream(sink);
+        }
+    }
+
+    @Benchmark
+    public void managed(final CorpusState corpus, final WriterState state) throws IOException
+    {
+        final IonWriter writer = state.builder.build(state.out);
+        corpus.corpus.generate(Corpus.textEmitter(writer));
+        writer.close();
+    }
+
+    @Benchmark
+    public void raw(final CorpusState corpus, final WriterState state) throws IOException
+    {
+        final IonWriter writer = state.rawBuilder.build(state.out);
+        final _Private_IonRawWriter raw = writer.asFacet(_Private_IonManagedWriter.class).getRawWriter();
+        corpus.corpus.generate(sidEmitter(raw, state.sids));
+        writer.close();
+    }
+
+    private static Corpus.Emitter sidEmitter(final _Private_IonRawWriter raw, final int[] sids)
+    {
+        return new Corpus.Emitter(raw)
+        {
+            @Override
+            public void fieldName(final int symbol)
+            {
+                raw.setFieldNameSymbol(sids[symbol]);
+            }
+
+            @Override
+            public void annotation(final int symbol)
+            {
+                raw.addTypeAnnotationSymbol(sids[symbol]);
+            }
+
+            @Override
+            public void symbolValue(final int symbol) throws IOException
+            {
+                raw.writeSymbolToken(sids[symbol]);
+            }
+        };
+    }
+
+    /** Discards output while still forcing the writer to produce it. */
+    static final class BlackholeOutputStream extends OutputStream
+    {
+        private final Blackhole sink;
+
+        BlackholeOutputStream(final Blackhole sink)
+        {
+            this.sink = sink;
+        }
+
+        @Override
+        public void write(final int b)
+        {
+            sink.consume(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len)
+        {
+            sink.consume(b);
+            sink.consume(len);
+        }
+    }
+}
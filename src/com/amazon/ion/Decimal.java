@@ -226,6 +226,45 @@ public class Decimal
     }
 
 
+    /**
+     * Returns a decimal value equal to {@code unscaledVal} &times;
+     * 10<sup>-{@code scale}</sup>.  As with
+     * {@link BigDecimal#valueOf(long, int)}, a negative scale multiplies the
+     * coefficient by a power of ten.
+     * <p>
+     * A {@code long} has no negative zero, so an {@code unscaledVal} of zero
+     * always yields a positive zero with the given scale; use
+     * {@link #negativeZero(int)} to get a negative one.
+     *
+     * @param unscaledVal the coefficient of the result.
+     * @param scale the number of digits after the decimal point.
+     */
+    public static Decimal valueOf(long unscaledVal, int scale)
+    {
+        return new Decimal(BigInteger.valueOf(unscaledVal), scale);
+    }
+
+    /**
+     * Returns a decimal value equal to {@code unscaledVal} &times;
+     * 10<sup>-{@code scale}</sup>, rounded according to the given context.
+     * The scale of the result may differ from {@code scale} when rounding
+     * drops digits.
+     * <p>
+     * A {@code long} has no negative zero, so an {@code unscaledVal} of zero
+     * always yields a positive zero; use {@link #negativeZero(int, MathContext)}
+     * to get a negative one.
+     *
+     * @param unscaledVal the coefficient of the result.
+     * @param scale the number of digits after the decimal point.
+     * @param mc the context used to round the result.
+     */
+    public static Decimal valueOf(long unscaledVal, int scale,
+                                  MathContext mc)
+    {
+        return new Decimal(BigInteger.valueOf(unscaledVal), scale, mc);
+    }
+
+
     public static Decimal valueOf(BigInteger val)
     {
         return new Decimal(val);
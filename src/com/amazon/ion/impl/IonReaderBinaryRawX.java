@@ -93,6 +93,33 @@ abstract class IonReaderBinaryRawX
     long                _position_len;
 
 
+    // the parts of the current decimal, see readDecimalParts()
+    int                 _decimal_parts;
+    long                _decimal_unscaled;
+    int                 _decimal_scale;
+    BigInteger          _decimal_big;
+
+    // the parts of the current timestamp, see readTimestampParts()
+    boolean             _timestamp_is_read;
+    Precision           _timestamp_precision;
+    int                 _timestamp_offset;
+    int                 _timestamp_year;
+    int                 _timestamp_month;
+    int                 _timestamp_day;
+    int                 _timestamp_hour;
+    int                 _timestamp_minute;
+    int                 _timestamp_second;
+    int                 _timestamp_fraction; // decimal parts of the fraction, or DECIMAL_UNREAD if there is none
+
+    // the UTF-8 bytes of the current string, see readStringUtf8()
+    boolean             _utf8_is_read;
+    byte[]              _utf8_bytes;
+    int                 _utf8_offset;
+    int                 _utf8_length;
+    private byte[]      _utf8_scratch = _Private_Utils.EMPTY_BYTE_ARRAY;
+    private char[]      _utf8_chars = new char[0];
+    private CharBuffer  _utf8_char_view = CharBuffer.wrap(_utf8_chars);
+
     SavePoint           _annotations;
     int[]               _annotation_ids;
     int                 _annotation_count;
@@ -451,6 +478,11 @@ abstract class IonReaderBinaryRawX
         _value_lob_is_ready = false;
         _annotations.clear();
         _v.clear();
+        _decimal_parts = DECIMAL_UNREAD;
+        _decimal_big = null;
+        _timestamp_is_read = false;
+        _utf8_is_read = false;
+        _utf8_bytes = null;
         _annotation_count = 0;
         _value_field_id = SymbolTable.UNKNOWN_SYMBOL_ID;
     }
@@ -1075,78 +1107,121 @@ abstract class IonReaderBinaryRawX
             : Double.longBitsToDouble(dBits);
     }
 
-    protected final Decimal readDecimal(int len) throws IOException
+    /** The current decimal has not been read. */
+    static final int DECIMAL_UNREAD        = 0;
+    /** {@link #_decimal_unscaled} holds the coefficient. */
+    static final int DECIMAL_LONG          = 1;
+    /** The value is negative zero, which a long coefficient cannot represent. */
+    static final int DECIMAL_NEGATIVE_ZERO = 2;
+    /** {@link #_decimal_big} holds the coefficient, which does not fit in a long. */
+    static final int DECIMAL_BIG           = 3;
+
+    /**
+     * Reads a decimal into {@link #_decimal_scale} and either {@link #_decimal_unscaled} or {@link #_decimal_big}.
+     * Coefficients of up to 8 octets always fit in a long and are read without allocating.
+     * @return one of {@link #DECIMAL_LONG}, {@link #DECIMAL_NEGATIVE_ZERO} or {@link #DECIMAL_BIG}.
+     */
+    protected final int readDecimalParts(int len) throws IOException
     {
-        MathContext mathContext = MathContext.UNLIMITED;
-        Decimal bd;
         // we only write out the '0' value as the nibble 0
         if (len == 0) {
-            bd = Decimal.valueOf(0, mathContext);
+            _decimal_scale = 0;
+            _decimal_unscaled = 0;
+            return DECIMAL_LONG;
         }
-        else {
-            // otherwise we to it the hard way ....
-            int save_limit = NO_LIMIT;
-            if (_local_remaining != NO_LIMIT) {
-                save_limit = _local_remaining - len;
+        int save_limit = NO_LIMIT;
+        if (_local_remaining != NO_LIMIT) {
+            save_limit = _local_remaining - len;
+        }
+        _local_remaining = len;
+        // Ion stores exponent, BigDecimal uses the negation "scale"
+        _decimal_scale = -readVarInt();
+        int parts;
+        if (_local_remaining <= 8)
+        {
+            // the sign is the high bit of the first octet, and the magnitude leaves room for it in a long
+            int length = _local_remaining;
+            long bits = readULong(length);
+            long sign = length == 0 ? 0 : 1L << ((length << 3) - 1);
+            long magnitude = bits & ~sign;
+            if ((bits & sign) == 0) {
+                _decimal_unscaled = magnitude;
+                parts = DECIMAL_LONG;
             }
-            _local_remaining = len;
-            int  exponent = readVarInt();
-            BigInteger value;
-            int signum;
-            if (_local_remaining > 0)
-            {
-                byte[] bits = new byte[_local_remaining];
-                readAll(bits, 0, _local_remaining);
-                signum = 1;
-                if (bits[0] < 0)
-                {
-                    // value is negative, clear the sign
-                    bits[0] &= 0x7F;
-                    signum = -1;
-                }
-                value = new BigInteger(signum, bits);
+            else if (magnitude == 0) {
+                parts = DECIMAL_NEGATIVE_ZERO;
             }
             else {
-                signum = 0;
-                value = BigInteger.ZERO;
+                _decimal_unscaled = -magnitude;
+                parts = DECIMAL_LONG;
             }
-            // Ion stores exponent, BigDecimal uses the negation "scale"
-            int scale = -exponent;
-            if (value.signum() == 0 && signum == -1)
+        }
+        else
+        {
+            // otherwise we to it the hard way ....
+            byte[] bits = new byte[_local_remaining];
+            readAll(bits, 0, _local_remaining);
+            int signum = 1;
+            if (bits[0] < 0)
             {
-                assert value.equals(BigInteger.ZERO);
-                bd = Decimal.negativeZero(scale, mathContext);
+                // value is negative, clear the sign
+                bits[0] &= 0x7F;
+                signum = -1;
             }
-            else
-            {
-                bd = Decimal.valueOf(value, scale, mathContext);
+            _decimal_big = new BigInteger(signum, bits);
+            if (_decimal_big.signum() == 0 && signum == -1) {
+                parts = DECIMAL_NEGATIVE_ZERO;
+            }
+            else if (_decimal_big.bitLength() < 64) {
+                // padded, or Long.MIN_VALUE, which needs an extra octet for the sign
+                _decimal_unscaled = _decimal_big.longValue();
+                parts = DECIMAL_LONG;
+            }
+            else {
+                parts = DECIMAL_BIG;
             }
-            _local_remaining = save_limit;
         }
-        return bd;
+        _local_remaining = save_limit;
+        return parts;
+    }
+
+    /** Materializes the decimal last read by {@link #readDecimalParts(int)}. */
+    protected final Decimal decimalFromParts(int parts)
+    {
+        MathContext mathContext = MathContext.UNLIMITED;
+        switch (parts) {
+        case DECIMAL_LONG:
+            return Decimal.valueOf(_decimal_unscaled, _decimal_scale, mathContext);
+        case DECIMAL_NEGATIVE_ZERO:
+            return Decimal.negativeZero(_decimal_scale, mathContext);
+        default:
+            return Decimal.valueOf(_decimal_big, _decimal_scale, mathContext);
+        }
+    }
+
+    protected final Decimal readDecimal(int len) throws IOException
+    {
+        return decimalFromParts(readDecimalParts(len));
     }
 
     /**
+     * Reads a timestamp of non-zero length into the <code>_timestamp_*</code> fields, and its fractional seconds, if
+     * any, into the decimal parts.  Nothing is allocated unless the fraction's coefficient does not fit in a long.
      * @see IonBinary.Reader#readTimestampValue
      */
-    protected final Timestamp readTimestamp(int len) throws IOException
+    protected final void readTimestampParts(int len) throws IOException
     {
-        if (len < 1) {
-            // nothing to do here - and the timestamp will be NULL
-            return null;
-        }
-
         int         year = 0, month = 0, day = 0, hour = 0, minute = 0, second = 0;
-        BigDecimal  frac = null;
+        int         fraction = DECIMAL_UNREAD;
         int         save_limit = NO_LIMIT;
         if (_local_remaining != NO_LIMIT) {
             save_limit = _local_remaining - len;
         }
         _local_remaining = len;  // > 0
 
-        // first up is the offset, which requires a special int reader
-        // to return the -0 as a null Integer
-        Integer offset = readVarInteger();
+        // first up is the offset, where -0 is the unknown offset
+        int firstByte = read();
+        int offset = (firstByte == 0xC0) ? _Private_EpochCalendar.UNKNOWN_OFFSET : readVarInt(firstByte);
         // now we'll read the struct values from the input stream
 
         // year is from 0001 to 9999
@@ -1174,8 +1249,8 @@ abstract class IonReaderBinaryRawX
                         p = Precision.SECOND;
                         if (_local_remaining > 0) {
                             // now we read in our actual "milliseconds since the epoch"
-                            frac = readDecimal(_local_remaining);
-                            if (frac.compareTo(BigDecimal.ZERO) < 0 || frac.compareTo(BigDecimal.ONE) >= 0) {
+                            fraction = readDecimalParts(_local_remaining);
+                            if (!isFractionInRange(fraction)) {
                                 throwErrorAt(
                                         "The fractional seconds value in a timestamp must be greater than or "
                                               + "equal to zero and less than one."
@@ -1188,11 +1263,65 @@ abstract class IonReaderBinaryRawX
         }
         // restore out outer limit(s)
         _local_remaining  = save_limit;
+
+        _timestamp_precision = p;
+        _timestamp_offset = offset;
+        _timestamp_year = year;
+        _timestamp_month = month;
+        _timestamp_day = day;
+        _timestamp_hour = hour;
+        _timestamp_minute = minute;
+        _timestamp_second = second;
+        _timestamp_fraction = fraction;
+        _timestamp_is_read = true;
+    }
+
+    /** Determines whether the fraction just read by {@link #readDecimalParts(int)} is in [0, 1). */
+    private boolean isFractionInRange(int fraction)
+    {
+        switch (fraction) {
+        case DECIMAL_NEGATIVE_ZERO:
+            return true;
+        case DECIMAL_LONG:
+            if (_decimal_unscaled <= 0) {
+                return _decimal_unscaled == 0;
+            }
+            if (_decimal_scale <= 0) {
+                return false;
+            }
+            if (_decimal_scale >= 19) {
+                // every positive long is less than 10^19
+                return true;
+            }
+            long one = 1;
+            for (int i = 0; i < _decimal_scale; i++) {
+                one *= 10;
+            }
+            return _decimal_unscaled < one;
+        default:
+            BigDecimal frac = new BigDecimal(_decimal_big, _decimal_scale);
+            return frac.compareTo(BigDecimal.ZERO) >= 0 && frac.compareTo(BigDecimal.ONE) < 0;
+        }
+    }
+
+    /** Materializes the timestamp last read by {@link #readTimestampParts(int)}. */
+    protected final Timestamp timestampFromParts()
+    {
+        BigDecimal frac = null;
+        if (_timestamp_fraction != DECIMAL_UNREAD) {
+            frac = decimalFromParts(_timestamp_fraction);
+        }
+        Integer offset = null;
+        if (_timestamp_offset != _Private_EpochCalendar.UNKNOWN_OFFSET) {
+            offset = _timestamp_offset;
+        }
         // now we let timestamp put it all together
         try {
             Timestamp val =
-                Timestamp.createFromUtcFields(p, year, month, day, hour,
-                                              minute, second, frac, offset);
+                Timestamp.createFromUtcFields(_timestamp_precision,
+                                              _timestamp_year, _timestamp_month, _timestamp_day,
+                                              _timestamp_hour, _timestamp_minute, _timestamp_second,
+                                              frac, offset);
             return val;
         }
         catch (IllegalArgumentException e)
@@ -1202,6 +1331,67 @@ abstract class IonReaderBinaryRawX
         }
     }
 
+    /**
+     * Returns the seconds since the epoch of the timestamp last read by {@link #readTimestampParts(int)}, which
+     * agrees with {@link Timestamp#getMillis()}.
+     */
+    protected final long timestampEpochSecondFromParts()
+    {
+        int month = _timestamp_precision == Precision.YEAR ? 1 : _timestamp_month;
+        int day = _timestamp_precision.ordinal() < Precision.DAY.ordinal() ? 1 : _timestamp_day;
+        if (!_Private_EpochCalendar.isValidDate(_timestamp_year, month, day)
+            || _timestamp_hour > 23 || _timestamp_minute > 59 || _timestamp_second > 59) {
+            throw newErrorAt("Invalid timestamp encoding: "
+                             + _timestamp_year + "-" + month + "-" + day + "T"
+                             + _timestamp_hour + ":" + _timestamp_minute + ":" + _timestamp_second);
+        }
+        return _Private_EpochCalendar.epochSecond(_timestamp_year, month, day,
+                                                  _timestamp_hour, _timestamp_minute, _timestamp_second);
+    }
+
+    /**
+     * Returns the fractional seconds of the timestamp last read by {@link #readTimestampParts(int)} in nanoseconds,
+     * truncating any finer digits.
+     */
+    protected final int timestampNanosFromParts()
+    {
+        switch (_timestamp_fraction) {
+        case DECIMAL_LONG:
+            if (_decimal_unscaled == 0) {
+                return 0;
+            }
+            if (_decimal_scale <= 9) {
+                return (int) _decimal_unscaled * _Private_EpochCalendar.POWERS_OF_TEN[9 - _decimal_scale];
+            }
+            long divisor = 1;
+            for (int i = 9; i < _decimal_scale; i++) {
+                if (divisor > _decimal_unscaled / 10) {
+                    // any further digits are finer than a nanosecond
+                    return 0;
+                }
+                divisor *= 10;
+            }
+            return (int) (_decimal_unscaled / divisor);
+        case DECIMAL_BIG:
+            return new BigDecimal(_decimal_big, _decimal_scale).movePointRight(9).intValue();
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * @see IonBinary.Reader#readTimestampValue
+     */
+    protected final Timestamp readTimestamp(int len) throws IOException
+    {
+        if (len < 1) {
+            // nothing to do here - and the timestamp will be NULL
+            return null;
+        }
+        readTimestampParts(len);
+        return timestampFromParts();
+    }
+
     protected final String readString(int numberOfBytes) throws IOException
     {
         // If the string we're reading is small enough to fit in our reusable buffer, we can avoid the overhead
@@ -1278,6 +1468,157 @@ abstract class IonReaderBinaryRawX
         return decodingBuffer.toString();
     }
 
+    /**
+     * Reads the UTF-8 bytes of a string into {@link #_utf8_bytes}, {@link #_utf8_offset} and {@link #_utf8_length}
+     * without decoding them.  When the string lies within the input's current page the bytes are left where they
+     * are, otherwise they are copied into a scratch array that is reused from value to value.  Either way they are
+     * only valid until the reader moves.
+     */
+    protected final void readStringUtf8(int numberOfBytes) throws IOException
+    {
+        int save_limit = NO_LIMIT;
+        if (_local_remaining != NO_LIMIT) {
+            save_limit = _local_remaining - numberOfBytes;
+        }
+        _local_remaining = numberOfBytes;
+        UnifiedInputStreamX input = _input;
+        if (input._bytes != null && input._limit - input._pos >= numberOfBytes) {
+            _utf8_bytes = input._bytes;
+            _utf8_offset = input._pos;
+            skip(numberOfBytes);
+        }
+        else {
+            if (_utf8_scratch.length < numberOfBytes) {
+                _utf8_scratch = new byte[numberOfBytes];
+            }
+            readAll(_utf8_scratch, 0, numberOfBytes);
+            _utf8_bytes = _utf8_scratch;
+            _utf8_offset = 0;
+        }
+        _local_remaining = save_limit;
+        _utf8_length = numberOfBytes;
+        _utf8_is_read = true;
+    }
+
+    /**
+     * Encodes a string that has already been decoded into the scratch array, for when its bytes have already been
+     * consumed from the input.
+     */
+    protected final void utf8FromString(String value)
+    {
+        int length = value.length();
+        // no UTF-16 unit takes more than three bytes, and a surrogate pair takes four
+        if (_utf8_scratch.length < length * 3) {
+            _utf8_scratch = new byte[length * 3];
+        }
+        byte[] bytes = _utf8_scratch;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            int c = value.charAt(i);
+            if (c < 0x80) {
+                bytes[count++] = (byte) c;
+            }
+            else if (c < 0x800) {
+                bytes[count++] = IonUTF8.getByte1Of2(c);
+                bytes[count++] = IonUTF8.getByte2Of2(c);
+            }
+            else if (IonUTF8.isHighSurrogate(c) && i + 1 < length && IonUTF8.isLowSurrogate(value.charAt(i + 1))) {
+                int scalar = IonUTF8.getUnicodeScalarFromSurrogates(c, value.charAt(++i));
+                bytes[count++] = IonUTF8.getByte1Of4(scalar);
+                bytes[count++] = IonUTF8.getByte2Of4(scalar);
+                bytes[count++] = IonUTF8.getByte3Of4(scalar);
+                bytes[count++] = IonUTF8.getByte4Of4(scalar);
+            }
+            else {
+                bytes[count++] = IonUTF8.getByte1Of3(c);
+                bytes[count++] = IonUTF8.getByte2Of3(c);
+                bytes[count++] = IonUTF8.getByte3Of3(c);
+            }
+        }
+        _utf8_bytes = bytes;
+        _utf8_offset = 0;
+        _utf8_length = count;
+        _utf8_is_read = true;
+    }
+
+    /**
+     * Decodes the string last read by {@link #readStringUtf8(int)} into a buffer that is reused from value to value.
+     */
+    protected final CharSequence charSequenceFromUtf8()
+    {
+        if (_utf8_chars.length < _utf8_length) {
+            _utf8_chars = new char[_utf8_length];
+            _utf8_char_view = CharBuffer.wrap(_utf8_chars);
+        }
+        int count = decodeUtf8(_utf8_bytes, _utf8_offset, _utf8_length, _utf8_chars);
+        _utf8_char_view.clear();
+        _utf8_char_view.limit(count);
+        return _utf8_char_view;
+    }
+
+    /** Materializes the string last read by {@link #readStringUtf8(int)}. */
+    protected final String stringFromUtf8()
+    {
+        return charSequenceFromUtf8().toString();
+    }
+
+    /**
+     * Decodes UTF-8 into UTF-16, which never takes more chars than there are bytes.
+     * @return the number of chars written.
+     */
+    private int decodeUtf8(byte[] src, int offset, int length, char[] dst)
+    {
+        int end = offset + length;
+        int count = 0;
+        int i = offset;
+        while (i < end) {
+            int b = src[i] & 0xFF;
+            if (b < 0x80) {
+                dst[count++] = (char) b;
+                i++;
+                continue;
+            }
+            int len = IonUTF8.getUTF8LengthFromFirstByte(b);
+            if (len < 2 || i + len > end) {
+                throwIllegalUtf8();
+            }
+            for (int j = 1; j < len; j++) {
+                if (!IonUTF8.isContinueByteUTF8(src[i + j] & 0xFF)) {
+                    throwIllegalUtf8();
+                }
+            }
+            int scalar;
+            switch (len) {
+            case 2:
+                scalar = IonUTF8.twoByteScalar(b, src[i + 1] & 0xFF);
+                if (scalar < 0x80) throwIllegalUtf8();
+                break;
+            case 3:
+                scalar = IonUTF8.threeByteScalar(b, src[i + 1] & 0xFF, src[i + 2] & 0xFF);
+                if (scalar < 0x800 || IonUTF8.isSurrogate(scalar)) throwIllegalUtf8();
+                break;
+            default:
+                scalar = IonUTF8.fourByteScalar(b, src[i + 1] & 0xFF, src[i + 2] & 0xFF, src[i + 3] & 0xFF);
+                if (scalar < 0x10000 || scalar > 0x10FFFF) throwIllegalUtf8();
+                break;
+            }
+            if (IonUTF8.needsSurrogateEncoding(scalar)) {
+                dst[count++] = IonUTF8.highSurrogate(scalar);
+                dst[count++] = IonUTF8.lowSurrogate(scalar);
+            }
+            else {
+                dst[count++] = (char) scalar;
+            }
+            i += len;
+        }
+        return count;
+    }
+
+    private void throwIllegalUtf8()
+    {
+        throw new IonException("Illegal value encountered while validating UTF-8 data in input stream.");
+    }
+
     private String readStringWithReusableBuffer(int numberOfBytes) throws IOException {
         int save_limit = NO_LIMIT;
         if (_local_remaining != NO_LIMIT) {
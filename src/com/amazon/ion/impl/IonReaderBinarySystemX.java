@@ -37,7 +37,8 @@ import java.util.Iterator;
 
 class IonReaderBinarySystemX
     extends IonReaderBinaryRawX
-    implements _Private_ReaderWriter
+    implements _Private_ReaderWriter, _Private_DecimalReader, _Private_TimestampReader,
+               _Private_Utf8StringReader, _Private_FieldMatchingReader
 {
     SymbolTable _symbols;
 
@@ -239,13 +240,23 @@ class IonReaderBinarySystemX
             _v.setAuthoritativeType(AS_TYPE.double_value);
             break;
         case DECIMAL:
-            Decimal dec = readDecimal(_value_len);
+            if (_decimal_parts == DECIMAL_UNREAD) {
+                _decimal_parts = readDecimalParts(_value_len);
+            }
+            Decimal dec = decimalFromParts(_decimal_parts);
             _v.setValue(dec);
             _v.setAuthoritativeType(AS_TYPE.decimal_value);
             break;
         case TIMESTAMP:
             // TODO: it looks like a 0 length return a null timestamp - is that right?
-            Timestamp t = readTimestamp(_value_len);
+            Timestamp t = null;
+            if (_timestamp_is_read) {
+                t = timestampFromParts();
+            }
+            else if (_value_len > 0) {
+                readTimestampParts(_value_len);
+                t = timestampFromParts();
+            }
             _v.setValue(t);
             _v.setAuthoritativeType(AS_TYPE.timestamp_value);
             break;
@@ -265,7 +276,7 @@ class IonReaderBinarySystemX
             _v.setAuthoritativeType(AS_TYPE.int_value);
             break;
         case STRING:
-            String s = readString(_value_len);
+            String s = _utf8_is_read ? stringFromUtf8() : readString(_value_len);
             _v.setValue(s);
             _v.setAuthoritativeType(AS_TYPE.string_value);
             break;
@@ -321,6 +332,173 @@ class IonReaderBinarySystemX
         return _v.getLong();
     }
 
+    /**
+     * Reads the parts of the current decimal, unless {@link #load_scalar_value()} already has.  Unlike loading the
+     * value, this does not allocate when the coefficient fits in a long.
+     */
+    private int load_decimal_parts()
+    {
+        if (_value_type != IonType.DECIMAL || _value_is_null) {
+            throw new IllegalStateException("current value is not a non-null decimal");
+        }
+        if (_decimal_parts == DECIMAL_UNREAD) {
+            try {
+                _decimal_parts = readDecimalParts(_value_len);
+            }
+            catch (IOException e) {
+                error(e);
+            }
+            _state = State.S_AFTER_VALUE;
+        }
+        return _decimal_parts;
+    }
+
+    public boolean decimalFitsInLong()
+    {
+        return load_decimal_parts() == DECIMAL_LONG;
+    }
+
+    public long unscaledDecimalValue()
+    {
+        if (load_decimal_parts() != DECIMAL_LONG) {
+            throw new IllegalStateException("decimal coefficient does not fit in a long");
+        }
+        return _decimal_unscaled;
+    }
+
+    public int decimalScale()
+    {
+        load_decimal_parts();
+        return _decimal_scale;
+    }
+
+    /**
+     * Reads the parts of the current timestamp, unless {@link #load_scalar_value()} already has.  Unlike loading the
+     * value, this does not allocate.
+     */
+    private void load_timestamp_parts()
+    {
+        if (_value_type != IonType.TIMESTAMP || _value_is_null) {
+            throw new IllegalStateException("current value is not a non-null timestamp");
+        }
+        if (!_timestamp_is_read) {
+            if (_value_len < 1) {
+                throw newErrorAt("Invalid timestamp encoding: empty value");
+            }
+            try {
+                readTimestampParts(_value_len);
+            }
+            catch (IOException e) {
+                error(e);
+            }
+            _state = State.S_AFTER_VALUE;
+        }
+    }
+
+    public long timestampEpochMillis()
+    {
+        load_timestamp_parts();
+        return timestampEpochSecondFromParts() * 1000 + timestampNanosFromParts() / 1000000;
+    }
+
+    public long timestampEpochSecond()
+    {
+        load_timestamp_parts();
+        return timestampEpochSecondFromParts();
+    }
+
+    public int timestampNanos()
+    {
+        load_timestamp_parts();
+        return timestampNanosFromParts();
+    }
+
+    public int timestampFractionDigits()
+    {
+        load_timestamp_parts();
+        if (_timestamp_fraction == DECIMAL_UNREAD || _decimal_scale < 0) {
+            return 0;
+        }
+        return _decimal_scale;
+    }
+
+    public int timestampLocalOffset()
+    {
+        load_timestamp_parts();
+        return _timestamp_offset;
+    }
+
+    public Timestamp.Precision timestampPrecision()
+    {
+        load_timestamp_parts();
+        return _timestamp_precision;
+    }
+
+    /**
+     * Reads the UTF-8 bytes of the current string, unless they already have been.  Once they have,
+     * {@link #load_scalar_value()} decodes the string from them.  If the string has already been decoded, it is
+     * encoded again instead.
+     */
+    private void load_string_utf8()
+    {
+        if (_value_type != IonType.STRING || _value_is_null) {
+            throw new IllegalStateException("current value is not a non-null string");
+        }
+        if (!_utf8_is_read) {
+            if (_v.hasValueOfType(AS_TYPE.string_value)) {
+                // the input has moved past the bytes already
+                utf8FromString(_v.getString());
+            }
+            else {
+                try {
+                    readStringUtf8(_value_len);
+                }
+                catch (IOException e) {
+                    error(e);
+                }
+                _state = State.S_AFTER_VALUE;
+            }
+        }
+    }
+
+    public byte[] stringUtf8Bytes()
+    {
+        load_string_utf8();
+        return _utf8_bytes;
+    }
+
+    public int stringUtf8Offset()
+    {
+        load_string_utf8();
+        return _utf8_offset;
+    }
+
+    public int stringUtf8Length()
+    {
+        load_string_utf8();
+        return _utf8_length;
+    }
+
+    public CharSequence stringCharSequence()
+    {
+        load_string_utf8();
+        return charSequenceFromUtf8();
+    }
+
+    public boolean stringEquals(byte[] utf8)
+    {
+        load_string_utf8();
+        if (utf8.length != _utf8_length) {
+            return false;
+        }
+        for (int i = 0; i < _utf8_length; i++) {
+            if (utf8[i] != _utf8_bytes[_utf8_offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public BigInteger bigIntegerValue()
     {
         checkIsIntApplicableType();
@@ -439,6 +617,11 @@ class IonReaderBinarySystemX
         return name;
     }
 
+    public int matchFieldName(_Private_FieldNameMatcher matcher)
+    {
+        return matcher.match(_value_field_id, _symbols);
+    }
+
     public SymbolToken getFieldNameSymbol()
     {
         if (_value_field_id == SymbolTable.UNKNOWN_SYMBOL_ID) return null;
@@ -356,6 +356,26 @@ final class IonReaderBinaryUserX
             }
         }
 
+        if (facetType == _Private_DecimalReader.class)
+        {
+            return facetType.cast(this);
+        }
+
+        if (facetType == _Private_TimestampReader.class)
+        {
+            return facetType.cast(this);
+        }
+
+        if (facetType == _Private_Utf8StringReader.class)
+        {
+            return facetType.cast(this);
+        }
+
+        if (facetType == _Private_FieldMatchingReader.class)
+        {
+            return facetType.cast(this);
+        }
+
         if (facetType == _Private_ByteTransferReader.class)
         {
             // This is a rather sketchy use of Facets, since the availability
@@ -25,11 +25,13 @@ import static com.amazon.ion.util.IonTextUtils.printCodePointAsString;
 
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonType;
+import com.amazon.ion.Timestamp;
 import com.amazon.ion.UnexpectedEofException;
 import com.amazon.ion.impl.IonTokenConstsX.CharacterSequence;
 import com.amazon.ion.impl.UnifiedSavePointManagerX.SavePoint;
 import com.amazon.ion.util.IonTextUtils;
 import java.io.IOException;
+import java.math.BigDecimal;
 
 /**
  * Tokenizer for the Ion text parser in IonTextIterator. This
@@ -107,6 +109,51 @@ final class IonReaderTextRawTokensX
      */
     private int                 _base64_prefetch_stack;
 
+    /**
+     * The digits of the last decimal int, decimal or float loaded by
+     * load_number, accumulated as they are scanned so the value need not be
+     * parsed again from its text.  The magnitude of the value is
+     * _number_significand (without its decimal point) divided by ten to the
+     * power of _number_scale.  These are only meaningful while
+     * _number_in_range, which is false for radix ints and for values whose
+     * digits overflow a long.
+     * <p>
+     * While _number_text_deferred, the digits are not copied into the value
+     * buffer.  Instead _number_digits counts them (leading zeros included)
+     * and _number_point is the number of them before the decimal point, or
+     * -1 if there is none, so load_deferred_number_text can write them at
+     * _number_text_start should the text be needed after all.
+     */
+    private long                _number_significand;
+    private int                 _number_scale;
+    private boolean             _number_negative;
+    private boolean             _number_in_range;
+    private boolean             _number_text_deferred;
+    private int                 _number_text_start;
+    private int                 _number_digits;
+    private int                 _number_point;
+
+    /**
+     * The fields of the last timestamp loaded by load_timestamp, in local
+     * time, gathered as its digits are scanned so the value need not be
+     * parsed again from its text.  _timestamp_fraction holds the digits of
+     * the fractional second, of which there are _timestamp_fraction_digits
+     * (-1 when there is no fraction).  These are only meaningful while
+     * _timestamp_in_range, which is false for the forms that are left to
+     * Timestamp.valueOf() to build or reject.
+     */
+    private Timestamp.Precision _timestamp_precision;
+    private int                 _timestamp_year;
+    private int                 _timestamp_month;
+    private int                 _timestamp_day;
+    private int                 _timestamp_hour;
+    private int                 _timestamp_minute;
+    private int                 _timestamp_second;
+    private long                _timestamp_fraction;
+    private int                 _timestamp_fraction_digits;
+    private int                 _timestamp_offset;
+    private boolean             _timestamp_in_range;
+
 
     /**
      * IonTokenReader constructor requires a UnifiedInputStream
@@ -879,6 +926,9 @@ final class IonReaderTextRawTokensX
         int c;
 
         loop: for (;;) {
+            if (_stream.skip_blanks()) {
+                any_whitespace = true;
+            }
             c = read_char();
             switch (c) {
             case -1:
@@ -1336,6 +1386,7 @@ final class IonReaderTextRawTokensX
     private int skip_over_digits(int c) throws IOException
     {
         while (IonTokenConstsX.isDigit(c)) {
+            _stream.read_digit_span(null);
             c = read_char();
         }
         return c;
@@ -1539,6 +1590,13 @@ final class IonReaderTextRawTokensX
 
         //start_pos = _stream.getPosition();
         c = read_char();
+        _number_in_range = false;
+        _number_text_deferred = false;
+        _number_significand = 0;
+        _number_scale = 0;
+        _number_digits = 0;
+        _number_point = -1;
+        _number_negative = (c == '-');
         has_sign = ((c == '-') || (c == '+'));
         if (has_sign) {
             // if there is a sign character, we just consume it
@@ -1579,11 +1637,15 @@ final class IonReaderTextRawTokensX
         }
 
         // remaining (after the first, c is the first) leading digits
-        c = load_digits(sb, c);
+        _number_in_range = true;
+        _number_text_deferred = true;
+        _number_text_start = sb.length();
+        c = load_significand_digits(sb, c);
 
         if (c == '-' || c == 'T') {
             // this better be a timestamp and it starts with a 4 digit
             // year followed by a dash and no leading sign
+            load_deferred_number_text(sb);
             if (has_sign) {
                 error("Numeric value followed by invalid character: "
                       + sb + (char)c);
@@ -1593,18 +1655,17 @@ final class IonReaderTextRawTokensX
                 error("Numeric value followed by invalid character: "
                       + sb + (char)c);
             }
+            _number_in_range = false;
+            _timestamp_year = (int) _number_significand;
             IonType tt = load_timestamp(sb, c);
             return tt;
         }
 
         if (starts_with_zero) {
-            // Ion doesn't allow leading zeros, so make sure our buffer only
-            // has one character.
-            int len = sb.length();
-            if (has_sign) {
-                len--; // we don't count the sign
-            }
-            if (len != 1) {
+            // Ion doesn't allow leading zeros, so make sure there is only
+            // one digit.
+            if (_number_digits != 1) {
+                load_deferred_number_text(sb);
                 error("Invalid leading zero in number: " + sb);
             }
         }
@@ -1613,9 +1674,16 @@ final class IonReaderTextRawTokensX
             // so if it's a float of some sort
             // mark it as at least a DECIMAL
             // and read the "fraction" digits
-            sb.append((char)c);
+            if (_number_text_deferred) {
+                _number_point = _number_digits;
+            }
+            else {
+                sb.append((char)c);
+            }
             c = read_char();
-            c = load_digits(sb, c);
+            int fraction_start = _number_digits;
+            c = load_significand_digits(sb, c);
+            _number_scale = _number_digits - fraction_start;
             t = IonTokenConstsX.TOKEN_DECIMAL;
         }
         else {
@@ -1626,22 +1694,187 @@ final class IonReaderTextRawTokensX
         if (c == 'e' || c == 'E') {
             t = IonTokenConstsX.TOKEN_FLOAT;
             sb.append((char)c);
+            int exponent_start = sb.length();
             c = load_exponent(sb);  // the unused lookahead char
+            accumulate_exponent(sb, exponent_start);
         }
         else if (c == 'd' || c == 'D') {
             t = IonTokenConstsX.TOKEN_DECIMAL;
             sb.append((char)c);
+            int exponent_start = sb.length();
             c = load_exponent(sb);
+            accumulate_exponent(sb, exponent_start);
+        }
+        if (!_number_in_range) {
+            // left to be parsed from its text
+            load_deferred_number_text(sb);
         }
         return load_finish_number(sb, c, t);
     }
 
-    private final IonType load_finish_number(CharSequence numericText, int c,
+    /**
+     * Loads digits as {@link #load_digits} does, also accumulating them into
+     * {@link #_number_significand} as they are read.  While
+     * {@link #_number_text_deferred} the digits are only counted; once they
+     * overflow a long they are written to the buffer and the number is left
+     * to be parsed from its text.
+     */
+    private final int load_significand_digits(StringBuilder sb, int c)
+        throws IOException
+    {
+        if (!IonTokenConstsX.isDigit(c)) {
+            return c;
+        }
+        long significand = _number_in_range ? _number_significand : -1;
+        for (;;) {
+            int start;
+            if (_number_text_deferred) {
+                long next = UnifiedInputStreamX.append_digit(significand, c);
+                if (next < 0) {
+                    _number_significand = significand;
+                    load_deferred_number_text(sb);
+                    significand = -1;
+                }
+                else {
+                    significand = next;
+                    _number_digits++;
+                    start = _stream._pos;
+                    significand = _stream.read_digit_span(significand);
+                    _number_digits += _stream._pos - start;
+                }
+            }
+            if (!_number_text_deferred) {
+                sb.append((char)c);
+                significand = UnifiedInputStreamX.append_digit(significand, c);
+                start = _stream._pos;
+                significand = _stream.read_digit_span(sb, significand);
+                _number_digits += 1 + _stream._pos - start;
+            }
+            c = read_char();
+            if (c == '_') {
+                // an underscore must be followed by another digit
+                int c2 = read_char();
+                if (!IonTokenConstsX.isDigit(c2)) {
+                    unread_char(c2);
+                    break;
+                }
+                c = c2;
+            }
+            else if (!IonTokenConstsX.isDigit(c)) {
+                break;
+            }
+        }
+        _number_in_range = significand >= 0;
+        _number_significand = significand;
+        return c;
+    }
+
+    /**
+     * Writes the digits of the number being loaded that were withheld from
+     * the buffer, and its decimal point, at {@link #_number_text_start}, for
+     * when the number has to be read from its text after all.  Does nothing
+     * once they have been written.
+     */
+    final void load_deferred_number_text(StringBuilder sb)
+    {
+        if (!_number_text_deferred) {
+            return;
+        }
+        _number_text_deferred = false;
+        int point = _number_point;
+        char[] text = new char[_number_digits + (point < 0 ? 0 : 1)];
+        long value = _number_significand;
+        int digit = _number_digits;
+        for (int ii = text.length - 1; ii >= 0; ii--) {
+            if (digit == point) {
+                text[ii] = '.';
+                point = -1;
+            }
+            else {
+                text[ii] = (char) ('0' + (int) (value % 10));
+                value /= 10;
+                digit--;
+            }
+        }
+        sb.insert(_number_text_start, text);
+    }
+
+    /**
+     * Folds the exponent loaded into the buffer from the given position into
+     * {@link #_number_scale}.  Malformed exponents, and exponents or scales
+     * that don't fit in an int, are left to the parser of the text to report.
+     */
+    private final void accumulate_exponent(StringBuilder sb, int start)
+    {
+        if (!_number_in_range) return;
+        int end = sb.length();
+        boolean negative = false;
+        if (start < end && (sb.charAt(start) == '-' || sb.charAt(start) == '+')) {
+            negative = (sb.charAt(start) == '-');
+            start++;
+        }
+        if (start == end) {
+            _number_in_range = false;
+            return;
+        }
+        long exponent = 0;
+        for (int ii = start; ii < end; ii++) {
+            char c = sb.charAt(ii);
+            if (!IonTokenConstsX.isDigit(c)) {
+                _number_in_range = false;
+                return;
+            }
+            exponent = exponent * 10 + (c - '0');
+            if (exponent > Integer.MAX_VALUE + 1L) {
+                _number_in_range = false;
+                return;
+            }
+        }
+        if (negative) {
+            exponent = -exponent;
+        }
+        long scale = _number_scale - exponent;
+        if (exponent > Integer.MAX_VALUE || scale < Integer.MIN_VALUE || scale > Integer.MAX_VALUE) {
+            _number_in_range = false;
+            return;
+        }
+        _number_scale = (int) scale;
+    }
+
+    /**
+     * Indicates whether the last number loaded was a decimal int, decimal or
+     * float whose digits were accumulated into a long while it was scanned.
+     */
+    boolean isNumberInRange()
+    {
+        return _number_in_range;
+    }
+
+    /** Returns the digits of the last number loaded, as an unsigned long. */
+    long getNumberSignificand()
+    {
+        return _number_significand;
+    }
+
+    /** Returns the power of ten that divides the significand of the last number loaded. */
+    int getNumberScale()
+    {
+        return _number_scale;
+    }
+
+    /** Indicates whether the last number loaded had a minus sign. */
+    boolean isNumberNegative()
+    {
+        return _number_negative;
+    }
+
+    private final IonType load_finish_number(StringBuilder numericText, int c,
                                              int token)
     throws IOException
     {
         // all forms of numeric need to stop someplace rational
         if (! is_value_terminating_character(c)) {
+            load_deferred_number_text(numericText);
             error("Numeric value followed by invalid character: "
                   + numericText + (char)c);
         }
@@ -1686,14 +1919,21 @@ final class IonReaderTextRawTokensX
             return c;
         }
         sb.append((char) c);
+        _stream.read_digit_span(sb);
 
         return readNumeric(sb, Radix.DECIMAL, NumericState.DIGIT);
     }
 
-    private final void load_fixed_digits(StringBuilder sb, int len)
+    /**
+     * Loads exactly len digits into the buffer.
+     *
+     * @return the value of the digits.
+     */
+    private final int load_fixed_digits(StringBuilder sb, int len)
         throws IOException
     {
         int c;
+        int value = 0;
 
         switch (len) {
         default:
@@ -1701,6 +1941,7 @@ final class IonReaderTextRawTokensX
                 c = read_char();
                 if (!IonTokenConstsX.isDigit(c)) bad_token(c);
                 sb.append((char)c);
+            value = value * 10 + (c - '0');
                 len--;
             }
             // fall through
@@ -1708,25 +1949,29 @@ final class IonReaderTextRawTokensX
             c = read_char();
             if (!IonTokenConstsX.isDigit(c)) bad_token(c);
             sb.append((char)c);
+            value = value * 10 + (c - '0');
             // fall through
         case 3:
             c = read_char();
             if (!IonTokenConstsX.isDigit(c)) bad_token(c);
             sb.append((char)c);
+            value = value * 10 + (c - '0');
             // fall through
         case 2:
             c = read_char();
             if (!IonTokenConstsX.isDigit(c)) bad_token(c);
             sb.append((char)c);
+            value = value * 10 + (c - '0');
             // fall through
         case 1:
             c = read_char();
             if (!IonTokenConstsX.isDigit(c)) bad_token(c);
             sb.append((char)c);
+            value = value * 10 + (c - '0');
             break;
         }
 
-        return;
+        return value;
     }
     private final IonType load_timestamp(StringBuilder sb, int c)
         throws IOException
@@ -1736,6 +1981,10 @@ final class IonReaderTextRawTokensX
         assert (c == '-' || c == 'T');
 
         sb.append((char)c);
+        _timestamp_in_range = true;
+        _timestamp_precision = Timestamp.Precision.YEAR;
+        _timestamp_fraction_digits = -1;
+        _timestamp_offset = _Private_EpochCalendar.UNKNOWN_OFFSET;
 
         // if it's 'T' we done: yyyyT
         if (c == 'T') {
@@ -1744,7 +1993,8 @@ final class IonReaderTextRawTokensX
         }
 
         // read month
-        load_fixed_digits(sb, 2);
+        _timestamp_month = load_fixed_digits(sb, 2);
+        _timestamp_precision = Timestamp.Precision.MONTH;
 
         c = read_char();
         if (c == 'T') {
@@ -1756,7 +2006,8 @@ final class IonReaderTextRawTokensX
 
         // read day
         sb.append((char)c);
-        load_fixed_digits(sb, 2);
+        _timestamp_day = load_fixed_digits(sb, 2);
+        _timestamp_precision = Timestamp.Precision.DAY;
 
         // look for the 'T', otherwise we're done (and happy about it)
         c = read_char();
@@ -1772,19 +2023,22 @@ final class IonReaderTextRawTokensX
             return load_finish_number(sb, c, IonTokenConstsX.TOKEN_TIMESTAMP);
         }
         sb.append((char)c);
-        load_fixed_digits(sb,1); // we already read the first digit
+        _timestamp_hour = (c - '0') * 10;
+        _timestamp_hour += load_fixed_digits(sb,1); // we already read the first digit
         c = read_char();
         if (c != ':') bad_token(c);
 
         // minutes
         sb.append((char)c);
-        load_fixed_digits(sb, 2);
+        _timestamp_minute = load_fixed_digits(sb, 2);
+        _timestamp_precision = Timestamp.Precision.MINUTE;
         c = read_char();
         if (c == ':') {
             // seconds are optional
             // and first we'll have the whole seconds
             sb.append((char)c);
-            load_fixed_digits(sb, 2);
+            _timestamp_second = load_fixed_digits(sb, 2);
+            _timestamp_precision = Timestamp.Precision.SECOND;
             c = read_char();
             if (c == '.') {
                 sb.append((char)c);
@@ -1794,7 +2048,7 @@ final class IonReaderTextRawTokensX
                 if (!IonTokenConstsX.isDigit(c)) {
                     expected_but_found("at least one digit after timestamp's decimal point", c);
                 }
-                c = load_digits(sb,c);
+                c = load_timestamp_fraction(sb, c);
             }
         }
 
@@ -1802,13 +2056,17 @@ final class IonReaderTextRawTokensX
         // the timezone offset starts with a '+' '-' 'Z' or 'z'
         if (c == 'z' || c == 'Z') {
             sb.append((char)c);
+            // Timestamp.valueOf() reports the lower case form
+            _timestamp_in_range &= (c == 'Z');
+            _timestamp_offset = 0;
             // read ahead since we'll check for a valid ending in a bit
             c = read_char();
         }
         else if (c == '+' || c == '-') {
             // then ... hours of time offset
             sb.append((char)c);
-            load_fixed_digits(sb, 2);
+            boolean negative_offset = (c == '-');
+            int offset_hours = load_fixed_digits(sb, 2);
             c = read_char();
             if (c != ':') {
                 // those hours need their minutes if it wasn't a 'z'
@@ -1817,8 +2075,18 @@ final class IonReaderTextRawTokensX
             }
             // and finally the *not* optional minutes of time offset
             sb.append((char)c);
-            load_fixed_digits(sb, 2);
+            int offset_minutes = load_fixed_digits(sb, 2);
             c = read_char();
+            // Timestamp.valueOf() reports offsets out of range
+            _timestamp_in_range &= (offset_hours <= 23 && offset_minutes <= 59);
+            int offset = offset_hours * 60 + offset_minutes;
+            if (negative_offset) {
+                // -00:00 is the unknown offset
+                _timestamp_offset = (offset == 0 ? _Private_EpochCalendar.UNKNOWN_OFFSET : -offset);
+            }
+            else {
+                _timestamp_offset = offset;
+            }
         }
         else {
             // some sort of offset is required with a time value
@@ -1828,6 +2096,70 @@ final class IonReaderTextRawTokensX
         return load_finish_number(sb, c, IonTokenConstsX.TOKEN_TIMESTAMP);
     }
 
+    /**
+     * Loads the digits of a fractional second, accumulating them into
+     * {@link #_timestamp_fraction} as they are read.
+     */
+    private final int load_timestamp_fraction(StringBuilder sb, int c)
+        throws IOException
+    {
+        int start = sb.length();
+        _number_in_range = true;
+        _number_significand = 0;
+        c = load_significand_digits(sb, c);
+        int digits = sb.length() - start;
+        // the seconds and fraction are combined into a long
+        if (digits > 17) {
+            _timestamp_in_range = false;
+        }
+        else {
+            _timestamp_fraction = _number_significand;
+            _timestamp_fraction_digits = digits;
+        }
+        _number_in_range = false;
+        return c;
+    }
+
+    /**
+     * Returns the last timestamp loaded, built from the fields gathered while
+     * it was scanned, or null if it has to be parsed from its text.
+     *
+     * @throws IllegalArgumentException if the fields are out of range.
+     */
+    Timestamp newScannedTimestamp()
+    {
+        if (!_timestamp_in_range) return null;
+        Integer offset = (_timestamp_offset == _Private_EpochCalendar.UNKNOWN_OFFSET)
+                       ? null
+                       : Integer.valueOf(_timestamp_offset);
+        switch (_timestamp_precision) {
+        case YEAR:
+            return Timestamp.forYear(_timestamp_year);
+        case MONTH:
+            return Timestamp.forMonth(_timestamp_year, _timestamp_month);
+        case DAY:
+            return Timestamp.forDay(_timestamp_year, _timestamp_month, _timestamp_day);
+        case MINUTE:
+            return Timestamp.forMinute(_timestamp_year, _timestamp_month, _timestamp_day,
+                                       _timestamp_hour, _timestamp_minute, offset);
+        default:
+            if (_timestamp_fraction_digits < 0) {
+                return Timestamp.forSecond(_timestamp_year, _timestamp_month, _timestamp_day,
+                                           _timestamp_hour, _timestamp_minute, _timestamp_second,
+                                           offset);
+            }
+            long seconds = _timestamp_second;
+            for (int ii = 0; ii < _timestamp_fraction_digits; ii++) {
+                seconds *= 10;
+            }
+            return Timestamp.forSecond(_timestamp_year, _timestamp_month, _timestamp_day,
+                                       _timestamp_hour, _timestamp_minute,
+                                       BigDecimal.valueOf(seconds + _timestamp_fraction,
+                                                          _timestamp_fraction_digits),
+                                       offset);
+        }
+    }
+
     private final int loadRadixValue(StringBuilder sb, boolean has_sign, int c2, Radix radix)
         throws IOException
     {
@@ -1839,6 +2171,7 @@ final class IonReaderTextRawTokensX
 
     private final int skip_over_symbol_identifier(SavePoint sp) throws IOException
     {
+        _stream.read_symbol_span(null);
         int c = read_char();
 
         while(IonTokenConstsX.isValidSymbolCharacter(c)) {
@@ -1853,6 +2186,7 @@ final class IonReaderTextRawTokensX
 
     protected void load_symbol_identifier(StringBuilder sb) throws IOException
     {
+        _stream.read_symbol_span(sb);
         int c = read_char();
         while(IonTokenConstsX.isValidSymbolCharacter(c)) {
             sb.append((char)c);
@@ -1998,6 +2332,7 @@ final class IonReaderTextRawTokensX
     {
         int c;
         for (;;) {
+            _stream.read_string_span(null);
             c = read_string_char(ProhibitedCharacters.NONE);
             switch (c) {
             case -1:
@@ -2023,6 +2358,11 @@ final class IonReaderTextRawTokensX
         boolean expectLowSurrogate = false;
 
         for (;;) {
+            // plain ASCII runs can't contain a surrogate, so they're only
+            // bulk copied when we're not in the middle of a pair
+            if (!expectLowSurrogate) {
+                _stream.read_string_span(sb);
+            }
             c = read_string_char(ProhibitedCharacters.SHORT_CHAR);
             switch (c) {
             case CharacterSequence.CHAR_SEQ_ESCAPED_NEWLINE_SEQUENCE_1:
@@ -279,6 +279,8 @@ abstract class IonReaderTextRawX
     SavePoint           _current_value_save_point;
     boolean             _current_value_buffer_loaded;
     StringBuilder       _current_value_buffer;
+    /** true when the value buffer was loaded by the scanner's load_number, whose digits it has accumulated */
+    boolean             _current_value_number_loaded;
 
     ValueVariant        _v = new ValueVariant();
 
@@ -358,6 +360,7 @@ abstract class IonReaderTextRawX
         _annotation_count = 0;
         _current_value_save_point_loaded = false;
         _current_value_buffer_loaded = false;
+        _current_value_number_loaded = false;
         _value_start_offset = 0;
         _lob_value_set = false;
         _lob_token = 0;
@@ -394,6 +397,7 @@ abstract class IonReaderTextRawX
         if (_current_value_buffer_loaded) {
             _current_value_buffer.setLength(0);
             _current_value_buffer_loaded = false;
+            _current_value_number_loaded = false;
         }
         if (_current_value_save_point_loaded) {
             _current_value_save_point.clear();
@@ -1121,6 +1125,7 @@ abstract class IonReaderTextRawX
             case IonTokenConstsX.TOKEN_DECIMAL:
             case IonTokenConstsX.TOKEN_TIMESTAMP:
                 _value_type = _scanner.load_number(sb);
+                _current_value_number_loaded = true;
                 break;
             case IonTokenConstsX.TOKEN_SYMBOL_IDENTIFIER:
                 _scanner.load_symbol_identifier(sb);
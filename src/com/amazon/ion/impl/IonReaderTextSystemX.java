@@ -225,6 +225,15 @@ class IonReaderTextSystemX
 
         int token_type = _scanner.getToken();
 
+        if (_current_value_number_loaded) {
+            if (load_scanned_number()) {
+                clear_current_value_buffer();
+                return;
+            }
+            // the scanner only keeps the digits of numbers it accumulated
+            _scanner.load_deferred_number_text(cs);
+        }
+
         if (_value_type == IonType.DECIMAL) {
             // we do this here (instead of in the case below
             // so that we can modify the value while it's not
@@ -428,6 +437,66 @@ class IonReaderTextSystemX
             parse_error("scalar token "+IonTokenConstsX.getTokenName(_scanner.getToken())+"isn't a recognized type");
         }
     }
+    /**
+     * Sets an int, decimal, float or timestamp value from what the scanner
+     * accumulated while loading it, rather than parsing its text again.
+     *
+     * @return false if the value has to be parsed from its text.
+     */
+    private final boolean load_scanned_number()
+    {
+        if (_value_type == IonType.TIMESTAMP) {
+            Timestamp t;
+            try {
+                t = _scanner.newScannedTimestamp();
+            }
+            catch (IllegalArgumentException e) {
+                // let Timestamp.valueOf() report it, as it always has
+                return false;
+            }
+            if (t == null) {
+                return false;
+            }
+            _v.setValue(t);
+            return true;
+        }
+        if (!_scanner.isNumberInRange()) {
+            return false;
+        }
+        long significand = _scanner.getNumberSignificand();
+        int scale = _scanner.getNumberScale();
+        boolean negative = _scanner.isNumberNegative();
+        switch (_value_type) {
+        case INT:
+            long value = negative ? -significand : significand;
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                _v.setValue((int) value);
+            }
+            else {
+                _v.setValue(value);
+            }
+            return true;
+        case DECIMAL:
+            if (negative && significand == 0) {
+                _v.setValue(Decimal.negativeZero(scale));
+            }
+            else {
+                _v.setValue(Decimal.valueOf(negative ? -significand : significand, scale));
+            }
+            return true;
+        case FLOAT:
+            double d = _Private_FloatConversions.toDouble(significand, -scale, negative);
+            if (Double.isNaN(d)) {
+                // left to Double.parseDouble()
+                return false;
+            }
+            _v.setValue(d);
+            return true;
+        default:
+            return false;
+        }
+    }
+
     private final void cast_cached_value(int new_type)
     {
         // this should only be called when it actually has to do some work
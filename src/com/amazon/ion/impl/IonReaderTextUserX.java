@@ -54,7 +54,7 @@ import java.util.regex.Pattern;
  */
 class IonReaderTextUserX
     extends IonReaderTextSystemX
-    implements _Private_ReaderWriter
+    implements _Private_ReaderWriter, _Private_FieldMatchingReader
 {
     private static final Pattern ION_VERSION_MARKER_REGEX = Pattern.compile("^\\$ion_[0-9]+_[0-9]+$");
 
@@ -410,10 +410,26 @@ class IonReaderTextUserX
             return facetType.cast(new SeekableReaderFacet());
         }
 
+        if (facetType == _Private_FieldMatchingReader.class)
+        {
+            return facetType.cast(this);
+        }
+
         return super.asFacet(facetType);
     }
 
 
+    public int matchFieldName(_Private_FieldNameMatcher matcher)
+    {
+        if (_field_name == null && _field_name_sid > 0)
+        {
+            // a $<sid> field name, resolved like any other
+            return matcher.match(_field_name_sid, getSymbolTable());
+        }
+        return matcher.match(getFieldName());
+    }
+
+
     private class SpanProviderFacet
         implements SpanProvider
     {
@@ -646,12 +646,12 @@ class IonWriterSystemText
         {
             // Timestamp is ASCII-safe so this is easy
             _output.appendAscii('"');
-            _output.appendAscii(value.toString());
+            _output.printTimestamp(value);
             _output.appendAscii('"');
         }
         else
         {
-            _output.appendAscii(value.toString());
+            _output.printTimestamp(value);
         }
 
         closeValue();
@@ -18,6 +18,7 @@ package com.amazon.ion.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 
 /**
  * this base class and it's two children (below) manage
@@ -35,6 +36,7 @@ abstract class UnifiedDataPageX
 
     protected byte[]    _bytes;
     protected char[]    _characters;
+    protected ByteBuffer _direct;     // set instead of _bytes when the page is read in place from a buffer
 
 
     public static final UnifiedDataPageX makePage(byte[] bytes, int offset, int length) {
@@ -62,6 +64,7 @@ abstract class UnifiedDataPageX
     public final    PageType getPageType() { return _page_type; }
     public final    char[]   getCharBuffer() { return _characters; }
     public final    byte[]   getByteBuffer() { return _bytes; }
+    public final    ByteBuffer getDirectBuffer() { return _direct; }
 
     private final boolean isBytes() {
         return (_page_type == PageType.BYTES);
@@ -205,6 +208,75 @@ abstract class UnifiedDataPageX
         }
     }
 
+    /**
+     * A byte page that reads a {@link ByteBuffer}, such as a direct or
+     * memory-mapped buffer, in place.  Offsets in the page are absolute
+     * indexes into the buffer.
+     * <p>
+     * When loaded from a mapped file the page maps its window along with
+     * the bytes that precede it, in the space other pages reserve for
+     * unreading, so those bytes are already the ones an unread puts back.
+     */
+    static final class Direct extends UnifiedDataPageX
+    {
+        Direct() {
+            _page_type   = PageType.BYTES;
+        }
+        Direct(ByteBuffer buffer, int offset, int len) {
+            _page_type   = PageType.BYTES;
+            _direct      = buffer;
+            _base_offset = offset;
+            _page_limit  = offset + len;
+        }
+
+        @Override
+        int load(InputStream stream, int start_offset, long file_position) throws IOException
+        {
+            if (!(stream instanceof _Private_ByteBufferInputStream)) {
+                throw new UnsupportedOperationException("direct pages only load from mapped files");
+            }
+            ByteBuffer window = ((_Private_ByteBufferInputStream) stream).mapWindow(file_position, start_offset);
+            if (window == null) {
+                return -1;
+            }
+            _direct = window;
+            _base_offset = start_offset;
+            _unread_count = 0;
+            _page_limit = window.limit();
+            setFilePosition(file_position, start_offset);
+            return _page_limit - start_offset;
+        }
+
+        @Override
+        public int getValue(int offset) {
+            return (_direct.get(offset) & 0xff);
+        }
+
+        @Override
+        public void putValue(int offset, int b) {
+            // the byte being put back is the one the buffer already holds
+        }
+
+        @Override
+        public final int readFrom(int pageOffset, byte[] bytes, int offset, int length) {
+            int bytes_read = length;
+            if (pageOffset >= _page_limit) return -1;
+
+            if (bytes_read > _page_limit - pageOffset) {
+                bytes_read = _page_limit - pageOffset;
+            }
+            ByteBuffer src = _direct.duplicate();
+            src.position(pageOffset);
+            src.get(bytes, offset, bytes_read);
+
+            return bytes_read;
+        }
+        @Override
+        public final int readFrom(int pageOffset, char[] chars, int offset, int length) {
+            throw new UnsupportedOperationException("byte pages can't read characters");
+        }
+    }
+
     // FIXME: remove "public" when UnifiedOutputBufferX is
     //        integrated back into ion.impl
     public static final class Chars extends UnifiedDataPageX
@@ -15,6 +15,7 @@
 
 package com.amazon.ion.impl;
 
+import java.nio.ByteBuffer;
 
 abstract class UnifiedInputBufferX
 {
@@ -30,6 +31,14 @@ abstract class UnifiedInputBufferX
         UnifiedInputBufferX buf = new UnifiedInputBufferX.Bytes(bytes, offset, length);
         return buf;
     }
+    public static UnifiedInputBufferX makePageBuffer(ByteBuffer buffer, int offset, int length) {
+        UnifiedInputBufferX buf = new UnifiedInputBufferX.Direct(buffer, offset, length);
+        return buf;
+    }
+    public static UnifiedInputBufferX makeDirectPageBuffer() {
+        UnifiedInputBufferX buf = new UnifiedInputBufferX.Direct();
+        return buf;
+    }
     public static UnifiedInputBufferX makePageBuffer(char[] chars, int offset, int length) {
         UnifiedInputBufferX buf = new UnifiedInputBufferX.Chars(chars, offset, length);
         return buf;
@@ -280,6 +289,32 @@ abstract class UnifiedInputBufferX
         @Override
         public final int maxValue() { return 0xff; }
 
+    }
+    /**
+     * Pages that read buffers in place, see {@link UnifiedDataPageX.Direct}.
+     */
+    static class Direct extends UnifiedInputBufferX {
+        protected Direct() {
+            super(0);
+        }
+        protected Direct(ByteBuffer buffer, int offset, int length) {
+            super(length);
+            _buffers[0] = new UnifiedDataPageX.Direct(buffer, offset, length);
+            _buffer_current = 0;
+            _buffer_count = 1;
+        }
+        @Override
+        public final BufferType getType() { return BufferType.BYTES; }
+
+        @Override
+        protected final UnifiedDataPageX make_page(int page_size) {
+            UnifiedDataPageX p = new UnifiedDataPageX.Direct();
+            return p;
+        }
+
+        @Override
+        public final int maxValue() { return 0xff; }
+
     }
     static class Chars extends UnifiedInputBufferX {
         protected Chars(int initialPageSize) {
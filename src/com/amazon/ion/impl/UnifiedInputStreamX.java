@@ -21,6 +21,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 
 /**
  * This is a local stream abstraction, and implementation, that
@@ -29,7 +30,10 @@ import java.io.Reader;
  * <code>Reader</code>.
  *
  * When passed a users data buffer it simply operates of the
- * entire buffer directly.
+ * entire buffer directly.  A {@link ByteBuffer} without a backing
+ * array, and a memory-mapped file, are read in place the same way,
+ * through {@link #_direct}.  Those are only used for binary input,
+ * since the text scanner's span methods work on arrays.
  *
  * When the input source is a stream is creates it's own local
  * buffers, using {@link #UnifiedInputBufferX} and {@link #UnifiedDataPageX}.
@@ -86,6 +90,8 @@ abstract class UnifiedInputStreamX
     InputStream             _stream;
     byte[]                  _bytes;
     char[]                  _chars;
+    // set instead of _bytes when a byte page is read in place from a buffer
+    ByteBuffer              _direct;
 
 
     UnifiedSavePointManagerX _save_points;
@@ -117,6 +123,12 @@ abstract class UnifiedInputStreamX
     public static UnifiedInputStreamX makeStream(InputStream stream) throws IOException {
         return new FromByteStream(stream);
     }
+    public static UnifiedInputStreamX makeStream(ByteBuffer buffer) {
+        return new FromByteBuffer(buffer);
+    }
+    public static UnifiedInputStreamX makeMappedStream(_Private_ByteBufferInputStream file) throws IOException {
+        return new FromMappedFile(file);
+    }
     public final InputStream getInputStream() { return _stream; }
     public final Reader      getReader()      { return _reader; }
     public final byte[]      getByteArray()   { return _bytes; }
@@ -192,6 +204,7 @@ abstract class UnifiedInputStreamX
         _eof = false;
         if (is_byte_data()) {
             _bytes = curr.getByteBuffer();
+            _direct = curr.getDirectBuffer();
         }
         else {
             _chars = curr.getCharBuffer();
@@ -231,7 +244,10 @@ abstract class UnifiedInputStreamX
                 // the actual beginning of the input - which is an error.
                 curr.inc_unread_count();
                 if (is_byte_data()) {
-                    _bytes[_pos] = (byte)c;
+                    // a direct page already holds the byte that precedes it
+                    if (_bytes != null) {
+                        _bytes[_pos] = (byte)c;
+                    }
                 }
                 else {
                     _chars[_pos] = (char)c;
@@ -255,7 +271,7 @@ abstract class UnifiedInputStreamX
     private final void verify_matched_unread(int c) {
         if (_debug) {
             if (is_byte_data()) {
-                assert(_bytes[_pos] == (byte)c);
+                assert(next_byte_at(_pos) == (c & 0xff));
             }
             else {
                 assert(_chars[_pos] == (char)c);
@@ -297,10 +313,246 @@ abstract class UnifiedInputStreamX
 
     public final int read() throws IOException {
         if (_pos >= _limit) return read_helper();
-        // both bytes and chars might be null if this is empty input
-        // otherwise we should have 1, and only 1, of these buffers set
-        assert((_bytes == null) ^ (_chars == null));
-        return (_is_byte_data) ? (_bytes[_pos++] & 0xff) : _chars[_pos++];
+        // both bytes and chars are null if this is empty input or a
+        // direct page, otherwise we should have only 1 of these buffers set
+        assert((_bytes == null) || (_chars == null));
+        return (_is_byte_data) ? next_byte() : _chars[_pos++];
+    }
+
+    private final int next_byte() {
+        return (_bytes != null) ? (_bytes[_pos++] & 0xff) : (_direct.get(_pos++) & 0xff);
+    }
+
+    private final int next_byte_at(int pos) {
+        return (_bytes != null) ? (_bytes[pos] & 0xff) : (_direct.get(pos) & 0xff);
+    }
+
+    /*
+     * span scanning - these let the tokenizer consume runs of plain
+     * ASCII characters straight out of the current page instead of
+     * calling read() once per character.  They never refill, never
+     * cross the current limit (which already honors any active save
+     * point) and stop in front of the first character they don't
+     * accept, so the caller's next read() sees exactly what it would
+     * have seen otherwise.  Both byte (UTF-8) and char pages are
+     * handled; in either case only 7 bit values are consumed, so
+     * multi-byte sequences, escapes and new lines are always left to
+     * the general character at a time path.
+     */
+
+    /**
+     * Skips spaces and tabs in the current page.
+     * @return true if anything was skipped
+     */
+    final boolean skip_blanks()
+    {
+        int pos = _pos;
+        int limit = _limit;
+        if (_is_byte_data) {
+            byte[] bytes = _bytes;
+            while (pos < limit) {
+                byte b = bytes[pos];
+                if (b != ' ' && b != '\t') break;
+                pos++;
+            }
+        }
+        else {
+            char[] chars = _chars;
+            while (pos < limit) {
+                char ch = chars[pos];
+                if (ch != ' ' && ch != '\t') break;
+                pos++;
+            }
+        }
+        boolean skipped = (pos > _pos);
+        _pos = pos;
+        return skipped;
+    }
+
+    /**
+     * Consumes printable ASCII characters, other than the double quote
+     * and the backslash, from the current page and appends them to sb.
+     * @param sb receives the characters; may be null to just skip them
+     * @return the number of characters consumed
+     */
+    final int read_string_span(StringBuilder sb)
+    {
+        int start = _pos;
+        int pos = start;
+        int limit = _limit;
+        if (_is_byte_data) {
+            byte[] bytes = _bytes;
+            while (pos < limit) {
+                int c = bytes[pos];  // sign extended, so non-ASCII is < 0
+                if (c < 0x20 || c == '"' || c == '\\' || c == 0x7f) break;
+                if (sb != null) sb.append((char)c);
+                pos++;
+            }
+        }
+        else {
+            char[] chars = _chars;
+            while (pos < limit) {
+                char ch = chars[pos];
+                if (ch < 0x20 || ch == '"' || ch == '\\' || ch >= 0x7f) break;
+                pos++;
+            }
+            if (sb != null && pos > start) sb.append(chars, start, pos - start);
+        }
+        _pos = pos;
+        return pos - start;
+    }
+
+    /**
+     * Consumes identifier symbol characters (letters, digits, '$' and
+     * '_') from the current page and appends them to sb.
+     * @param sb receives the characters; may be null to just skip them
+     * @return the number of characters consumed
+     */
+    final int read_symbol_span(StringBuilder sb)
+    {
+        int start = _pos;
+        int pos = start;
+        int limit = _limit;
+        if (_is_byte_data) {
+            byte[] bytes = _bytes;
+            while (pos < limit) {
+                int c = bytes[pos];
+                if (c < 0 || !IonTokenConstsX.isValidSymbolCharacter(c)) break;
+                if (sb != null) sb.append((char)c);
+                pos++;
+            }
+        }
+        else {
+            char[] chars = _chars;
+            while (pos < limit) {
+                char ch = chars[pos];
+                if (ch > 0x7f || !IonTokenConstsX.isValidSymbolCharacter(ch)) break;
+                pos++;
+            }
+            if (sb != null && pos > start) sb.append(chars, start, pos - start);
+        }
+        _pos = pos;
+        return pos - start;
+    }
+
+    /**
+     * Consumes decimal digits from the current page and appends them to sb.
+     * @param sb receives the digits; may be null to just skip them
+     * @return the number of digits consumed
+     */
+    final int read_digit_span(StringBuilder sb)
+    {
+        int start = _pos;
+        int pos = start;
+        int limit = _limit;
+        if (_is_byte_data) {
+            byte[] bytes = _bytes;
+            while (pos < limit) {
+                int c = bytes[pos];
+                if (c < '0' || c > '9') break;
+                if (sb != null) sb.append((char)c);
+                pos++;
+            }
+        }
+        else {
+            char[] chars = _chars;
+            while (pos < limit) {
+                char ch = chars[pos];
+                if (ch < '0' || ch > '9') break;
+                pos++;
+            }
+            if (sb != null && pos > start) sb.append(chars, start, pos - start);
+        }
+        _pos = pos;
+        return pos - start;
+    }
+
+    /**
+     * Consumes decimal digits from the current page, appending them to sb as
+     * {@link #read_digit_span(StringBuilder)} does and accumulating them into
+     * the given value.
+     * @param value the digits accumulated so far, or -1 if they no longer
+     * fit in a long
+     * @return the value followed by the digits consumed, or -1 if that no
+     * longer fits in a long
+     */
+    final long read_digit_span(StringBuilder sb, long value)
+    {
+        int start = _pos;
+        int pos = start;
+        int limit = _limit;
+        if (_is_byte_data) {
+            byte[] bytes = _bytes;
+            while (pos < limit) {
+                int c = bytes[pos];
+                if (c < '0' || c > '9') break;
+                sb.append((char)c);
+                value = append_digit(value, c);
+                pos++;
+            }
+        }
+        else {
+            char[] chars = _chars;
+            while (pos < limit) {
+                char ch = chars[pos];
+                if (ch < '0' || ch > '9') break;
+                value = append_digit(value, ch);
+                pos++;
+            }
+            if (pos > start) sb.append(chars, start, pos - start);
+        }
+        _pos = pos;
+        return value;
+    }
+
+    /**
+     * Consumes decimal digits from the current page, accumulating them into
+     * the given value without copying them anywhere.  Stops before a digit
+     * that would overflow a long, leaving it to be read.
+     * @param value the digits accumulated so far; must not be negative
+     * @return the value followed by the digits consumed
+     */
+    final long read_digit_span(long value)
+    {
+        int pos = _pos;
+        int limit = _limit;
+        if (_is_byte_data) {
+            byte[] bytes = _bytes;
+            while (pos < limit) {
+                int c = bytes[pos];
+                if (c < '0' || c > '9') break;
+                long next = append_digit(value, c);
+                if (next < 0) break;
+                value = next;
+                pos++;
+            }
+        }
+        else {
+            char[] chars = _chars;
+            while (pos < limit) {
+                char ch = chars[pos];
+                if (ch < '0' || ch > '9') break;
+                long next = append_digit(value, ch);
+                if (next < 0) break;
+                value = next;
+                pos++;
+            }
+        }
+        _pos = pos;
+        return value;
+    }
+
+    /**
+     * Appends the given decimal digit to value, returning -1 if the result
+     * doesn't fit in a long or value is already -1.
+     */
+    static long append_digit(long value, int c)
+    {
+        int digit = c - '0';
+        if (value < 0 || value > (Long.MAX_VALUE - digit) / 10) {
+            return -1;
+        }
+        return value * 10 + digit;
     }
 
     protected final int read_helper() throws IOException
@@ -312,7 +564,7 @@ abstract class UnifiedInputStreamX
             return EOF;
         }
 
-        int c = (is_byte_data()) ? (_bytes[_pos++] & 0xff) : _chars[_pos++];
+        int c = (is_byte_data()) ? next_byte() : _chars[_pos++];
         return c;
     }
 
@@ -373,7 +625,13 @@ abstract class UnifiedInputStreamX
             if (ready > remaining) {
                 ready = remaining;
             }
-            System.arraycopy(_bytes, _pos, dst, offset, ready);
+            if (_bytes != null) {
+                System.arraycopy(_bytes, _pos, dst, offset, ready);
+            }
+            else {
+                _direct.position(_pos);
+                _direct.get(dst, offset, ready);
+            }
             _pos += ready;
             offset += ready;
             remaining -= ready;
@@ -594,6 +852,46 @@ static class FromByteArray extends UnifiedInputStreamX
         }
     }
 
+    private static class FromByteBuffer extends UnifiedInputStreamX
+    {
+        FromByteBuffer(ByteBuffer buffer)
+        {
+            int offset = buffer.position();
+            int length = buffer.remaining();
+            _is_byte_data = true;
+            _is_stream = false;
+            _buffer = UnifiedInputBufferX.makePageBuffer(buffer.duplicate(), offset, length);
+            UnifiedDataPageX curr = _buffer.getCurrentPage();
+            make_page_current(curr, 0, offset, offset+length);
+            super.init();
+        }
+    }
+
+    /**
+     * Reads a mapped file in place, a window at a time.  The file is
+     * only used to map windows, so it is left at its own position.
+     */
+    private static class FromMappedFile extends UnifiedInputStreamX
+    {
+        FromMappedFile(_Private_ByteBufferInputStream file) throws IOException
+        {
+            _is_byte_data = true;
+            _is_stream = true;
+            _stream = file;
+            _buffer = UnifiedInputBufferX.makeDirectPageBuffer();
+            super.init();
+            _limit = refill();
+        }
+
+        @Override
+        public void close()
+            throws IOException
+        {
+            super.close();
+            _stream.close();
+        }
+    }
+
     private static class FromByteStream extends UnifiedInputStreamX
     {
         FromByteStream(InputStream stream) throws IOException
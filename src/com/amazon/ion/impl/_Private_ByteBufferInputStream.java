@@ -0,0 +1,193 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+/**
+ * NOT FOR APPLICATION USE!
+ * <p>
+ * An {@link InputStream} over the remaining bytes of a {@link ByteBuffer}, or over a file mapped into memory.  Bytes
+ * go straight from the buffer into the caller's array, so the reader's pages are the only copy.
+ * <p>
+ * A mapped {@link ByteBuffer} cannot exceed 2 GB, so larger files are mapped in windows, one at a time.  The mapping
+ * of a window is released when the garbage collector reclaims it.
+ * <p>
+ * The binary reader doesn't read a file through this stream at all: it decodes the windows from
+ * {@link #mapWindow(long, int)} in place.
+ */
+public final class _Private_ByteBufferInputStream
+    extends InputStream
+{
+    /** Files are mapped in windows of at most this many bytes. */
+    static final int MAX_WINDOW_SIZE = 1 << 30;
+
+    private final FileChannel _channel;
+    private final long _size;
+    private final int _windowSize;
+    private long _windowEnd;
+    private ByteBuffer _window;
+
+    /**
+     * @param buffer the bytes from its position to its limit are read.  The buffer itself is not modified.
+     */
+    public _Private_ByteBufferInputStream(ByteBuffer buffer)
+    {
+        _channel = null;
+        _window = buffer.duplicate();
+        _size = _window.remaining();
+        _windowSize = _window.remaining();
+        _windowEnd = _size;
+    }
+
+    private _Private_ByteBufferInputStream(FileChannel channel, int windowSize) throws IOException
+    {
+        _channel = channel;
+        _size = channel.size();
+        _windowSize = windowSize;
+        _windowEnd = 0;
+        _window = ByteBuffer.allocate(0);
+    }
+
+    /**
+     * Maps the given file for reading.  The file is closed when the stream is.
+     */
+    public static _Private_ByteBufferInputStream forFile(File file) throws IOException
+    {
+        return forFile(file, MAX_WINDOW_SIZE);
+    }
+
+    static _Private_ByteBufferInputStream forFile(File file, int windowSize) throws IOException
+    {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            return new _Private_ByteBufferInputStream(raf.getChannel(), windowSize);
+        }
+        catch (IOException e) {
+            raf.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Ensures that the current window has bytes left, mapping the next one if needed.
+     * @return false at the end of the input.
+     */
+    private boolean fill() throws IOException
+    {
+        if (_window.hasRemaining()) {
+            return true;
+        }
+        if (_channel == null || _windowEnd >= _size) {
+            return false;
+        }
+        long start = _windowEnd;
+        long length = Math.min(_windowSize, _size - start);
+        _window = _channel.map(MapMode.READ_ONLY, start, length);
+        _windowEnd = start + length;
+        return true;
+    }
+
+    /**
+     * Maps the window of the file that starts at the given position, for reading in place.  This is independent of
+     * the stream's own position.
+     *
+     * @param position the start of the window; a multiple of the window size.
+     * @param lead the number of bytes before the window to map along with it.  Must not exceed {@code position}.
+     * @return a read-only buffer from {@code position - lead} to the end of the window, positioned at zero; or null
+     * at the end of the file.
+     */
+    ByteBuffer mapWindow(long position, int lead) throws IOException
+    {
+        if (_channel == null) {
+            throw new UnsupportedOperationException("only files are mapped");
+        }
+        if (position >= _size) {
+            return null;
+        }
+        long length = Math.min(_windowSize, _size - position);
+        return _channel.map(MapMode.READ_ONLY, position - lead, lead + length);
+    }
+
+    @Override
+    public int read() throws IOException
+    {
+        if (!fill()) {
+            return -1;
+        }
+        return _window.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException
+    {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(length, _window.remaining());
+        _window.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        long skipped = 0;
+        while (skipped < n) {
+            if (_window.hasRemaining()) {
+                int count = (int) Math.min(n - skipped, _window.remaining());
+                _window.position(_window.position() + count);
+                skipped += count;
+            }
+            else if (_channel != null && _windowEnd < _size) {
+                // skip whole windows without mapping them
+                long count = Math.min(n - skipped, _size - _windowEnd);
+                _windowEnd += count;
+                skipped += count;
+            }
+            else {
+                break;
+            }
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException
+    {
+        return _window.remaining();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        _window = ByteBuffer.allocate(0);
+        _windowEnd = _size;
+        if (_channel != null) {
+            _channel.close();
+        }
+    }
+}
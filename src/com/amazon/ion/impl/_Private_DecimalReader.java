@@ -0,0 +1,53 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.IonReader;
+
+/**
+ * An {@link IonReader} {@linkplain com.amazon.ion.facet facet} that can hand
+ * out the current decimal value as an unscaled {@code long} and a scale,
+ * without allocating a {@link com.amazon.ion.Decimal}, when its coefficient
+ * fits in a {@code long}.
+ * <p>
+ * Each method throws {@link IllegalStateException} unless the reader is
+ * positioned on a non-null decimal.
+ */
+public interface _Private_DecimalReader
+{
+    /**
+     * Determines whether the current decimal can be read with
+     * {@link #unscaledDecimalValue()}.  This is false when its coefficient
+     * does not fit in a {@code long} and for negative zero, which must be read
+     * with {@link IonReader#decimalValue()} instead.
+     */
+    public boolean decimalFitsInLong();
+
+    /**
+     * Returns the coefficient of the current decimal, as in
+     * {@link java.math.BigDecimal#unscaledValue()}.
+     *
+     * @throws IllegalStateException if {@link #decimalFitsInLong()} is false.
+     */
+    public long unscaledDecimalValue();
+
+    /**
+     * Returns the scale of the current decimal, which is the negation of its
+     * exponent, as in {@link java.math.BigDecimal#scale()}.
+     */
+    public int decimalScale();
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl;
+
+import java.util.Calendar;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+/**
+ * NOT FOR APPLICATION USE!
+ * <p>
+ * Conversions between epoch time and the UTC fields of a timestamp that do not allocate, for the primitive timestamp
+ * accessors of the binary reader and writer.
+ * <p>
+ * {@link com.amazon.ion.Timestamp} follows {@link Date} in switching from the Julian to the Gregorian calendar in
+ * October 1582.  The arithmetic here is only used from that cutover on; earlier dates go through {@link Date} and
+ * {@link GregorianCalendar} so that the results agree with {@link com.amazon.ion.Timestamp#getMillis()}.
+ */
+public final class _Private_EpochCalendar
+{
+    /** Stands in for an unknown local offset, which {@link com.amazon.ion.Timestamp} represents as {@code null}. */
+    public static final int UNKNOWN_OFFSET = Integer.MIN_VALUE;
+
+    public static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+    /** The first second of the Gregorian calendar, 1582-10-15T00:00Z. */
+    static final long GREGORIAN_CUTOVER_SECOND = -12219292800L;
+
+    /** 0001-01-01T00:00Z */
+    static final long MIN_EPOCH_SECOND = -62135769600L;
+
+    /** The first second after 9999-12-31T23:59:59Z. */
+    static final long MAX_EPOCH_SECOND = 253402300800L;
+
+    /** Powers of ten up to the nine digits of a nanosecond fraction. */
+    public static final int[] POWERS_OF_TEN = {
+        1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000
+    };
+
+    private static final int[] DAYS_IN_MONTH = { 0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31 };
+
+    private _Private_EpochCalendar() {}
+
+    /**
+     * Returns whether the given date exists, by the same leap year rules as {@link com.amazon.ion.Timestamp}.
+     */
+    public static boolean isValidDate(int year, int month, int day)
+    {
+        if (year < 1 || year > 9999 || month < 1 || month > 12 || day < 1)
+        {
+            return false;
+        }
+        if (month == 2 && day == 29)
+        {
+            return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+        }
+        return day <= DAYS_IN_MONTH[month];
+    }
+
+    /** Returns the day since the epoch that contains the given second since the epoch, rounding towards the past. */
+    public static long epochDay(long epochSecond)
+    {
+        long day = epochSecond / SECONDS_PER_DAY;
+        if (epochSecond % SECONDS_PER_DAY < 0)
+        {
+            day--;
+        }
+        return day;
+    }
+
+    /**
+     * Returns the seconds since the epoch of the given UTC fields, which must be valid.
+     */
+    @SuppressWarnings("deprecation")
+    public static long epochSecond(int year, int month, int day, int hour, int minute, int second)
+    {
+        if (year < 1582 || (year == 1582 && (month < 10 || (month == 10 && day < 15))))
+        {
+            return Date.UTC(year - 1900, month - 1, day, hour, minute, second) / 1000;
+        }
+        return daysFromCivil(year, month, day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second;
+    }
+
+    /** Days since the epoch of a proleptic Gregorian date. */
+    private static long daysFromCivil(int year, int month, int day)
+    {
+        // count years from March so that the leap day is at the end of the year
+        final int y = month <= 2 ? year - 1 : year;
+        final int era = y / 400;
+        final int yearOfEra = y - era * 400;
+        final int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+
+    /**
+     * Returns the UTC date of the given day since the epoch packed as {@code yyyymmdd}, e.g. {@code 19700101}.
+     */
+    public static int civilFromDays(long epochDay)
+    {
+        if (epochDay * SECONDS_PER_DAY < GREGORIAN_CUTOVER_SECOND)
+        {
+            final Calendar calendar = new GregorianCalendar(_Private_Utils.UTC);
+            calendar.setTimeInMillis(epochDay * SECONDS_PER_DAY * 1000);
+            return calendar.get(Calendar.YEAR) * 10000
+                 + (calendar.get(Calendar.MONTH) + 1) * 100
+                 + calendar.get(Calendar.DAY_OF_MONTH);
+        }
+        final long z = epochDay + 719468;
+        final long era = z / 146097;
+        final int dayOfEra = (int) (z - era * 146097);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int mp = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        final int month = mp < 10 ? mp + 3 : mp - 9;
+        final int year = (int) (era * 400) + yearOfEra + (month <= 2 ? 1 : 0);
+        return year * 10000 + month * 100 + day;
+    }
+
+    /** Returns whether the given seconds since the epoch fall within years 1 through 9999. */
+    public static boolean isInRange(long epochSecond)
+    {
+        return epochSecond >= MIN_EPOCH_SECOND && epochSecond < MAX_EPOCH_SECOND;
+    }
+}
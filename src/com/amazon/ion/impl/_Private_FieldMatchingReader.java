@@ -0,0 +1,35 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.IonReader;
+
+/**
+ * An {@link IonReader} {@linkplain com.amazon.ion.facet facet} that matches
+ * the current field name against a precompiled
+ * {@link _Private_FieldNameMatcher}, which for binary input compares symbol
+ * IDs rather than strings.
+ */
+public interface _Private_FieldMatchingReader
+{
+    /**
+     * Returns the match code of the current field name, or
+     * {@link _Private_FieldNameMatcher#NO_MATCH} if it is not one of the
+     * matcher's names or the current value is not in a struct.
+     */
+    public int matchFieldName(_Private_FieldNameMatcher matcher);
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.SymbolTable;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * NOT FOR APPLICATION USE!
+ * <p>
+ * A set of field names compiled once, for picking a few fields out of wide structs.  Each name is given a match code,
+ * its index in the constructor's arguments, and a {@link _Private_FieldMatchingReader} reports the code of the
+ * current field.
+ * <p>
+ * For binary input the names are matched through the field's symbol ID.  The code for each symbol ID is resolved
+ * from the reader's symbol table the first time it is seen and cached until the symbol table changes, so repeated
+ * fields cost an array lookup rather than a string comparison.
+ * <p>
+ * A matcher caches state for the reader that last used it, so it is not thread safe; use one per reader.
+ */
+public final class _Private_FieldNameMatcher
+{
+    /** The match code of a field whose name is not in the set, or of a value that is not in a struct. */
+    public static final int NO_MATCH = -1;
+
+    /** Marks a symbol ID whose match code has not been resolved against the current symbol table yet. */
+    private static final int UNRESOLVED = -2;
+
+    private final String[] _names;
+    private final Map<String, Integer> _codes;
+
+    private SymbolTable _symbols;
+    private int[] _sidCodes = new int[0];
+
+    public _Private_FieldNameMatcher(String... names)
+    {
+        _names = names.clone();
+        _codes = new HashMap<String, Integer>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == null) {
+                throw new NullPointerException("field names must not be null");
+            }
+            if (_codes.put(names[i], i) != null) {
+                throw new IllegalArgumentException("duplicate field name: " + names[i]);
+            }
+        }
+    }
+
+    /** Returns the number of field names, which bounds the match codes. */
+    public int size()
+    {
+        return _names.length;
+    }
+
+    /** Returns the field name with the given match code. */
+    public String getName(int code)
+    {
+        return _names[code];
+    }
+
+    /** Returns the match code of the given field name, or {@link #NO_MATCH}. */
+    public int match(String fieldName)
+    {
+        if (fieldName == null) {
+            return NO_MATCH;
+        }
+        Integer code = _codes.get(fieldName);
+        return code == null ? NO_MATCH : code.intValue();
+    }
+
+    /**
+     * Returns the match code of the field with the given symbol ID in the given symbol table, or {@link #NO_MATCH}.
+     * IDs beyond the symbol table's max ID have no text, so they never match.
+     */
+    public int match(int sid, SymbolTable symbols)
+    {
+        if (sid <= 0 || sid > symbols.getMaxId()) {
+            return NO_MATCH;
+        }
+        if (symbols != _symbols) {
+            // a new local symbol table may assign the names to other IDs
+            _symbols = symbols;
+            Arrays.fill(_sidCodes, UNRESOLVED);
+        }
+        if (sid >= _sidCodes.length) {
+            int size = Math.max(sid + 1, Math.min(_sidCodes.length * 2, symbols.getMaxId() + 1));
+            int start = _sidCodes.length;
+            _sidCodes = Arrays.copyOf(_sidCodes, size);
+            Arrays.fill(_sidCodes, start, size, UNRESOLVED);
+        }
+        int code = _sidCodes[sid];
+        if (code == UNRESOLVED) {
+            code = match(symbols.findKnownSymbol(sid));
+            _sidCodes[sid] = code;
+        }
+        return code;
+    }
+}
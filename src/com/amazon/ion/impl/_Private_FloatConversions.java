@@ -0,0 +1,410 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import java.math.BigInteger;
+
+/**
+ * NOT FOR APPLICATION USE!
+ * <p>
+ * Conversions between doubles and their decimal digits that do not allocate, for reading and writing text floats.
+ * <p>
+ * {@link #toDouble(long, int, boolean)} is the Eisel-Lemire algorithm, which finds the correctly rounded double
+ * nearest to a decimal with at most 19 significant digits from a 128-bit approximation of its power of ten, and
+ * reports the rare inputs it cannot decide so that they can be left to {@link Double#parseDouble(String)}.
+ * <p>
+ * {@link #toChars(double, char[])} is Giulietti's Schubfach algorithm, which finds the shortest decimal that rounds
+ * back to a double, choosing the one closest to it when there are several.  This is the {@link Double#toString(double)}
+ * specification of JDK 19 and later, which gives two digits rather than one when a two-digit decimal is closer, so
+ * some subnormals print differently than on earlier JDKs: {@code 2 * Double.MIN_VALUE} is {@code 9.9E-324} rather
+ * than {@code 1.0E-323}.  The output is laid out as {@link Double#toString(double)} lays out its own.
+ * <p>
+ * The tables of powers of ten both need are computed once, when the class is loaded.
+ */
+public final class _Private_FloatConversions
+{
+    /** The most characters {@link #toChars(double, char[])} writes. */
+    public static final int MAX_CHARS = 32;
+
+    private _Private_FloatConversions() {}
+
+    //========================================================================
+    // Unsigned 64-bit arithmetic
+
+    /** Returns the high 64 bits of the unsigned 128-bit product of the given values. */
+    private static long multiplyHigh(long x, long y)
+    {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long p01 = x0 * y1;
+        long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL);
+        return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    private static boolean unsignedLessThan(long x, long y)
+    {
+        return (x ^ Long.MIN_VALUE) < (y ^ Long.MIN_VALUE);
+    }
+
+    private static final BigInteger MASK_64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+    private static final BigInteger MASK_63_BITS = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+
+    //========================================================================
+    // Parsing
+
+    /** The range of powers of ten outside which any 19-digit significand overflows or underflows a double. */
+    private static final int MIN_EXPONENT_10 = -348;
+    private static final int MAX_EXPONENT_10 = 347;
+
+    /**
+     * The 128-bit mantissas of the powers of ten from {@link #MIN_EXPONENT_10}, normalized so their highest bit is
+     * set and rounded down, as pairs of high and low words.
+     */
+    private static final long[] POWERS_OF_TEN_128 = new long[(MAX_EXPONENT_10 - MIN_EXPONENT_10 + 1) * 2];
+    static
+    {
+        for (int e = MIN_EXPONENT_10; e <= MAX_EXPONENT_10; e++) {
+            BigInteger mantissa;
+            if (e >= 0) {
+                BigInteger power = BigInteger.TEN.pow(e);
+                int shift = power.bitLength() - 128;
+                mantissa = shift > 0 ? power.shiftRight(shift) : power.shiftLeft(-shift);
+            }
+            else {
+                BigInteger power = BigInteger.TEN.pow(-e);
+                mantissa = BigInteger.ONE.shiftLeft(power.bitLength() + 127).divide(power);
+            }
+            int i = (e - MIN_EXPONENT_10) * 2;
+            POWERS_OF_TEN_128[i] = mantissa.shiftRight(64).longValue();
+            POWERS_OF_TEN_128[i + 1] = mantissa.and(MASK_64).longValue();
+        }
+    }
+
+    /** The powers of ten that are exactly representable as doubles. */
+    private static final double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Returns the double nearest to {@code significand * 10^exponent}, negated if requested, or {@link Double#NaN}
+     * if the result cannot be determined from the approximations this uses.  The significand is taken as unsigned.
+     */
+    public static double toDouble(long significand, int exponent, boolean negative)
+    {
+        if (significand == 0) {
+            return negative ? -0.0d : 0.0d;
+        }
+        // Clinger's fast path, where both operands and so the result are exact
+        if (significand >= 0 && significand <= (1L << 53)
+            && exponent >= -22 && exponent <= 22) {
+            double value = (double) significand;
+            value = exponent < 0
+                ? value / EXACT_POWERS_OF_TEN[-exponent]
+                : value * EXACT_POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        if (exponent < MIN_EXPONENT_10 || exponent > MAX_EXPONENT_10) {
+            return Double.NaN;
+        }
+
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long mantissa = significand << leadingZeros;
+        long binaryExponent = ((217706L * exponent) >> 16) + 64 + 1023 - leadingZeros;
+
+        int i = (exponent - MIN_EXPONENT_10) * 2;
+        long powerHigh = POWERS_OF_TEN_128[i];
+        long powerLow = POWERS_OF_TEN_128[i + 1];
+        long high = multiplyHigh(mantissa, powerHigh);
+        long low = mantissa * powerHigh;
+        if ((high & 0x1FF) == 0x1FF && unsignedLessThan(low + mantissa, mantissa)) {
+            // the truncation of the power may matter; bring in its low word
+            long carryHigh = multiplyHigh(mantissa, powerLow);
+            long carryLow = mantissa * powerLow;
+            long mergedHigh = high;
+            long mergedLow = low + carryHigh;
+            if (unsignedLessThan(mergedLow, low)) {
+                mergedHigh++;
+            }
+            if ((mergedHigh & 0x1FF) == 0x1FF && mergedLow == -1L
+                && unsignedLessThan(carryLow + mantissa, mantissa)) {
+                return Double.NaN;
+            }
+            high = mergedHigh;
+            low = mergedLow;
+        }
+
+        long msb = high >>> 63;
+        long result = high >>> (msb + 9);
+        binaryExponent -= 1 ^ msb;
+        if (low == 0 && (high & 0x1FF) == 0 && (result & 3) == 1) {
+            // exactly halfway between two doubles, as far as can be told
+            return Double.NaN;
+        }
+        result += result & 1;
+        result >>>= 1;
+        if ((result >>> 53) > 0) {
+            result >>>= 1;
+            binaryExponent++;
+        }
+        if (binaryExponent <= 0 || binaryExponent >= 0x7FF) {
+            // subnormal or infinite
+            return Double.NaN;
+        }
+        long bits = (binaryExponent << 52) | (result & 0x000FFFFFFFFFFFFFL);
+        if (negative) {
+            bits |= Long.MIN_VALUE;
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    //========================================================================
+    // Formatting
+
+    private static final int P = 53;
+    private static final int Q_MIN = -1074;
+    private static final long C_MIN = 1L << (P - 1);
+    private static final long C_TINY = 3;
+    private static final int BQ_MASK = 0x7FF;
+    private static final long T_MASK = (1L << (P - 1)) - 1;
+    private static final long MASK_63 = (1L << 63) - 1;
+
+    /** The range of powers of ten that scale the decimal digits of doubles. */
+    private static final int K_MIN = -324;
+    private static final int K_MAX = 292;
+
+    /**
+     * The 126-bit values {@code floor(10^-k / 2^r) + 1} for k from {@link #K_MIN}, where r makes each lie between
+     * 2^125 and 2^126, as pairs of their high and low 63 bits.
+     */
+    private static final long[] G = new long[(K_MAX - K_MIN + 1) * 2];
+    static
+    {
+        for (int k = K_MIN; k <= K_MAX; k++) {
+            int r = flog2pow10(-k) - 125;
+            BigInteger g;
+            if (k <= 0) {
+                BigInteger power = BigInteger.TEN.pow(-k);
+                g = r >= 0 ? power.shiftRight(r) : power.shiftLeft(-r);
+            }
+            else {
+                g = BigInteger.ONE.shiftLeft(-r).divide(BigInteger.TEN.pow(k));
+            }
+            g = g.add(BigInteger.ONE);
+            int i = (k - K_MIN) * 2;
+            G[i] = g.shiftRight(63).longValue();
+            G[i + 1] = g.and(MASK_63_BITS).longValue();
+        }
+    }
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+    static
+    {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    /** Returns floor(log10(2^e)). */
+    private static int flog10pow2(int e)
+    {
+        return (int) (e * 661971961083L >> 41);
+    }
+
+    /** Returns floor(log10(3/4 * 2^e)). */
+    private static int flog10threeQuartersPow2(int e)
+    {
+        return (int) (e * 661971961083L + -274743187321L >> 41);
+    }
+
+    /** Returns floor(log2(10^e)). */
+    private static int flog2pow10(int e)
+    {
+        return (int) (e * 913124641741L >> 38);
+    }
+
+    /**
+     * Writes the shortest decimal that rounds to the given finite, nonzero double into the given buffer, which must
+     * hold at least {@link #MAX_CHARS} characters, as {@link Double#toString(double)} does on JDK 19 and later.
+     *
+     * @return the number of characters written.
+     */
+    public static int toChars(double v, char[] out)
+    {
+        long bits = Double.doubleToRawLongBits(v);
+        long t = bits & T_MASK;
+        int bq = (int) (bits >>> (P - 1)) & BQ_MASK;
+        if (bq == BQ_MASK || (bq == 0 && t == 0)) {
+            throw new IllegalArgumentException("not a finite, nonzero double: " + v);
+        }
+        int length = 0;
+        if (bits < 0) {
+            out[length++] = '-';
+        }
+        long digits;
+        int exponent;
+        if (bq != 0) {
+            int mq = -Q_MIN + 1 - bq;
+            long c = C_MIN | t;
+            if (0 < mq && mq < P && ((c >> mq) << mq) == c) {
+                // an integer
+                return toChars(c >> mq, 0, out, length);
+            }
+            return toDecimal(-mq, c, 0, out, length);
+        }
+        return t < C_TINY
+            ? toDecimal(Q_MIN, 10 * t, -1, out, length)
+            : toDecimal(Q_MIN, t, 0, out, length);
+    }
+
+    /** Finds the shortest decimal in the rounding interval of {@code c * 2^q}. */
+    private static int toDecimal(int q, long c, int dk, char[] out, int length)
+    {
+        int odd = (int) c & 0x1;
+        long cb = c << 2;
+        long cbr = cb + 2;
+        long cbl;
+        int k;
+        if (c != C_MIN || q == Q_MIN) {
+            cbl = cb - 2;
+            k = flog10pow2(q);
+        }
+        else {
+            // the interval is narrower below a power of two
+            cbl = cb - 1;
+            k = flog10threeQuartersPow2(q);
+        }
+        int h = q + flog2pow10(-k) + 2;
+
+        int i = (k - K_MIN) * 2;
+        long g1 = G[i];
+        long g0 = G[i + 1];
+
+        long vb = roundToOdd(g1, g0, cb << h);
+        long vbl = roundToOdd(g1, g0, cbl << h);
+        long vbr = roundToOdd(g1, g0, cbr << h);
+
+        long s = vb >> 2;
+        if (s >= 100) {
+            // try one digit fewer
+            long sp10 = 10 * multiplyHigh(s, 115292150460684698L << 4);
+            long tp10 = sp10 + 10;
+            boolean upin = vbl + odd <= sp10 << 2;
+            boolean wpin = (tp10 << 2) + odd <= vbr;
+            if (upin != wpin) {
+                return toChars(upin ? sp10 : tp10, k, out, length);
+            }
+        }
+        long tt = s + 1;
+        boolean uin = vbl + odd <= s << 2;
+        boolean win = (tt << 2) + odd <= vbr;
+        if (uin != win) {
+            return toChars(uin ? s : tt, k + dk, out, length);
+        }
+        long cmp = vb - ((s + tt) << 1);
+        return toChars(cmp < 0 || (cmp == 0 && (s & 0x1) == 0) ? s : tt, k + dk, out, length);
+    }
+
+    /** Returns {@code g * cp / 2^127}, rounded to odd, where g is the 126-bit value {@code g1 * 2^63 + g0}. */
+    private static long roundToOdd(long g1, long g0, long cp)
+    {
+        long x1 = multiplyHigh(g0, cp);
+        long y0 = g1 * cp;
+        long y1 = multiplyHigh(g1, cp);
+        long z = (y0 >>> 1) + x1;
+        long vbp = y1 + (z >>> 63);
+        return vbp | (((z & MASK_63) + MASK_63) >>> 63);
+    }
+
+    /**
+     * Writes {@code f * 10^e} after the given number of characters already in the buffer, in plain notation from
+     * 10^-3 up to 10^7 and in computerized scientific notation otherwise, always with a digit after the point.
+     */
+    private static int toChars(long f, int e, char[] out, int length)
+    {
+        int count = 1;
+        while (count < POWERS_OF_TEN.length && f >= POWERS_OF_TEN[count]) {
+            count++;
+        }
+        while (f % 10 == 0) {
+            f /= 10;
+            count--;
+            e++;
+        }
+        // the value is 0.d1d2...dn times 10^point.  The digits are staged at
+        // the end of the buffer, which the layouts below never write up to
+        // before reading them.
+        int point = count + e;
+        char[] digits = out;
+        int start = MAX_CHARS - count;
+        for (int i = MAX_CHARS - 1; i >= start; i--) {
+            digits[i] = (char) ('0' + f % 10);
+            f /= 10;
+        }
+
+        if (point > 0 && point <= 7) {
+            for (int i = 0; i < point; i++) {
+                out[length++] = i < count ? digits[start + i] : '0';
+            }
+            out[length++] = '.';
+            if (point >= count) {
+                out[length++] = '0';
+            }
+            for (int i = point; i < count; i++) {
+                out[length++] = digits[start + i];
+            }
+        }
+        else if (point <= 0 && point > -3) {
+            out[length++] = '0';
+            out[length++] = '.';
+            for (int i = point; i < 0; i++) {
+                out[length++] = '0';
+            }
+            for (int i = 0; i < count; i++) {
+                out[length++] = digits[start + i];
+            }
+        }
+        else {
+            out[length++] = digits[start];
+            out[length++] = '.';
+            if (count == 1) {
+                out[length++] = '0';
+            }
+            for (int i = 1; i < count; i++) {
+                out[length++] = digits[start + i];
+            }
+            out[length++] = 'E';
+            int exp = point - 1;
+            if (exp < 0) {
+                out[length++] = '-';
+                exp = -exp;
+            }
+            if (exp >= 100) {
+                out[length++] = (char) ('0' + exp / 100);
+                exp %= 100;
+                out[length++] = (char) ('0' + exp / 10);
+            }
+            else if (exp >= 10) {
+                out[length++] = (char) ('0' + exp / 10);
+            }
+            out[length++] = (char) ('0' + exp % 10);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,647 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import static com.amazon.ion.SystemSymbols.IMPORTS_SID;
+import static com.amazon.ion.SystemSymbols.ION_1_0_SID;
+import static com.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
+import static com.amazon.ion.impl._Private_IonConstants.BINARY_VERSION_MARKER_1_0;
+import static com.amazon.ion.impl._Private_IonConstants.BINARY_VERSION_MARKER_SIZE;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * NOT FOR APPLICATION USE!
+ * <p>
+ * A sidecar index of the top-level values of a binary Ion stream, for jumping to the Nth value without scanning
+ * the values before it.  The index records the byte offset of every Kth top-level user value, where K is the
+ * index's interval, along with the symbol table context in effect there: the version marker and local symbol
+ * tables that a reader needs to see before the value.  A context made by appending to another one is stored as
+ * just the appending symbol table and a reference to the context it extends, so long chains of appends cost no
+ * more than the symbol tables themselves.
+ * <p>
+ * {@link #seek(IonReaderBuilder, File, long)} reads that context from the index rather than from the data, so
+ * reaching an indexed value costs a single seek in the file, plus skipping over fewer than K values otherwise.
+ * Shared symbol tables imported by the context are resolved through the reader's catalog as usual.
+ * <p>
+ * The index is built with {@link #build(InputStream, int)}, which examines only the headers of the values apart
+ * from local symbol tables, and is stored as Ion with {@link #writeTo(IonWriter)} and {@link #read(IonReader)}.
+ */
+public final class _Private_IonBinaryIndex
+{
+    private static final String INDEX_ANNOTATION = "ion_binary_index";
+    private static final String INTERVAL_FIELD = "interval";
+    private static final String VALUE_COUNT_FIELD = "value_count";
+    private static final String CONTEXTS_FIELD = "contexts";
+    private static final String CONTEXT_PARENTS_FIELD = "context_parents";
+    private static final String OFFSETS_FIELD = "offsets";
+    private static final String CONTEXT_IDS_FIELD = "context_ids";
+
+    private static final int BUFFER_SIZE = 32 * 1024;
+
+    private final int _interval;
+    private final long _valueCount;
+
+    /**
+     * The binary Ion that each distinct symbol table context adds to its parent context, or for contexts without a
+     * parent, the version marker and any local symbol tables that set it up.
+     */
+    private final byte[][] _contexts;
+
+    /** The index into {@link #_contexts} of the parent of each context, which precedes it, or -1 for none. */
+    private final int[] _contextParents;
+
+    /** The byte offset and the index into {@link #_contexts} of values 0, K, 2K, and so on. */
+    private final long[] _offsets;
+    private final int[] _contextIds;
+
+    private _Private_IonBinaryIndex(int interval, long valueCount, byte[][] contexts, int[] contextParents,
+                                    long[] offsets, int[] contextIds)
+    {
+        if (contextParents.length != contexts.length) {
+            throw new IonException("Malformed Ion binary index: " + contexts.length + " context parents expected");
+        }
+        for (int i = 0; i < contexts.length; i++) {
+            if (contextParents[i] < -1 || contextParents[i] >= i) {
+                throw new IonException("Malformed Ion binary index context: " + i);
+            }
+        }
+        long entries = (valueCount + interval - 1) / interval;
+        if (offsets.length != entries || contextIds.length != entries) {
+            throw new IonException("Malformed Ion binary index: " + entries + " entries expected");
+        }
+        for (int i = 0; i < entries; i++) {
+            if (offsets[i] < 0 || contextIds[i] < 0 || contextIds[i] >= contexts.length) {
+                throw new IonException("Malformed Ion binary index entry: " + i);
+            }
+        }
+        _interval = interval;
+        _valueCount = valueCount;
+        _contexts = contexts;
+        _contextParents = contextParents;
+        _offsets = offsets;
+        _contextIds = contextIds;
+    }
+
+    /** Returns the distance between indexed values. */
+    public int getInterval()
+    {
+        return _interval;
+    }
+
+    /** Returns the number of top-level user values in the indexed stream. */
+    public long getValueCount()
+    {
+        return _valueCount;
+    }
+
+    //========================================================================
+    // Building
+
+    /**
+     * Indexes every {@code interval}th top-level value of the given binary Ion stream, reading it to the end.  The
+     * stream is not closed.
+     *
+     * @throws IonException if the stream is not binary Ion.
+     */
+    public static _Private_IonBinaryIndex build(InputStream in, int interval)
+        throws IOException
+    {
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+        }
+        CountingInput input = new CountingInput(in);
+        List<Context> contexts = new ArrayList<Context>();
+        long[] offsets = new long[16];
+        int[] contextIds = new int[16];
+        int entries = 0;
+        long valueCount = 0;
+
+        Context versionMarker = new Context(BINARY_VERSION_MARKER_1_0, null);
+        Context context = versionMarker;
+        boolean atStart = true;
+        for (;;) {
+            long start = input.position();
+            int td = input.read();
+            if (td < 0) break;
+            if (td == (BINARY_VERSION_MARKER_1_0[0] & 0xFF)) {
+                readVersionMarker(input);
+                context = versionMarker;
+                atStart = false;
+                continue;
+            }
+            if (atStart) {
+                throw new IonException("Input is not Ion binary");
+            }
+
+            boolean isUserValue;
+            int tid = td >>> 4;
+            int ln = td & 0x0F;
+            if (ln == _Private_IonConstants.lnIsNullAtom || tid == _Private_IonConstants.tidBoolean) {
+                isUserValue = true;
+            }
+            else if (tid == _Private_IonConstants.tidTypedecl) {
+                byte[] symbolTable = readSymbolTable(input, td);
+                isUserValue = symbolTable == null;
+                if (!isUserValue) {
+                    context = new Context(symbolTable, isAppend(symbolTable) ? context : versionMarker);
+                }
+            }
+            else {
+                long length = readLength(input, tid, ln);
+                if (tid == _Private_IonConstants.tidNull) {
+                    // NOP padding
+                    isUserValue = false;
+                    input.skip(length);
+                }
+                else if (tid == _Private_IonConstants.tidSymbol) {
+                    // an unannotated $ion_1_0 is a version marker, which resets the context
+                    isUserValue = readUInt(input, length) != ION_1_0_SID;
+                    if (!isUserValue) {
+                        context = versionMarker;
+                    }
+                }
+                else {
+                    isUserValue = true;
+                    input.skip(length);
+                }
+            }
+
+            if (isUserValue) {
+                if (valueCount % interval == 0) {
+                    if (entries == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, entries * 2);
+                        contextIds = Arrays.copyOf(contextIds, entries * 2);
+                    }
+                    offsets[entries] = start;
+                    contextIds[entries] = context.register(contexts);
+                    entries++;
+                }
+                valueCount++;
+            }
+        }
+        byte[][] contextBytes = new byte[contexts.size()][];
+        int[] contextParents = new int[contexts.size()];
+        for (int i = 0; i < contextBytes.length; i++) {
+            Context c = contexts.get(i);
+            contextBytes[i] = c._bytes;
+            contextParents[i] = c._parent == null ? -1 : c._parent._id;
+        }
+        return new _Private_IonBinaryIndex(
+            interval,
+            valueCount,
+            contextBytes,
+            contextParents,
+            Arrays.copyOf(offsets, entries),
+            Arrays.copyOf(contextIds, entries)
+        );
+    }
+
+    /** A symbol table context seen while building, which is only added to the index once a value refers to it. */
+    private static final class Context
+    {
+        final byte[] _bytes;
+        final Context _parent;
+        int _id = -1;
+
+        Context(byte[] bytes, Context parent)
+        {
+            _bytes = bytes;
+            _parent = parent;
+        }
+
+        /** Adds this context to the given list after its ancestors, unless it is there already, returning its ID. */
+        int register(List<Context> contexts)
+        {
+            if (_id < 0) {
+                if (_parent != null) {
+                    _parent.register(contexts);
+                }
+                contexts.add(this);
+                _id = contexts.size() - 1;
+            }
+            return _id;
+        }
+    }
+
+    private static void readVersionMarker(CountingInput input)
+        throws IOException
+    {
+        for (int i = 1; i < BINARY_VERSION_MARKER_SIZE; i++) {
+            if (input.readRequired() != (BINARY_VERSION_MARKER_1_0[i] & 0xFF)) {
+                throw new IonException("Unsupported Ion version marker at offset " + (input.position() - i - 1));
+            }
+        }
+    }
+
+    /** Reads the length of a value whose type descriptor has been read. */
+    private static long readLength(CountingInput input, int tid, int ln)
+        throws IOException
+    {
+        if (ln == _Private_IonConstants.lnIsNullAtom || tid == _Private_IonConstants.tidBoolean) {
+            return 0;
+        }
+        if (ln == _Private_IonConstants.lnIsVarLen
+            || (tid == _Private_IonConstants.tidStruct && ln == _Private_IonConstants.lnIsOrderedStruct)) {
+            return input.readVarUInt();
+        }
+        return ln;
+    }
+
+    private static long readUInt(CountingInput input, long length)
+        throws IOException
+    {
+        long value = 0;
+        for (long i = 0; i < length; i++) {
+            value = (value << 8) | input.readRequired();
+            if (value > Integer.MAX_VALUE) {
+                // far beyond any symbol ID of interest
+                input.skip(length - i - 1);
+                return value;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Reads the rest of the annotation wrapper with the given type descriptor, returning its bytes if it is a local
+     * symbol table or {@code null} if it is a user value, whose body is skipped without being copied.
+     */
+    private static byte[] readSymbolTable(CountingInput input, int td)
+        throws IOException
+    {
+        input.startCapture(td);
+        long length = readLength(input, _Private_IonConstants.tidTypedecl, td & 0x0F);
+        long end = input.position() + length;
+        long annotationsLength = input.readVarUInt();
+        long annotationsEnd = input.position() + annotationsLength;
+        long firstAnnotation = input.readVarUInt();
+        input.skip(annotationsEnd - input.position());
+        int wrapped = input.readRequired();
+        boolean isSymbolTable = firstAnnotation == ION_SYMBOL_TABLE_SID
+            && (wrapped >>> 4) == _Private_IonConstants.tidStruct
+            && (wrapped & 0x0F) != _Private_IonConstants.lnIsNullStruct;
+        if (!isSymbolTable) {
+            input.stopCapture();
+        }
+        input.skip(end - input.position());
+        return isSymbolTable ? input.stopCapture() : null;
+    }
+
+    /** Determines whether the given local symbol table appends to the current one rather than replacing it. */
+    private static boolean isAppend(byte[] symbolTable)
+        throws IOException
+    {
+        CountingInput input = new CountingInput(new ByteArrayInputStream(symbolTable));
+        int td = input.readRequired();
+        readLength(input, td >>> 4, td & 0x0F);
+        input.skip(input.readVarUInt());
+        int struct = input.readRequired();
+        long end = input.position() + readLength(input, struct >>> 4, struct & 0x0F);
+        while (input.position() < end) {
+            long fieldId = input.readVarUInt();
+            int fieldTd = input.readRequired();
+            int tid = fieldTd >>> 4;
+            int ln = fieldTd & 0x0F;
+            long length = readLength(input, tid, ln);
+            if (fieldId == IMPORTS_SID) {
+                return tid == _Private_IonConstants.tidSymbol
+                    && ln != _Private_IonConstants.lnIsNullAtom
+                    && readUInt(input, length) == ION_SYMBOL_TABLE_SID;
+            }
+            input.skip(length);
+        }
+        return false;
+    }
+
+    /** Buffers an {@link InputStream} while keeping track of the offset, optionally copying the bytes it reads. */
+    private static final class CountingInput
+    {
+        private final InputStream _in;
+        private final byte[] _buffer = new byte[BUFFER_SIZE];
+        private int _pos;
+        private int _limit;
+        /** The offset in the stream of the end of the buffered bytes. */
+        private long _offset;
+        private ByteArrayOutputStream _capture;
+
+        CountingInput(InputStream in)
+        {
+            _in = in;
+        }
+
+        long position()
+        {
+            return _offset - (_limit - _pos);
+        }
+
+        private boolean fill()
+            throws IOException
+        {
+            _pos = 0;
+            _limit = 0;
+            int count = _in.read(_buffer);
+            if (count <= 0) return false;
+            _limit = count;
+            _offset += count;
+            return true;
+        }
+
+        int read()
+            throws IOException
+        {
+            if (_pos == _limit && !fill()) return -1;
+            int b = _buffer[_pos++] & 0xFF;
+            if (_capture != null) {
+                _capture.write(b);
+            }
+            return b;
+        }
+
+        int readRequired()
+            throws IOException
+        {
+            int b = read();
+            if (b < 0) {
+                throw new IonException("Unexpected end of input at offset " + position());
+            }
+            return b;
+        }
+
+        long readVarUInt()
+            throws IOException
+        {
+            long value = 0;
+            for (;;) {
+                int b = readRequired();
+                value = (value << 7) | (b & 0x7F);
+                if ((b & 0x80) != 0) return value;
+                if (value > (Long.MAX_VALUE >>> 7)) {
+                    throw new IonException("VarUInt exceeds the maximum length at offset " + position());
+                }
+            }
+        }
+
+        void skip(long length)
+            throws IOException
+        {
+            if (length < 0) {
+                throw new IonException("Malformed value length at offset " + position());
+            }
+            while (length > 0) {
+                int buffered = _limit - _pos;
+                if (buffered == 0 && _capture == null && length > _buffer.length) {
+                    // let the stream seek past large values
+                    long skipped = _in.skip(length);
+                    if (skipped > 0) {
+                        _offset += skipped;
+                        length -= skipped;
+                        continue;
+                    }
+                }
+                if (buffered == 0 && !fill()) {
+                    throw new IonException("Unexpected end of input at offset " + position());
+                }
+                int count = (int) Math.min(length, _limit - _pos);
+                if (_capture != null) {
+                    _capture.write(_buffer, _pos, count);
+                }
+                _pos += count;
+                length -= count;
+            }
+        }
+
+        /** Starts copying the bytes read, beginning with the given byte that has already been read. */
+        void startCapture(int b)
+        {
+            _capture = new ByteArrayOutputStream();
+            _capture.write(b);
+        }
+
+        byte[] stopCapture()
+        {
+            byte[] bytes = _capture == null ? null : _capture.toByteArray();
+            _capture = null;
+            return bytes;
+        }
+    }
+
+    //========================================================================
+    // Seeking
+
+    /**
+     * Returns a reader over the given binary Ion, which this index was built from, whose next call to
+     * {@link IonReader#next()} returns the top-level value with the given ordinal.
+     */
+    public IonReader seek(IonReaderBuilder builder, byte[] bytes, long ordinal)
+    {
+        int entry = entryFor(ordinal);
+        int offset = (int) _offsets[entry];
+        InputStream in = withContext(entry, new ByteArrayInputStream(bytes, offset, bytes.length - offset));
+        return skipTo(builder.build(in), entry, ordinal);
+    }
+
+    /**
+     * Returns a reader over the given binary Ion file, which this index was built from, whose next call to
+     * {@link IonReader#next()} returns the top-level value with the given ordinal.  The file is opened at the
+     * offset of the nearest indexed value at or before it; closing the reader closes the file.
+     */
+    public IonReader seek(IonReaderBuilder builder, File file, long ordinal)
+        throws IOException
+    {
+        int entry = entryFor(ordinal);
+        FileInputStream data = new FileInputStream(file);
+        try {
+            data.getChannel().position(_offsets[entry]);
+            return skipTo(builder.build(withContext(entry, data)), entry, ordinal);
+        }
+        catch (IOException e) {
+            data.close();
+            throw e;
+        }
+        catch (RuntimeException e) {
+            data.close();
+            throw e;
+        }
+    }
+
+    /** Prefixes the given data with the context of the given entry, starting from the context without a parent. */
+    private InputStream withContext(int entry, InputStream data)
+    {
+        List<InputStream> streams = new ArrayList<InputStream>();
+        streams.add(data);
+        for (int id = _contextIds[entry]; id >= 0; id = _contextParents[id]) {
+            streams.add(new ByteArrayInputStream(_contexts[id]));
+        }
+        Collections.reverse(streams);
+        return new SequenceInputStream(Collections.enumeration(streams));
+    }
+
+    private int entryFor(long ordinal)
+    {
+        if (ordinal < 0 || ordinal >= _valueCount) {
+            throw new IllegalArgumentException(
+                "ordinal " + ordinal + " is out of range for " + _valueCount + " values");
+        }
+        return (int) (ordinal / _interval);
+    }
+
+    private IonReader skipTo(IonReader reader, int entry, long ordinal)
+    {
+        long skip = ordinal - (long) entry * _interval;
+        for (long i = 0; i < skip; i++) {
+            if (reader.next() == null) {
+                throw new IonException("Index does not match the data: value " + ordinal + " not found");
+            }
+        }
+        return reader;
+    }
+
+    //========================================================================
+    // Serialization
+
+    /** Writes the index as a single annotated struct. */
+    public void writeTo(IonWriter writer)
+        throws IOException
+    {
+        writer.setTypeAnnotations(INDEX_ANNOTATION);
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName(INTERVAL_FIELD);
+        writer.writeInt(_interval);
+        writer.setFieldName(VALUE_COUNT_FIELD);
+        writer.writeInt(_valueCount);
+        writer.setFieldName(CONTEXTS_FIELD);
+        writer.stepIn(IonType.LIST);
+        for (byte[] context : _contexts) {
+            writer.writeBlob(context);
+        }
+        writer.stepOut();
+        writer.setFieldName(CONTEXT_PARENTS_FIELD);
+        writer.stepIn(IonType.LIST);
+        for (int parent : _contextParents) {
+            writer.writeInt(parent);
+        }
+        writer.stepOut();
+        writer.setFieldName(OFFSETS_FIELD);
+        writer.stepIn(IonType.LIST);
+        for (long offset : _offsets) {
+            writer.writeInt(offset);
+        }
+        writer.stepOut();
+        writer.setFieldName(CONTEXT_IDS_FIELD);
+        writer.stepIn(IonType.LIST);
+        for (int contextId : _contextIds) {
+            writer.writeInt(contextId);
+        }
+        writer.stepOut();
+        writer.stepOut();
+    }
+
+    /**
+     * Reads the next value of the given reader as an index written by {@link #writeTo(IonWriter)}.
+     *
+     * @throws IonException if the value is not an index.
+     */
+    public static _Private_IonBinaryIndex read(IonReader reader)
+    {
+        if (reader.next() != IonType.STRUCT || reader.isNullValue()
+            || !Arrays.asList(reader.getTypeAnnotations()).contains(INDEX_ANNOTATION)) {
+            throw new IonException("Not an Ion binary index");
+        }
+        int interval = 0;
+        long valueCount = -1;
+        List<byte[]> contexts = new ArrayList<byte[]>();
+        int[] contextParents = null;
+        long[] offsets = new long[0];
+        int[] contextIds = new int[0];
+        reader.stepIn();
+        while (reader.next() != null) {
+            String field = reader.getFieldName();
+            if (INTERVAL_FIELD.equals(field)) {
+                interval = reader.intValue();
+            }
+            else if (VALUE_COUNT_FIELD.equals(field)) {
+                valueCount = reader.longValue();
+            }
+            else if (CONTEXTS_FIELD.equals(field)) {
+                reader.stepIn();
+                while (reader.next() != null) {
+                    contexts.add(reader.newBytes());
+                }
+                reader.stepOut();
+            }
+            else if (OFFSETS_FIELD.equals(field)) {
+                offsets = readLongs(reader);
+            }
+            else if (CONTEXT_PARENTS_FIELD.equals(field)) {
+                contextParents = readInts(reader);
+            }
+            else if (CONTEXT_IDS_FIELD.equals(field)) {
+                contextIds = readInts(reader);
+            }
+        }
+        reader.stepOut();
+        if (interval < 1 || valueCount < 0) {
+            throw new IonException("Malformed Ion binary index: missing interval or value count");
+        }
+        if (contextParents == null) {
+            throw new IonException("Malformed Ion binary index: missing context parents");
+        }
+        return new _Private_IonBinaryIndex(
+            interval, valueCount, contexts.toArray(new byte[contexts.size()][]), contextParents, offsets, contextIds
+        );
+    }
+
+    private static int[] readInts(IonReader reader)
+    {
+        long[] values = readLongs(reader);
+        int[] ints = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ints[i] = (int) values[i];
+        }
+        return ints;
+    }
+
+    private static long[] readLongs(IonReader reader)
+    {
+        long[] values = new long[16];
+        int count = 0;
+        reader.stepIn();
+        while (reader.next() != null) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = reader.longValue();
+        }
+        reader.stepOut();
+        return Arrays.copyOf(values, count);
+    }
+}
@@ -0,0 +1,556 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl;
+
+import static com.amazon.ion.SystemSymbols.ION_1_0_SID;
+import static com.amazon.ion.SystemSymbols.ION_SYMBOL_TABLE_SID;
+import static com.amazon.ion.impl._Private_IonConstants.BINARY_VERSION_MARKER_1_0;
+import static com.amazon.ion.impl._Private_IonConstants.BINARY_VERSION_MARKER_SIZE;
+
+import com.amazon.ion.Decimal;
+import com.amazon.ion.IntegerSize;
+import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.SymbolToken;
+import com.amazon.ion.Timestamp;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.Iterator;
+
+/**
+ * NOT FOR APPLICATION USE!
+ * <p>
+ * A binary {@link IonReader} that is pushed its input in chunks, for callers such as event loops that cannot block
+ * waiting for data.  Chunks are handed over with {@link #feed(ByteBuffer)}, and {@link #endOfInput()} marks the end of
+ * the stream.
+ * <p>
+ * Top-level values only become visible once all of their bytes have arrived.  Until then {@link #next()} returns
+ * {@code null} and {@link #needsMoreData()} is true; the next call to {@link #next()} after more data has been fed
+ * resumes where the reader stopped.  Values are never split, so once positioned on a top-level value the caller can
+ * step into it and read all of it without any further input.
+ * <p>
+ * The reader keeps only the bytes that the underlying {@link IonReaderBinaryUserX} has not consumed yet, plus at most
+ * one incomplete top-level value.  Each reader is meant for a single stream and is not thread safe, but as it never
+ * blocks, one thread can serve any number of them.
+ */
+public final class _Private_IonBinaryPushReader
+    implements IonReader
+{
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    private final IonCatalog _catalog;
+    private final _Private_LocalSymbolTableFactory _lstFactory;
+
+    /**
+     * Input that has been fed and not yet consumed.  The bytes in {@code [_head, _framed)} make up whole top-level
+     * values and can be handed to the reader; {@code [_framed, _limit)} is the start of the next, incomplete value.
+     */
+    private byte[] _buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int _head;
+    private int _framed;
+    private int _limit;
+
+    /** The number of framed top-level user values the reader has not reached yet. */
+    private int _pendingValues;
+    private boolean _sawVersionMarker;
+    private boolean _ended;
+    private boolean _closed;
+
+    private IonReaderBinaryUserX _reader;
+
+    public _Private_IonBinaryPushReader(IonCatalog catalog)
+    {
+        this(catalog, LocalSymbolTable.DEFAULT_LST_FACTORY);
+    }
+
+    public _Private_IonBinaryPushReader(IonCatalog catalog, _Private_LocalSymbolTableFactory lstFactory)
+    {
+        _catalog = catalog;
+        _lstFactory = lstFactory;
+    }
+
+    //========================================================================
+    // Input
+
+    /**
+     * Hands the remaining bytes of the given buffer to the reader, which copies them, so the buffer may be reused as
+     * soon as this returns.  The buffer's position is advanced to its limit.
+     */
+    public void feed(ByteBuffer chunk)
+    {
+        int length = chunk.remaining();
+        ensureCapacity(length);
+        chunk.get(_buffer, _limit, length);
+        _limit += length;
+        frame();
+    }
+
+    /**
+     * Hands the given bytes to the reader, which copies them.
+     */
+    public void feed(byte[] bytes, int offset, int length)
+    {
+        if (offset < 0 || length < 0 || offset + length > bytes.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, _buffer, _limit, length);
+        _limit += length;
+        frame();
+    }
+
+    /**
+     * Marks the end of the input.  Any incomplete value left over is reported as an error by {@link #next()}.
+     */
+    public void endOfInput()
+    {
+        _ended = true;
+    }
+
+    /**
+     * Determines whether a call to {@link #next()} at the top level would return {@code null} for lack of input
+     * rather than because the stream has ended.
+     */
+    public boolean needsMoreData()
+    {
+        return !_ended && _pendingValues == 0 && (_reader == null || _reader.getDepth() == 0);
+    }
+
+    private void ensureCapacity(int length)
+    {
+        if (_ended) {
+            throw new IllegalStateException("input has already ended");
+        }
+        if (_closed) {
+            throw new IllegalStateException("reader is closed");
+        }
+        if (_limit + length <= _buffer.length) {
+            return;
+        }
+        // drop the bytes the reader has already taken before growing
+        int live = _limit - _head;
+        byte[] target = _buffer;
+        if (live + length > _buffer.length) {
+            int size = _buffer.length;
+            while (size < live + length) {
+                size = size > Integer.MAX_VALUE / 2 ? Integer.MAX_VALUE : size * 2;
+            }
+            target = new byte[size];
+        }
+        System.arraycopy(_buffer, _head, target, 0, live);
+        _buffer = target;
+        _framed -= _head;
+        _limit -= _head;
+        _head = 0;
+    }
+
+    //========================================================================
+    // Framing
+
+    /**
+     * Advances {@link #_framed} over every top-level value that has fully arrived, counting the user values among
+     * them.  Only the headers of the values are examined.
+     */
+    private void frame()
+    {
+        for (;;) {
+            int start = _framed;
+            if (!_sawVersionMarker) {
+                if (_limit - start < BINARY_VERSION_MARKER_SIZE) return;
+                for (int i = 0; i < BINARY_VERSION_MARKER_SIZE; i++) {
+                    if (_buffer[start + i] != BINARY_VERSION_MARKER_1_0[i]) {
+                        throw new IonException("Input is not Ion binary");
+                    }
+                }
+                _sawVersionMarker = true;
+                _framed = start + BINARY_VERSION_MARKER_SIZE;
+                continue;
+            }
+            if (start >= _limit) return;
+
+            int td = _buffer[start] & 0xFF;
+            int tid = td >>> 4;
+            int ln = td & 0x0F;
+            int pos = start + 1;
+
+            if (td == (BINARY_VERSION_MARKER_1_0[0] & 0xFF)) {
+                if (_limit - start < BINARY_VERSION_MARKER_SIZE) return;
+                _framed = start + BINARY_VERSION_MARKER_SIZE;
+                continue;
+            }
+
+            long length;
+            if (ln == _Private_IonConstants.lnIsNullAtom
+                || tid == _Private_IonConstants.tidBoolean) {
+                length = 0;
+            }
+            else if (ln == _Private_IonConstants.lnIsVarLen
+                     || (tid == _Private_IonConstants.tidStruct && ln == _Private_IonConstants.lnIsOrderedStruct)) {
+                long header = readVarUInt(pos);
+                if (header < 0) return;
+                length = header >>> 8;
+                pos += (int) (header & 0xFF);
+            }
+            else {
+                length = ln;
+            }
+            if (length > Integer.MAX_VALUE - (pos - start)) {
+                throw new IonException("Top-level value is too large: " + length + " bytes");
+            }
+            int end = pos + (int) length;
+            if (end > _limit) return;
+
+            if (isUserValue(tid, ln, pos, end)) {
+                _pendingValues++;
+            }
+            _framed = end;
+        }
+    }
+
+    /**
+     * Determines whether the complete top-level value with the given type and body will be returned by the reader,
+     * as opposed to the NOP pads and system values that {@link IonReaderBinaryUserX} consumes on its own.
+     */
+    private boolean isUserValue(int tid, int ln, int pos, int end)
+    {
+        if (ln == _Private_IonConstants.lnIsNullAtom) {
+            return true;
+        }
+        if (tid == _Private_IonConstants.tidNull) {
+            // NOP padding
+            return false;
+        }
+        if (tid == _Private_IonConstants.tidSymbol) {
+            // an unannotated $ion_1_0 is a version marker
+            long sid = 0;
+            for (int i = pos; i < end; i++) {
+                sid = (sid << 8) | (_buffer[i] & 0xFF);
+                if (sid > ION_1_0_SID) return true;
+            }
+            return sid != ION_1_0_SID;
+        }
+        if (tid == _Private_IonConstants.tidTypedecl) {
+            // a local symbol table is a struct annotated first with $ion_symbol_table
+            long annotationsLength = readVarUInt(pos);
+            if (annotationsLength < 0) {
+                throw new IonException("Malformed annotation wrapper");
+            }
+            int annotations = pos + (int) (annotationsLength & 0xFF);
+            long firstAnnotation = readVarUInt(annotations);
+            int wrappedPos = annotations + (int) (annotationsLength >>> 8);
+            if (firstAnnotation < 0 || wrappedPos >= end) {
+                throw new IonException("Malformed annotation wrapper");
+            }
+            int wrapped = _buffer[wrappedPos] & 0xFF;
+            return (firstAnnotation >>> 8) != ION_SYMBOL_TABLE_SID
+                || (wrapped >>> 4) != _Private_IonConstants.tidStruct
+                || (wrapped & 0x0F) == _Private_IonConstants.lnIsNullStruct;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the VarUInt at the given position of the buffer, returning its value shifted left by eight bits with its
+     * length in the low eight bits, or -1 if it has not fully arrived.
+     */
+    private long readVarUInt(int pos)
+    {
+        long value = 0;
+        for (int i = pos; i < _limit; i++) {
+            int b = _buffer[i] & 0xFF;
+            value = (value << 7) | (b & 0x7F);
+            if (value > Integer.MAX_VALUE) {
+                throw new IonException("VarUInt exceeds the maximum length");
+            }
+            if ((b & 0x80) != 0) {
+                return (value << 8) | (i - pos + 1);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Hands the framed bytes to the {@link UnifiedInputStreamX} under the reader.  The reader is only advanced at the
+     * top level once a whole value is framed, so it never asks for bytes that have not arrived unless the input has
+     * ended.
+     */
+    private final class FramedInputStream
+        extends InputStream
+    {
+        private final byte[] _single = new byte[1];
+
+        @Override
+        public int read() throws IOException
+        {
+            return read(_single, 0, 1) < 0 ? -1 : _single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException
+        {
+            int available = (_ended ? _limit : _framed) - _head;
+            if (available <= 0) {
+                if (_ended) {
+                    return -1;
+                }
+                throw new IllegalStateException("reader has run ahead of the framed input");
+            }
+            int count = Math.min(available, length);
+            System.arraycopy(_buffer, _head, bytes, offset, count);
+            _head += count;
+            return count;
+        }
+    }
+
+    /** Creates the reader once there is something to read, since it starts reading as soon as it is created. */
+    private IonReaderBinaryUserX reader()
+    {
+        if (_reader == null) {
+            try {
+                UnifiedInputStreamX uis = UnifiedInputStreamX.makeStream(new FramedInputStream());
+                _reader = new IonReaderBinaryUserX(_catalog, _lstFactory, uis, 0);
+            }
+            catch (IOException e) {
+                throw new IonException(e);
+            }
+        }
+        return _reader;
+    }
+
+    /** Determines whether the reader may be advanced at the top level. */
+    private boolean isNextAvailable()
+    {
+        if (_closed) {
+            return false;
+        }
+        if (_pendingValues > 0) {
+            return true;
+        }
+        return _ended && (_reader != null || _limit > _head);
+    }
+
+    //========================================================================
+    // IonReader
+
+    @Deprecated
+    public boolean hasNext()
+    {
+        if (_reader != null && _reader.getDepth() > 0) {
+            return _reader.hasNext();
+        }
+        return isNextAvailable() && reader().hasNext();
+    }
+
+    public IonType next()
+    {
+        if (_reader != null && _reader.getDepth() > 0) {
+            return _reader.next();
+        }
+        if (!isNextAvailable()) {
+            return null;
+        }
+        IonType type = reader().next();
+        if (type != null) {
+            _pendingValues--;
+        }
+        return type;
+    }
+
+    private IonReader current()
+    {
+        if (_reader == null) {
+            throw new IllegalStateException("reader is not positioned on a value");
+        }
+        return _reader;
+    }
+
+    public void stepIn()
+    {
+        current().stepIn();
+    }
+
+    public void stepOut()
+    {
+        current().stepOut();
+    }
+
+    public int getDepth()
+    {
+        return _reader == null ? 0 : _reader.getDepth();
+    }
+
+    /**
+     * Returns the system symbol table until a value has been framed, since creating the underlying reader before then
+     * would have it read past the input that has arrived.
+     */
+    public SymbolTable getSymbolTable()
+    {
+        if (_reader == null && !isNextAvailable()) {
+            return _Private_Utils.systemSymtab(1);
+        }
+        return reader().getSymbolTable();
+    }
+
+    public IonType getType()
+    {
+        return _reader == null ? null : _reader.getType();
+    }
+
+    public IntegerSize getIntegerSize()
+    {
+        return _reader == null ? null : _reader.getIntegerSize();
+    }
+
+    public String[] getTypeAnnotations()
+    {
+        return current().getTypeAnnotations();
+    }
+
+    public SymbolToken[] getTypeAnnotationSymbols()
+    {
+        return current().getTypeAnnotationSymbols();
+    }
+
+    public Iterator<String> iterateTypeAnnotations()
+    {
+        return current().iterateTypeAnnotations();
+    }
+
+    @Deprecated
+    public int getFieldId()
+    {
+        return current().getFieldId();
+    }
+
+    public String getFieldName()
+    {
+        return current().getFieldName();
+    }
+
+    public SymbolToken getFieldNameSymbol()
+    {
+        return current().getFieldNameSymbol();
+    }
+
+    public boolean isNullValue()
+    {
+        return current().isNullValue();
+    }
+
+    public boolean isInStruct()
+    {
+        return _reader != null && _reader.isInStruct();
+    }
+
+    public boolean booleanValue()
+    {
+        return current().booleanValue();
+    }
+
+    public int intValue()
+    {
+        return current().intValue();
+    }
+
+    public long longValue()
+    {
+        return current().longValue();
+    }
+
+    public BigInteger bigIntegerValue()
+    {
+        return current().bigIntegerValue();
+    }
+
+    public double doubleValue()
+    {
+        return current().doubleValue();
+    }
+
+    public BigDecimal bigDecimalValue()
+    {
+        return current().bigDecimalValue();
+    }
+
+    public Decimal decimalValue()
+    {
+        return current().decimalValue();
+    }
+
+    public Date dateValue()
+    {
+        return current().dateValue();
+    }
+
+    public Timestamp timestampValue()
+    {
+        return current().timestampValue();
+    }
+
+    public String stringValue()
+    {
+        return current().stringValue();
+    }
+
+    public SymbolToken symbolValue()
+    {
+        return current().symbolValue();
+    }
+
+    public int byteSize()
+    {
+        return current().byteSize();
+    }
+
+    public byte[] newBytes()
+    {
+        return current().newBytes();
+    }
+
+    public int getBytes(byte[] buffer, int offset, int len)
+    {
+        return current().getBytes(buffer, offset, len);
+    }
+
+    /**
+     * Returns {@code null} until a value has been framed, for the same reason as {@link #getSymbolTable()}.
+     */
+    public <T> T asFacet(Class<T> facetType)
+    {
+        if (_reader == null && !isNextAvailable()) {
+            return null;
+        }
+        return reader().asFacet(facetType);
+    }
+
+    public void close() throws IOException
+    {
+        _closed = true;
+        _buffer = _Private_Utils.EMPTY_BYTE_ARRAY;
+        _head = _framed = _limit = 0;
+        if (_reader != null) {
+            _reader.close();
+        }
+    }
+}
@@ -26,12 +26,15 @@ import com.amazon.ion.SubstituteSymbolTableException;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.ValueFactory;
 import com.amazon.ion.impl.BlockedBuffer.BufferedOutputStream;
+import com.amazon.ion.impl.bin._Private_AsyncOutputStream;
 import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder;
 import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder.AllocatorMode;
 import com.amazon.ion.system.IonBinaryWriterBuilder;
 import com.amazon.ion.system.IonSystemBuilder;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * NOT FOR APPLICATION USE!
@@ -273,6 +276,13 @@ public class _Private_IonBinaryWriterBuilder
         myBinaryWriterBuilder.withStreamCopyOptimization(optimized);
     }
 
+    @Override
+    public void setAutoFlushThreshold(final long threshold)
+    {
+        super.setAutoFlushThreshold(threshold);
+        myBinaryWriterBuilder.withAutoFlushThreshold(threshold);
+    }
+
     //=========================================================================
 
 
@@ -361,6 +371,12 @@ public class _Private_IonBinaryWriterBuilder
     public final IonWriter build(OutputStream out)
     {
         _Private_IonBinaryWriterBuilder b = fillDefaults();
+        if (b.getAsyncOutputExecutor() != null)
+        {
+            out = new _Private_AsyncOutputStream(out,
+                                                 b.getAsyncOutputExecutor(),
+                                                 b.getAsyncOutputQueueDepth());
+        }
         try
         {
             return b.myBinaryWriterBuilder.newWriter(out);
@@ -372,6 +388,26 @@ public class _Private_IonBinaryWriterBuilder
     }
 
 
+    @Override
+    public final IonWriter build(WritableByteChannel channel)
+    {
+        _Private_IonBinaryWriterBuilder b = fillDefaults();
+        if (b.getAsyncOutputExecutor() != null)
+        {
+            // the background task writes whole blocks, so there's nothing to gather
+            return build(Channels.newOutputStream(channel));
+        }
+        try
+        {
+            return b.myBinaryWriterBuilder.newWriter(channel);
+        }
+        catch (final IOException e)
+        {
+            throw new IonException("I/O Error", e);
+        }
+    }
+
+
     @Deprecated
     public final IonBinaryWriter buildLegacy()
     {
@@ -15,6 +15,7 @@
 
 package com.amazon.ion.impl;
 
+import static com.amazon.ion.impl.UnifiedInputStreamX.makeMappedStream;
 import static com.amazon.ion.impl.UnifiedInputStreamX.makeStream;
 import static com.amazon.ion.impl._Private_IonConstants.BINARY_VERSION_MARKER_SIZE;
 import static com.amazon.ion.util.IonStreamUtils.isIonBinary;
@@ -27,9 +28,11 @@ import com.amazon.ion.IonTextReader;
 import com.amazon.ion.IonValue;
 import com.amazon.ion.util.IonStreamUtils;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -196,6 +199,92 @@ public final class _Private_IonReaderFactory
         }
     }
 
+    /**
+     * Reads the remaining bytes of the given buffer without modifying it.
+     * The backing array of a heap buffer is read in place, and so is binary
+     * Ion in any other buffer.  Text and GZIPped data in a buffer without an
+     * array are copied into the reader's pages as they are read.
+     */
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             ByteBuffer buffer)
+    {
+        if (buffer.hasArray()) {
+            return makeReader(catalog,
+                              buffer.array(),
+                              buffer.arrayOffset() + buffer.position(),
+                              buffer.remaining());
+        }
+        try {
+            UnifiedInputStreamX uis = makeStream(buffer);
+            if (has_binary_cookie(uis)) {
+                return new IonReaderBinaryUserX(catalog,
+                                                LocalSymbolTable.DEFAULT_LST_FACTORY,
+                                                uis,
+                                                buffer.position());
+            }
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+        InputStream in = new _Private_ByteBufferInputStream(buffer);
+        return makeReader(catalog, in);
+    }
+
+    /**
+     * Reads the given file by mapping it into memory, decoding binary Ion
+     * in place.  The file is closed if the reader cannot be created.
+     */
+    public static final IonReader makeReader(IonCatalog catalog,
+                                             File file)
+    {
+        _Private_ByteBufferInputStream in;
+        try {
+            in = _Private_ByteBufferInputStream.forFile(file);
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+        boolean built = false;
+        try {
+            IonReader reader = makeReader(catalog, in);
+            built = true;
+            return reader;
+        }
+        finally {
+            if (!built) {
+                try {
+                    in.close();
+                }
+                catch (IOException e) {
+                    // the original failure is the one worth reporting
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a mapped file.  Binary Ion is decoded in place from the mapped
+     * windows; text and GZIPped data are read through the file's stream.
+     */
+    static IonReader makeReader(IonCatalog catalog,
+                                _Private_ByteBufferInputStream file)
+    {
+        try {
+            UnifiedInputStreamX uis = makeMappedStream(file);
+            if (has_binary_cookie(uis)) {
+                return new IonReaderBinaryUserX(catalog,
+                                                LocalSymbolTable.DEFAULT_LST_FACTORY,
+                                                uis,
+                                                0);
+            }
+        }
+        catch (IOException e) {
+            throw new IonException(e);
+        }
+        // peeking mapped the first window without moving the stream
+        return makeReader(catalog, (InputStream) file);
+    }
+
     public static IonReader makeSystemReader(InputStream is)
     {
         try {
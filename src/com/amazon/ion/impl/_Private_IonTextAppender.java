@@ -21,6 +21,7 @@ import static com.amazon.ion.impl._Private_IonConstants.isLowSurrogate;
 import static com.amazon.ion.impl._Private_IonConstants.makeUnicodeScalar;
 
 import com.amazon.ion.Decimal;
+import com.amazon.ion.Timestamp;
 import com.amazon.ion.impl.Base64Encoder.TextStream;
 import com.amazon.ion.system.IonTextWriterBuilder;
 import com.amazon.ion.util._Private_FastAppendable;
@@ -798,6 +799,10 @@ public final class _Private_IonTextAppender
     }
 
 
+    /** ONLY FOR USE BY {@link #printFloat(double)}. */
+    private final char[] _fixedFloatBuffer = new char[_Private_FloatConversions.MAX_CHARS];
+    private final CharBuffer _fixedFloatText = CharBuffer.wrap(_fixedFloatBuffer);
+
     public void printFloat(double value)
         throws IOException
     {
@@ -827,18 +832,18 @@ public final class _Private_IonTextAppender
         }
         else
         {
-            // Double.toString() forces a digit after the decimal point.
-            // Remove it when it's not meaningful.
-            String str = Double.toString(value);
-            if (str.endsWith(".0"))
+            // This is laid out like Double.toString(), which forces a digit
+            // after the decimal point.  Remove it when it's not meaningful.
+            int len = _Private_FloatConversions.toChars(value, _fixedFloatBuffer);
+            if (_fixedFloatBuffer[len - 2] == '.' && _fixedFloatBuffer[len - 1] == '0')
             {
-                appendAscii(str, 0, str.length() - 2);
+                appendAscii(_fixedFloatText, 0, len - 2);
                 appendAscii("e0");
             }
             else
             {
-                appendAscii(str);
-                if (str.indexOf('E') == -1)
+                appendAscii(_fixedFloatText, 0, len);
+                if (!hasExponent(_fixedFloatBuffer, len))
                 {
                     appendAscii("e0");
                 }
@@ -846,6 +851,15 @@ public final class _Private_IonTextAppender
         }
     }
 
+    private static boolean hasExponent(char[] chars, int len)
+    {
+        for (int i = 0; i < len; i++)
+        {
+            if (chars[i] == 'E') return true;
+        }
+        return false;
+    }
+
     public void printFloat(Double value)
         throws IOException
     {
@@ -860,6 +874,29 @@ public final class _Private_IonTextAppender
     }
 
 
+    //=========================================================================
+    // Timestamps
+
+
+    /** ONLY FOR USE BY {@link #printTimestamp(Timestamp)}. */
+    private _Private_TimestampFormatter _timestampFormatter;
+
+    /**
+     * Prints the timestamp as {@link Timestamp#toString()} does, reusing
+     * the text of the date from the previous timestamp printed when the
+     * two share it.
+     */
+    public void printTimestamp(Timestamp value)
+        throws IOException
+    {
+        if (_timestampFormatter == null)
+        {
+            _timestampFormatter = new _Private_TimestampFormatter();
+        }
+        appendAscii(_timestampFormatter.format(value));
+    }
+
+
     //=========================================================================
     // LOBs
 
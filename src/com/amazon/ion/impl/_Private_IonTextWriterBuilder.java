@@ -21,6 +21,7 @@ import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
+import com.amazon.ion.impl.bin._Private_AsyncOutputStream;
 import com.amazon.ion.system.IonSystemBuilder;
 import com.amazon.ion.system.IonTextWriterBuilder;
 import com.amazon.ion.system.SimpleCatalog;
@@ -221,6 +222,13 @@ public class _Private_IonTextWriterBuilder
     {
         _Private_IonTextWriterBuilder b = fillDefaults();
 
+        if (b.getAsyncOutputExecutor() != null)
+        {
+            out = new _Private_AsyncOutputStream(out,
+                                                 b.getAsyncOutputExecutor(),
+                                                 b.getAsyncOutputQueueDepth());
+        }
+
         _Private_FastAppendable fast = new OutputStreamFastAppendable(out);
 
         return b.build(fast);
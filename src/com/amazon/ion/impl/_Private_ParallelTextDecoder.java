@@ -0,0 +1,384 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * NOT FOR APPLICATION USE!
+ * <p>
+ * Decodes a UTF-8 Ion text stream using several threads.
+ * <p>
+ * The text is split into chunks at the starts of lines that look like they begin a top-level value, and the chunks
+ * are parsed as separate tasks.  Such a split is only a guess: it may fall inside a container, a long string, a lob
+ * or a block comment.  The chunks are therefore checked in order as their tasks complete.  A chunk is accepted when
+ * it starts where the accepted text before it ended and parses to its end without error.  A chunk that fails only
+ * after the parser ran into its end is parsed again together with the chunks after it, doubling their number each
+ * time, until the combined text parses or the input runs out, in which case the error is thrown.  Any other error
+ * is thrown right away.
+ * <p>
+ * Each task parses its chunk as if it were the start of a stream.  When a local symbol table is in effect at the
+ * start of a chunk, and the chunk may refer to symbols by id or may declare symbol tables of its own, the chunk is
+ * parsed again behind a copy of that table.  Text that names all of its symbols, which is the common case, is never
+ * parsed twice.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class _Private_ParallelTextDecoder
+{
+    /** The default number of bytes parsed by each task. */
+    public static final int DEFAULT_BYTES_PER_TASK = 1024 * 1024;
+
+    /** Receives the decoded top-level values, in order, on the thread that called {@link #decode}. */
+    public interface ValueHandler
+    {
+        void onValue(IonValue value) throws IOException;
+    }
+
+    private static final byte[] IVM = "$ion_1_0 ".getBytes(_Private_Utils.UTF8_CHARSET);
+
+    private final IonSystem system;
+    private final ExecutorService executor;
+    private final int bytesPerTask;
+
+    public _Private_ParallelTextDecoder(final IonSystem system, final ExecutorService executor)
+    {
+        this(system, executor, DEFAULT_BYTES_PER_TASK);
+    }
+
+    /**
+     * @param system reads the chunks and builds the values; its catalog resolves any imports.
+     * @param executor runs the tasks.
+     * @param bytesPerTask the approximate number of bytes parsed by each task.
+     */
+    public _Private_ParallelTextDecoder(final IonSystem system,
+                                        final ExecutorService executor,
+                                        final int bytesPerTask)
+    {
+        if (system == null || executor == null) { throw new NullPointerException(); }
+        if (bytesPerTask < 1)
+        {
+            throw new IllegalArgumentException("Bytes per task must be positive: " + bytesPerTask);
+        }
+        this.system = system;
+        this.executor = executor;
+        this.bytesPerTask = bytesPerTask;
+    }
+
+    /** Decodes the top-level values of the given UTF-8 Ion text. */
+    public List<IonValue> decode(final byte[] text) throws IOException
+    {
+        final List<IonValue> values = new ArrayList<IonValue>();
+        decode(text, new ValueHandler()
+        {
+            public void onValue(final IonValue value)
+            {
+                values.add(value);
+            }
+        });
+        return values;
+    }
+
+    /** Decodes the top-level values of the given UTF-8 Ion text, handing them to the handler in order. */
+    public void decode(final byte[] text, final ValueHandler handler) throws IOException
+    {
+        final List<Integer> boundaries = split(text, bytesPerTask);
+        final List<Future<Chunk>> chunks = new ArrayList<Future<Chunk>>(boundaries.size() - 1);
+        for (int i = 1; i < boundaries.size(); i++)
+        {
+            final int start = boundaries.get(i - 1);
+            final int end = boundaries.get(i);
+            chunks.add(executor.submit(new Callable<Chunk>()
+            {
+                public Chunk call()
+                {
+                    return parse(text, start, end, null);
+                }
+            }));
+        }
+
+        try
+        {
+            // the symbol table in effect at the end of the accepted text; null for the system table
+            SymbolTable inherited = null;
+            int i = 0;
+            while (i < chunks.size())
+            {
+                Chunk chunk = await(chunks.get(i));
+                if (inherited != null && chunk.dependsOnSymbolTable)
+                {
+                    chunk = parse(text, chunk.start, chunk.end, inherited);
+                }
+                // the chunk may end part way through a value, so try again with more of the text; doubling the
+                // chunks taken each time parses a value that spans k chunks about log k times rather than k times
+                int merged = 1;
+                while (chunk.error != null)
+                {
+                    if (!chunk.reachedEnd || i == chunks.size() - 1)
+                    {
+                        throw chunk.error;
+                    }
+                    i = Math.min(i + merged, chunks.size() - 1);
+                    merged *= 2;
+                    chunk = parse(text, chunk.start, boundaries.get(i + 1), inherited);
+                }
+                if (chunk.dependsOnSymbolTable)
+                {
+                    inherited = chunk.symbolTable;
+                }
+                for (final IonValue value : chunk.values)
+                {
+                    handler.onValue(value);
+                }
+                i++;
+            }
+        }
+        finally
+        {
+            for (final Future<Chunk> chunk : chunks)
+            {
+                chunk.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Finds the chunk boundaries: the start and end of the text, and about every {@code bytesPerTask} bytes between
+     * them, the start of a line that begins with a character that may start a top-level value.
+     */
+    static List<Integer> split(final byte[] text, final int bytesPerTask)
+    {
+        final List<Integer> boundaries = new ArrayList<Integer>();
+        boundaries.add(0);
+        int target = bytesPerTask;
+        while (target < text.length)
+        {
+            final int boundary = nextLineStart(text, target);
+            if (boundary >= text.length)
+            {
+                break;
+            }
+            boundaries.add(boundary);
+            target = boundary + bytesPerTask;
+        }
+        boundaries.add(text.length);
+        return boundaries;
+    }
+
+    private static int nextLineStart(final byte[] text, final int from)
+    {
+        for (int i = from; i < text.length; i++)
+        {
+            if (text[i - 1] == '\n' && mayStartTopLevelValue(text, i))
+            {
+                return i;
+            }
+        }
+        return text.length;
+    }
+
+    private static boolean mayStartTopLevelValue(final byte[] text, final int i)
+    {
+        final int c = text[i];
+        if (c == '\'')
+        {
+            // adjacent long strings are concatenated, so a line starting one may continue the last value
+            return !(i + 2 < text.length && text[i + 1] == '\'' && text[i + 2] == '\'');
+        }
+        return (c >= 0 && IonTokenConstsX.isValidSymbolCharacter(c))
+            || c == '"' || c == '{' || c == '[' || c == '(' || c == '-' || c == '+';
+    }
+
+    /**
+     * Tells whether the text may refer to symbols by id or declare symbol tables, which are the only ways that the
+     * symbol table in effect before the text can change what it means.  This errs on the side of yes; for example,
+     * it doesn't skip over strings.
+     */
+    private static boolean dependsOnSymbolTable(final byte[] text, final int start, final int end)
+    {
+        for (int i = start; i < end - 1; i++)
+        {
+            if (text[i] == '$')
+            {
+                final int c = text[i + 1];
+                if (IonTokenConstsX.isDigit(c) || c == 'i')
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses the text from start to end.
+     * @param symbolTable the symbol table in effect at the start, or null for the system symbol table.
+     */
+    private Chunk parse(final byte[] text, final int start, final int end, final SymbolTable symbolTable)
+    {
+        final Chunk chunk = new Chunk(start, end, dependsOnSymbolTable(text, start, end));
+        ChunkInput input = null;
+        try
+        {
+            if (symbolTable == null)
+            {
+                input = new ChunkInput(text, start, end - start);
+            }
+            else
+            {
+                final byte[] context = context(symbolTable);
+                final byte[] bytes = new byte[context.length + end - start];
+                System.arraycopy(context, 0, bytes, 0, context.length);
+                System.arraycopy(text, start, bytes, context.length, end - start);
+                input = new ChunkInput(bytes, 0, bytes.length);
+            }
+            final IonReader reader = system.newReader(input);
+            try
+            {
+                while (reader.next() != null)
+                {
+                    chunk.values.add(system.newValue(reader));
+                }
+                chunk.symbolTable = reader.getSymbolTable();
+                if (chunk.symbolTable != null && chunk.symbolTable.isSystemTable())
+                {
+                    chunk.symbolTable = null;
+                }
+            }
+            finally
+            {
+                reader.close();
+            }
+        }
+        catch (final IOException e)
+        {
+            chunk.error = new IonException(e);
+        }
+        catch (final IonException e)
+        {
+            chunk.error = e;
+        }
+        chunk.reachedEnd = input != null && input.reachedEnd;
+        return chunk;
+    }
+
+    /** Notes when the parser asks for more bytes than the chunk has. */
+    private static final class ChunkInput extends ByteArrayInputStream
+    {
+        boolean reachedEnd;
+
+        ChunkInput(final byte[] bytes, final int offset, final int length)
+        {
+            super(bytes, offset, length);
+        }
+
+        @Override
+        public synchronized int read()
+        {
+            final int b = super.read();
+            reachedEnd |= b < 0;
+            return b;
+        }
+
+        @Override
+        public synchronized int read(final byte[] b, final int off, final int len)
+        {
+            final int count = super.read(b, off, len);
+            reachedEnd |= count < 0;
+            return count;
+        }
+    }
+
+    /** Writes the text that puts the given table into effect. */
+    private byte[] context(final SymbolTable symbolTable) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(IVM);
+        final IonWriter writer = system.newTextWriter(out);
+        try
+        {
+            symbolTable.writeTo(writer);
+        }
+        finally
+        {
+            writer.close();
+        }
+        out.write('\n');
+        return out.toByteArray();
+    }
+
+    /** The outcome of parsing part of the text. */
+    private static final class Chunk
+    {
+        final int start;
+        final int end;
+        final boolean dependsOnSymbolTable;
+        final List<IonValue> values = new ArrayList<IonValue>();
+        /** The symbol table in effect at the end, or null for the system symbol table. */
+        SymbolTable symbolTable;
+        IonException error;
+        /** Whether the parser ran into the end of the text, which is where a value cut short fails. */
+        boolean reachedEnd;
+
+        Chunk(final int start, final int end, final boolean dependsOnSymbolTable)
+        {
+            this.start = start;
+            this.end = end;
+            this.dependsOnSymbolTable = dependsOnSymbolTable;
+        }
+    }
+
+    private static <T> T await(final Future<T> future) throws IOException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for decoding");
+        }
+        catch (final ExecutionException e)
+        {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new IonException("Error decoding values", cause);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.Timestamp;
+import com.amazon.ion.Timestamp.Precision;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.CharBuffer;
+
+/**
+ * NOT FOR APPLICATION USE!
+ * <p>
+ * Formats timestamps exactly as {@link Timestamp#toString()} does, into a buffer that is reused from one timestamp
+ * to the next.  The date portion ({@code yyyy-mm-dd}) of the last timestamp formatted is kept, so a run of
+ * timestamps on the same local date, as in a sorted log, only formats the time of day.
+ * <p>
+ * Each formatter holds the text of the last timestamp, so it is not thread safe; use one per writer.
+ */
+public final class _Private_TimestampFormatter
+{
+    /** The most fraction digits that are formatted here; longer fractions go through {@link Timestamp#toString()}. */
+    private static final int MAX_FRACTION_DIGITS = 18;
+
+    private static final int DATE_LENGTH = 10;
+
+    private final char[] _chars = new char[64];
+    private final CharBuffer _text = CharBuffer.wrap(_chars);
+
+    /** The local date whose text is in the first {@link #DATE_LENGTH} characters, or zero if there is none yet. */
+    private int _year;
+    private int _month;
+    private int _day;
+
+    /**
+     * Returns the text of the given timestamp, which is only valid until the next call.
+     */
+    public CharSequence format(Timestamp value)
+    {
+        Precision precision = value.getPrecision();
+        if (precision != Precision.YEAR && precision != Precision.MONTH && precision != Precision.DAY
+            && precision != Precision.MINUTE && precision != Precision.SECOND) {
+            return value.toString();
+        }
+
+        int year = value.getZYear();
+        int month = value.getZMonth();
+        int day = value.getZDay();
+        int hour = value.getZHour();
+        int minute = value.getZMinute();
+        Integer offset = value.getLocalOffset();
+        if (offset != null && offset.intValue() != 0) {
+            // shift the UTC fields to local time
+            int minuteOfDay = hour * 60 + minute + offset.intValue();
+            if (minuteOfDay < 0) {
+                minuteOfDay += 24 * 60;
+                if (day > 1) {
+                    day--;
+                }
+                else {
+                    if (month > 1) {
+                        month--;
+                    }
+                    else {
+                        month = 12;
+                        year--;
+                    }
+                    day = lastDayOfMonth(year, month);
+                }
+            }
+            else if (minuteOfDay >= 24 * 60) {
+                minuteOfDay -= 24 * 60;
+                if (_Private_EpochCalendar.isValidDate(year, month, day + 1)) {
+                    day++;
+                }
+                else {
+                    day = 1;
+                    if (month < 12) {
+                        month++;
+                    }
+                    else {
+                        month = 1;
+                        year++;
+                    }
+                }
+            }
+            hour = minuteOfDay / 60;
+            minute = minuteOfDay % 60;
+        }
+
+        int length;
+        switch (precision) {
+        case YEAR:
+            digits(year, 4, 0);
+            _chars[4] = 'T';
+            _year = 0;
+            return text(5);
+        case MONTH:
+            digits(year, 4, 0);
+            _chars[4] = '-';
+            digits(month, 2, 5);
+            _chars[7] = 'T';
+            _year = 0;
+            return text(8);
+        default:
+            if (year != _year || month != _month || day != _day) {
+                digits(year, 4, 0);
+                _chars[4] = '-';
+                digits(month, 2, 5);
+                _chars[7] = '-';
+                digits(day, 2, 8);
+                _year = year;
+                _month = month;
+                _day = day;
+            }
+            length = DATE_LENGTH;
+            break;
+        }
+        if (precision == Precision.DAY) {
+            return text(length);
+        }
+
+        _chars[length++] = 'T';
+        length = digits(hour, 2, length);
+        _chars[length++] = ':';
+        length = digits(minute, 2, length);
+        if (precision == Precision.SECOND) {
+            _chars[length++] = ':';
+            length = digits(value.getZSecond(), 2, length);
+            BigDecimal seconds = value.getZDecimalSecond();
+            // a timestamp only has a fraction with a positive scale
+            if (seconds.scale() > 0) {
+                BigDecimal fraction = seconds.subtract(BigDecimal.valueOf(value.getZSecond()));
+                length = fraction(fraction, length);
+                if (length < 0) {
+                    return value.toString();
+                }
+            }
+        }
+
+        if (offset == null) {
+            _chars[length++] = '-';
+            _chars[length++] = '0';
+            _chars[length++] = '0';
+            _chars[length++] = ':';
+            _chars[length++] = '0';
+            _chars[length++] = '0';
+        }
+        else if (offset.intValue() == 0) {
+            _chars[length++] = 'Z';
+        }
+        else {
+            int minutes = offset.intValue();
+            if (minutes < 0) {
+                minutes = -minutes;
+                _chars[length++] = '-';
+            }
+            else {
+                _chars[length++] = '+';
+            }
+            length = digits(minutes / 60, 2, length);
+            _chars[length++] = ':';
+            length = digits(minutes % 60, 2, length);
+        }
+        return text(length);
+    }
+
+    private CharSequence text(int length)
+    {
+        _text.clear();
+        _text.limit(length);
+        return _text;
+    }
+
+    /** Writes the value as exactly the given number of digits at the given position, returning the end position. */
+    private int digits(int value, int count, int position)
+    {
+        int end = position + count;
+        for (int i = end - 1; i >= position; i--) {
+            _chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return end;
+    }
+
+    /**
+     * Writes the fraction as {@code BigDecimal.toPlainString()} would without its leading zero, returning the end
+     * position, or -1 if the fraction is left to {@link Timestamp#toString()}.
+     */
+    private int fraction(BigDecimal fraction, int position)
+    {
+        int scale = fraction.scale();
+        if (scale <= 0 || scale > MAX_FRACTION_DIGITS) {
+            return -1;
+        }
+        BigInteger unscaled = fraction.unscaledValue();
+        if (unscaled.bitLength() > 63) {
+            return -1;
+        }
+        long digits = unscaled.longValue();
+        _chars[position++] = '.';
+        int end = position + scale;
+        for (int i = end - 1; i >= position; i--) {
+            _chars[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        return end;
+    }
+
+    private static int lastDayOfMonth(int year, int month)
+    {
+        int day = 31;
+        while (!_Private_EpochCalendar.isValidDate(year, month, day)) {
+            day--;
+        }
+        return day;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.IonReader;
+import com.amazon.ion.Timestamp;
+
+/**
+ * An {@link IonReader} {@linkplain com.amazon.ion.facet facet} that can hand
+ * out the current timestamp as primitives decoded straight from the input,
+ * without allocating a {@link Timestamp}.
+ * <p>
+ * The point in time agrees with {@link Timestamp#getMillis()}, including its
+ * use of the Julian calendar before October 15, 1582.
+ * <p>
+ * Each method throws {@link IllegalStateException} unless the reader is
+ * positioned on a non-null timestamp.
+ */
+public interface _Private_TimestampReader
+{
+    /**
+     * Returns the milliseconds since the epoch of the current timestamp,
+     * ignoring any fractional milliseconds, as in
+     * {@link Timestamp#getMillis()}.
+     */
+    public long timestampEpochMillis();
+
+    /**
+     * Returns the whole seconds since the epoch of the current timestamp.
+     */
+    public long timestampEpochSecond();
+
+    /**
+     * Returns the fractional seconds of the current timestamp in
+     * nanoseconds, ignoring any finer digits.
+     */
+    public int timestampNanos();
+
+    /**
+     * Returns the number of digits in the fractional seconds of the current
+     * timestamp, which is zero when it has none.
+     */
+    public int timestampFractionDigits();
+
+    /**
+     * Returns the local offset of the current timestamp in minutes, or
+     * {@link _Private_EpochCalendar#UNKNOWN_OFFSET} when it is unknown.
+     */
+    public int timestampLocalOffset();
+
+    /**
+     * Returns the precision of the current timestamp.
+     */
+    public Timestamp.Precision timestampPrecision();
+}
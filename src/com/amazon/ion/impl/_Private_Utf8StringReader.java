@@ -0,0 +1,64 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl;
+
+import com.amazon.ion.IonReader;
+
+/**
+ * An {@link IonReader} {@linkplain com.amazon.ion.facet facet} that can hand
+ * out the current string value without allocating a {@link String}, either
+ * as its UTF-8 bytes or as a {@link CharSequence} view, for callers that only
+ * compare, hash or forward the text.
+ * <p>
+ * The bytes are usually left in the reader's input buffer rather than copied.
+ * They, and the view, belong to the reader: they must not be modified, and
+ * are only valid until the reader moves to another value.
+ * <p>
+ * Each method throws {@link IllegalStateException} unless the reader is
+ * positioned on a non-null string.
+ */
+public interface _Private_Utf8StringReader
+{
+    /**
+     * Returns the array holding the UTF-8 bytes of the current string, which
+     * start at {@link #stringUtf8Offset()}.
+     */
+    public byte[] stringUtf8Bytes();
+
+    /**
+     * Returns the offset of the current string within
+     * {@link #stringUtf8Bytes()}.
+     */
+    public int stringUtf8Offset();
+
+    /**
+     * Returns the number of UTF-8 bytes in the current string.
+     */
+    public int stringUtf8Length();
+
+    /**
+     * Returns a view of the current string's characters that the reader
+     * reuses from value to value.
+     */
+    public CharSequence stringCharSequence();
+
+    /**
+     * Determines whether the current string is exactly the given UTF-8
+     * bytes, without decoding it.
+     */
+    public boolean stringEquals(byte[] utf8);
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pooling implementation of {@link BlockAllocatorProvider} that keeps buffered data off of the Java heap.
+ * <p>
+ * A {@link WriteBuffer} over one of these allocators encodes into a single heap {@link Block} and moves each block,
+ * once it is full, into a pooled direct {@link ByteBuffer}.  This bounds the heap footprint of a writer to a block
+ * or so regardless of how much it buffers, and lets the buffered data be handed to a channel without being copied
+ * back onto the heap.
+ * <p>
+ * This implementation is thread-safe.
+ */
+/*package*/ final class DirectBlockAllocatorProvider extends BlockAllocatorProvider
+{
+    /** Upper bound on the direct memory retained by the pool of a single block size. */
+    static final int FREE_CAPACITY = 1024 * 1024 * 64; // 64MB
+
+    /** Upper bound on the heap memory retained by the pool of a single block size. */
+    static final int FREE_HEAP_CAPACITY = 1024 * 1024 * 4; // 4MB
+
+    /**
+     * A {@link BlockAllocator} for a particular size that vends heap blocks to encode into along with the direct
+     * buffers that filled blocks are moved to.
+     * <p>
+     * This implementation is thread-safe.
+     */
+    /*package*/ static final class DirectBlockAllocator extends BlockAllocator
+    {
+        private final int blockSize;
+        private final int directLimit;
+        private final int heapLimit;
+        private final ConcurrentLinkedQueue<ByteBuffer> freeDirectBlocks;
+        private final AtomicInteger freeDirectCount;
+        private final ConcurrentLinkedQueue<Block> freeBlocks;
+        private final AtomicInteger freeCount;
+
+        public DirectBlockAllocator(final int blockSize)
+        {
+            this.blockSize = blockSize;
+            this.directLimit = FREE_CAPACITY / blockSize;
+            this.heapLimit = Math.max(1, FREE_HEAP_CAPACITY / blockSize);
+            this.freeDirectBlocks = new ConcurrentLinkedQueue<ByteBuffer>();
+            this.freeDirectCount = new AtomicInteger(0);
+            this.freeBlocks = new ConcurrentLinkedQueue<Block>();
+            this.freeCount = new AtomicInteger(0);
+        }
+
+        /** Allocates a heap {@link Block} to encode into. */
+        @Override
+        public Block allocateBlock()
+        {
+            final Block block = freeBlocks.poll();
+            if (block != null)
+            {
+                freeCount.decrementAndGet();
+                return block;
+            }
+            return new Block(new byte[blockSize])
+            {
+                @Override
+                public void close()
+                {
+                    reset();
+                    if (freeCount.incrementAndGet() <= heapLimit)
+                    {
+                        freeBlocks.offer(this);
+                    }
+                    else
+                    {
+                        freeCount.decrementAndGet();
+                    }
+                }
+            };
+        }
+
+        /**
+         * Allocates a cleared direct buffer with a capacity of the block size.
+         * The caller owns the buffer until it is handed back to {@link #releaseDirectBlock(ByteBuffer)}.
+         */
+        public ByteBuffer allocateDirectBlock()
+        {
+            final ByteBuffer buffer = freeDirectBlocks.poll();
+            if (buffer != null)
+            {
+                freeDirectCount.decrementAndGet();
+                return buffer;
+            }
+            return ByteBuffer.allocateDirect(blockSize);
+        }
+
+        /** Returns a buffer from {@link #allocateDirectBlock()} to the pool. */
+        public void releaseDirectBlock(final ByteBuffer buffer)
+        {
+            buffer.clear();
+            if (freeDirectCount.incrementAndGet() <= directLimit)
+            {
+                freeDirectBlocks.offer(buffer);
+            }
+            else
+            {
+                // over capacity--let the buffer be collected along with its native memory
+                freeDirectCount.decrementAndGet();
+            }
+        }
+
+        @Override
+        public int getBlockSize()
+        {
+            return blockSize;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private final ConcurrentMap<Integer, BlockAllocator> allocators;
+
+    public DirectBlockAllocatorProvider()
+    {
+        allocators = new ConcurrentHashMap<Integer, BlockAllocator>();
+    }
+
+    @Override
+    public BlockAllocator vendAllocator(final int blockSize)
+    {
+        if (blockSize <= 0)
+        {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+
+        BlockAllocator allocator = allocators.get(blockSize);
+        if (allocator == null)
+        {
+            allocator = new DirectBlockAllocator(blockSize);
+            final BlockAllocator existingAllocator = allocators.putIfAbsent(blockSize, allocator);
+            if (existingAllocator != null)
+            {
+                allocator = existingAllocator;
+            }
+        }
+        return allocator;
+    }
+}
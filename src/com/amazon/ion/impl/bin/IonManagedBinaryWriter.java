@@ -37,24 +37,26 @@ import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.Timestamp;
 import com.amazon.ion.UnknownSymbolException;
+import com.amazon.ion.impl._Private_ListWriter;
 import com.amazon.ion.impl.bin.IonRawBinaryWriter.StreamCloseMode;
 import com.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /** Wraps {@link IonRawBinaryWriter} with symbol table management. */
 @SuppressWarnings("deprecation")
-/*package*/ final class IonManagedBinaryWriter extends AbstractIonWriter implements _Private_IonManagedWriter
+/*package*/ final class IonManagedBinaryWriter extends AbstractIonWriter
+    implements _Private_IonManagedWriter, _Private_ListWriter
 {
     private interface SymbolResolver
     {
@@ -558,7 +560,7 @@ import java.util.Map;
 
         public Iterator<String> iterateDeclaredSymbolNames()
         {
-            return locals.keySet().iterator();
+            return locals.textIterator();
         }
 
         public int getMaxId()
@@ -611,14 +613,10 @@ import java.util.Map;
                     return text;
                 }
             }
-            // TODO decide if it is worth making this better than O(N)
-            //      requires more state tracking (but for what use case?)
-            for (final SymbolToken token : locals.values())
+            final int index = id - imports.localSidStart;
+            if (index >= 0 && index < locals.size())
             {
-                if (token.getSid() == id)
-                {
-                    return token.getText();
-                }
+                return locals.tokenAt(index).getText();
             }
             return null;
         }
@@ -642,9 +640,11 @@ import java.util.Map;
 
     private final IonCatalog                    catalog;
     private final ImportedSymbolContext         bootstrapImports;
+    private final SymbolTable                   initialSymbolTable;
+    private final boolean                       isInitialSymbolTableOmitted;
 
     private ImportedSymbolContext               imports;
-    private final Map<String, SymbolToken>      locals;
+    private final SymbolIdMap                   locals;
     private boolean                             localsLocked;
     private SymbolTable                         localSymbolTableView;
 
@@ -660,6 +660,7 @@ import java.util.Map;
     private final List<String>                  userSymbols;
     private final ImportDescriptor              userCurrentImport;
     private final boolean                       lstAppendEnabled;
+    private final long                          autoFlushThreshold;
     private boolean                             isUserLSTAppend;
 
     private boolean                             closed;
@@ -668,32 +669,77 @@ import java.util.Map;
                                        final OutputStream out)
                                        throws IOException
     {
-        super(builder.optimization);
-        this.symbols = new IonRawBinaryWriter(
-            builder.provider,
-            builder.symbolsBlockSize,
-            out,
-            WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
-            StreamCloseMode.NO_CLOSE,
-            StreamFlushMode.NO_FLUSH,
-            builder.preallocationMode,
-            builder.isFloatBinary32Enabled
+        this(
+            builder,
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.symbolsBlockSize,
+                out,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.NO_CLOSE,
+                StreamFlushMode.NO_FLUSH,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled,
+                builder.isPatchFreeEncodingEnabled
+            ),
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.userBlockSize,
+                out,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.CLOSE,
+                StreamFlushMode.FLUSH,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled,
+                builder.isPatchFreeEncodingEnabled
+            )
         );
-        this.user = new IonRawBinaryWriter(
-            builder.provider,
-            builder.userBlockSize,
-            out,
-            WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
-            StreamCloseMode.CLOSE,
-            StreamFlushMode.FLUSH,
-            builder.preallocationMode,
-            builder.isFloatBinary32Enabled
+    }
+
+    /*package*/ IonManagedBinaryWriter(final _Private_IonManagedBinaryWriterBuilder builder,
+                                       final WritableByteChannel channel)
+                                       throws IOException
+    {
+        this(
+            builder,
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.symbolsBlockSize,
+                channel,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.NO_CLOSE,
+                StreamFlushMode.NO_FLUSH,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled,
+                builder.isPatchFreeEncodingEnabled
+            ),
+            new IonRawBinaryWriter(
+                builder.provider,
+                builder.userBlockSize,
+                channel,
+                WriteValueOptimization.NONE, // optimization is not relevant for the nested raw writer
+                StreamCloseMode.CLOSE,
+                StreamFlushMode.FLUSH,
+                builder.preallocationMode,
+                builder.isFloatBinary32Enabled,
+                builder.isPatchFreeEncodingEnabled
+            )
         );
+    }
+
+    private IonManagedBinaryWriter(final _Private_IonManagedBinaryWriterBuilder builder,
+                                   final IonRawBinaryWriter symbols,
+                                   final IonRawBinaryWriter user)
+                                   throws IOException
+    {
+        super(builder.optimization);
+        this.symbols = symbols;
+        this.user = user;
 
         this.catalog = builder.catalog;
         this.bootstrapImports = builder.imports;
 
-        this.locals = new LinkedHashMap<String, SymbolToken>();
+        this.locals = new SymbolIdMap();
         this.localsLocked = false;
         this.localSymbolTableView = new LocalSymbolTableView();
         this.symbolState = SymbolState.SYSTEM_SYMBOLS;
@@ -706,10 +752,19 @@ import java.util.Map;
         this.userSymbols = new ArrayList<String>();
         this.userCurrentImport = new ImportDescriptor();
         this.lstAppendEnabled = builder.isLocalSymbolTableAppendEnabled;
+        this.autoFlushThreshold = builder.autoFlushThreshold;
         this.isUserLSTAppend = false;
 
+        this.initialSymbolTable = builder.initialSymbolTable;
+        this.isInitialSymbolTableOmitted = builder.isInitialSymbolTableOmitted;
+        seedInitialSymbolTable();
+    }
+
+    /** Starts the local symbol table configured on the builder, if any; otherwise, sets up the builder's imports. */
+    private void seedInitialSymbolTable() throws IOException
+    {
         // TODO decide if initial LST should survive finish() and seed the next LST
-        final SymbolTable lst = builder.initialSymbolTable;
+        final SymbolTable lst = initialSymbolTable;
         if (lst != null)
         {
             // build import context from seeded LST
@@ -718,6 +773,23 @@ import java.util.Map;
             final ImportedSymbolContext lstImports = new ImportedSymbolContext(ImportedSymbolResolverMode.DELEGATE, lstImportList);
             this.imports = lstImports;
 
+            if (isInitialSymbolTableOmitted)
+            {
+                // the table has been declared elsewhere, so take its symbols as they are and never write it
+                final Iterator<String> symbolIter = lst.iterateDeclaredSymbolNames();
+                while (symbolIter.hasNext())
+                {
+                    final String text = symbolIter.next();
+                    if (text != null && locals.get(text) == null && imports.importedSymbols.get(text) == null)
+                    {
+                        locals.put(symbol(text, imports.localSidStart + locals.size()));
+                    }
+                }
+                localsLocked = true;
+                symbolState = SymbolState.LOCAL_SYMBOLS_FLUSHED;
+                return;
+            }
+
             // intern all of the local symbols provided from LST
             final Iterator<String> symbolIter = lst.iterateDeclaredSymbolNames();
             while (symbolIter.hasNext())
@@ -731,7 +803,7 @@ import java.util.Map;
         }
         else
         {
-            this.imports = builder.imports;
+            this.imports = bootstrapImports;
         }
     }
 
@@ -851,7 +923,7 @@ import java.util.Map;
                 startLocalSymbolTableSymbolListIfNeeded();
 
                 token = symbol(text, imports.localSidStart + locals.size());
-                locals.put(text, token);
+                locals.put(token);
 
                 symbols.writeString(text);
             }
@@ -898,6 +970,12 @@ import java.util.Map;
         return localSymbolTableView;
     }
 
+    /** Returns the local symbol table, even when no local symbols have been declared yet. */
+    /*package*/ SymbolTable getLocalSymbolTable()
+    {
+        return localSymbolTableView;
+    }
+
     // Current Value Meta
 
     public void setFieldName(final String name)
@@ -976,6 +1054,7 @@ import java.util.Map;
     {
         user.stepOut();
         userState.afterStepOut(this);
+        autoFlushIfNeeded();
     }
 
     public boolean isInStruct()
@@ -988,43 +1067,51 @@ import java.util.Map;
     public void writeNull() throws IOException
     {
         user.writeNull();
+        autoFlushIfNeeded();
     }
 
     public void writeNull(final IonType type) throws IOException
     {
         user.writeNull(type);
+        autoFlushIfNeeded();
     }
 
     public void writeBool(final boolean value) throws IOException
     {
         user.writeBool(value);
+        autoFlushIfNeeded();
     }
 
     public void writeInt(long value) throws IOException
     {
         userState.writeInt(this, value);
         user.writeInt(value);
+        autoFlushIfNeeded();
     }
 
     public void writeInt(final BigInteger value) throws IOException
     {
         userState.writeInt(this, value);
         user.writeInt(value);
+        autoFlushIfNeeded();
     }
 
     public void writeFloat(final double value) throws IOException
     {
         user.writeFloat(value);
+        autoFlushIfNeeded();
     }
 
     public void writeDecimal(final BigDecimal value) throws IOException
     {
         user.writeDecimal(value);
+        autoFlushIfNeeded();
     }
 
     public void writeTimestamp(final Timestamp value) throws IOException
     {
         user.writeTimestamp(value);
+        autoFlushIfNeeded();
     }
 
     public void writeSymbol(String content) throws IOException
@@ -1060,38 +1147,199 @@ import java.util.Map;
         token = intern(token);
         userState.writeSymbolToken(this, token);
         user.writeSymbolToken(token);
+        autoFlushIfNeeded();
     }
 
     public void writeString(final String value) throws IOException
     {
         userState.writeString(this, value);
         user.writeString(value);
+        autoFlushIfNeeded();
     }
 
     public void writeClob(byte[] data) throws IOException
     {
         user.writeClob(data);
+        autoFlushIfNeeded();
     }
 
     public void writeClob(final byte[] data, final int offset, final int length) throws IOException
     {
         user.writeClob(data, offset, length);
+        autoFlushIfNeeded();
     }
 
     public void writeBlob(byte[] data) throws IOException
     {
         user.writeBlob(data);
+        autoFlushIfNeeded();
     }
 
     public void writeBlob(final byte[] data, final int offset, final int length) throws IOException
     {
         user.writeBlob(data, offset, length);
+        autoFlushIfNeeded();
     }
 
     @Override
     public void writeString(byte[] data, int offset, int length) throws IOException
     {
         user.writeString(data, offset, length);
+        autoFlushIfNeeded();
+    }
+
+    // Bulk List Writing
+    // While the user writes a symbol table through us, each value has to go through the user state, so we fall back
+    // to writing the list a value at a time.  A null array is written as null.list either way.
+
+    public void writeBoolList(final boolean[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(IonType.LIST);
+            for (int i = 0; i < values.length; i++)
+            {
+                writeBool(values[i]);
+            }
+            stepOut();
+            return;
+        }
+        user.writeBools(values);
+        autoFlushIfNeeded();
+    }
+
+    public void writeFloatList(final float[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        stepIn(IonType.LIST);
+        for (int i = 0; i < values.length; i++)
+        {
+            writeFloat(values[i]);
+        }
+        stepOut();
+    }
+
+    public void writeFloatList(final double[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(IonType.LIST);
+            for (int i = 0; i < values.length; i++)
+            {
+                writeFloat(values[i]);
+            }
+            stepOut();
+            return;
+        }
+        user.writeFloats(values);
+        autoFlushIfNeeded();
+    }
+
+    public void writeIntList(final byte[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        stepIn(IonType.LIST);
+        for (int i = 0; i < values.length; i++)
+        {
+            writeInt(values[i]);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final short[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        stepIn(IonType.LIST);
+        for (int i = 0; i < values.length; i++)
+        {
+            writeInt(values[i]);
+        }
+        stepOut();
+    }
+
+    public void writeIntList(final int[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(IonType.LIST);
+            for (int i = 0; i < values.length; i++)
+            {
+                writeInt(values[i]);
+            }
+            stepOut();
+            return;
+        }
+        user.writeInts(values);
+        autoFlushIfNeeded();
+    }
+
+    public void writeIntList(final long[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(IonType.LIST);
+            for (int i = 0; i < values.length; i++)
+            {
+                writeInt(values[i]);
+            }
+            stepOut();
+            return;
+        }
+        user.writeInts(values);
+        autoFlushIfNeeded();
+    }
+
+    public void writeStringList(final String[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        if (userState != UserState.NORMAL)
+        {
+            stepIn(IonType.LIST);
+            for (int i = 0; i < values.length; i++)
+            {
+                writeString(values[i]);
+            }
+            stepOut();
+            return;
+        }
+        user.writeStrings(values);
+        autoFlushIfNeeded();
     }
 
     public void writeBytes(byte[] data, int off, int len) throws IOException
@@ -1099,6 +1347,7 @@ import java.util.Map;
         // this is a raw transfer--we basically have to dump the symbol table since we don't have much context
         startLocalSymbolTableIfNeeded(/*writeIVM*/ true);
         user.writeBytes(data, off, len);
+        autoFlushIfNeeded();
     }
 
     // Stream Terminators
@@ -1111,6 +1360,28 @@ import java.util.Map;
         }
     }
 
+    /**
+     * Pushes the data out once more than the auto-flush threshold is buffered and we are between top-level values.
+     * The symbol context carries over when it can, as with {@link #flush()}; otherwise, the stream is finished.
+     */
+    private void autoFlushIfNeeded() throws IOException
+    {
+        if (autoFlushThreshold > 0
+            && user.getDepth() == 0
+            && userState == UserState.NORMAL
+            && user.position() + symbols.position() > autoFlushThreshold)
+        {
+            if (localsLocked || lstAppendEnabled)
+            {
+                unsafeFlush();
+            }
+            else
+            {
+                finish();
+            }
+        }
+    }
+
     private void unsafeFlush() throws IOException
     {
         if (user.hasWrittenValuesSinceFinished())
@@ -1120,9 +1391,8 @@ import java.util.Map;
             // make sure that until the local symbol state changes we no-op the table closing routine
             symbolState = SymbolState.LOCAL_SYMBOLS_FLUSHED;
         }
-        // push the data out
-        symbols.finish();
-        user.finish();
+        // push the data out--symbols first, as a single write when we have a channel
+        user.finish(symbols);
     }
 
     public void finish() throws IOException
@@ -1140,6 +1410,47 @@ import java.util.Map;
         imports = bootstrapImports;
     }
 
+    /*package*/ boolean isClosed()
+    {
+        return closed;
+    }
+
+    /**
+     * Finishes this writer and lets go of its stream without starting a new symbol context, so that it can sit idle
+     * until it is {@linkplain #rebind(OutputStream) rebound}.  Closing a detached writer leaves the stream alone.
+     */
+    /*package*/ void detach() throws IOException
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Cannot detach a closed writer");
+        }
+        finish();
+        user.detach();
+        symbols.detach();
+    }
+
+    public void rebind(final OutputStream out) throws IOException
+    {
+        if (out == null) { throw new NullPointerException(); }
+        if (closed)
+        {
+            throw new IllegalStateException("Cannot rebind a closed writer");
+        }
+        finish();
+
+        user.rebind(out);
+        // both raw writers must share the destination (and its channel) to be finished together
+        symbols.rebind(user);
+
+        userState = UserState.NORMAL;
+        userSymbolTablePosition = 0L;
+        userImports.clear();
+        userSymbols.clear();
+        isUserLSTAppend = false;
+        seedInitialSymbolTable();
+    }
+
     public void close() throws IOException
     {
         if (closed)
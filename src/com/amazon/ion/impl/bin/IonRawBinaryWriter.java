@@ -46,19 +46,19 @@ import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.SymbolToken;
 import com.amazon.ion.Timestamp;
+import com.amazon.ion.impl._Private_EpochCalendar;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.ByteBuffer;
-import java.nio.CharBuffer;
-import java.nio.charset.Charset;
-import java.nio.charset.CharsetEncoder;
-import java.nio.charset.CoderResult;
+import java.nio.channels.Channels;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
-import java.util.NoSuchElementException;
 
 /**
  * Low-level binary {@link IonWriter} that understands encoding concerns but doesn't operate with any sense of symbol table management.
@@ -116,6 +116,7 @@ import java.util.NoSuchElementException;
 
     private static final byte CLOB_TYPE         = (byte) 0x90;
     private static final byte BLOB_TYPE         = (byte) 0xA0;
+    private static final byte LIST_TYPE         = (byte) 0xB0;
 
     private static final byte DECIMAL_POS_ZERO               = (byte) 0x50;
     private static final byte DECIMAL_NEGATIVE_ZERO_MANTISSA = (byte) 0x80;
@@ -125,15 +126,6 @@ import java.util.NoSuchElementException;
 
     private static final byte VARINT_NEG_ZERO   = (byte) 0xC0;
 
-    // See IonRawBinaryWriter#writeString(String) for usage information.
-    static final int SMALL_STRING_SIZE = 4 * 1024;
-
-    // Reusable resources for encoding Strings as UTF-8 bytes
-    final CharsetEncoder utf8Encoder = Charset.forName("UTF-8").newEncoder();
-    final ByteBuffer utf8EncodingBuffer = ByteBuffer.allocate((int) (SMALL_STRING_SIZE * utf8Encoder.maxBytesPerChar()));
-    final char[] charArray = new char[SMALL_STRING_SIZE];
-    final CharBuffer reusableCharBuffer = CharBuffer.wrap(charArray);
-
     private static final byte[] makeTypedPreallocatedBytes(final int typeDesc, final int length)
     {
         final byte[] bytes = new byte[length];
@@ -253,42 +245,24 @@ import java.util.NoSuchElementException;
         public long position;
         /** The size of the current value. */
         public long length;
-        /** The patchlist for this container. */
-        public PatchList patches;
+        /**
+         * The index in the patch list at which this container's own patch point belongs, or of the container's span
+         * when patch-free encoding is enabled.
+         */
+        public int patchIndex;
 
         public ContainerInfo()
         {
             type = null;
             position = -1;
             length = -1;
-            patches = null;
-        }
-
-        public void appendPatch(final PatchPoint patch)
-        {
-            if (patches == null)
-            {
-                patches = new PatchList();
-            }
-            patches.append(patch);
-        }
-
-        public void extendPatches(final PatchList newPatches)
-        {
-            if (patches == null)
-            {
-                patches = newPatches;
-            }
-            else
-            {
-                patches.extend(newPatches);
-            }
+            patchIndex = -1;
         }
 
-        public void initialize(final ContainerType type, final long offset) {
+        public void initialize(final ContainerType type, final long offset, final int patchIndex) {
             this.type = type;
             this.position = offset;
-            this.patches = null;
+            this.patchIndex = patchIndex;
             this.length = 0;
         }
 
@@ -299,167 +273,277 @@ import java.util.NoSuchElementException;
         }
     }
 
-    private static class PatchPoint
+    /**
+     * The patch points for the buffer in ascending order of the position they patch, stored as parallel primitive
+     * columns so that recording a patch point does not allocate.
+     * <p>
+     * Each patch point records the position and length of the data being patched out of the buffer, and the position
+     * and length in the patch buffer of the data to be patched in.
+     * <p>
+     * A container's patch point is only known once it is closed, after those of its children, so containers
+     * {@link #reserve(long, long)} an empty one when they are opened and {@link #set(int, int, long, int)} it when
+     * they are closed.  An empty patch point patches nothing in, so one that is never set does no harm; it is only
+     * kept when it is followed by those of the container's children.
+     */
+    private static final class PatchList
     {
-        /** position of the data being patched out. */
-        public final long oldPosition;
-        /** length of the data being patched out.*/
-        public final int oldLength;
-        /** position of the patch buffer where the length data is stored. */
-        public final long patchPosition;
-        /** length of the data to be patched in.*/
-        public final int patchLength;
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] oldPositions;
+        private int[]  oldLengths;
+        private long[] patchPositions;
+        private int[]  patchLengths;
+        private int    size;
 
-        public PatchPoint(final long oldPosition, final int oldLength, final long patchPosition, final int patchLength)
+        public PatchList()
         {
-            this.oldPosition = oldPosition;
-            this.oldLength = oldLength;
-            this.patchPosition = patchPosition;
-            this.patchLength = patchLength;
+            oldPositions = new long[INITIAL_CAPACITY];
+            oldLengths = new int[INITIAL_CAPACITY];
+            patchPositions = new long[INITIAL_CAPACITY];
+            patchLengths = new int[INITIAL_CAPACITY];
+            size = 0;
         }
 
-        @Override
-        public String toString()
+        public boolean isEmpty()
         {
-            return "(PP old::(" + oldPosition + " " + oldLength + ") patch::(" + patchPosition + " " + patchLength + ")";
+            return size == 0;
         }
-    }
 
-    /**
-     * Simple singly linked list node that we can use to construct the patch list in the
-     * right order incrementally in recursive segments.
-     */
-    private static class PatchList implements Iterable<PatchPoint>
-    {
-        private static class Node {
-            public final PatchPoint value;
-            public Node next;
+        public int size()
+        {
+            return size;
+        }
 
-            public Node(final PatchPoint value)
-            {
-                this.value = value;
-            }
+        public void clear()
+        {
+            size = 0;
         }
-        private Node head;
-        private Node tail;
 
-        public PatchList()
+        /** Returns the position of the data being patched out. */
+        public long oldPosition(final int index)
         {
-            head = null;
-            tail = null;
+            return oldPositions[index];
         }
 
-        public boolean isEmpty()
+        /** Returns the length of the data being patched out. */
+        public int oldLength(final int index)
         {
-            return head == null && tail == null;
+            return oldLengths[index];
         }
 
-        public void clear()
+        /** Returns the position in the patch buffer where the length data is stored. */
+        public long patchPosition(final int index)
+        {
+            return patchPositions[index];
+        }
+
+        /** Returns the length of the data to be patched in. */
+        public int patchLength(final int index)
         {
-            head = null;
-            tail = null;
+            return patchLengths[index];
         }
 
-        public void append(final PatchPoint patch)
+        private void ensureCapacity(final int capacity)
         {
-            final Node node = new Node(patch);
-            if (head == null)
+            if (capacity > oldPositions.length)
             {
-                head = node;
-                tail = node;
+                final int newCapacity = Math.max(capacity, oldPositions.length * 2);
+                oldPositions = Arrays.copyOf(oldPositions, newCapacity);
+                oldLengths = Arrays.copyOf(oldLengths, newCapacity);
+                patchPositions = Arrays.copyOf(patchPositions, newCapacity);
+                patchLengths = Arrays.copyOf(patchLengths, newCapacity);
             }
-            else
+        }
+
+        /**
+         * Appends an empty patch point for a container being opened.
+         *
+         * @return the index of the patch point.
+         */
+        public int reserve(final long oldPosition, final long patchPosition)
+        {
+            ensureCapacity(size + 1);
+            oldPositions[size] = oldPosition;
+            oldLengths[size] = 0;
+            patchPositions[size] = patchPosition;
+            patchLengths[size] = 0;
+            return size++;
+        }
+
+        /** Fills in a reserved patch point, or appends it if it was released. */
+        public void set(final int index, final int oldLength, final long patchPosition, final int patchLength)
+        {
+            if (index == size)
+            {
+                ensureCapacity(size + 1);
+                size++;
+            }
+            oldLengths[index] = oldLength;
+            patchPositions[index] = patchPosition;
+            patchLengths[index] = patchLength;
+        }
+
+        /** Drops a reserved patch point that was not needed, unless the patch points of children follow it. */
+        public void release(final int index)
+        {
+            if (index == size - 1)
             {
-                tail.next = node;
-                tail = node;
+                size--;
             }
         }
 
-        public void extend(final PatchList end)
+        /**
+         * Removes all patch points at or after the given position.
+         *
+         * @return the patch buffer position of the first patch point removed, or -1 if none were.
+         */
+        public long truncate(final long oldPosition)
         {
-            if (end != null)
+            // binary search for the first patch point at or after the position
+            int low = 0;
+            int high = size;
+            while (low < high)
             {
-                if (head == null)
+                final int mid = (low + high) >>> 1;
+                if (oldPositions[mid] < oldPosition)
                 {
-                    if (end.head != null)
-                    {
-                        head = end.head;
-                        tail = end.tail;
-                    }
+                    low = mid + 1;
                 }
                 else
                 {
-                    tail.next = end.head;
-                    tail = end.tail;
+                    high = mid;
                 }
             }
+            if (low == size)
+            {
+                return -1;
+            }
+            size = low;
+            return patchPositions[low];
         }
 
-        public PatchPoint truncate(final long oldPosition)
+        @Override
+        public String toString()
         {
-            Node prev = null;
-            Node curr = head;
-            while (curr != null)
+            final StringBuilder buf = new StringBuilder();
+            buf.append("(PATCHES");
+            for (int i = 0; i < size; i++)
             {
-                final PatchPoint patch = curr.value;
-                if (patch.oldPosition >= oldPosition)
-                {
-                    tail = prev;
-                    if (tail == null)
-                    {
-                        head = null;
-                    }
-                    else
-                    {
-                        tail.next = null;
-                    }
-                    return patch;
-                }
-
-                prev = curr;
-                curr = curr.next;
+                buf.append(" (PP old::(").append(oldPositions[i]).append(" ").append(oldLengths[i]);
+                buf.append(") patch::(").append(patchPositions[i]).append(" ").append(patchLengths[i]).append(")");
             }
-            return null;
+            buf.append(")");
+            return buf.toString();
+        }
+    }
+
+    /**
+     * The containers of the top-level value being written with patch-free encoding, in the order they were opened,
+     * stored as parallel primitive columns.
+     * <p>
+     * Each span records where the container's type descriptor is in the buffer, the span of the container enclosing
+     * it, and the length of its content.  Only the type descriptor is written to the buffer, so the length recorded
+     * when the container is closed leaves out the length fields of the containers within it;
+     * {@link #resolveLengths()} adds those in once the top-level value is complete.
+     */
+    private static final class ContainerSpanList
+    {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private long[] typePositions;
+        private int[]  parents;
+        private long[] lengths;
+        /** The bytes added by the length fields within each container, filled in by {@link #resolveLengths()}. */
+        private long[] growths;
+        private int    size;
+
+        public ContainerSpanList()
+        {
+            typePositions = new long[INITIAL_CAPACITY];
+            parents = new int[INITIAL_CAPACITY];
+            lengths = new long[INITIAL_CAPACITY];
+            growths = new long[INITIAL_CAPACITY];
+            size = 0;
         }
 
-        public Iterator<PatchPoint> iterator()
+        public int size()
         {
-            return new Iterator<PatchPoint>()
-            {
-                Node curr = head;
+            return size;
+        }
 
-                public boolean hasNext()
-                {
-                    return curr != null;
-                }
+        public void clear()
+        {
+            size = 0;
+        }
 
-                public PatchPoint next()
-                {
-                    if (!hasNext())
-                    {
-                        throw new NoSuchElementException();
-                    }
-                    final PatchPoint value = curr.value;
-                    curr = curr.next;
-                    return value;
-                }
+        /** Returns the position of the container's type descriptor. */
+        public long typePosition(final int index)
+        {
+            return typePositions[index];
+        }
+
+        /** Returns the length of the container's content. */
+        public long length(final int index)
+        {
+            return lengths[index];
+        }
+
+        /**
+         * Appends the span of a container being opened.
+         *
+         * @param parent the index of the span of the enclosing container, or -1 for a top-level container.
+         * @return the index of the span.
+         */
+        public int open(final long typePosition, final int parent)
+        {
+            if (size == typePositions.length)
+            {
+                final int newCapacity = size * 2;
+                typePositions = Arrays.copyOf(typePositions, newCapacity);
+                parents = Arrays.copyOf(parents, newCapacity);
+                lengths = Arrays.copyOf(lengths, newCapacity);
+                growths = Arrays.copyOf(growths, newCapacity);
+            }
+            typePositions[size] = typePosition;
+            parents[size] = parent;
+            lengths[size] = 0;
+            growths[size] = 0;
+            return size++;
+        }
 
-                public void remove()
+        /** Records the length of the content written for a container that has been closed. */
+        public void close(final int index, final long length)
+        {
+            lengths[index] = length;
+        }
+
+        /**
+         * Adds the length fields within each container to its length.  A container's span always follows its parent's,
+         * so walking the spans backwards sizes every container before its parent needs it.
+         */
+        public void resolveLengths()
+        {
+            for (int i = size - 1; i >= 0; i--)
+            {
+                final long length = lengths[i] + growths[i];
+                lengths[i] = length;
+                final int parent = parents[i];
+                if (parent >= 0)
                 {
-                    throw new UnsupportedOperationException();
+                    growths[parent] += growths[i] + (length > 0xD ? varUIntLength(length) : 0);
                 }
-            };
+            }
         }
 
         @Override
         public String toString()
         {
             final StringBuilder buf = new StringBuilder();
-            buf.append("(PATCHES");
-            for (final PatchPoint patch : this)
+            buf.append("(SPANS");
+            for (int i = 0; i < size; i++)
             {
-                buf.append(" ");
-                buf.append(patch);
+                buf.append(" (SP pos:").append(typePositions[i]).append(" parent:").append(parents[i]);
+                buf.append(" len:").append(lengths[i]).append(")");
             }
             buf.append(")");
             return buf.toString();
@@ -565,14 +649,27 @@ import java.util.NoSuchElementException;
     private static final int SID_UNASSIGNED = -1;
 
     private final BlockAllocator                allocator;
-    private final OutputStream                  out;
+    private OutputStream                        out;
+    /** Where buffered data is written to in place of {@link #out}, or {@code null} to write to the stream. */
+    private WritableByteChannel                 channel;
+    /** Buffered data and patches gathered for a single write to {@link #channel}. */
+    private final List<ByteBuffer>              segments;
+    private ByteBuffer[]                        gathered;
     private final StreamCloseMode               streamCloseMode;
     private final StreamFlushMode               streamFlushMode;
     private final PreallocationMode             preallocationMode;
     private final boolean                       isFloatBinary32Enabled;
+    private final boolean                       isPatchFreeEncodingEnabled;
     private final WriteBuffer                   buffer;
+    /**
+     * The data to be written out on {@link #finish()}.  This is {@link #buffer} itself unless patch-free encoding is
+     * enabled, in which case the buffer only holds the top-level value being written.
+     */
+    private final WriteBuffer                   completed;
     private final WriteBuffer                   patchBuffer;
     private final PatchList                     patchPoints;
+    /** The containers of the top-level value being written with patch-free encoding, otherwise {@code null}. */
+    private final ContainerSpanList             spans;
     private final RecyclingStack<ContainerInfo> containers;
     private int                                 depth;
     private boolean                             hasWrittenValuesSinceFinished;
@@ -583,6 +680,9 @@ import java.util.NoSuchElementException;
     // XXX this is for managed detection of TLV that is a LST--this is easier to track here than at the managed level
     private boolean                     hasTopLevelSymbolTableAnnotation;
 
+    /** Scratch space for {@link #writeStrings(String[])} to hold the encoded length of each string. */
+    private int[]                       stringLengths;
+
     private boolean                     closed;
 
     /*package*/ IonRawBinaryWriter(final BlockAllocatorProvider provider,
@@ -592,8 +692,65 @@ import java.util.NoSuchElementException;
                                    final StreamCloseMode streamCloseMode,
                                    final StreamFlushMode streamFlushMode,
                                    final PreallocationMode preallocationMode,
-                                   final boolean isFloatBinary32Enabled)
+                                   final boolean isFloatBinary32Enabled,
+                                   final boolean isPatchFreeEncodingEnabled)
+                                   throws IOException
+    {
+        this(
+            provider,
+            blockSize,
+            out,
+            null,
+            optimization,
+            streamCloseMode,
+            streamFlushMode,
+            preallocationMode,
+            isFloatBinary32Enabled,
+            isPatchFreeEncodingEnabled
+        );
+    }
+
+    /**
+     * Constructs a writer over a channel.  On {@link #finish()}, the buffered data and its patches are handed to the
+     * channel as a single gathering write when the channel is a {@link GatheringByteChannel}.
+     * The channel must be in blocking mode.
+     */
+    /*package*/ IonRawBinaryWriter(final BlockAllocatorProvider provider,
+                                   final int blockSize,
+                                   final WritableByteChannel channel,
+                                   final WriteValueOptimization optimization,
+                                   final StreamCloseMode streamCloseMode,
+                                   final StreamFlushMode streamFlushMode,
+                                   final PreallocationMode preallocationMode,
+                                   final boolean isFloatBinary32Enabled,
+                                   final boolean isPatchFreeEncodingEnabled)
                                    throws IOException
+    {
+        this(
+            provider,
+            blockSize,
+            Channels.newOutputStream(channel),
+            channel,
+            optimization,
+            streamCloseMode,
+            streamFlushMode,
+            preallocationMode,
+            isFloatBinary32Enabled,
+            isPatchFreeEncodingEnabled
+        );
+    }
+
+    private IonRawBinaryWriter(final BlockAllocatorProvider provider,
+                               final int blockSize,
+                               final OutputStream out,
+                               final WritableByteChannel channel,
+                               final WriteValueOptimization optimization,
+                               final StreamCloseMode streamCloseMode,
+                               final StreamFlushMode streamFlushMode,
+                               final PreallocationMode preallocationMode,
+                               final boolean isFloatBinary32Enabled,
+                               final boolean isPatchFreeEncodingEnabled)
+                               throws IOException
     {
         super(optimization);
 
@@ -603,11 +760,26 @@ import java.util.NoSuchElementException;
         this.out               = out;
         this.streamCloseMode   = streamCloseMode;
         this.streamFlushMode   = streamFlushMode;
-        this.preallocationMode = preallocationMode;
+        // patch-free encoding writes the lengths itself, so it leaves no room for them
+        this.preallocationMode = isPatchFreeEncodingEnabled ? PreallocationMode.PREALLOCATE_0 : preallocationMode;
         this.isFloatBinary32Enabled = isFloatBinary32Enabled;
+        this.isPatchFreeEncodingEnabled = isPatchFreeEncodingEnabled;
         this.buffer            = new WriteBuffer(allocator);
+        this.completed         = isPatchFreeEncodingEnabled ? new WriteBuffer(allocator) : buffer;
         this.patchBuffer       = new WriteBuffer(allocator);
+        if (channel != null)
+        {
+            this.channel = channel;
+        }
+        else
+        {
+            // off-heap buffers should reach the stream without being copied back onto the heap
+            this.channel = buffer.isDirect() ? channelFor(out) : null;
+        }
+        this.segments          = new ArrayList<ByteBuffer>();
+        this.gathered          = new ByteBuffer[0];
         this.patchPoints       = new PatchList();
+        this.spans             = isPatchFreeEncodingEnabled ? new ContainerSpanList() : null;
         this.containers        = new RecyclingStack<ContainerInfo>(
             10,
             new RecyclingStack.ElementFactory<ContainerInfo>() {
@@ -623,10 +795,21 @@ import java.util.NoSuchElementException;
         this.currentFieldSid                  = SID_UNASSIGNED;
         this.currentAnnotationSids            = new ArrayList<Integer>();
         this.hasTopLevelSymbolTableAnnotation = false;
+        this.stringLengths                    = new int[0];
 
         this.closed = false;
     }
 
+    /** Returns a channel over the given stream, writing straight to the underlying file when there is one. */
+    private static WritableByteChannel channelFor(final OutputStream out)
+    {
+        if (out.getClass() == FileOutputStream.class)
+        {
+            return ((FileOutputStream) out).getChannel();
+        }
+        return Channels.newChannel(out);
+    }
+
     /** Always returns {@link Symbols#systemSymbolTable()}. */
     public SymbolTable getSymbolTable()
     {
@@ -752,7 +935,7 @@ import java.util.NoSuchElementException;
 
     public void writeIonVersionMarker() throws IOException
     {
-        buffer.writeBytes(IVM);
+        completed.writeBytes(IVM);
     }
 
     public int getDepth()
@@ -775,42 +958,26 @@ import java.util.NoSuchElementException;
     private void pushContainer(final ContainerType type)
     {
         // XXX we push before writing the type of container
-        containers.push().initialize(type, buffer.position() + 1);
+        final long position = buffer.position() + 1;
+        if (isPatchFreeEncodingEnabled)
+        {
+            final int parent = containers.isEmpty() ? -1 : containers.peek().patchIndex;
+            containers.push().initialize(type, position, spans.open(position - 1, parent));
+            return;
+        }
+        containers.push().initialize(type, position, patchPoints.reserve(position, patchBuffer.position()));
     }
 
-    private void addPatchPoint(final long position, final int oldLength, final long value)
+    /** Records the patch point reserved by a container that has been popped, ahead of those of its children. */
+    private void addPatchPoint(final ContainerInfo container, final int oldLength, final long value)
     {
         // record the size in a patch buffer
         final long patchPosition = patchBuffer.position();
         final int patchLength = patchBuffer.writeVarUInt(value);
-        final PatchPoint patch = new PatchPoint(position, oldLength, patchPosition, patchLength);
-        if (containers.isEmpty())
-        {
-            // not nested, just append to the root list
-            patchPoints.append(patch);
-        }
-        else
-        {
-            // nested, apply it to the current container
-            containers.peek().appendPatch(patch);
-        }
+        patchPoints.set(container.patchIndex, oldLength, patchPosition, patchLength);
         updateLength(patchLength - oldLength);
     }
 
-    private void extendPatchPoints(final PatchList patches)
-    {
-        if (containers.isEmpty())
-        {
-            // not nested, extend root list
-            patchPoints.extend(patches);
-        }
-        else
-        {
-            // nested, apply it to the current container
-            containers.peek().extendPatches(patches);
-        }
-    }
-
     private ContainerInfo popContainer()
     {
         final ContainerInfo current = containers.pop();
@@ -818,9 +985,17 @@ import java.util.NoSuchElementException;
         {
             throw new IllegalStateException("Tried to pop container state without said container");
         }
+        if (isPatchFreeEncodingEnabled)
+        {
+            // the length is written once the top-level value is complete
+            spans.close(current.patchIndex, current.length);
+            updateLength(current.length);
+            return current;
+        }
 
         // only patch for real containers and annotations -- we use VALUE for tracking only
         final long length = current.length;
+        boolean isPatched = false;
         if (current.type != ContainerType.VALUE)
         {
             // patch in the length
@@ -841,17 +1016,15 @@ import java.util.NoSuchElementException;
                 }
                 else
                 {
-                    addPatchPoint(position, preallocationMode.typedLength - 1, length);
+                    addPatchPoint(current, preallocationMode.typedLength - 1, length);
+                    isPatched = true;
                 }
             }
         }
-        if (current.patches != null)
+        if (!isPatched)
         {
-            // at this point, we've appended our patch points upward, lets make sure we get
-            // our child patch points in
-            extendPatchPoints(current.patches);
+            patchPoints.release(current.patchIndex);
         }
-
         // make sure to record length upward
         updateLength(length);
         return current;
@@ -937,10 +1110,48 @@ import java.util.NoSuchElementException;
             // close out and patch the length
             popContainer();
         }
+        if (isPatchFreeEncodingEnabled && containers.isEmpty())
+        {
+            writeCompletedValue();
+        }
         hasWrittenValuesSinceFinished = true;
         hasWrittenValuesSinceConstructed = true;
     }
 
+    /**
+     * Moves the top-level value in the buffer to {@link #completed}, writing each container's type descriptor with
+     * its length in the fewest bytes.
+     */
+    private void writeCompletedValue()
+    {
+        spans.resolveLengths();
+        long position = 0;
+        final int count = spans.size();
+        for (int i = 0; i < count; i++)
+        {
+            // copy up to the container
+            final long typePosition = spans.typePosition(i);
+            buffer.writeTo(completed, position, typePosition - position);
+
+            final int type = buffer.getUInt8At(typePosition) & 0xF0;
+            final long length = spans.length(i);
+            if (length <= 0xD)
+            {
+                completed.writeByte((byte) (type | length));
+            }
+            else
+            {
+                completed.writeByte((byte) (type | 0xE));
+                completed.writeVarUInt(length);
+            }
+            position = typePosition + 1;
+        }
+        buffer.writeTo(completed, position, buffer.position() - position);
+
+        buffer.truncate(0);
+        spans.clear();
+    }
+
     // Container Manipulation
 
     public void stepIn(final IonType containerType) throws IOException
@@ -1200,63 +1411,18 @@ import java.util.NoSuchElementException;
         {
             // we can fit into the long space
             final long mantissa = mantissaBigInt.longValue();
-            if (signum == 0 && !isNegZero)
-            {
-                // positive zero does not need to be encoded
-            }
-            else if (isNegZero)
+            if (isNegZero)
             {
                 // XXX special case for negative zero, we have to encode as a signed zero in the Int format
                 updateLength(1);
                 buffer.writeByte(DECIMAL_NEGATIVE_ZERO_MANTISSA);
             }
-            else if (mantissa == Long.MIN_VALUE)
-            {
-                // XXX special case for min value -- we need 64-bits to store the magnitude and we need a bit for sign
-                updateLength(9);
-                buffer.writeUInt8(0x80);
-                buffer.writeUInt64(mantissa);
-            }
-            else if (mantissa >= 0xFFFFFFFFFFFFFF81L && mantissa <= 0x000000000000007FL)
-            {
-                updateLength(1);
-                buffer.writeInt8(mantissa);
-            }
-            else if (mantissa >= 0xFFFFFFFFFFFF8001L && mantissa <= 0x0000000000007FFFL)
-            {
-                updateLength(2);
-                buffer.writeInt16(mantissa);
-            }
-            else if (mantissa >= 0xFFFFFFFFFF800001L && mantissa <= 0x00000000007FFFFFL)
-            {
-                updateLength(3);
-                buffer.writeInt24(mantissa);
-            }
-            else if (mantissa >= 0xFFFFFFFF80000001L && mantissa <= 0x000000007FFFFFFFL)
-            {
-                updateLength(4);
-                buffer.writeInt32(mantissa);
-            }
-            else if (mantissa >= 0xFFFFFF8000000001L && mantissa <= 0x0000007FFFFFFFFFL)
-            {
-                updateLength(5);
-                buffer.writeInt40(mantissa);
-            }
-            else if (mantissa >= 0xFFFF800000000001L && mantissa <= 0x00007FFFFFFFFFFFL)
-            {
-                updateLength(6);
-                buffer.writeInt48(mantissa);
-            }
-            else if (mantissa >= 0xFF80000000000001L && mantissa <= 0x007FFFFFFFFFFFFFL)
-            {
-                updateLength(7);
-                buffer.writeInt56(mantissa);
-            }
             else
             {
-                // TODO consider being more space efficient for integers that can be written with 6/7 bytes.
-                updateLength(8);
-                buffer.writeInt64(mantissa);
+                // positive zero does not need to be encoded
+                final int mantissaLength = decimalMantissaLength(mantissa);
+                updateLength(mantissaLength);
+                writeDecimalMantissa(mantissa, mantissaLength);
             }
         }
         else
@@ -1281,49 +1447,173 @@ import java.util.NoSuchElementException;
         }
     }
 
-    private void patchSingleByteTypedOptimisticValue(final byte type, final ContainerInfo info)
+    /** Returns the number of octets in the Int representation of a non-zero decimal coefficient, or zero for zero. */
+    private static int decimalMantissaLength(final long mantissa)
     {
-        if (info.length <= 0xD)
+        if (mantissa == 0)
         {
-            // we fit -- overwrite the type byte
-            buffer.writeUInt8At(info.position - 1, type | info.length);
+            return 0;
         }
-        else
+        if (mantissa == Long.MIN_VALUE)
         {
-            // side patch
-            buffer.writeUInt8At(info.position - 1, type | 0xE);
-            addPatchPoint(info.position, 0, info.length);
+            // XXX the magnitude takes all 64-bits, so the sign needs an octet of its own
+            return 9;
         }
+        final long magnitude = mantissa < 0 ? -mantissa : mantissa;
+        // the magnitude plus a sign bit, rounded up to whole octets
+        return (64 - Long.numberOfLeadingZeros(magnitude) + 1 + 7) >>> 3;
     }
 
-    public void writeDecimal(final BigDecimal value) throws IOException
+    /** Writes a decimal coefficient as an Int of the given length, without accounting for it. */
+    private void writeDecimalMantissa(final long mantissa, final int length)
     {
-        if (value == null)
+        switch (length)
         {
-            writeNull(IonType.DECIMAL);
-            return;
+            case 0:
+                break;
+            case 1:
+                buffer.writeInt8(mantissa);
+                break;
+            case 2:
+                buffer.writeInt16(mantissa);
+                break;
+            case 3:
+                buffer.writeInt24(mantissa);
+                break;
+            case 4:
+                buffer.writeInt32(mantissa);
+                break;
+            case 5:
+                buffer.writeInt40(mantissa);
+                break;
+            case 6:
+                buffer.writeInt48(mantissa);
+                break;
+            case 7:
+                buffer.writeInt56(mantissa);
+                break;
+            case 8:
+                buffer.writeInt64(mantissa);
+                break;
+            default:
+                // XXX Long.MIN_VALUE -- WriteBuffer.writeUInt64() never looks at sign
+                buffer.writeUInt8(0x80);
+                buffer.writeUInt64(mantissa);
+                break;
         }
+    }
 
-        prepareValue();
+    /** Returns the number of octets in the VarInt representation of the given value. */
+    private static int varIntLength(final int value)
+    {
+        final int magnitude = value < 0 ? -value : value;
+        // the magnitude plus a sign bit, in 7-bit groups
+        return Math.max(1, (32 - Integer.numberOfLeadingZeros(magnitude) + 1 + 6) / 7);
+    }
 
-        if (value.signum() == 0 && value.scale() == 0 && !isNegativeZero(value))
+    /**
+     * Writes a decimal whose coefficient fits in a long.  Its length is known up front, so unlike
+     * {@link #writeDecimalValue(BigDecimal)} no container context or patching of the type descriptor is needed.
+     */
+    private void writeLongDecimal(final long mantissa, final int exponent, final boolean isNegZero)
+    {
+        final int mantissaLength = isNegZero ? 1 : decimalMantissaLength(mantissa);
+        final int length = varIntLength(exponent) + mantissaLength;
+        if (length <= 0xD)
         {
-            // 0d0 can be written in one byte
-            updateLength(1);
-            buffer.writeUInt8(DECIMAL_POS_ZERO);
+            updateLength(1 + length);
+            buffer.writeUInt8(DECIMAL_TYPE | length);
         }
         else
         {
-            // optimistically try to fit decimal length in low nibble (most should)
-            updateLength(1);
-            pushContainer(ContainerType.VALUE);
-            buffer.writeByte(DECIMAL_TYPE);
-            writeDecimalValue(value);
-            final ContainerInfo info = popContainer();
-            patchSingleByteTypedOptimisticValue(DECIMAL_TYPE, info);
+            buffer.writeUInt8(DECIMAL_TYPE | 0xE);
+            updateLength(1 + buffer.writeVarUInt(length) + length);
         }
-
-        finishValue();
+        buffer.writeVarInt(exponent);
+        if (isNegZero)
+        {
+            buffer.writeByte(DECIMAL_NEGATIVE_ZERO_MANTISSA);
+        }
+        else
+        {
+            writeDecimalMantissa(mantissa, mantissaLength);
+        }
+    }
+
+    private void patchSingleByteTypedOptimisticValue(final byte type, final ContainerInfo info)
+    {
+        if (isPatchFreeEncodingEnabled)
+        {
+            // the length is written with the rest of the top-level value
+            return;
+        }
+        if (info.length <= 0xD)
+        {
+            // we fit -- overwrite the type byte
+            buffer.writeUInt8At(info.position - 1, type | info.length);
+        }
+        else
+        {
+            // side patch
+            buffer.writeUInt8At(info.position - 1, type | 0xE);
+            addPatchPoint(info, 0, info.length);
+        }
+    }
+
+    public void writeDecimal(final BigDecimal value) throws IOException
+    {
+        if (value == null)
+        {
+            writeNull(IonType.DECIMAL);
+            return;
+        }
+
+        prepareValue();
+
+        final BigInteger unscaledValue = value.unscaledValue();
+        if (value.signum() == 0 && value.scale() == 0 && !isNegativeZero(value))
+        {
+            // 0d0 can be written in one byte
+            updateLength(1);
+            buffer.writeUInt8(DECIMAL_POS_ZERO);
+        }
+        else if (unscaledValue.bitLength() < 64)
+        {
+            // most coefficients fit in a long, so we can size the value up front
+            writeLongDecimal(unscaledValue.longValue(), -value.scale(), isNegativeZero(value));
+        }
+        else
+        {
+            // optimistically try to fit decimal length in low nibble (most should)
+            updateLength(1);
+            pushContainer(ContainerType.VALUE);
+            buffer.writeByte(DECIMAL_TYPE);
+            writeDecimalValue(value);
+            final ContainerInfo info = popContainer();
+            patchSingleByteTypedOptimisticValue(DECIMAL_TYPE, info);
+        }
+
+        finishValue();
+    }
+
+    /**
+     * Writes a decimal from its unscaled value and scale, as in {@link BigDecimal#valueOf(long, int)}, without
+     * allocating a {@link BigDecimal}.
+     */
+    public void writeDecimal(final long unscaledValue, final int scale) throws IOException
+    {
+        prepareValue();
+        if (unscaledValue == 0 && scale == 0)
+        {
+            // 0d0 can be written in one byte
+            updateLength(1);
+            buffer.writeUInt8(DECIMAL_POS_ZERO);
+        }
+        else
+        {
+            writeLongDecimal(unscaledValue, -scale, false);
+        }
+        finishValue();
     }
 
     public void writeTimestamp(final Timestamp value) throws IOException
@@ -1397,6 +1687,153 @@ import java.util.NoSuchElementException;
         finishValue();
     }
 
+    /**
+     * Writes a timestamp from its point in time, without allocating a {@link Timestamp}.
+     *
+     * @param epochSecond the seconds since 1970-01-01T00:00Z.
+     * @param nanos the nanoseconds within the second, from 0 to 999,999,999.
+     * @param fractionDigits the number of fractional second digits to write, from 0 to 9; only used at
+     *                       {@link Timestamp.Precision#SECOND} precision or finer.
+     * @param localOffset the local offset in minutes, or {@link _Private_EpochCalendar#UNKNOWN_OFFSET}.  Below
+     *                    {@link Timestamp.Precision#MINUTE} precision the date is the local date and the offset is
+     *                    written as unknown.
+     * @param precision the precision of the timestamp.
+     */
+    public void writeTimestamp(final long epochSecond,
+                               final int nanos,
+                               final int fractionDigits,
+                               final int localOffset,
+                               final Timestamp.Precision precision) throws IOException
+    {
+        if (precision == null)
+        {
+            throw new NullPointerException("precision is required");
+        }
+        if (nanos < 0 || nanos >= 1000000000)
+        {
+            throw new IllegalArgumentException("Nanoseconds out of range: " + nanos);
+        }
+        if (fractionDigits < 0 || fractionDigits > 9)
+        {
+            throw new IllegalArgumentException("Fractional second digits out of range: " + fractionDigits);
+        }
+        final boolean isOffsetKnown = localOffset != _Private_EpochCalendar.UNKNOWN_OFFSET;
+        if (isOffsetKnown && (localOffset <= -24 * 60 || localOffset >= 24 * 60))
+        {
+            throw new IllegalArgumentException("Local offset out of range: " + localOffset);
+        }
+        final long localSecond = isOffsetKnown ? epochSecond + localOffset * 60L : epochSecond;
+        if (!_Private_EpochCalendar.isInRange(epochSecond) || !_Private_EpochCalendar.isInRange(localSecond))
+        {
+            throw new IllegalArgumentException("Timestamp out of range: " + epochSecond);
+        }
+        prepareValue();
+
+        // XXX it is really convenient to rely on the ordinal
+        final int ordinal = precision.ordinal();
+        final boolean hasOffset = ordinal >= MINUTE.ordinal() && isOffsetKnown;
+        final long fieldSecond = ordinal >= MINUTE.ordinal() ? epochSecond : localSecond;
+        final long epochDay = _Private_EpochCalendar.epochDay(fieldSecond);
+        final int secondOfDay = (int) (fieldSecond - epochDay * _Private_EpochCalendar.SECONDS_PER_DAY);
+        final int date = _Private_EpochCalendar.civilFromDays(epochDay);
+        final int year = date / 10000;
+        final int month = date / 100 % 100;
+        final int day = date % 100;
+        final int hour = secondOfDay / 3600;
+        final int minute = secondOfDay / 60 % 60;
+        final int second = secondOfDay % 60;
+        final boolean hasFraction = ordinal >= SECOND.ordinal() && fractionDigits > 0;
+        final long coefficient = hasFraction ? nanos / _Private_EpochCalendar.POWERS_OF_TEN[9 - fractionDigits] : 0;
+
+        // every field is small, so the length is known up front
+        int length = (hasOffset ? varIntLength(localOffset) : 1) + varUIntLength(year);
+        if (ordinal >= MONTH.ordinal())
+        {
+            length += 1;
+        }
+        if (ordinal >= DAY.ordinal())
+        {
+            length += 1;
+        }
+        if (ordinal >= MINUTE.ordinal())
+        {
+            length += 2;
+        }
+        if (ordinal >= SECOND.ordinal())
+        {
+            length += 1;
+        }
+        final int coefficientLength = decimalMantissaLength(coefficient);
+        if (hasFraction)
+        {
+            length += 1 + coefficientLength;
+        }
+
+        if (length <= 0xD)
+        {
+            updateLength(1 + length);
+            buffer.writeUInt8(TIMESTAMP_TYPE | length);
+        }
+        else
+        {
+            buffer.writeUInt8(TIMESTAMP_TYPE | 0xE);
+            updateLength(1 + buffer.writeVarUInt(length) + length);
+        }
+
+        if (hasOffset)
+        {
+            buffer.writeVarInt(localOffset);
+        }
+        else
+        {
+            // special case for unknown -00:00
+            buffer.writeByte(VARINT_NEG_ZERO);
+        }
+        buffer.writeVarUInt(year);
+        if (ordinal >= MONTH.ordinal())
+        {
+            buffer.writeVarUInt(month);
+        }
+        if (ordinal >= DAY.ordinal())
+        {
+            buffer.writeVarUInt(day);
+        }
+        if (ordinal >= MINUTE.ordinal())
+        {
+            buffer.writeVarUInt(hour);
+            buffer.writeVarUInt(minute);
+        }
+        if (ordinal >= SECOND.ordinal())
+        {
+            buffer.writeVarUInt(second);
+        }
+        if (hasFraction)
+        {
+            buffer.writeVarInt(-fractionDigits);
+            writeDecimalMantissa(coefficient, coefficientLength);
+        }
+
+        finishValue();
+    }
+
+    /**
+     * Writes a timestamp with millisecond precision from its milliseconds since the epoch, without allocating a
+     * {@link Timestamp}.
+     *
+     * @param localOffset the local offset in minutes, or {@link _Private_EpochCalendar#UNKNOWN_OFFSET}.
+     */
+    public void writeTimestampMillis(final long epochMillis, final int localOffset) throws IOException
+    {
+        long epochSecond = epochMillis / 1000;
+        int millis = (int) (epochMillis % 1000);
+        if (millis < 0)
+        {
+            epochSecond--;
+            millis += 1000;
+        }
+        writeTimestamp(epochSecond, millis * 1000000, 3, localOffset, SECOND);
+    }
+
     public void writeSymbol(String content) throws IOException
     {
         throw new UnsupportedOperationException("Symbol writing via string is not supported in low-level binary writer");
@@ -1443,73 +1880,10 @@ import java.util.NoSuchElementException;
         }
         prepareValue();
 
-        /*
-         This method relies on the standard CharsetEncoder class to encode each String's UTF-16 char[] data into
-         UTF-8 bytes. Strangely, CharsetEncoders cannot operate directly on instances of a String. The CharsetEncoder
-         API requires all inputs and outputs to be specified as instances of java.nio.ByteBuffer and
-         java.nio.CharBuffer, making some number of allocations mandatory. Specifically, for each encoding operation
-         we need to have:
-
-            1. An instance of a UTF-8 CharsetEncoder.
-            2. A CharBuffer representation of the String's data.
-            3. A ByteBuffer into which the CharsetEncoder may write UTF-8 bytes.
-
-         To minimize the overhead involved, the IonRawBinaryWriter will reuse previously initialized resources wherever
-         possible. However, because CharBuffer and ByteBuffer each have a fixed length, we can only reuse them for
-         Strings that are small enough to fit. This creates two kinds of input String to encode: those that are small
-         enough for us to reuse our buffers ("small strings"), and those which are not ("large strings").
-
-         The String#getBytes(Charset) method cannot be used for two reasons:
-
-               1. It always allocates, so we cannot reuse any resources.
-               2. If/when it encounters character data that cannot be encoded as UTF-8, it simply replaces that data
-                 with a substitute character[1]. (Sometimes seen in applications as a '?'.) In order
-                 to surface invalid data to the user, the method must be able to detect these events at encoding time.
-
-            [1] https://en.wikipedia.org/wiki/Substitute_character
-        */
-
-        CharBuffer stringData;
-        ByteBuffer encodingBuffer;
-
-        int length = value.length();
-
-        // While it is possible to encode the Ion string using a fixed-size encodingBuffer, we need to be able to
-        // write the length of the complete UTF-8 string to the output stream before we write the string itself.
-        // For simplicity, we reuse or create an encodingBuffer that is large enough to hold the full string.
-
-        // In order to encode the input String, we need to pass it to CharsetEncoder as an implementation of CharBuffer.
-        // Surprisingly, the intuitive way to achieve this (the CharBuffer#wrap(CharSequence) method) adds a large
-        // amount of CPU overhead to the encoding process. Benchmarking shows that it's substantially faster
-        // to use String#getChars(int, int, char[], int) to copy the String's backing array and then call
-        // CharBuffer#wrap(char[]) on the copy.
-
-        if (length > SMALL_STRING_SIZE) {
-            // Allocate a new buffer for large strings
-            encodingBuffer = ByteBuffer.allocate((int) (value.length() * utf8Encoder.maxBytesPerChar()));
-            char[] chars = new char[value.length()];
-            value.getChars(0, value.length(), chars, 0);
-            stringData = CharBuffer.wrap(chars);
-        } else {
-            // Reuse our existing buffers for small strings
-            encodingBuffer = utf8EncodingBuffer;
-            encodingBuffer.clear();
-            stringData = reusableCharBuffer;
-            value.getChars(0, value.length(), charArray, 0);
-            reusableCharBuffer.rewind();
-            reusableCharBuffer.limit(value.length());
-        }
-
-        // Because encodingBuffer is guaranteed to be large enough to hold the encoded string, we can
-        // perform the encoding in a single call to CharsetEncoder#encode(CharBuffer, ByteBuffer, boolean).
-        CoderResult coderResult = utf8Encoder.encode(stringData, encodingBuffer, true);
-
-        // 'Underflow' is the success state of a CoderResult.
-        if (!coderResult.isUnderflow()) {
-            throw new IllegalArgumentException("Could not encode string as UTF8 bytes: " + value);
-        }
-        encodingBuffer.flip();
-        int utf8Length = encodingBuffer.remaining();
+        // Sizing the string up front lets us write the length ahead of the characters and encode them straight into
+        // the buffer in a single pass.  This also rejects unpaired surrogates before anything is written, rather than
+        // substituting them as String#getBytes(Charset) would.
+        final int utf8Length = WriteBuffer.utf8Length(value);
 
         // Write the type and length codes to the output stream.
         long previousPosition = buffer.position();
@@ -1521,7 +1895,7 @@ import java.util.NoSuchElementException;
         }
 
         // Write the encoded UTF-8 bytes to the output stream
-        buffer.writeBytes(encodingBuffer.array(), 0, utf8Length);
+        buffer.writeUTF8(value);
 
         long bytesWritten = buffer.position() - previousPosition;
         updateLength(bytesWritten);
@@ -1529,6 +1903,238 @@ import java.util.NoSuchElementException;
         finishValue();
     }
 
+    // Bulk List Writing
+
+    /**
+     * Writes the header of a list value whose content length is known up front, accounting for the whole list.
+     * This lets the elements be encoded straight into the buffer without a container context or length patch.
+     */
+    private void writeListHeader(final long contentLength)
+    {
+        if (contentLength <= 0xD)
+        {
+            updateLength(1 + contentLength);
+            buffer.writeUInt8(LIST_TYPE | contentLength);
+        }
+        else
+        {
+            buffer.writeUInt8(LIST_TYPE | 0xE);
+            final int sizeLength = buffer.writeVarUInt(contentLength);
+            updateLength(1 + sizeLength + contentLength);
+        }
+    }
+
+    /** Returns the number of octets in the UInt representation of the given (unsigned) magnitude. */
+    private static int uintLength(final long magnitude)
+    {
+        return 8 - (Long.numberOfLeadingZeros(magnitude) >> 3);
+    }
+
+    /** Returns the number of octets in the VarUInt representation of the given non-negative value. */
+    private static int varUIntLength(final long value)
+    {
+        return Math.max(1, (64 - Long.numberOfLeadingZeros(value) + 6) / 7);
+    }
+
+    private static int intLength(final long value)
+    {
+        if (value == 0)
+        {
+            return 1;
+        }
+        // Long.MIN_VALUE negates to itself, which is the unsigned magnitude we want
+        return 1 + uintLength(value < 0 ? -value : value);
+    }
+
+    /** Encodes an int element without accounting for its length. */
+    private void encodeInt(final long value)
+    {
+        if (value == 0)
+        {
+            buffer.writeByte(INT_ZERO);
+            return;
+        }
+        final int type = value < 0 ? NEG_INT_TYPE : POS_INT_TYPE;
+        final long magnitude = value < 0 ? -value : value;
+        final int length = uintLength(magnitude);
+        buffer.writeUInt8(type | length);
+        switch (length)
+        {
+            case 1: buffer.writeUInt8(magnitude);  break;
+            case 2: buffer.writeUInt16(magnitude); break;
+            case 3: buffer.writeUInt24(magnitude); break;
+            case 4: buffer.writeUInt32(magnitude); break;
+            case 5: buffer.writeUInt40(magnitude); break;
+            case 6: buffer.writeUInt48(magnitude); break;
+            case 7: buffer.writeUInt56(magnitude); break;
+            default: buffer.writeUInt64(magnitude); break;
+        }
+    }
+
+    /**
+     * Writes a list of ints.  The encoded length of the list is computed once, so unlike stepping into a list and
+     * writing each element, no per-element container bookkeeping or length patching is done.
+     * A {@code null} array is written as {@code null.list}.
+     */
+    public void writeInts(final long[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        writeIntList(values, null, values.length);
+    }
+
+    /** As {@link #writeInts(long[])}. */
+    public void writeInts(final int[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        writeIntList(null, values, values.length);
+    }
+
+    /** Writes a list of the first {@code count} ints of whichever of the arrays is not {@code null}. */
+    private void writeIntList(final long[] longs, final int[] ints, final int count) throws IOException
+    {
+        long contentLength = 0;
+        for (int i = 0; i < count; i++)
+        {
+            contentLength += intLength(longs != null ? longs[i] : ints[i]);
+        }
+
+        prepareValue();
+        writeListHeader(contentLength);
+        for (int i = 0; i < count; i++)
+        {
+            encodeInt(longs != null ? longs[i] : ints[i]);
+        }
+        finishValue();
+    }
+
+    private boolean isFloatBinary32(final double value)
+    {
+        return isFloatBinary32Enabled && value == ((double) ((float) value));
+    }
+
+    /** Writes a list of floats in the manner of {@link #writeInts(long[])}. */
+    public void writeFloats(final double[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        long contentLength = 9L * values.length;
+        if (isFloatBinary32Enabled)
+        {
+            for (int i = 0; i < values.length; i++)
+            {
+                if (isFloatBinary32(values[i]))
+                {
+                    contentLength -= 4;
+                }
+            }
+        }
+
+        prepareValue();
+        writeListHeader(contentLength);
+        for (int i = 0; i < values.length; i++)
+        {
+            final double value = values[i];
+            if (isFloatBinary32(value))
+            {
+                buffer.writeUInt8(FLOAT_TYPE | 4);
+                buffer.writeUInt32(floatToRawIntBits((float) value));
+            }
+            else
+            {
+                buffer.writeUInt8(FLOAT_TYPE | 8);
+                buffer.writeUInt64(doubleToRawLongBits(value));
+            }
+        }
+        finishValue();
+    }
+
+    /** Writes a list of bools in the manner of {@link #writeInts(long[])}. */
+    public void writeBools(final boolean[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+
+        prepareValue();
+        writeListHeader(values.length);
+        for (int i = 0; i < values.length; i++)
+        {
+            buffer.writeByte(values[i] ? BOOL_TRUE : BOOL_FALSE);
+        }
+        finishValue();
+    }
+
+    /**
+     * Writes a list of strings in the manner of {@link #writeInts(long[])}.
+     * {@code null} elements are written as {@code null.string}.
+     */
+    public void writeStrings(final String[] values) throws IOException
+    {
+        if (values == null)
+        {
+            writeNull(IonType.LIST);
+            return;
+        }
+        if (stringLengths.length < values.length)
+        {
+            stringLengths = new int[Math.max(values.length, stringLengths.length * 2)];
+        }
+        // size every string up front--this also rejects unpaired surrogates before anything is written
+        long contentLength = 0;
+        for (int i = 0; i < values.length; i++)
+        {
+            if (values[i] == null)
+            {
+                contentLength += 1;
+                continue;
+            }
+            final int utf8Length = WriteBuffer.utf8Length(values[i]);
+            stringLengths[i] = utf8Length;
+            contentLength += 1 + utf8Length;
+            if (utf8Length > 0xD)
+            {
+                contentLength += varUIntLength(utf8Length);
+            }
+        }
+
+        prepareValue();
+        writeListHeader(contentLength);
+        for (int i = 0; i < values.length; i++)
+        {
+            final String value = values[i];
+            if (value == null)
+            {
+                buffer.writeByte(NULLS[IonType.STRING.ordinal()]);
+                continue;
+            }
+            final int utf8Length = stringLengths[i];
+            if (utf8Length <= 0xD)
+            {
+                buffer.writeUInt8(STRING_TYPE | utf8Length);
+            }
+            else
+            {
+                buffer.writeUInt8(STRING_TYPE | 0xE);
+                buffer.writeVarUInt(utf8Length);
+            }
+            buffer.writeUTF8(value);
+        }
+        finishValue();
+    }
+
     public void writeClob(byte[] data) throws IOException
     {
         if (data == null)
@@ -1601,19 +2207,32 @@ import java.util.NoSuchElementException;
 
     // Stream Manipulation/Terminators
 
+    /**
+     * Returns the amount of data to be written out.  With patch-free encoding, this leaves out the top-level value
+     * being written.
+     */
     /*package*/ long position()
     {
-        return buffer.position();
+        return completed.position();
     }
 
+    /** Returns the number of patch points to be merged in when the data is written out. */
+    /*package*/ int patchCount()
+    {
+        return patchPoints.size();
+    }
+
+    /**
+     * Drops the data after the given position.  With patch-free encoding, the position must be between top-level
+     * values.
+     */
     /*package*/ void truncate(long position)
     {
-        buffer.truncate(position);
-        // TODO decide if it is worth making this faster than O(N)
-        final PatchPoint patch = patchPoints.truncate(position);
-        if (patch != null)
+        completed.truncate(position);
+        final long patchPosition = patchPoints.truncate(position);
+        if (patchPosition >= 0)
         {
-            patchBuffer.truncate(patch.patchPosition);
+            patchBuffer.truncate(patchPosition);
         }
     }
 
@@ -1621,41 +2240,162 @@ import java.util.NoSuchElementException;
 
     public void finish() throws IOException
     {
-        if (closed)
+        if (closed || out == null)
+        {
+            // closed or detached--there is nothing buffered to write out
+            return;
+        }
+        checkFinishable();
+
+        if (channel != null)
+        {
+            writeData(segments);
+            writeSegments();
+        }
+        else
+        {
+            writeData(null);
+        }
+        finished();
+    }
+
+    /**
+     * Finishes the given writer along with this one, writing its data ahead of ours.
+     * When both writers share a channel, all of their data and patches go out in a single gathering write.
+     */
+    /*package*/ void finish(final IonRawBinaryWriter preceding) throws IOException
+    {
+        if (closed || preceding.closed || out == null || channel == null || preceding.channel != channel)
         {
+            preceding.finish();
+            finish();
             return;
         }
+        preceding.checkFinishable();
+        checkFinishable();
+
+        preceding.writeData(segments);
+        writeData(segments);
+        writeSegments();
+
+        preceding.finished();
+        finished();
+    }
+
+    private void checkFinishable()
+    {
         if (!containers.isEmpty() || depth > 0)
         {
             throw new IllegalStateException("Cannot finish within container: " + containers);
         }
+    }
 
+    /**
+     * Writes out the buffered data, interleaved with its patches, to the stream.
+     * If a list is given, the data is instead appended to it as segments.
+     */
+    private void writeData(final List<ByteBuffer> segments) throws IOException
+    {
         if (patchPoints.isEmpty())
         {
             // nothing to patch--write 'em out!
-            buffer.writeTo(out);
+            if (segments != null)
+            {
+                completed.addSegments(segments, 0, completed.position());
+            }
+            else
+            {
+                completed.writeTo(out);
+            }
         }
         else
         {
             long bufferPosition = 0;
-            for (final PatchPoint patch : patchPoints)
+            final int patchCount = patchPoints.size();
+            for (int i = 0; i < patchCount; i++)
             {
                 // write up to the thing to be patched
-                final long bufferLength = patch.oldPosition - bufferPosition;
-                buffer.writeTo(out, bufferPosition, bufferLength);
+                final long oldPosition = patchPoints.oldPosition(i);
+                final long bufferLength = oldPosition - bufferPosition;
+                writeSegment(segments, buffer, bufferPosition, bufferLength);
 
                 // write out the patch
-                patchBuffer.writeTo(out, patch.patchPosition, patch.patchLength);
+                writeSegment(segments, patchBuffer, patchPoints.patchPosition(i), patchPoints.patchLength(i));
 
                 // skip over the preallocated varuint field
-                bufferPosition = patch.oldPosition;
-                bufferPosition += patch.oldLength;
+                bufferPosition = oldPosition;
+                bufferPosition += patchPoints.oldLength(i);
             }
-            buffer.writeTo(out, bufferPosition, buffer.position() - bufferPosition);
+            writeSegment(segments, buffer, bufferPosition, buffer.position() - bufferPosition);
+        }
+    }
+
+    private void writeSegment(final List<ByteBuffer> segments,
+                              final WriteBuffer source,
+                              final long position,
+                              final long length)
+                              throws IOException
+    {
+        if (segments != null)
+        {
+            source.addSegments(segments, position, length);
+        }
+        else
+        {
+            source.writeTo(out, position, length);
         }
+    }
+
+    /** Hands all of the gathered segments to the channel. */
+    private void writeSegments() throws IOException
+    {
+        final int count = segments.size();
+        gathered = segments.toArray(gathered);
+        try
+        {
+            if (channel instanceof GatheringByteChannel)
+            {
+                final GatheringByteChannel gatheringChannel = (GatheringByteChannel) channel;
+                int offset = 0;
+                while (offset < count)
+                {
+                    gatheringChannel.write(gathered, offset, count - offset);
+                    while (offset < count && !gathered[offset].hasRemaining())
+                    {
+                        offset++;
+                    }
+                }
+            }
+            else
+            {
+                for (int i = 0; i < count; i++)
+                {
+                    final ByteBuffer segment = gathered[i];
+                    while (segment.hasRemaining())
+                    {
+                        channel.write(segment);
+                    }
+                }
+            }
+        }
+        finally
+        {
+            // don't hold on to the views of our blocks
+            Arrays.fill(gathered, 0, count, null);
+            segments.clear();
+        }
+    }
+
+    /** Releases the written data and resets for the next stream. */
+    private void finished() throws IOException
+    {
         patchPoints.clear();
         patchBuffer.reset();
         buffer.reset();
+        if (completed != buffer)
+        {
+            completed.reset();
+        }
 
         if (streamFlushMode == StreamFlushMode.FLUSH)
         {
@@ -1665,6 +2405,44 @@ import java.util.NoSuchElementException;
         hasWrittenValuesSinceFinished = false;
     }
 
+    /**
+     * Finishes this writer and points it at a new stream, keeping its allocator and bookkeeping for reuse.
+     * The previous stream is left open.
+     */
+    /*package*/ void rebind(final OutputStream out) throws IOException
+    {
+        if (out == null) { throw new NullPointerException(); }
+        rebind(out, buffer.isDirect() ? channelFor(out) : null);
+    }
+
+    /** Finishes this writer and points it at the same destination as the given writer. */
+    /*package*/ void rebind(final IonRawBinaryWriter destination) throws IOException
+    {
+        rebind(destination.out, destination.channel);
+    }
+
+    /** Finishes this writer and lets go of its destination until it is rebound; a detached writer writes nothing. */
+    /*package*/ void detach() throws IOException
+    {
+        rebind(null, null);
+    }
+
+    private void rebind(final OutputStream out, final WritableByteChannel channel) throws IOException
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("Cannot rebind a closed writer");
+        }
+        finish();
+
+        this.out = out;
+        this.channel = channel;
+        currentFieldSid = SID_UNASSIGNED;
+        currentAnnotationSids.clear();
+        hasTopLevelSymbolTableAnnotation = false;
+        hasWrittenValuesSinceConstructed = false;
+    }
+
     public void close() throws IOException
     {
         if (closed)
@@ -1684,13 +2462,17 @@ import java.util.NoSuchElementException;
 
             // release all of our blocks -- these should never throw
             buffer.close();
+            if (completed != buffer)
+            {
+                completed.close();
+            }
             patchBuffer.close();
             allocator.close();
         }
         finally
         {
             closed = true;
-            if (streamCloseMode == StreamCloseMode.CLOSE)
+            if (streamCloseMode == StreamCloseMode.CLOSE && out != null)
             {
                 // release the stream
                 out.close();
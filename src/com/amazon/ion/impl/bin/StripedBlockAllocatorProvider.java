@@ -0,0 +1,203 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pooling implementation of {@link BlockAllocatorProvider} intended for many concurrent writers.
+ * <p>
+ * Each block size has a small per-thread cache of free blocks in front of a shared pool that is striped across
+ * several free lists to spread contention.  The number of pooled blocks is tracked with a counter rather than by
+ * walking the free lists, so releasing a block is constant time.
+ * <p>
+ * This implementation is thread-safe.
+ */
+/*package*/ final class StripedBlockAllocatorProvider extends BlockAllocatorProvider
+{
+    /** Upper bound on the memory retained by the shared pool of a single block size. */
+    static final int FREE_CAPACITY = 1024 * 1024 * 64; // 64MB
+
+    /** Upper bound on the memory retained by each thread's cache of a single block size. */
+    static final int THREAD_CACHE_CAPACITY = 1024 * 256; // 256KB
+
+    /** Upper bound on the number of blocks retained by each thread's cache of a single block size. */
+    static final int THREAD_CACHE_MAX_BLOCKS = 16;
+
+    private static final int STRIPE_COUNT = stripeCount(Runtime.getRuntime().availableProcessors());
+
+    /** Returns the smallest power of two that is at least the given number of processors. */
+    private static int stripeCount(final int processors)
+    {
+        int count = 1;
+        while (count < processors)
+        {
+            count <<= 1;
+        }
+        return count;
+    }
+
+    /** A thread-confined stack of free blocks. */
+    private static final class ThreadCache
+    {
+        final Block[] blocks;
+        final int stripe;
+        int size;
+
+        ThreadCache(final int capacity, final int stripe)
+        {
+            this.blocks = new Block[capacity];
+            this.stripe = stripe;
+            this.size = 0;
+        }
+    }
+
+    /**
+     * A {@link BlockAllocator} for a particular size that has per-thread caches backed by striped free lists.
+     * <p>
+     * This implementation is thread-safe.
+     */
+    private static final class StripedBlockAllocator extends BlockAllocator
+    {
+        private final int blockSize;
+        private final int blockLimit;
+        private final int threadCacheLimit;
+        private final ConcurrentLinkedQueue<Block>[] stripes;
+        private final AtomicInteger freeCount;
+        private final AtomicInteger nextStripe;
+        private final ThreadLocal<ThreadCache> caches;
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public StripedBlockAllocator(final int blockSize)
+        {
+            this.blockSize = blockSize;
+            this.blockLimit = FREE_CAPACITY / blockSize;
+            this.threadCacheLimit = Math.max(1, Math.min(THREAD_CACHE_MAX_BLOCKS, THREAD_CACHE_CAPACITY / blockSize));
+            this.stripes = new ConcurrentLinkedQueue[STRIPE_COUNT];
+            for (int i = 0; i < stripes.length; i++)
+            {
+                stripes[i] = new ConcurrentLinkedQueue<Block>();
+            }
+            this.freeCount = new AtomicInteger(0);
+            this.nextStripe = new AtomicInteger(0);
+            this.caches = new ThreadLocal<ThreadCache>()
+            {
+                @Override
+                protected ThreadCache initialValue()
+                {
+                    // spread threads round-robin over the stripes
+                    final int stripe = nextStripe.getAndIncrement() & (stripes.length - 1);
+                    return new ThreadCache(threadCacheLimit, stripe);
+                }
+            };
+        }
+
+        @Override
+        public Block allocateBlock()
+        {
+            final ThreadCache cache = caches.get();
+            if (cache.size > 0)
+            {
+                final int index = --cache.size;
+                final Block block = cache.blocks[index];
+                cache.blocks[index] = null;
+                return block;
+            }
+
+            // check our home stripe first and then steal from the others
+            for (int i = 0; i < stripes.length; i++)
+            {
+                final Block block = stripes[(cache.stripe + i) & (stripes.length - 1)].poll();
+                if (block != null)
+                {
+                    freeCount.decrementAndGet();
+                    return block;
+                }
+            }
+
+            return new Block(new byte[blockSize])
+            {
+                @Override
+                public void close()
+                {
+                    release(this);
+                }
+            };
+        }
+
+        private void release(final Block block)
+        {
+            block.reset();
+            final ThreadCache cache = caches.get();
+            if (cache.size < cache.blocks.length)
+            {
+                cache.blocks[cache.size++] = block;
+                return;
+            }
+
+            // the thread cache is full, spill to the shared pool if it has room
+            if (freeCount.incrementAndGet() <= blockLimit)
+            {
+                stripes[cache.stripe].offer(block);
+            }
+            else
+            {
+                // over capacity--let the block be collected
+                freeCount.decrementAndGet();
+            }
+        }
+
+        @Override
+        public int getBlockSize()
+        {
+            return blockSize;
+        }
+
+        @Override
+        public void close() {}
+    }
+
+    private final ConcurrentMap<Integer, BlockAllocator> allocators;
+
+    public StripedBlockAllocatorProvider()
+    {
+        allocators = new ConcurrentHashMap<Integer, BlockAllocator>();
+    }
+
+    @Override
+    public BlockAllocator vendAllocator(final int blockSize)
+    {
+        if (blockSize <= 0)
+        {
+            throw new IllegalArgumentException("Invalid block size: " + blockSize);
+        }
+
+        BlockAllocator allocator = allocators.get(blockSize);
+        if (allocator == null)
+        {
+            allocator = new StripedBlockAllocator(blockSize);
+            final BlockAllocator existingAllocator = allocators.putIfAbsent(blockSize, allocator);
+            if (existingAllocator != null)
+            {
+                allocator = existingAllocator;
+            }
+        }
+        return allocator;
+    }
+}
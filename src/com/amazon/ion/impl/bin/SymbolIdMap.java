@@ -0,0 +1,174 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import com.amazon.ion.SymbolToken;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An insertion ordered map from symbol text to {@link SymbolToken} for interning local symbols.
+ * <p>
+ * Entries live in parallel arrays in the order they were added, so the position of an entry doubles as its offset
+ * from the first local symbol ID.  Lookups go through an open addressed table of entry positions with linear probing,
+ * comparing the cached hash codes of the text before the text itself.  Adding a symbol allocates nothing beyond its
+ * token and the occasional growth of the arrays.
+ * <p>
+ * This class is not thread-safe.
+ */
+/*package*/ final class SymbolIdMap
+{
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** Slot value for no entry--the slots store entry positions plus one. */
+    private static final int EMPTY = 0;
+
+    private String[]        texts;
+    private int[]           hashes;
+    private SymbolToken[]   tokens;
+    private int[]           slots;
+    private int             size;
+
+    public SymbolIdMap()
+    {
+        this.texts = new String[DEFAULT_CAPACITY];
+        this.hashes = new int[DEFAULT_CAPACITY];
+        this.tokens = new SymbolToken[DEFAULT_CAPACITY];
+        this.slots = new int[DEFAULT_CAPACITY * 2];
+        this.size = 0;
+    }
+
+    private static int spread(final int hash)
+    {
+        // mix the high bits into the low bits that pick the slot
+        return hash ^ (hash >>> 16);
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    /** Returns the token for the given text, or {@code null} if it has not been added. */
+    public SymbolToken get(final String text)
+    {
+        final int hash = text.hashCode();
+        final int mask = slots.length - 1;
+        for (int slot = spread(hash) & mask;; slot = (slot + 1) & mask)
+        {
+            final int entry = slots[slot];
+            if (entry == EMPTY)
+            {
+                return null;
+            }
+            final int index = entry - 1;
+            if (hashes[index] == hash && text.equals(texts[index]))
+            {
+                return tokens[index];
+            }
+        }
+    }
+
+    /** Adds a token whose text has not been added yet. */
+    public void put(final SymbolToken token)
+    {
+        if (size == texts.length)
+        {
+            grow();
+        }
+        final String text = token.getText();
+        final int hash = text.hashCode();
+        texts[size] = text;
+        hashes[size] = hash;
+        tokens[size] = token;
+        size++;
+        insertSlot(hash, size);
+    }
+
+    private void insertSlot(final int hash, final int entry)
+    {
+        final int mask = slots.length - 1;
+        int slot = spread(hash) & mask;
+        while (slots[slot] != EMPTY)
+        {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = entry;
+    }
+
+    private void grow()
+    {
+        final int capacity = texts.length * 2;
+        texts = Arrays.copyOf(texts, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        tokens = Arrays.copyOf(tokens, capacity);
+
+        // keep the table at most half full
+        slots = new int[capacity * 2];
+        for (int i = 0; i < size; i++)
+        {
+            insertSlot(hashes[i], i + 1);
+        }
+    }
+
+    /** Returns the token added at the given position. */
+    public SymbolToken tokenAt(final int index)
+    {
+        if (index < 0 || index >= size)
+        {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return tokens[index];
+    }
+
+    /** Iterates over the text of the tokens in the order they were added. */
+    public Iterator<String> textIterator()
+    {
+        return new Iterator<String>()
+        {
+            private int index = 0;
+
+            public boolean hasNext()
+            {
+                return index < size;
+            }
+
+            public String next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                return texts[index++];
+            }
+
+            public void remove()
+            {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /** Removes all tokens, keeping the capacity that has been allocated. */
+    public void clear()
+    {
+        Arrays.fill(texts, 0, size, null);
+        Arrays.fill(tokens, 0, size, null);
+        Arrays.fill(slots, EMPTY);
+        size = 0;
+    }
+}
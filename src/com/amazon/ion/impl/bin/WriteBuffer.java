@@ -18,11 +18,17 @@ package com.amazon.ion.impl.bin;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * A facade over {@link Block} management and low-level Ion encoding concerns for the {@link IonRawBinaryWriter}.
+ * <p>
+ * When constructed over a {@link DirectBlockAllocatorProvider.DirectBlockAllocator}, only the current block lives on
+ * the heap--every block before it has been moved to a direct {@link ByteBuffer}.
  */
 /*package*/ final class WriteBuffer implements Closeable
 {
@@ -30,11 +36,25 @@ import java.util.List;
     private final List<Block> blocks;
     private Block current;
     private int index;
+    /** The allocator for off-heap blocks, or {@code null} if all blocks stay on the heap. */
+    private final DirectBlockAllocatorProvider.DirectBlockAllocator directAllocator;
+    /** The off-heap contents of every block before the current one when {@link #directAllocator} is set. */
+    private final List<ByteBuffer> directBlocks;
 
     public WriteBuffer(final BlockAllocator allocator)
     {
         this.allocator = allocator;
         this.blocks = new ArrayList<Block>();
+        if (allocator instanceof DirectBlockAllocatorProvider.DirectBlockAllocator)
+        {
+            this.directAllocator = (DirectBlockAllocatorProvider.DirectBlockAllocator) allocator;
+            this.directBlocks = new ArrayList<ByteBuffer>();
+        }
+        else
+        {
+            this.directAllocator = null;
+            this.directBlocks = null;
+        }
 
         // initial seed of the first block
         allocateNewBlock();
@@ -48,6 +68,40 @@ import java.util.List;
         blocks.add(allocator.allocateBlock());
     }
 
+    /** Advances to the next block, which must be empty. */
+    private void nextBlock()
+    {
+        if (directAllocator != null)
+        {
+            spillCurrentBlock();
+            return;
+        }
+        if (index == blocks.size() - 1)
+        {
+            allocateNewBlock();
+        }
+        index++;
+        current = blocks.get(index);
+        // a block kept after a truncate still has its old contents
+        current.reset();
+    }
+
+    /** Moves the contents of the current block off-heap and reuses it for the next block. */
+    private void spillCurrentBlock()
+    {
+        final ByteBuffer direct = directAllocator.allocateDirectBlock();
+        direct.put(current.data, 0, current.limit);
+        directBlocks.add(direct);
+        index++;
+        current.reset();
+    }
+
+    /** Returns whether this buffer keeps its filled blocks off-heap. */
+    public boolean isDirect()
+    {
+        return directAllocator != null;
+    }
+
     /** Returns the block index for the given position. */
     private int index(final long position)
     {
@@ -77,6 +131,14 @@ import java.util.List;
             block.close();
         }
         blocks.clear();
+        if (directBlocks != null)
+        {
+            for (final ByteBuffer direct : directBlocks)
+            {
+                directAllocator.releaseDirectBlock(direct);
+            }
+            directBlocks.clear();
+        }
 
         // note--we don't explicitly flag that we're closed for efficiency
     }
@@ -86,12 +148,39 @@ import java.util.List;
     {
         final int index = index(position);
         final int offset = offset(position);
+        if (directAllocator != null)
+        {
+            truncateDirect(index, offset);
+            return;
+        }
         final Block block = blocks.get(index);
         this.index = index;
         block.limit = offset;
         current = block;
     }
 
+    private void truncateDirect(final int index, final int offset)
+    {
+        if (index > this.index)
+        {
+            // the position is the end of a full current block that has not been spilled yet
+            return;
+        }
+        if (index < this.index)
+        {
+            // bring the truncated block back on-heap and release everything after it
+            final ByteBuffer direct = directBlocks.get(index);
+            direct.position(0);
+            direct.get(current.data, 0, offset);
+            for (int i = directBlocks.size() - 1; i >= index; i--)
+            {
+                directAllocator.releaseDirectBlock(directBlocks.remove(i));
+            }
+            this.index = index;
+        }
+        current.limit = offset;
+    }
+
     /** Returns the amount of capacity left in the current block. */
     public int remaining()
     {
@@ -111,8 +200,28 @@ import java.util.List;
     {
         final int index = index(position);
         final int offset = offset(position);
-        final Block block = blocks.get(index);
-        return block.data[offset] & OCTET_MASK;
+        return getAt(index, offset) & OCTET_MASK;
+    }
+
+    /** Returns the octet at the given block index and offset, which may be off-heap. */
+    private byte getAt(final int index, final int offset)
+    {
+        if (directAllocator != null && index < this.index)
+        {
+            return directBlocks.get(index).get(offset);
+        }
+        return blocks.get(directAllocator == null ? index : 0).data[offset];
+    }
+
+    /** Sets the octet at the given block index and offset, which may be off-heap. */
+    private void putAt(final int index, final int offset, final byte value)
+    {
+        if (directAllocator != null && index < this.index)
+        {
+            directBlocks.get(index).put(offset, value);
+            return;
+        }
+        blocks.get(directAllocator == null ? index : 0).data[offset] = value;
     }
 
     /** Writes a single octet to the buffer, expanding if necessary. */
@@ -120,12 +229,7 @@ import java.util.List;
     {
         if (remaining() < 1)
         {
-            if (index == blocks.size() - 1)
-            {
-                allocateNewBlock();
-            }
-            index++;
-            current = blocks.get(index);
+            nextBlock();
         }
         final Block block = current;
         block.data[block.limit] = octet;
@@ -145,12 +249,7 @@ import java.util.List;
             len -= amount;
             if (block.remaining() == 0)
             {
-                if (index == blocks.size() - 1)
-                {
-                    allocateNewBlock();
-                }
-                index++;
-                current = blocks.get(index);
+                nextBlock();
             }
         }
 
@@ -176,6 +275,22 @@ import java.util.List;
         writeBytes(bytes, 0, bytes.length);
     }
 
+    /** Writes the remaining bytes of a {@link ByteBuffer} to the buffer expanding if necessary. */
+    public void writeBytes(final ByteBuffer bytes)
+    {
+        while (bytes.hasRemaining())
+        {
+            if (remaining() == 0)
+            {
+                nextBlock();
+            }
+            final Block block = current;
+            final int amount = Math.min(bytes.remaining(), block.remaining());
+            bytes.get(block.data, block.limit, amount);
+            block.limit += amount;
+        }
+    }
+
     // UTF-8 character writing
 
     private static final char HIGH_SURROGATE_FIRST      = 0xD800;
@@ -371,13 +486,103 @@ import java.util.List;
         return octets;
     }
 
+    /**
+     * Returns the number of octets needed to encode the given characters as UTF-8.
+     *
+     * @throws IllegalArgumentException if the characters contain an unpaired surrogate.
+     */
+    public static int utf8Length(final CharSequence chars)
+    {
+        final int len = chars.length();
+        int off = 0;
+        // fast path for the ASCII prefix
+        while (off < len && chars.charAt(off) < UTF8_2_OCTET_MIN_VALUE)
+        {
+            off++;
+        }
+        int octets = off;
+        while (off < len)
+        {
+            final char ch = chars.charAt(off);
+            if (ch < UTF8_2_OCTET_MIN_VALUE)
+            {
+                octets++;
+            }
+            else if (ch < UTF8_3_OCTET_MIN_VALUE)
+            {
+                octets += 2;
+            }
+            else if (ch >= HIGH_SURROGATE_FIRST && ch <= LOW_SURROGATE_LAST)
+            {
+                if (ch >= LOW_SURROGATE_FIRST)
+                {
+                    throw new IllegalArgumentException("Unpaired low surrogate: " + (int) ch);
+                }
+                off++;
+                if (off == len)
+                {
+                    throw new IllegalArgumentException("Unpaired high surrogate at end of character sequence: " + (int) ch);
+                }
+                final char ch2 = chars.charAt(off);
+                if (ch2 < LOW_SURROGATE_FIRST || ch2 > LOW_SURROGATE_LAST)
+                {
+                    throw new IllegalArgumentException("High surrogate without low surrogate: " + (int) ch + " + " + (int) ch2);
+                }
+                octets += 4;
+            }
+            else
+            {
+                octets += 3;
+            }
+            off++;
+        }
+        return octets;
+    }
+
+    /** Maximum number of octets a single UTF-16 character encodes to--surrogate pairs are four for two. */
+    private static final int UTF8_MAX_OCTETS_PER_CHAR = 3;
+
+    // encodes characters that may not fit in the current block, a block's worth at a time through the fast paths
+    private int writeUTF8Spanning(final CharSequence chars, int off, int len)
+    {
+        int octets = 0;
+        while (len > 0)
+        {
+            // this many characters fit in the block however they encode
+            int chunk = Math.min(len, remaining() / UTF8_MAX_OCTETS_PER_CHAR);
+            if (chunk > 0)
+            {
+                final char last = chars.charAt(off + chunk - 1);
+                if (last >= HIGH_SURROGATE_FIRST && last <= HIGH_SURROGATE_LAST)
+                {
+                    // don't split a surrogate pair
+                    chunk--;
+                }
+            }
+            if (chunk > 0)
+            {
+                octets += writeUTF8(chars, off, chunk);
+            }
+            else
+            {
+                // the end of the block--straddle it with the next character
+                final char ch = chars.charAt(off);
+                chunk = (ch >= HIGH_SURROGATE_FIRST && ch <= HIGH_SURROGATE_LAST && len > 1) ? 2 : 1;
+                octets += writeUTF8Slow(chars, off, chunk);
+            }
+            off += chunk;
+            len -= chunk;
+        }
+        return octets;
+    }
+
     /** Returns the number of octets written. */
     public int writeUTF8(final CharSequence chars, int off, int len)
     {
         // fast path if we fit in the block assuming optimistically for all ASCII
         if (len > remaining())
         {
-            return writeUTF8Slow(chars, off, len);
+            return writeUTF8Spanning(chars, off, len);
         }
         final Block block = current;
         int limit = block.limit;
@@ -1037,10 +1242,8 @@ import java.util.List;
     private void writeVarUIntDirect2StraddlingAt(final int index, final int offset, final long value)
     {
         // XXX we're stradling a block
-        final Block block1 = blocks.get(index);
-        block1.data[offset] = (byte) ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
-        final Block block2 = blocks.get(index + 1);
-        block2.data[0]      = (byte) ((value                            & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        putAt(index,     offset, (byte) ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK));
+        putAt(index + 1, 0,      (byte) ((value                            & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK));
     }
 
     public void writeVarUIntDirect2At(long position, long value)
@@ -1054,9 +1257,8 @@ import java.util.List;
             return;
         }
 
-        final Block block = blocks.get(index);
-        block.data[offset    ] = (byte) ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK);
-        block.data[offset + 1] = (byte) ((value                            & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK);
+        putAt(index, offset,     (byte) ((value >> VAR_UINT_2_OCTET_SHIFT) & VAR_INT_MASK));
+        putAt(index, offset + 1, (byte) ((value                            & VAR_INT_MASK) | VAR_INT_FINAL_OCTET_SIGNAL_MASK));
     }
 
     public void writeUInt8At(final long position, final long value)
@@ -1065,13 +1267,17 @@ import java.util.List;
         final int offset = offset(position);
 
         // XXX we'll never overrun a block unless we're given a position past our block array
-        final Block block = blocks.get(index);
-        block.data[offset] = (byte) value;
+        putAt(index, offset, (byte) value);
     }
 
     /** Write the entire buffer to output stream. */
     public void writeTo(final OutputStream out) throws IOException
     {
+        if (directAllocator != null)
+        {
+            writeTo(Channels.newChannel(out));
+            return;
+        }
         for (int i = 0; i <= index; i++)
         {
             Block block = blocks.get(i);
@@ -1082,6 +1288,11 @@ import java.util.List;
     /** Write a specific segment of data from the buffer to a stream. */
     public void writeTo(final OutputStream out, long position, long length) throws IOException
     {
+        if (directAllocator != null)
+        {
+            writeTo(Channels.newChannel(out), position, length);
+            return;
+        }
         while (length > 0)
         {
             final int index = index(position);
@@ -1094,4 +1305,103 @@ import java.util.List;
             length -= amount;
         }
     }
+
+    /** Write a specific segment of data from the buffer to the end of another buffer. */
+    public void writeTo(final WriteBuffer target, long position, long length)
+    {
+        while (length > 0)
+        {
+            final int index = index(position);
+            final int offset = offset(position);
+            final int amount = (int) Math.min(allocator.getBlockSize() - offset, length);
+            if (directAllocator != null && index < this.index)
+            {
+                final ByteBuffer source = directBlocks.get(index);
+                source.limit(offset + amount);
+                source.position(offset);
+                target.writeBytes(source);
+                // absolute access relies on the full limit
+                source.clear();
+            }
+            else
+            {
+                target.writeBytes(blocks.get(directAllocator == null ? index : 0).data, offset, amount);
+            }
+
+            position += amount;
+            length -= amount;
+        }
+    }
+
+    /**
+     * Write the entire buffer to a channel.
+     * Blocks that have been moved off-heap are handed to the channel as is.
+     */
+    public void writeTo(final WritableByteChannel channel) throws IOException
+    {
+        writeTo(channel, 0, position());
+    }
+
+    /** Write a specific segment of data from the buffer to a channel. */
+    public void writeTo(final WritableByteChannel channel, long position, long length) throws IOException
+    {
+        while (length > 0)
+        {
+            final int index = index(position);
+            final int offset = offset(position);
+            final int amount = (int) Math.min(allocator.getBlockSize() - offset, length);
+            final ByteBuffer source;
+            if (directAllocator != null && index < this.index)
+            {
+                source = directBlocks.get(index);
+                source.limit(offset + amount);
+                source.position(offset);
+            }
+            else
+            {
+                source = ByteBuffer.wrap(blocks.get(directAllocator == null ? index : 0).data, offset, amount);
+            }
+            while (source.hasRemaining())
+            {
+                channel.write(source);
+            }
+            if (source.isDirect())
+            {
+                // absolute access relies on the full limit
+                source.clear();
+            }
+
+            position += amount;
+            length -= amount;
+        }
+    }
+
+    /**
+     * Appends views of a specific segment of data from the buffer to the given list, without copying.
+     * The views are only valid until the buffer is next modified.
+     */
+    public void addSegments(final List<ByteBuffer> segments, long position, long length)
+    {
+        while (length > 0)
+        {
+            final int index = index(position);
+            final int offset = offset(position);
+            final int amount = (int) Math.min(allocator.getBlockSize() - offset, length);
+            if (directAllocator != null && index < this.index)
+            {
+                // the same block may back several segments, so each gets its own view
+                final ByteBuffer segment = directBlocks.get(index).duplicate();
+                segment.limit(offset + amount);
+                segment.position(offset);
+                segments.add(segment);
+            }
+            else
+            {
+                segments.add(ByteBuffer.wrap(blocks.get(directAllocator == null ? index : 0).data, offset, amount));
+            }
+
+            position += amount;
+            length -= amount;
+        }
+    }
 }
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link OutputStream} that hands data to another stream on a background task, so that writers flushing to it do
+ * not wait on I/O.
+ * <p>
+ * Data is buffered in pooled {@link Block}s.  Full blocks, and the partial block at each {@link #flush()}, are queued
+ * for the background task, which writes them to the underlying stream and releases them for reuse.  At most the given
+ * number of blocks may be queued; writing more blocks the caller until the background task catches up.  The task
+ * runs on the given {@link Executor}, with at most one task running per stream at a time.
+ * <p>
+ * A caller that has to wait for the task, because the queue is full or the stream is being closed, runs the task
+ * itself if the executor has not started it yet.  So the executor may be a bounded pool that is shared with, or even
+ * runs, the writers: a writer never waits on a task that is stuck behind it in the executor's queue.
+ * <p>
+ * A failure of the underlying stream is reported by the next call to this stream, after which any data that is still
+ * queued is dropped.  {@link #close()} waits for all queued data to be written before closing the underlying stream.
+ * <p>
+ * This class is not thread-safe, though it is safe to hand blocks to a task running on another thread.
+ */
+public final class _Private_AsyncOutputStream extends OutputStream
+{
+    private static final int BLOCK_SIZE = 32768;
+    private static final BlockAllocatorProvider PROVIDER = new PooledBlockAllocatorProvider();
+
+    /** Queued after the data the underlying stream should be flushed after. */
+    private static final Block FLUSH = new Block(new byte[0])
+    {
+        @Override
+        public void close() {}
+    };
+
+    /** How long a caller waits for the background task before checking whether the task has started. */
+    private static final long WAIT_MILLIS = 10;
+
+    /** States of the background task. */
+    private static final int IDLE = 0;
+    private static final int SCHEDULED = 1;
+    private static final int RUNNING = 2;
+
+    /** Queued after all of the data, to close the underlying stream. */
+    private static final Block CLOSE = new Block(new byte[0])
+    {
+        @Override
+        public void close() {}
+    };
+
+    private final OutputStream          out;
+    private final Executor              executor;
+    private final BlockAllocator        allocator;
+    private final BlockingQueue<Block>  queue;
+    private final AtomicInteger         drainState;
+    private final CountDownLatch        drained;
+    private final Runnable              drain;
+    private volatile Throwable          failure;
+    private Block                       current;
+    private boolean                     closed;
+
+    /**
+     * @param out the stream to write to in the background.
+     * @param executor runs the background task.
+     * @param queueDepth the number of blocks that may be queued for the background task.
+     */
+    public _Private_AsyncOutputStream(final OutputStream out, final Executor executor, final int queueDepth)
+    {
+        if (out == null || executor == null) { throw new NullPointerException(); }
+        if (queueDepth < 1)
+        {
+            throw new IllegalArgumentException("Queue depth must be positive: " + queueDepth);
+        }
+        this.out = out;
+        this.executor = executor;
+        this.allocator = PROVIDER.vendAllocator(BLOCK_SIZE);
+        // leave room for the flush and close markers
+        this.queue = new ArrayBlockingQueue<Block>(queueDepth + 2);
+        this.drainState = new AtomicInteger(IDLE);
+        this.drained = new CountDownLatch(1);
+        this.drain = new Runnable()
+        {
+            public void run()
+            {
+                // the caller may have run the task already
+                if (drainState.compareAndSet(SCHEDULED, RUNNING))
+                {
+                    drainQueue();
+                }
+            }
+        };
+        this.failure = null;
+        this.current = allocator.allocateBlock();
+        this.closed = false;
+    }
+
+    /** Writes out the queue--runs on the background task, which must be in the running state. */
+    private void drainQueue()
+    {
+        do
+        {
+            Block block;
+            while ((block = queue.poll()) != null)
+            {
+                writeBlock(block);
+            }
+            drainState.set(IDLE);
+            // something may have been queued between our last poll and our stopping
+        }
+        while (!queue.isEmpty() && drainState.compareAndSet(IDLE, RUNNING));
+    }
+
+    /** Runs the background task on the calling thread if the executor has not started it yet. */
+    private void runScheduledDrain()
+    {
+        if (drainState.compareAndSet(SCHEDULED, RUNNING))
+        {
+            drainQueue();
+        }
+    }
+
+    /** Writes a queued block to the underlying stream--runs on the background task. */
+    private void writeBlock(final Block block)
+    {
+        try
+        {
+            if (block == CLOSE)
+            {
+                out.close();
+            }
+            else if (failure == null)
+            {
+                if (block == FLUSH)
+                {
+                    out.flush();
+                }
+                else
+                {
+                    out.write(block.data, 0, block.limit);
+                }
+            }
+        }
+        catch (final Throwable e)
+        {
+            if (failure == null)
+            {
+                failure = e;
+            }
+        }
+        finally
+        {
+            block.close();
+            if (block == CLOSE)
+            {
+                drained.countDown();
+            }
+        }
+    }
+
+    private void checkState() throws IOException
+    {
+        if (closed)
+        {
+            throw new IOException("Stream is closed");
+        }
+        final Throwable cause = failure;
+        if (cause != null)
+        {
+            throw new IOException("Background write failed", cause);
+        }
+    }
+
+    /** Hands a block to the background task, waiting for room in the queue. */
+    private void enqueue(final Block block) throws IOException
+    {
+        try
+        {
+            while (!queue.offer(block, WAIT_MILLIS, TimeUnit.MILLISECONDS))
+            {
+                runScheduledDrain();
+            }
+        }
+        catch (final InterruptedException e)
+        {
+            block.close();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for background writes");
+        }
+        if (drainState.compareAndSet(IDLE, SCHEDULED))
+        {
+            try
+            {
+                executor.execute(drain);
+            }
+            catch (final RejectedExecutionException e)
+            {
+                // do the I/O ourselves rather than leave it queued
+                runScheduledDrain();
+            }
+        }
+    }
+
+    /** Queues the current block if it has anything in it. */
+    private void enqueueCurrent() throws IOException
+    {
+        if (current.limit > 0)
+        {
+            final Block block = current;
+            current = allocator.allocateBlock();
+            enqueue(block);
+        }
+    }
+
+    @Override
+    public void write(final int b) throws IOException
+    {
+        checkState();
+        if (current.remaining() == 0)
+        {
+            enqueueCurrent();
+        }
+        current.data[current.limit++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b, int off, int len) throws IOException
+    {
+        checkState();
+        while (len > 0)
+        {
+            if (current.remaining() == 0)
+            {
+                enqueueCurrent();
+            }
+            final int amount = Math.min(len, current.remaining());
+            System.arraycopy(b, off, current.data, current.limit, amount);
+            current.limit += amount;
+            off += amount;
+            len -= amount;
+        }
+    }
+
+    /** Queues the buffered data to be written and flushed without waiting for it. */
+    @Override
+    public void flush() throws IOException
+    {
+        checkState();
+        enqueueCurrent();
+        enqueue(FLUSH);
+    }
+
+    /** Waits for all of the buffered data to be written and closes the underlying stream. */
+    @Override
+    public void close() throws IOException
+    {
+        if (closed)
+        {
+            return;
+        }
+        closed = true;
+        enqueueCurrent();
+        current.close();
+        enqueue(CLOSE);
+        try
+        {
+            while (!drained.await(WAIT_MILLIS, TimeUnit.MILLISECONDS))
+            {
+                runScheduledDrain();
+            }
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for background writes");
+        }
+        final Throwable cause = failure;
+        if (cause != null)
+        {
+            throw new IOException("Background write failed", cause);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import com.amazon.ion.impl.bin.IonRawBinaryWriter.PreallocationMode;
 import com.amazon.ion.system.SimpleCatalog;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
 import java.util.List;
 
@@ -55,6 +56,31 @@ public final class _Private_IonManagedBinaryWriterBuilder
                 return new PooledBlockAllocatorProvider();
             }
         },
+        /**
+         * Pools blocks in per-thread caches backed by a striped shared pool,
+         * for applications with many concurrent writers.
+         */
+        STRIPED_POOLED
+        {
+            @Override
+            BlockAllocatorProvider createAllocatorProvider()
+            {
+                return new StripedBlockAllocatorProvider();
+            }
+        },
+        /**
+         * Pools blocks in direct memory, keeping buffered data off of the Java heap.
+         * Buffered data is written to a {@link java.io.FileOutputStream}'s channel without being copied back onto
+         * the heap.
+         */
+        DIRECT
+        {
+            @Override
+            BlockAllocatorProvider createAllocatorProvider()
+            {
+                return new DirectBlockAllocatorProvider();
+            }
+        },
         BASIC
         {
             @Override
@@ -79,6 +105,9 @@ public final class _Private_IonManagedBinaryWriterBuilder
     /*package*/ volatile SymbolTable            initialSymbolTable;
     /*package*/ volatile boolean                isLocalSymbolTableAppendEnabled;
     /*package*/ volatile boolean                isFloatBinary32Enabled;
+    /*package*/ volatile boolean                isPatchFreeEncodingEnabled;
+    /*package*/ volatile long                   autoFlushThreshold;
+    /*package*/ volatile boolean                isInitialSymbolTableOmitted;
 
     private _Private_IonManagedBinaryWriterBuilder(final BlockAllocatorProvider provider)
     {
@@ -91,6 +120,9 @@ public final class _Private_IonManagedBinaryWriterBuilder
         this.optimization = WriteValueOptimization.NONE;
         this.isLocalSymbolTableAppendEnabled = false;
         this.isFloatBinary32Enabled = false;
+        this.isPatchFreeEncodingEnabled = false;
+        this.autoFlushThreshold = 0;
+        this.isInitialSymbolTableOmitted = false;
     }
 
     private _Private_IonManagedBinaryWriterBuilder(final _Private_IonManagedBinaryWriterBuilder other)
@@ -105,6 +137,9 @@ public final class _Private_IonManagedBinaryWriterBuilder
         this.initialSymbolTable = other.initialSymbolTable;
         this.isLocalSymbolTableAppendEnabled = other.isLocalSymbolTableAppendEnabled;
         this.isFloatBinary32Enabled = other.isFloatBinary32Enabled;
+        this.isPatchFreeEncodingEnabled = other.isPatchFreeEncodingEnabled;
+        this.autoFlushThreshold = other.autoFlushThreshold;
+        this.isInitialSymbolTableOmitted = other.isInitialSymbolTableOmitted;
     }
 
     public _Private_IonManagedBinaryWriterBuilder copy()
@@ -218,6 +253,52 @@ public final class _Private_IonManagedBinaryWriterBuilder
         return this;
     }
 
+    /**
+     * Writes each top-level value with its container lengths in the fewest bytes, without side patches.  Each value
+     * is buffered until it is complete, then its containers are sized and it is copied out with their lengths in
+     * place, so a flush writes the buffered data as is.  This ignores any padded length preallocation.
+     */
+    public _Private_IonManagedBinaryWriterBuilder withPatchFreeEncodingEnabled()
+    {
+        isPatchFreeEncodingEnabled = true;
+        return this;
+    }
+
+    public _Private_IonManagedBinaryWriterBuilder withPatchFreeEncodingDisabled()
+    {
+        isPatchFreeEncodingEnabled = false;
+        return this;
+    }
+
+    /**
+     * Flushes the writer at the end of the first top-level value that leaves more than the given number of bytes
+     * buffered.  The local symbol table carries over when it has been locked or local symbol table append is enabled;
+     * otherwise, the writer is finished and the next value starts a new symbol context.
+     *
+     * @param threshold the number of buffered bytes, or zero to only flush when asked to.
+     */
+    public _Private_IonManagedBinaryWriterBuilder withAutoFlushThreshold(final long threshold)
+    {
+        if (threshold < 0)
+        {
+            throw new IllegalArgumentException("Auto-flush threshold cannot be negative: " + threshold);
+        }
+        autoFlushThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Treats the {@linkplain #withInitialSymbolTable(SymbolTable) initial symbol table} as already declared by
+     * whatever precedes the writer's output: its symbols are used as they are, no symbol table or IVM is written, and
+     * no other symbols may be added.  This is for encoding values that are stitched together behind a single copy of
+     * the table.
+     */
+    /*package*/ _Private_IonManagedBinaryWriterBuilder withInitialSymbolTableOmitted()
+    {
+        isInitialSymbolTableOmitted = true;
+        return this;
+    }
+
     public _Private_IonManagedBinaryWriterBuilder withInitialSymbolTable(SymbolTable symbolTable)
     {
         if (symbolTable != null)
@@ -260,6 +341,24 @@ public final class _Private_IonManagedBinaryWriterBuilder
         return new IonManagedBinaryWriter(this, out);
     }
 
+    /**
+     * Constructs a writer over a channel, handing each flush to the channel in a single gathering write when it is a
+     * {@link java.nio.channels.GatheringByteChannel}.  The channel must be in blocking mode.
+     */
+    public IonWriter newWriter(final WritableByteChannel channel) throws IOException
+    {
+        return new IonManagedBinaryWriter(this, channel);
+    }
+
+    /**
+     * Constructs a pool of writers configured like this builder that are rebound to a new stream for each use
+     * instead of being rebuilt.  At most {@code maxIdle} released writers are retained.
+     */
+    public _Private_IonManagedBinaryWriterPool newWriterPool(final int maxIdle)
+    {
+        return new _Private_IonManagedBinaryWriterPool(copy(), maxIdle);
+    }
+
     public IonBinaryWriter newLegacyWriter()
     {
         try
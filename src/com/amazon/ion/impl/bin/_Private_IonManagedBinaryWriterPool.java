@@ -0,0 +1,149 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl.bin;
+
+import com.amazon.ion.IonWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of binary {@link IonWriter}s that are rebound to a new stream for each use rather than rebuilt, so that
+ * their buffers, symbol tables and other bookkeeping are allocated once and reused across messages.
+ * <p>
+ * A writer is obtained with {@link #acquire(OutputStream)} and handed back with {@link #release(IonWriter)} in place
+ * of {@link IonWriter#close()}.  Releasing finishes the writer but does not close its stream.  A writer must not be
+ * used after it is released.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @see _Private_IonManagedBinaryWriterBuilder#newWriterPool(int)
+ */
+public final class _Private_IonManagedBinaryWriterPool
+{
+    private final _Private_IonManagedBinaryWriterBuilder builder;
+    private final int maxIdle;
+    private final ConcurrentLinkedQueue<IonManagedBinaryWriter> idle;
+    private final AtomicInteger idleCount;
+
+    /*package*/ _Private_IonManagedBinaryWriterPool(final _Private_IonManagedBinaryWriterBuilder builder,
+                                                    final int maxIdle)
+    {
+        if (maxIdle < 0)
+        {
+            throw new IllegalArgumentException("Maximum idle writers must not be negative: " + maxIdle);
+        }
+        this.builder = builder;
+        this.maxIdle = maxIdle;
+        this.idle = new ConcurrentLinkedQueue<IonManagedBinaryWriter>();
+        this.idleCount = new AtomicInteger(0);
+    }
+
+    /** Returns an idle writer rebound to the given stream, or a new writer over it if none are idle. */
+    public IonWriter acquire(final OutputStream out) throws IOException
+    {
+        if (out == null) { throw new NullPointerException(); }
+
+        final IonManagedBinaryWriter writer = idle.poll();
+        if (writer == null)
+        {
+            return builder.newWriter(out);
+        }
+        idleCount.decrementAndGet();
+        boolean isRebound = false;
+        try
+        {
+            writer.rebind(out);
+            isRebound = true;
+        }
+        finally
+        {
+            if (!isRebound)
+            {
+                discard(writer);
+            }
+        }
+        return writer;
+    }
+
+    /**
+     * Finishes a writer obtained from {@link #acquire(OutputStream)} and returns it to the pool, or closes it when
+     * the pool is full.  The writer's stream is left open either way.  Writers that were closed are dropped.
+     *
+     * @throws IllegalStateException if the writer is not at top-level; it is not pooled.
+     */
+    public void release(final IonWriter writer) throws IOException
+    {
+        if (!(writer instanceof IonManagedBinaryWriter))
+        {
+            throw new IllegalArgumentException("Writer was not acquired from this pool");
+        }
+        final IonManagedBinaryWriter managed = (IonManagedBinaryWriter) writer;
+        if (managed.isClosed())
+        {
+            return;
+        }
+        if (managed.getDepth() != 0)
+        {
+            throw new IllegalStateException("Cannot release a writer that is not at top-level");
+        }
+
+        // flushes what is buffered to the caller's stream before letting go of it
+        managed.detach();
+        if (idleCount.incrementAndGet() <= maxIdle)
+        {
+            idle.offer(managed);
+        }
+        else
+        {
+            // over capacity--a detached writer closes without touching the stream
+            idleCount.decrementAndGet();
+            managed.close();
+        }
+    }
+
+    /** Closes a writer whose state is in doubt without closing whatever stream it may have been pointed at. */
+    private static void discard(final IonManagedBinaryWriter writer)
+    {
+        try
+        {
+            try
+            {
+                writer.detach();
+            }
+            finally
+            {
+                writer.close();
+            }
+        }
+        catch (final IOException e)
+        {
+            // the original failure is the one worth reporting
+        }
+        catch (final RuntimeException e)
+        {
+            // likewise
+        }
+    }
+
+    /** Returns the number of writers waiting in the pool. */
+    public int getIdleCount()
+    {
+        return idleCount.get();
+    }
+}
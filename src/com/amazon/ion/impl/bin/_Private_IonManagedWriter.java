@@ -17,6 +17,7 @@ package com.amazon.ion.impl.bin;
 
 import com.amazon.ion.IonWriter;
 import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * An {@link IonWriter} that manages local symbol tables, while providing access
@@ -61,4 +62,16 @@ public interface _Private_IonManagedWriter extends IonWriter
      */
     void requireLocalSymbolTable() throws IOException;
 
+    /**
+     * Finishes this writer and rebinds it to the given stream, as if it had
+     * just been built over that stream, while keeping its buffers and symbol
+     * bookkeeping for reuse. The previous stream is neither flushed beyond
+     * what {@link #finish()} does nor closed.
+     * @param out the stream to write to from now on.
+     * @throws IllegalStateException if this writer is closed or is not at
+     *         top-level.
+     * @throws IOException
+     */
+    void rebind(OutputStream out) throws IOException;
+
 }
@@ -16,6 +16,7 @@
 package com.amazon.ion.impl.bin;
 
 import com.amazon.ion.IonWriter;
+import com.amazon.ion.Timestamp;
 import java.io.IOException;
 
 /**
@@ -81,4 +82,74 @@ public interface _Private_IonRawWriter extends IonWriter
     public void writeString(byte[] data, int offset, int length)
         throws IOException;
 
+    /**
+     * Writes an IonDecimal value from its unscaled value and scale, as in
+     * {@link java.math.BigDecimal#valueOf(long, int)}, without allocating a
+     * {@link java.math.BigDecimal}.
+     * @param unscaledValue the coefficient of the decimal.
+     * @param scale the negation of the decimal's exponent.
+     * @throws IOException
+     */
+    public void writeDecimal(long unscaledValue, int scale) throws IOException;
+
+    /**
+     * Writes an IonTimestamp value from its point in time, without
+     * allocating a {@link com.amazon.ion.Timestamp}.
+     * @param epochSecond the seconds since 1970-01-01T00:00Z.
+     * @param nanos the nanoseconds within the second.
+     * @param fractionDigits the number of fractional second digits to
+     *                       write, from 0 to 9.
+     * @param localOffset the local offset in minutes, or
+     *                    {@link com.amazon.ion.impl._Private_EpochCalendar#UNKNOWN_OFFSET}.
+     * @param precision the precision of the timestamp.
+     * @throws IOException
+     */
+    public void writeTimestamp(long epochSecond, int nanos, int fractionDigits, int localOffset,
+                               Timestamp.Precision precision) throws IOException;
+
+    /**
+     * Writes an IonTimestamp value with millisecond precision from its
+     * milliseconds since the epoch.
+     * @param localOffset the local offset in minutes, or
+     *                    {@link com.amazon.ion.impl._Private_EpochCalendar#UNKNOWN_OFFSET}.
+     * @throws IOException
+     */
+    public void writeTimestampMillis(long epochMillis, int localOffset) throws IOException;
+
+    /**
+     * Writes an IonList of IonInt values. The length of the list is
+     * computed up front and the values are encoded in a single pass, which is
+     * cheaper than stepping into a list and writing each value.
+     * The list takes the pending field name and annotations, if any.
+     * @param values the values to write, or {@code null} for
+     *               {@code null.list}.
+     * @throws IOException
+     */
+    public void writeInts(long[] values) throws IOException;
+
+    /**
+     * Writes an IonList of IonInt values in the manner of
+     * {@link #writeInts(long[])}.
+     */
+    public void writeInts(int[] values) throws IOException;
+
+    /**
+     * Writes an IonList of IonFloat values in the manner of
+     * {@link #writeInts(long[])}.
+     */
+    public void writeFloats(double[] values) throws IOException;
+
+    /**
+     * Writes an IonList of IonBool values in the manner of
+     * {@link #writeInts(long[])}.
+     */
+    public void writeBools(boolean[] values) throws IOException;
+
+    /**
+     * Writes an IonList of IonString values in the manner of
+     * {@link #writeInts(long[])}. {@code null} elements are written as
+     * {@code null.string}.
+     */
+    public void writeStrings(String[] values) throws IOException;
+
 }
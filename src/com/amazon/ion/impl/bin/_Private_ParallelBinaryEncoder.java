@@ -0,0 +1,263 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import com.amazon.ion.IonContainer;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonSymbol;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.SymbolToken;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Encodes a sequence of top-level values as Ion binary using several threads.
+ * <p>
+ * The values are split into runs that are encoded as separate tasks.  First, the tasks collect the symbols of their
+ * runs, which are merged into a single local symbol table.  Then, the tasks encode their runs against that table, so
+ * that the encoded runs can be written out one after the other behind a single copy of the table.  The output is the
+ * same as writing the values through a single writer that declared all of their symbols up front.
+ * <p>
+ * Since mutable {@link IonValue}s are not safe for use by multiple threads, the tasks are handed read-only copies of
+ * values that are not read-only already; the given values are left as they are.  Passing read-only values avoids the
+ * copies.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class _Private_ParallelBinaryEncoder
+{
+    /** The default number of values encoded by each task. */
+    public static final int DEFAULT_VALUES_PER_TASK = 1024;
+
+    private final _Private_IonManagedBinaryWriterBuilder builder;
+    private final ExecutorService executor;
+    private final int valuesPerTask;
+
+    public _Private_ParallelBinaryEncoder(final _Private_IonManagedBinaryWriterBuilder builder,
+                                          final ExecutorService executor)
+    {
+        this(builder, executor, DEFAULT_VALUES_PER_TASK);
+    }
+
+    /**
+     * @param builder configures the writers, which are built from copies of it.
+     * @param executor runs the tasks.
+     * @param valuesPerTask the number of values encoded by each task.
+     */
+    public _Private_ParallelBinaryEncoder(final _Private_IonManagedBinaryWriterBuilder builder,
+                                          final ExecutorService executor,
+                                          final int valuesPerTask)
+    {
+        if (builder == null || executor == null) { throw new NullPointerException(); }
+        if (valuesPerTask < 1)
+        {
+            throw new IllegalArgumentException("Values per task must be positive: " + valuesPerTask);
+        }
+        this.builder = builder.copy();
+        this.executor = executor;
+        this.valuesPerTask = valuesPerTask;
+    }
+
+    /** Writes the given values to the stream as a complete Ion binary stream.  The stream is not closed. */
+    public void encode(final List<? extends IonValue> values, final OutputStream out) throws IOException
+    {
+        final List<List<? extends IonValue>> runs = new ArrayList<List<? extends IonValue>>();
+        for (int start = 0; start < values.size(); start += valuesPerTask)
+        {
+            final int end = Math.min(values.size(), start + valuesPerTask);
+            final List<IonValue> run = new ArrayList<IonValue>(end - start);
+            for (final IonValue value : values.subList(start, end))
+            {
+                run.add(readOnly(value));
+            }
+            runs.add(run);
+        }
+
+        final List<Future<Set<String>>> collected = new ArrayList<Future<Set<String>>>(runs.size());
+        for (final List<? extends IonValue> run : runs)
+        {
+            collected.add(executor.submit(new Callable<Set<String>>()
+            {
+                public Set<String> call()
+                {
+                    final Set<String> symbols = new LinkedHashSet<String>();
+                    for (final IonValue value : run)
+                    {
+                        collectSymbols(value, symbols);
+                    }
+                    return symbols;
+                }
+            }));
+        }
+
+        // declare every symbol up front so that the runs can share a table
+        final IonManagedBinaryWriter prototype = (IonManagedBinaryWriter) builder.newWriter(new ByteArrayOutputStream());
+        final SymbolTable locals = prototype.getLocalSymbolTable();
+        for (final Future<Set<String>> run : collected)
+        {
+            for (final String text : await(run))
+            {
+                locals.intern(text);
+            }
+        }
+        final SymbolTable symbols = prototype.getSymbolTable();
+        if (symbols.isLocalTable())
+        {
+            symbols.makeReadOnly();
+        }
+        // flushing part way through a run would write out the table along with it
+        final _Private_IonManagedBinaryWriterBuilder runBuilder = builder.copy()
+            .withInitialSymbolTable(symbols)
+            .withAutoFlushThreshold(0);
+        // the other runs follow the first, which declares the table for them
+        final _Private_IonManagedBinaryWriterBuilder declaredRunBuilder = runBuilder.copy()
+            .withInitialSymbolTableOmitted();
+
+        final List<Future<byte[]>> encoded = new ArrayList<Future<byte[]>>(runs.size());
+        for (int i = 0; i < runs.size(); i++)
+        {
+            final List<? extends IonValue> run = runs.get(i);
+            // only the first run carries the symbol table
+            final _Private_IonManagedBinaryWriterBuilder writerBuilder = i == 0 ? runBuilder : declaredRunBuilder;
+            encoded.add(executor.submit(new Callable<byte[]>()
+            {
+                public byte[] call() throws IOException
+                {
+                    return encode(writerBuilder, run);
+                }
+            }));
+        }
+        try
+        {
+            for (final Future<byte[]> run : encoded)
+            {
+                out.write(await(run));
+            }
+        }
+        finally
+        {
+            for (final Future<byte[]> run : encoded)
+            {
+                run.cancel(true);
+            }
+            prototype.close();
+        }
+    }
+
+    /** Returns the value if it is read-only, otherwise a read-only copy of it that the tasks can share. */
+    private static IonValue readOnly(final IonValue value)
+    {
+        if (value.isReadOnly())
+        {
+            return value;
+        }
+        final IonValue copy = value.clone();
+        copy.makeReadOnly();
+        return copy;
+    }
+
+    private static byte[] encode(final _Private_IonManagedBinaryWriterBuilder builder,
+                                 final List<? extends IonValue> values)
+                                 throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonManagedBinaryWriter writer = (IonManagedBinaryWriter) builder.newWriter(out);
+        try
+        {
+            // every symbol must already be declared
+            writer.getLocalSymbolTable().makeReadOnly();
+            for (final IonValue value : values)
+            {
+                value.writeTo(writer);
+            }
+        }
+        finally
+        {
+            writer.close();
+        }
+        return out.toByteArray();
+    }
+
+    private static void collectSymbols(final IonValue value, final Set<String> symbols)
+    {
+        for (final SymbolToken annotation : value.getTypeAnnotationSymbols())
+        {
+            addText(annotation, symbols);
+        }
+        addText(value.getFieldNameSymbol(), symbols);
+        if (value.getType() == IonType.SYMBOL)
+        {
+            addText(((IonSymbol) value).symbolValue(), symbols);
+        }
+        else if (value instanceof IonContainer)
+        {
+            for (final IonValue child : (IonContainer) value)
+            {
+                collectSymbols(child, symbols);
+            }
+        }
+    }
+
+    private static void addText(final SymbolToken token, final Set<String> symbols)
+    {
+        if (token != null && token.getText() != null)
+        {
+            symbols.add(token.getText());
+        }
+    }
+
+    private static <T> T await(final Future<T> future) throws IOException
+    {
+        try
+        {
+            return future.get();
+        }
+        catch (final InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for encoding");
+        }
+        catch (final ExecutionException e)
+        {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException)
+            {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException)
+            {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error)
+            {
+                throw (Error) cause;
+            }
+            throw new IonException("Error encoding values", cause);
+        }
+    }
+}
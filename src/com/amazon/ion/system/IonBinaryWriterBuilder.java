@@ -21,6 +21,8 @@ import com.amazon.ion.IonWriter;
 import com.amazon.ion.SubstituteSymbolTableException;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.impl._Private_IonBinaryWriterBuilder;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -40,6 +42,7 @@ public abstract class IonBinaryWriterBuilder
     extends IonWriterBuilderBase<IonBinaryWriterBuilder>
 {
     private boolean myStreamCopyOptimized;
+    private long myAutoFlushThreshold;
 
 
     /** NOT FOR APPLICATION USE! */
@@ -54,6 +57,7 @@ public abstract class IonBinaryWriterBuilder
         super(that);
 
         this.myStreamCopyOptimized = that.myStreamCopyOptimized;
+        this.myAutoFlushThreshold = that.myAutoFlushThreshold;
     }
 
 
@@ -96,6 +100,18 @@ public abstract class IonBinaryWriterBuilder
         return super.withImports(imports);
     }
 
+    @Override
+    public final IonBinaryWriterBuilder withAsyncOutputExecutor(Executor executor)
+    {
+        return super.withAsyncOutputExecutor(executor);
+    }
+
+    @Override
+    public final IonBinaryWriterBuilder withAsyncOutputQueueDepth(int depth)
+    {
+        return super.withAsyncOutputQueueDepth(depth);
+    }
+
 
     //=========================================================================
 
@@ -303,4 +319,85 @@ public abstract class IonBinaryWriterBuilder
         b.setStreamCopyOptimized(optimized);
         return b;
     }
+
+
+    /**
+     * Gets the number of buffered bytes past which built writers flush
+     * at the end of the current top-level value.
+     * By default, this property is zero and writers only flush when asked to.
+     *
+     * @see #setAutoFlushThreshold(long)
+     * @see #withAutoFlushThreshold(long)
+     */
+    public long getAutoFlushThreshold()
+    {
+        return myAutoFlushThreshold;
+    }
+
+    /**
+     * Declares the number of buffered bytes past which built writers flush
+     * at the end of the current top-level value, bounding the memory a
+     * writer holds on to when it is not flushed regularly.
+     * A single top-level value is always buffered in full.
+     * <p>
+     * Local symbols carry over to the data after the flush when local symbol
+     * table append is enabled; otherwise the writer is finished, and the
+     * next value starts a new local symbol table.
+     *
+     * @param threshold the number of buffered bytes, or zero to only flush
+     * when asked to.
+     *
+     * @throws IllegalArgumentException if the threshold is negative.
+     * @throws UnsupportedOperationException if this is immutable.
+     *
+     * @see #getAutoFlushThreshold()
+     * @see #withAutoFlushThreshold(long)
+     * @see #setLocalSymbolTableAppendEnabled(boolean)
+     */
+    public void setAutoFlushThreshold(long threshold)
+    {
+        mutationCheck();
+        if (threshold < 0)
+        {
+            throw new IllegalArgumentException("Auto-flush threshold cannot be negative: " + threshold);
+        }
+        myAutoFlushThreshold = threshold;
+    }
+
+    /**
+     * Declares the number of buffered bytes past which built writers flush
+     * at the end of the current top-level value,
+     * returning a new mutable builder if this is immutable.
+     *
+     * @see #getAutoFlushThreshold()
+     * @see #setAutoFlushThreshold(long)
+     */
+    public final
+    IonBinaryWriterBuilder withAutoFlushThreshold(long threshold)
+    {
+        IonBinaryWriterBuilder b = mutable();
+        b.setAutoFlushThreshold(threshold);
+        return b;
+    }
+
+
+    /**
+     * Builds a new writer based on this builder's configuration
+     * properties.
+     * <p>
+     * Each flush hands its data to the channel in a single gathering write
+     * when the channel is a {@link java.nio.channels.GatheringByteChannel},
+     * such as a {@link java.nio.channels.FileChannel} or
+     * {@link java.nio.channels.SocketChannel}.
+     * When an {@linkplain #getAsyncOutputExecutor() asynchronous output
+     * executor} is set, the data is instead queued for a background task
+     * that hands it to the channel in ordinary writes.
+     * Closing the writer closes the channel.
+     *
+     * @param channel the channel that will receive Ion data.
+     * Must not be null, and must be in blocking mode.
+     *
+     * @return a new {@link IonWriter} instance; not {@code null}.
+     */
+    public abstract IonWriter build(WritableByteChannel channel);
 }
@@ -24,9 +24,11 @@ import com.amazon.ion.IonStruct;
 import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonTextReader;
 import com.amazon.ion.IonValue;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.ByteBuffer;
 
 /**
  * Build a new {@link IonReader} from the given {@link IonCatalog} and data
@@ -226,6 +228,56 @@ public class IonReaderBuilder
         return makeReader(validateCatalog(), ionData);
     }
 
+    /**
+     * Based on the builder's configuration properties, creates a new IonReader
+     * instance over the remaining bytes of the given buffer, detecting whether
+     * it's text or binary data.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     * <p>
+     * Heap buffers are read in place, like {@link #build(byte[], int, int)}.
+     * Binary Ion in direct and memory-mapped buffers is decoded in place too.
+     * Text and GZIPped data in those buffers are copied into the reader's own
+     * pages as they are read, so the buffer is never copied as a whole.
+     *
+     * @param ionData the source of the Ion data, which is used only from its
+     * position to its limit. The buffer's position is not changed. The reader
+     * retains a reference to the buffer, so its data must not be modified
+     * while the reader is active. Must not be null.
+     *
+     * @return a new reader instance.
+     * Callers must call {@link IonReader#close()} when finished with it.
+     */
+    public IonReader build(ByteBuffer ionData)
+    {
+        return makeReader(validateCatalog(), ionData);
+    }
+
+    /**
+     * Based on the builder's configuration properties, creates a new IonReader
+     * instance over the given file, detecting whether it's text or binary
+     * data.
+     * <p>
+     * This method will auto-detect and uncompress GZIPped Ion data.
+     * <p>
+     * The file is mapped into memory rather than read through the Java IO
+     * framework, and binary Ion is decoded in place from the mapping. Files
+     * larger than 1 GB are mapped in windows, one at a time.
+     *
+     * @param ionData the file holding the Ion data. It must not be modified
+     * while the reader is active. Must not be null.
+     *
+     * @return a new reader instance.
+     * Callers must call {@link IonReader#close()} when finished with it,
+     * which closes the file.
+     *
+     * @throws IonException if the file cannot be opened or mapped.
+     */
+    public IonReader build(File ionData)
+    {
+        return makeReader(validateCatalog(), ionData);
+    }
+
     /**
      * Based on the builder's configuration properties, creates a new
      * {@link IonReader} instance over Ion text data.
@@ -24,6 +24,7 @@ import com.amazon.ion.impl._Private_IonTextWriterBuilder;
 import com.amazon.ion.impl._Private_Utils;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.util.concurrent.Executor;
 
 /**
  * The builder for creating {@link IonWriter}s emitting the Ion text syntax.
@@ -233,6 +234,18 @@ public abstract class IonTextWriterBuilder
         return super.withImports(imports);
     }
 
+    @Override
+    public final IonTextWriterBuilder withAsyncOutputExecutor(Executor executor)
+    {
+        return super.withAsyncOutputExecutor(executor);
+    }
+
+    @Override
+    public final IonTextWriterBuilder withAsyncOutputQueueDepth(int depth)
+    {
+        return super.withAsyncOutputQueueDepth(depth);
+    }
+
 
     //-------------------------------------------------------------------------
 
@@ -18,6 +18,8 @@ package com.amazon.ion.system;
 import com.amazon.ion.IonCatalog;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
 
 
 
@@ -32,6 +34,11 @@ abstract class IonWriterBuilderBase<T extends IonWriterBuilderBase>
 
     private IonCatalog    myCatalog;
     private SymbolTable[] myImports;
+    private Executor      myAsyncOutputExecutor;
+    private int           myAsyncOutputQueueDepth = DEFAULT_ASYNC_OUTPUT_QUEUE_DEPTH;
+
+    /** The default number of buffers that may be queued for asynchronous output. */
+    public static final int DEFAULT_ASYNC_OUTPUT_QUEUE_DEPTH = 2;
 
 
     /** NOT FOR APPLICATION USE! */
@@ -44,6 +51,8 @@ abstract class IonWriterBuilderBase<T extends IonWriterBuilderBase>
     {
         this.myCatalog = that.myCatalog;
         this.myImports = that.myImports;
+        this.myAsyncOutputExecutor = that.myAsyncOutputExecutor;
+        this.myAsyncOutputQueueDepth = that.myAsyncOutputQueueDepth;
     }
 
 
@@ -208,4 +217,127 @@ abstract class IonWriterBuilderBase<T extends IonWriterBuilderBase>
         b.setImports(imports);
         return b;
     }
+
+    //-------------------------------------------------------------------------
+
+
+    /**
+     * Gets the executor that writers built for an {@link OutputStream}, or a
+     * channel, use to write to it in the background.
+     * By default, this property is null.
+     *
+     * @see #setAsyncOutputExecutor(Executor)
+     * @see #withAsyncOutputExecutor(Executor)
+     */
+    public final Executor getAsyncOutputExecutor()
+    {
+        return myAsyncOutputExecutor;
+    }
+
+    /**
+     * Sets the executor that writers built for an {@link OutputStream}, or a
+     * channel, use to write to it in the background.
+     * <p>
+     * When set, a writer's flushes queue the data for a task on the executor
+     * instead of waiting for the stream, and closing the writer waits for
+     * the queued data to be written.  Once the queue holds
+     * {@linkplain #getAsyncOutputQueueDepth() its limit} of buffers, the
+     * writer waits for the task to catch up.  A failure of the stream is
+     * reported by the writer's next flush or close.
+     * <p>
+     * A writer that has to wait for the task runs it itself if the executor
+     * has not started it yet, so the executor may be a bounded pool that
+     * the writers themselves run on.
+     *
+     * @param executor runs the writes in the background.
+     * If null, writers write to the stream on the calling thread.
+     *
+     * @see #getAsyncOutputExecutor()
+     * @see #withAsyncOutputExecutor(Executor)
+     *
+     * @throws UnsupportedOperationException if this is immutable.
+     */
+    public void setAsyncOutputExecutor(Executor executor)
+    {
+        mutationCheck();
+        myAsyncOutputExecutor = executor;
+    }
+
+    /**
+     * Declares the executor that writers built for an {@link OutputStream},
+     * or a channel, use to write to it in the background,
+     * returning a new mutable builder if this is immutable.
+     *
+     * @param executor runs the writes in the background.
+     * If null, writers write to the stream on the calling thread.
+     *
+     * @return this instance, if mutable;
+     * otherwise a mutable copy of this instance.
+     *
+     * @see #getAsyncOutputExecutor()
+     * @see #setAsyncOutputExecutor(Executor)
+     */
+    public T withAsyncOutputExecutor(Executor executor)
+    {
+        T b = mutable();
+        b.setAsyncOutputExecutor(executor);
+        return b;
+    }
+
+    /**
+     * Gets the number of buffers that may be queued for a background write
+     * before a writer waits.
+     * By default, this property is {@link #DEFAULT_ASYNC_OUTPUT_QUEUE_DEPTH}.
+     *
+     * @see #setAsyncOutputQueueDepth(int)
+     * @see #withAsyncOutputQueueDepth(int)
+     */
+    public final int getAsyncOutputQueueDepth()
+    {
+        return myAsyncOutputQueueDepth;
+    }
+
+    /**
+     * Sets the number of buffers that may be queued for a background write
+     * before a writer waits.
+     * Only relevant when an
+     * {@linkplain #setAsyncOutputExecutor(Executor) executor} is set.
+     *
+     * @param depth must be positive.
+     *
+     * @see #getAsyncOutputQueueDepth()
+     * @see #withAsyncOutputQueueDepth(int)
+     *
+     * @throws IllegalArgumentException if the depth is not positive.
+     * @throws UnsupportedOperationException if this is immutable.
+     */
+    public void setAsyncOutputQueueDepth(int depth)
+    {
+        mutationCheck();
+        if (depth < 1)
+        {
+            throw new IllegalArgumentException("Queue depth must be positive: " + depth);
+        }
+        myAsyncOutputQueueDepth = depth;
+    }
+
+    /**
+     * Declares the number of buffers that may be queued for a background
+     * write before a writer waits,
+     * returning a new mutable builder if this is immutable.
+     *
+     * @param depth must be positive.
+     *
+     * @return this instance, if mutable;
+     * otherwise a mutable copy of this instance.
+     *
+     * @see #getAsyncOutputQueueDepth()
+     * @see #setAsyncOutputQueueDepth(int)
+     */
+    public T withAsyncOutputQueueDepth(int depth)
+    {
+        T b = mutable();
+        b.setAsyncOutputQueueDepth(depth);
+        return b;
+    }
 }
@@ -48,6 +48,15 @@ import com.amazon.ion.NonEquivsTest;
 import com.amazon.ion.NopPaddingTest;
 import com.amazon.ion.NullTest;
 import com.amazon.ion.RawValueSpanReaderBasicTest;
+import com.amazon.ion.impl.FieldNameMatcherTest;
+import com.amazon.ion.impl.IonBinaryIndexTest;
+import com.amazon.ion.impl.IonReaderTextNumberTest;
+import com.amazon.ion.impl.FloatConversionsTest;
+import com.amazon.ion.impl.TimestampFormatterTest;
+import com.amazon.ion.impl.IonReaderTextSpanTest;
+import com.amazon.ion.impl.ParallelTextDecoderTest;
+import com.amazon.ion.impl.IonBinaryPushReaderTest;
+import com.amazon.ion.impl.ByteBufferInputStreamTest;
 import com.amazon.ion.impl.IonReaderBinaryRawLargeStreamTest;
 import com.amazon.ion.impl.RawValueSpanReaderTest;
 import com.amazon.ion.RoundTripTest;
@@ -74,14 +83,24 @@ import com.amazon.ion.impl.LocalSymbolTableTest;
 import com.amazon.ion.impl.SharedSymbolTableTest;
 import com.amazon.ion.impl.SymbolTableTest;
 import com.amazon.ion.impl.TreeReaderTest;
+import com.amazon.ion.impl.bin.AsyncOutputStreamTest;
+import com.amazon.ion.impl.bin.DirectWriteBufferTest;
+import com.amazon.ion.impl.bin.IonManagedBinaryWriterPatchFreeTest;
+import com.amazon.ion.impl.bin.IonManagedBinaryWriterPoolTest;
 import com.amazon.ion.impl.bin.IonManagedBinaryWriterTest;
+import com.amazon.ion.impl.bin.IonRawBinaryWriterDirectTest;
+import com.amazon.ion.impl.bin.IonRawBinaryWriterPatchFreeTest;
 import com.amazon.ion.impl.bin.IonRawBinaryWriterTest;
 import com.amazon.ion.impl.bin.PooledBlockAllocatorProviderTest;
+import com.amazon.ion.impl.bin.ParallelBinaryEncoderTest;
+import com.amazon.ion.impl.bin.StripedBlockAllocatorProviderTest;
+import com.amazon.ion.impl.bin.SymbolIdMapTest;
 import com.amazon.ion.impl.bin.WriteBufferTest;
 import com.amazon.ion.impl.lite.IonContextTest;
 import com.amazon.ion.impl.lite.SIDPresentLifecycleTest;
 import com.amazon.ion.streaming.BadIonStreamingTest;
 import com.amazon.ion.streaming.BinaryStreamingTest;
+import com.amazon.ion.streaming.DecimalReaderTest;
 import com.amazon.ion.streaming.GoodIonStreamingTest;
 import com.amazon.ion.streaming.InputStreamReaderTest;
 import com.amazon.ion.streaming.MiscStreamingTest;
@@ -91,6 +110,8 @@ import com.amazon.ion.streaming.ReaderSkippingTest;
 import com.amazon.ion.streaming.ReaderTest;
 import com.amazon.ion.streaming.RoundTripStreamingTest;
 import com.amazon.ion.streaming.SpanTests;
+import com.amazon.ion.streaming.TimestampReaderTest;
+import com.amazon.ion.streaming.Utf8StringReaderTest;
 import com.amazon.ion.system.IonBinaryWriterBuilderTest;
 import com.amazon.ion.system.IonReaderBuilderTest;
 import com.amazon.ion.system.IonSystemBuilderTest;
@@ -198,6 +219,9 @@ import org.junit.runners.Suite;
     ReaderDomCopyTest.class,
     ReaderSkippingTest.class,
     ReaderIntegerSizeTest.class,
+    DecimalReaderTest.class,
+    TimestampReaderTest.class,
+    Utf8StringReaderTest.class,
 
     IonSystemTest.class,
     ValueFactorySequenceTest.class,
@@ -211,9 +235,18 @@ import org.junit.runners.Suite;
 
     // experimental binary writer tests
     PooledBlockAllocatorProviderTest.class,
+    StripedBlockAllocatorProviderTest.class,
+    SymbolIdMapTest.class,
+    AsyncOutputStreamTest.class,
+    ParallelBinaryEncoderTest.class,
     WriteBufferTest.class,
+    DirectWriteBufferTest.class,
     IonRawBinaryWriterTest.class,
+    IonRawBinaryWriterDirectTest.class,
+    IonRawBinaryWriterPatchFreeTest.class,
     IonManagedBinaryWriterTest.class,
+    IonManagedBinaryWriterPatchFreeTest.class,
+    IonManagedBinaryWriterPoolTest.class,
 
     // Hash code tests
     HashCodeCorrectnessTest.class,
@@ -224,6 +257,15 @@ import org.junit.runners.Suite;
     IonRawWriterSymbolsTest.class,
     RawValueSpanReaderBasicTest.class,
     RawValueSpanReaderTest.class,
+    FieldNameMatcherTest.class,
+    IonBinaryIndexTest.class,
+    IonReaderTextNumberTest.class,
+    FloatConversionsTest.class,
+    TimestampFormatterTest.class,
+    IonReaderTextSpanTest.class,
+    ParallelTextDecoderTest.class,
+    IonBinaryPushReaderTest.class,
+    ByteBufferInputStreamTest.class,
 
     // DOM Lifecycle / mode tests
     SIDPresentLifecycleTest.class
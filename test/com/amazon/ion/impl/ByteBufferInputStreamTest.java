@@ -0,0 +1,186 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.SimpleCatalog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ByteBufferInputStreamTest
+{
+    private static final int WINDOW_SIZE = 7;
+
+    private final byte[] data = new byte[100];
+    private File file;
+
+    @Before
+    public void setUp() throws IOException
+    {
+        for (int i = 0; i < data.length; i++)
+        {
+            data[i] = (byte) i;
+        }
+        file = File.createTempFile("ByteBufferInputStreamTest", ".bin");
+        final FileOutputStream out = new FileOutputStream(file);
+        try
+        {
+            out.write(data);
+        }
+        finally
+        {
+            out.close();
+        }
+    }
+
+    @After
+    public void tearDown()
+    {
+        file.delete();
+    }
+
+    private static byte[] readAll(final InputStream in, final int chunkSize) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[chunkSize];
+        int count;
+        while ((count = in.read(chunk, 0, chunkSize)) >= 0)
+        {
+            out.write(chunk, 0, count);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testBuffer() throws IOException
+    {
+        final ByteBuffer buffer = ByteBuffer.wrap(data, 10, 50);
+        assertArrayEquals(copy(10, 50), readAll(new _Private_ByteBufferInputStream(buffer), 16));
+        assertEquals(10, buffer.position());
+    }
+
+    @Test
+    public void testFileWindows() throws IOException
+    {
+        assertArrayEquals(data, readAll(_Private_ByteBufferInputStream.forFile(file, WINDOW_SIZE), 16));
+        assertArrayEquals(data, readAll(_Private_ByteBufferInputStream.forFile(file, WINDOW_SIZE), 3));
+        assertArrayEquals(data, readAll(_Private_ByteBufferInputStream.forFile(file), 16));
+    }
+
+    @Test
+    public void testSingleBytesAcrossWindows() throws IOException
+    {
+        final InputStream in = _Private_ByteBufferInputStream.forFile(file, WINDOW_SIZE);
+        for (int i = 0; i < data.length; i++)
+        {
+            assertEquals(i, in.read());
+        }
+        assertEquals(-1, in.read());
+        in.close();
+    }
+
+    @Test
+    public void testSkipAcrossWindows() throws IOException
+    {
+        final InputStream in = _Private_ByteBufferInputStream.forFile(file, WINDOW_SIZE);
+        assertEquals(0, in.read());
+        assertEquals(50, in.skip(50));
+        assertEquals(51, in.read());
+        assertEquals(48, in.skip(1000));
+        assertEquals(-1, in.read());
+        in.close();
+    }
+
+    @Test
+    public void testMapWindow() throws IOException
+    {
+        final _Private_ByteBufferInputStream in = _Private_ByteBufferInputStream.forFile(file, WINDOW_SIZE);
+        final ByteBuffer first = in.mapWindow(0, 0);
+        assertEquals(WINDOW_SIZE, first.remaining());
+        assertEquals(0, first.get(0));
+
+        // the lead bytes come before the window, and the last window is short
+        final ByteBuffer last = in.mapWindow(98, 10);
+        assertEquals(12, last.remaining());
+        assertEquals(88, last.get(0));
+        assertEquals(99, last.get(11));
+
+        assertNull(in.mapWindow(100, 10));
+        // mapping doesn't move the stream
+        assertEquals(0, in.read());
+        in.close();
+    }
+
+    @Test
+    public void testBinaryReaderAcrossWindows() throws IOException
+    {
+        final IonSystem system = IonSystemBuilder.standard().build();
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++)
+        {
+            text.append("a").append(i).append("::{ b: [").append(i).append(", 2.5e0, \"");
+            for (int j = 0; j < i; j++)
+            {
+                text.append((char) ('a' + j % 26));
+            }
+            text.append("\"], c").append(i).append(": (d::e f) } ");
+        }
+        final IonDatagram expected = system.getLoader().load(text.toString());
+        final FileOutputStream out = new FileOutputStream(file);
+        try
+        {
+            out.write(expected.getBytes());
+        }
+        finally
+        {
+            out.close();
+        }
+
+        for (final int windowSize : new int[] { 16, 61, 1000 })
+        {
+            final IonReader reader = _Private_IonReaderFactory.makeReader(
+                new SimpleCatalog(),
+                _Private_ByteBufferInputStream.forFile(file, windowSize)
+            );
+            assertEquals(expected, system.getLoader().load(reader));
+            reader.close();
+        }
+    }
+
+    private byte[] copy(final int offset, final int length)
+    {
+        final byte[] copy = new byte[length];
+        System.arraycopy(data, offset, copy, 0, length);
+        return copy;
+    }
+}
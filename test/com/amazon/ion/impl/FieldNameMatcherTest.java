@@ -0,0 +1,170 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import static com.amazon.ion.impl._Private_FieldNameMatcher.NO_MATCH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class FieldNameMatcherTest
+{
+    private static void writeStruct(final IonWriter writer, final String... fieldNames) throws IOException
+    {
+        writer.stepIn(IonType.STRUCT);
+        for (int i = 0; i < fieldNames.length; i++)
+        {
+            writer.setFieldName(fieldNames[i]);
+            writer.writeInt(i);
+        }
+        writer.stepOut();
+    }
+
+    /** Returns the match codes of the fields of each top-level struct, followed by the value of each match. */
+    private static List<Integer> matchAll(final IonReader reader, final _Private_FieldNameMatcher matcher)
+    {
+        final _Private_FieldMatchingReader fields = reader.asFacet(_Private_FieldMatchingReader.class);
+        assertTrue(fields != null);
+        final List<Integer> codes = new ArrayList<Integer>();
+        while (reader.next() != null)
+        {
+            assertEquals(NO_MATCH, fields.matchFieldName(matcher));
+            reader.stepIn();
+            while (reader.next() != null)
+            {
+                final int code = fields.matchFieldName(matcher);
+                codes.add(code);
+                if (code != NO_MATCH)
+                {
+                    assertEquals(matcher.getName(code), reader.getFieldName());
+                }
+            }
+            reader.stepOut();
+        }
+        return codes;
+    }
+
+    @Test
+    public void testMatchesAcrossSymbolTables() throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = IonBinaryWriterBuilder.standard().build(out);
+        writeStruct(writer, "id", "name", "other", "price");
+        writeStruct(writer, "price", "id");
+        writer.finish();
+        // the new local symbol table assigns the names other IDs
+        writeStruct(writer, "zzz", "yyy", "price", "name", "id");
+        writer.close();
+
+        final _Private_FieldNameMatcher matcher = new _Private_FieldNameMatcher("id", "price", "name");
+        final IonReader reader = IonReaderBuilder.standard().build(out.toByteArray());
+        assertEquals(
+            list(0, 2, NO_MATCH, 1, 1, 0, NO_MATCH, NO_MATCH, 1, 2, 0),
+            matchAll(reader, matcher)
+        );
+        reader.close();
+    }
+
+    @Test
+    public void testMatchesWideStruct() throws Exception
+    {
+        final String[] fieldNames = new String[1000];
+        for (int i = 0; i < fieldNames.length; i++)
+        {
+            fieldNames[i] = "f" + i;
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = IonBinaryWriterBuilder.standard().build(out);
+        writeStruct(writer, fieldNames);
+        writer.close();
+
+        final _Private_FieldNameMatcher matcher = new _Private_FieldNameMatcher("f999", "f3");
+        final List<Integer> codes = matchAll(IonReaderBuilder.standard().build(out.toByteArray()), matcher);
+        assertEquals(fieldNames.length, codes.size());
+        for (int i = 0; i < codes.size(); i++)
+        {
+            assertEquals(i == 999 ? 0 : i == 3 ? 1 : NO_MATCH, codes.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testMatchesText()
+    {
+        final _Private_FieldNameMatcher matcher = new _Private_FieldNameMatcher("id", "name", "$ion");
+        final IonReader reader = IonReaderBuilder.standard().build(
+            "{id:1, 'name':2, \"other\":3} {$1:4, $99:5, name:6}"
+        );
+        assertEquals(
+            list(0, 1, NO_MATCH, 2, NO_MATCH, 1),
+            matchAll(reader, matcher)
+        );
+    }
+
+    @Test
+    public void testFieldIdBeyondSymbolTable()
+    {
+        final byte[] bytes = new byte[] {
+            (byte) 0xE0, 0x01, 0x00, (byte) 0xEA,
+            // a struct whose only field has symbol ID 0x7FFFFFF0
+            (byte) 0xD6, 0x07, 0x7F, 0x7F, 0x7F, (byte) 0xF0, 0x20
+        };
+        final _Private_FieldNameMatcher matcher = new _Private_FieldNameMatcher("id");
+        final IonReader reader = IonReaderBuilder.standard().build(bytes);
+        assertEquals(list(NO_MATCH), matchAll(reader, matcher));
+    }
+
+    @Test
+    public void testMatchString()
+    {
+        final _Private_FieldNameMatcher matcher = new _Private_FieldNameMatcher("a", "b");
+        assertEquals(2, matcher.size());
+        assertEquals(1, matcher.match("b"));
+        assertEquals(NO_MATCH, matcher.match("c"));
+        assertEquals(NO_MATCH, matcher.match(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDuplicateName()
+    {
+        new _Private_FieldNameMatcher("a", "b", "a");
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullName()
+    {
+        new _Private_FieldNameMatcher("a", null);
+    }
+
+    private static List<Integer> list(final int... values)
+    {
+        final List<Integer> list = new ArrayList<Integer>();
+        for (final int value : values)
+        {
+            list.add(value);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.Test;
+
+public class FloatConversionsTest
+{
+    private static final int SAMPLES = 50000;
+
+    private final Random random = new Random(42);
+
+    private static String format(final double value)
+    {
+        final char[] chars = new char[_Private_FloatConversions.MAX_CHARS];
+        return new String(chars, 0, _Private_FloatConversions.toChars(value, chars));
+    }
+
+    /**
+     * Returns the shortest decimal that rounds to the value, the closest one if there are several.  As with
+     * Double.toString on JDK 19 and later, a single digit is only enough if no two-digit decimal is closer
+     * (4.9E-324, not 5E-324).
+     */
+    private static BigDecimal shortest(final double value)
+    {
+        final BigDecimal exact = new BigDecimal(value);
+        for (int digits = 2; ; digits++)
+        {
+            // below a power of two the interval is lopsided, so the nearest decimal may not round back
+            final BigDecimal down = exact.round(new MathContext(digits, RoundingMode.DOWN));
+            final BigDecimal up = exact.round(new MathContext(digits, RoundingMode.UP));
+            final boolean downRounds = down.doubleValue() == value;
+            final boolean upRounds = up.doubleValue() == value;
+            if (downRounds && upRounds)
+            {
+                return exact.round(new MathContext(digits, RoundingMode.HALF_EVEN));
+            }
+            if (downRounds || upRounds)
+            {
+                return downRounds ? down : up;
+            }
+        }
+    }
+
+    private static void assertFormat(final double value)
+    {
+        final String text = format(value);
+        assertEquals(text, value, Double.parseDouble(text), 0);
+        final BigDecimal expected = shortest(value).stripTrailingZeros();
+        final BigDecimal actual = new BigDecimal(text).stripTrailingZeros();
+        assertEquals(Double.toString(value), expected.unscaledValue(), actual.unscaledValue());
+        assertEquals(Double.toString(value), expected.scale(), actual.scale());
+    }
+
+    private static void assertParse(final long significand, final int exponent)
+    {
+        final double expected = Double.parseDouble(significand + "e" + exponent);
+        final double actual = _Private_FloatConversions.toDouble(significand, exponent, false);
+        if (!Double.isNaN(actual))
+        {
+            assertEquals(significand + "e" + exponent, Double.doubleToLongBits(expected), Double.doubleToLongBits(actual));
+        }
+        final double negative = _Private_FloatConversions.toDouble(significand, exponent, true);
+        if (!Double.isNaN(negative))
+        {
+            assertEquals(-expected, negative, 0);
+        }
+    }
+
+    @Test
+    public void testFormatLayout()
+    {
+        assertEquals("1.0", format(1));
+        assertEquals("-1.5", format(-1.5));
+        assertEquals("123.0", format(123));
+        assertEquals("1234567.0", format(1234567));
+        assertEquals("1.0E7", format(1e7));
+        assertEquals("0.001", format(0.001));
+        assertEquals("1.0E-4", format(1e-4));
+        assertEquals("0.1", format(0.1));
+        assertEquals("1.7976931348623157E308", format(Double.MAX_VALUE));
+        assertEquals("4.9E-324", format(Double.MIN_VALUE));
+        assertEquals("2.2250738585072014E-308", format(Double.MIN_NORMAL));
+        assertEquals("1.0E23", format(1e23));
+        assertEquals("-1.2345678901234567E-100", format(-1.2345678901234567E-100));
+    }
+
+    @Test
+    public void testFormatSubnormalMultiples()
+    {
+        // JDK 19 and later print these as well; earlier JDKs print 1.0E-323 and 1.0E-322
+        assertEquals("4.9E-324", format(Double.MIN_VALUE));
+        assertEquals("9.9E-324", format(2 * Double.MIN_VALUE));
+        assertEquals("9.9E-323", format(20 * Double.MIN_VALUE));
+        assertEquals("-9.9E-324", format(-2 * Double.MIN_VALUE));
+    }
+
+    @Test
+    public void testFormatMatchesToStringWhenShortest()
+    {
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            final double value = random.nextDouble() * Math.pow(10, random.nextInt(40) - 20);
+            final String text = format(value);
+            final String reference = Double.toString(value);
+            if (reference.length() <= text.length())
+            {
+                assertEquals(reference, text);
+            }
+        }
+    }
+
+    @Test
+    public void testFormatShortest()
+    {
+        for (int i = 0; i < SAMPLES / 10; i++)
+        {
+            final double value = Double.longBitsToDouble(random.nextLong());
+            if (!Double.isNaN(value) && !Double.isInfinite(value) && value != 0)
+            {
+                assertFormat(value);
+            }
+        }
+        for (long bits = 1; bits < 1000; bits++)
+        {
+            assertFormat(Double.longBitsToDouble(bits));
+        }
+        for (int exponent = -1074; exponent <= 1023; exponent++)
+        {
+            assertFormat(Math.scalb(1.0, exponent));
+            assertFormat(Math.nextUp(Math.scalb(1.0, exponent)));
+            if (exponent > -1074)
+            {
+                assertFormat(Math.nextAfter(Math.scalb(1.0, exponent), 0));
+            }
+        }
+    }
+
+    @Test
+    public void testParse()
+    {
+        int undecided = 0;
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            final long significand = random.nextLong() >>> (1 + random.nextInt(63));
+            final int exponent = random.nextInt(700) - 350;
+            assertParse(significand, exponent);
+            if (Double.isNaN(_Private_FloatConversions.toDouble(significand, exponent, false)))
+            {
+                undecided++;
+            }
+        }
+        // only subnormals, infinities and rare halfway cases are left to Double.parseDouble
+        assertTrue(undecided < SAMPLES / 4);
+        for (int exponent = -30; exponent <= 30; exponent++)
+        {
+            for (long significand = 1; significand < 1000; significand += 7)
+            {
+                assertParse(significand, exponent);
+            }
+            assertParse(9007199254740993L, exponent);
+            assertParse(Long.MAX_VALUE, exponent);
+        }
+        assertEquals(Double.doubleToLongBits(-0.0), Double.doubleToLongBits(_Private_FloatConversions.toDouble(0, 5, true)));
+    }
+
+    @Test
+    public void testParseFormatted()
+    {
+        for (int i = 0; i < SAMPLES; i++)
+        {
+            final double value = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(value) || Double.isInfinite(value) || value == 0)
+            {
+                continue;
+            }
+            final BigDecimal decimal = new BigDecimal(format(value));
+            final double parsed = _Private_FloatConversions.toDouble(
+                decimal.unscaledValue().abs().longValue(), -decimal.scale(), decimal.signum() < 0
+            );
+            if (!Double.isNaN(parsed))
+            {
+                assertEquals(value, parsed, 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonStruct;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonReaderBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.IonTextWriterBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import org.junit.Test;
+
+public class IonBinaryIndexTest
+{
+    private static final int VALUE_COUNT = 500;
+
+    private static final IonReaderBuilder READER_BUILDER = IonReaderBuilder.standard();
+
+    /** Writes records that introduce new symbols throughout, under replaced and appended local symbol tables. */
+    private static byte[] records(final IonBinaryWriterBuilder builder) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = builder.build(out);
+        for (int i = 0; i < VALUE_COUNT; i++)
+        {
+            if (i % 4 == 3)
+            {
+                writer.setTypeAnnotations("ann" + (i % 10));
+                writer.writeSymbol("sym" + i);
+            }
+            else
+            {
+                writer.stepIn(IonType.STRUCT);
+                writer.setFieldName("id");
+                writer.writeInt(i);
+                writer.setFieldName("field" + (i % 37));
+                writer.writeString("value" + i);
+                writer.stepOut();
+            }
+            if (i % 50 == 49)
+            {
+                writer.finish();
+            }
+            else if (i % 10 == 9)
+            {
+                writer.flush();
+            }
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private static void assertRecord(final IonReader reader, final int i)
+    {
+        if (i % 4 == 3)
+        {
+            assertEquals(IonType.SYMBOL, reader.next());
+            assertEquals("ann" + (i % 10), reader.getTypeAnnotations()[0]);
+            assertEquals("sym" + i, reader.stringValue());
+        }
+        else
+        {
+            assertEquals(IonType.STRUCT, reader.next());
+            reader.stepIn();
+            assertEquals(IonType.INT, reader.next());
+            assertEquals("id", reader.getFieldName());
+            assertEquals(i, reader.intValue());
+            assertEquals(IonType.STRING, reader.next());
+            assertEquals("field" + (i % 37), reader.getFieldName());
+            assertEquals("value" + i, reader.stringValue());
+            reader.stepOut();
+        }
+    }
+
+    private static void assertSeeks(final _Private_IonBinaryIndex index, final byte[] bytes) throws IOException
+    {
+        for (int i = 0; i < VALUE_COUNT; i += 13)
+        {
+            final IonReader reader = index.seek(READER_BUILDER, bytes, i);
+            assertRecord(reader, i);
+            reader.close();
+        }
+        final IonReader reader = index.seek(READER_BUILDER, bytes, VALUE_COUNT - 1);
+        assertRecord(reader, VALUE_COUNT - 1);
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testSeekEveryValue() throws Exception
+    {
+        final byte[] bytes = records(IonBinaryWriterBuilder.standard());
+        final _Private_IonBinaryIndex index = _Private_IonBinaryIndex.build(new ByteArrayInputStream(bytes), 1);
+        assertEquals(VALUE_COUNT, index.getValueCount());
+        assertSeeks(index, bytes);
+    }
+
+    @Test
+    public void testSeekWithInterval() throws Exception
+    {
+        final byte[] bytes = records(IonBinaryWriterBuilder.standard());
+        final _Private_IonBinaryIndex index = _Private_IonBinaryIndex.build(new ByteArrayInputStream(bytes), 7);
+        assertEquals(7, index.getInterval());
+        assertEquals(VALUE_COUNT, index.getValueCount());
+        assertSeeks(index, bytes);
+    }
+
+    @Test
+    public void testSeekAppendedSymbolTables() throws Exception
+    {
+        final byte[] bytes = records(IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled());
+        final _Private_IonBinaryIndex index = _Private_IonBinaryIndex.build(new ByteArrayInputStream(bytes), 3);
+        assertSeeks(index, bytes);
+    }
+
+    @Test
+    public void testVersionMarkerSymbolResetsContext() throws Exception
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = IonBinaryWriterBuilder.standard().build(out);
+        writer.writeSymbol("a");
+        writer.close();
+        // $ion_1_0, then $ion_symbol_table::{imports:$ion_symbol_table, symbols:["x"]}, then $10
+        out.write(new byte[] {
+            (byte) 0x71, (byte) 0x02,
+            (byte) 0xEA, (byte) 0x81, (byte) 0x83, (byte) 0xD7, (byte) 0x86, (byte) 0x71, (byte) 0x03,
+            (byte) 0x87, (byte) 0xB2, (byte) 0x81, (byte) 0x78,
+            (byte) 0x71, (byte) 0x0A
+        });
+        final byte[] bytes = out.toByteArray();
+
+        final IonReader expected = READER_BUILDER.build(bytes);
+        assertEquals(IonType.SYMBOL, expected.next());
+        assertEquals("a", expected.stringValue());
+        assertEquals(IonType.SYMBOL, expected.next());
+        assertEquals("x", expected.stringValue());
+        expected.close();
+
+        final _Private_IonBinaryIndex index = _Private_IonBinaryIndex.build(new ByteArrayInputStream(bytes), 1);
+        assertEquals(2, index.getValueCount());
+        final IonReader reader = index.seek(READER_BUILDER, bytes, 1);
+        assertEquals(IonType.SYMBOL, reader.next());
+        assertEquals("x", reader.stringValue());
+        assertNull(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void testSeekFile() throws Exception
+    {
+        final byte[] bytes = records(IonBinaryWriterBuilder.standard());
+        final File file = File.createTempFile("IonBinaryIndexTest", ".10n");
+        try
+        {
+            final FileOutputStream out = new FileOutputStream(file);
+            try
+            {
+                out.write(bytes);
+            }
+            finally
+            {
+                out.close();
+            }
+            final _Private_IonBinaryIndex index = _Private_IonBinaryIndex.build(new ByteArrayInputStream(bytes), 5);
+            for (int i = 0; i < VALUE_COUNT; i += 41)
+            {
+                final IonReader reader = index.seek(READER_BUILDER, file, i);
+                assertRecord(reader, i);
+                reader.close();
+            }
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception
+    {
+        final byte[] bytes = records(IonBinaryWriterBuilder.standard());
+        final _Private_IonBinaryIndex index = _Private_IonBinaryIndex.build(new ByteArrayInputStream(bytes), 4);
+
+        final StringBuilder text = new StringBuilder();
+        final IonWriter writer = IonTextWriterBuilder.standard().build(text);
+        index.writeTo(writer);
+        writer.close();
+
+        final _Private_IonBinaryIndex read = _Private_IonBinaryIndex.read(READER_BUILDER.build(text.toString()));
+        assertEquals(4, read.getInterval());
+        assertEquals(VALUE_COUNT, read.getValueCount());
+        assertSeeks(read, bytes);
+    }
+
+    @Test
+    public void testRoundTripAppendedSymbolTables() throws Exception
+    {
+        final byte[] bytes = records(IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled());
+        final _Private_IonBinaryIndex index = _Private_IonBinaryIndex.build(new ByteArrayInputStream(bytes), 2);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = IonBinaryWriterBuilder.standard().build(out);
+        index.writeTo(writer);
+        writer.close();
+
+        assertSeeks(_Private_IonBinaryIndex.read(READER_BUILDER.build(out.toByteArray())), bytes);
+    }
+
+    @Test
+    public void testEmptyStream() throws Exception
+    {
+        final _Private_IonBinaryIndex index = _Private_IonBinaryIndex.build(new ByteArrayInputStream(new byte[0]), 1);
+        assertEquals(0, index.getValueCount());
+    }
+
+    @Test(expected = IonException.class)
+    public void testTextInput() throws Exception
+    {
+        _Private_IonBinaryIndex.build(new ByteArrayInputStream("{a:1}".getBytes("UTF-8")), 1);
+    }
+
+    @Test(expected = IonException.class)
+    public void testTruncatedInput() throws Exception
+    {
+        final byte[] bytes = records(IonBinaryWriterBuilder.standard());
+        _Private_IonBinaryIndex.build(new ByteArrayInputStream(bytes, 0, bytes.length - 2), 1);
+    }
+
+    @Test(expected = IonException.class)
+    public void testNotAnIndex()
+    {
+        _Private_IonBinaryIndex.read(READER_BUILDER.build("{interval:1}"));
+    }
+
+    @Test(expected = IonException.class)
+    public void testMissingContextParents() throws Exception
+    {
+        final byte[] bytes = records(IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled());
+        final StringBuilder text = new StringBuilder();
+        final IonWriter writer = IonTextWriterBuilder.standard().build(text);
+        _Private_IonBinaryIndex.build(new ByteArrayInputStream(bytes), 2).writeTo(writer);
+        writer.close();
+
+        final IonSystem system = IonSystemBuilder.standard().build();
+        final IonStruct index = (IonStruct) system.singleValue(text.toString());
+        index.remove("context_parents");
+        _Private_IonBinaryIndex.read(READER_BUILDER.build(index.toString()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOrdinalOutOfRange() throws Exception
+    {
+        final byte[] bytes = records(IonBinaryWriterBuilder.standard());
+        _Private_IonBinaryIndex.build(new ByteArrayInputStream(bytes), 1).seek(READER_BUILDER, bytes, VALUE_COUNT);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl;
+
+import static com.amazon.ion.junit.IonAssert.assertIonEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.SpanProvider;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.SystemSymbols;
+import com.amazon.ion.system.IonBinaryWriterBuilder;
+import com.amazon.ion.system.IonSystemBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class IonBinaryPushReaderTest
+{
+    private static final String DATA =
+        "1 two \"three\" [4, 5.0, 6e0] {seven: 7, eight: (eight 8)} null.int null nine::{a: b, c: [d, {e: f}]}"
+      + " 2019-03-04T05:06:07Z {{aGVsbG8=}} {{\"clob\"}}";
+
+    private final IonSystem system = IonSystemBuilder.standard().build();
+
+    /** Writes the data twice, flushing in between so that the second half has its own symbol table. */
+    private byte[] encode() throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = IonBinaryWriterBuilder.standard().build(out);
+        system.getLoader().load(DATA).writeTo(writer);
+        writer.finish();
+        system.getLoader().load(DATA + " longer_symbol_for_the_second_table").writeTo(writer);
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private List<IonValue> readInChunks(final byte[] bytes, final int chunkSize) throws IOException
+    {
+        final _Private_IonBinaryPushReader reader = new _Private_IonBinaryPushReader(system.getCatalog());
+        final List<IonValue> values = new ArrayList<IonValue>();
+        for (int offset = 0; offset < bytes.length; offset += chunkSize)
+        {
+            reader.feed(ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset)));
+            while (reader.next() != null)
+            {
+                values.add(system.newValue(reader));
+            }
+            assertTrue(reader.needsMoreData());
+        }
+        reader.endOfInput();
+        assertFalse(reader.needsMoreData());
+        assertEquals(null, reader.next());
+        reader.close();
+        return values;
+    }
+
+    private void assertChunked(final int chunkSize) throws IOException
+    {
+        final byte[] bytes = encode();
+        final IonDatagram expected = system.getLoader().load(bytes);
+        final List<IonValue> actual = readInChunks(bytes, chunkSize);
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < actual.size(); i++)
+        {
+            assertIonEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    public void testSingleByteChunks() throws IOException
+    {
+        assertChunked(1);
+    }
+
+    @Test
+    public void testSmallChunks() throws IOException
+    {
+        assertChunked(3);
+        assertChunked(7);
+    }
+
+    @Test
+    public void testWholeStream() throws IOException
+    {
+        assertChunked(Integer.MAX_VALUE / 2);
+    }
+
+    @Test
+    public void testLargeValueAcrossChunks() throws IOException
+    {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100000; i++)
+        {
+            text.append((char) ('a' + i % 26));
+        }
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = IonBinaryWriterBuilder.standard().build(out);
+        writer.writeString(text.toString());
+        writer.writeInt(42);
+        writer.close();
+        final byte[] bytes = out.toByteArray();
+
+        final _Private_IonBinaryPushReader reader = new _Private_IonBinaryPushReader(system.getCatalog());
+        reader.feed(bytes, 0, bytes.length - 2);
+        assertEquals(IonType.STRING, reader.next());
+        assertEquals(text.toString(), reader.stringValue());
+        assertEquals(null, reader.next());
+        assertTrue(reader.needsMoreData());
+        reader.feed(bytes, bytes.length - 2, 2);
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(42, reader.intValue());
+        reader.endOfInput();
+        assertEquals(null, reader.next());
+    }
+
+    @Test
+    public void testStepIntoFramedValue() throws IOException
+    {
+        final byte[] bytes = encode();
+        final _Private_IonBinaryPushReader reader = new _Private_IonBinaryPushReader(system.getCatalog());
+        reader.feed(bytes, 0, bytes.length);
+        reader.next();
+        reader.next();
+        reader.next();
+        assertEquals(IonType.LIST, reader.next());
+        reader.stepIn();
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(4, reader.intValue());
+        assertFalse(reader.needsMoreData());
+        reader.stepOut();
+        assertEquals(IonType.STRUCT, reader.next());
+    }
+
+    @Test
+    public void testTruncatedInput() throws IOException
+    {
+        final byte[] bytes = encode();
+        final _Private_IonBinaryPushReader reader = new _Private_IonBinaryPushReader(system.getCatalog());
+        reader.feed(bytes, 0, bytes.length - 1);
+        while (reader.next() != null)
+        {
+            // skip the complete values
+        }
+        reader.endOfInput();
+        try
+        {
+            reader.next();
+            fail("Expected IonException");
+        }
+        catch (final IonException e)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAccessorsBeforeInput() throws IOException
+    {
+        final byte[] bytes = encode();
+        final _Private_IonBinaryPushReader reader = new _Private_IonBinaryPushReader(system.getCatalog());
+        final SymbolTable symbols = reader.getSymbolTable();
+        assertTrue(symbols.isSystemTable());
+        assertEquals(SystemSymbols.ION_1_0, symbols.getIonVersionId());
+        assertNull(reader.asFacet(SpanProvider.class));
+
+        // a partial value is not framed yet either
+        reader.feed(bytes, 0, 6);
+        assertTrue(reader.getSymbolTable().isSystemTable());
+        assertNull(reader.asFacet(SpanProvider.class));
+
+        reader.feed(bytes, 6, bytes.length - 6);
+        assertEquals(IonType.INT, reader.next());
+        assertEquals(1, reader.intValue());
+        assertFalse(reader.getSymbolTable().isSystemTable());
+        reader.close();
+    }
+
+    @Test(expected = IonException.class)
+    public void testNotBinary() throws IOException
+    {
+        final byte[] bytes = "1 2 3".getBytes("UTF-8");
+        new _Private_IonBinaryPushReader(system.getCatalog()).feed(bytes, 0, bytes.length);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFeedAfterEnd() throws IOException
+    {
+        final _Private_IonBinaryPushReader reader = new _Private_IonBinaryPushReader(system.getCatalog());
+        reader.endOfInput();
+        reader.feed(new byte[1], 0, 1);
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.amazon.ion.Decimal;
+import com.amazon.ion.IntegerSize;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.Timestamp;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.math.BigInteger;
+import org.junit.Test;
+
+/**
+ * Checks the numbers and timestamps that the text reader builds from what it accumulates while scanning them
+ * against the values parsed from their text.
+ */
+public class IonReaderTextNumberTest
+{
+    private static IonReader reader(final String text)
+    {
+        final IonReader reader = IonReaderBuilder.standard().build(text);
+        reader.next();
+        return reader;
+    }
+
+    private static void assertInt(final String text, final IntegerSize size)
+    {
+        final IonReader reader = reader(text);
+        assertEquals(IonType.INT, reader.getType());
+        assertEquals(size, reader.getIntegerSize());
+        assertEquals(new BigInteger(text.replace("_", "")), reader.bigIntegerValue());
+    }
+
+    private static void assertDecimal(final String text, final String expected)
+    {
+        final IonReader reader = reader(text);
+        assertEquals(IonType.DECIMAL, reader.getType());
+        final Decimal actual = reader.decimalValue();
+        final Decimal decimal = Decimal.valueOf(expected);
+        assertEquals(decimal, actual);
+        assertEquals(decimal.scale(), actual.scale());
+        assertEquals(Decimal.isNegativeZero(decimal), Decimal.isNegativeZero(actual));
+    }
+
+    @Test
+    public void testInts()
+    {
+        assertInt("0", IntegerSize.INT);
+        assertInt("-0", IntegerSize.INT);
+        assertInt("1_000_000", IntegerSize.INT);
+        assertInt("2147483647", IntegerSize.INT);
+        assertInt("-2147483648", IntegerSize.INT);
+        assertInt("2147483648", IntegerSize.LONG);
+        assertInt("-2147483649", IntegerSize.LONG);
+        assertInt("9223372036854775807", IntegerSize.LONG);
+        assertInt("-9223372036854775807", IntegerSize.LONG);
+        assertInt("-9223372036854775808", IntegerSize.LONG);
+        assertInt("9223372036854775808", IntegerSize.BIG_INTEGER);
+        assertInt("123456789012345678901234567890", IntegerSize.BIG_INTEGER);
+    }
+
+    @Test
+    public void testIntsInContainers()
+    {
+        final IonReader reader = IonReaderBuilder.standard().build("{a:1, b:[-2, 3], c:ann::4} 5");
+        reader.next();
+        reader.stepIn();
+        reader.next();
+        assertEquals(1, reader.intValue());
+        reader.next();
+        reader.stepIn();
+        reader.next();
+        reader.next();
+        assertEquals(3, reader.intValue());
+        reader.stepOut();
+        reader.next();
+        assertEquals(4, reader.intValue());
+        reader.stepOut();
+        reader.next();
+        assertEquals(5L, reader.longValue());
+    }
+
+    @Test
+    public void testDecimals()
+    {
+        assertDecimal("0.", "0");
+        assertDecimal("1.50", "1.50");
+        assertDecimal("-1.50", "-1.50");
+        assertDecimal("-0.0", "-0.0");
+        assertDecimal("-0d3", "-0e3");
+        assertDecimal("0.000001", "0.000001");
+        assertDecimal("1_234.5_6", "1234.56");
+        assertDecimal("12d-2", "12e-2");
+        assertDecimal("12D+2", "12e2");
+        assertDecimal("1.5d-7", "1.5e-7");
+        assertDecimal("9223372036854775807.5", "9223372036854775807.5");
+        assertDecimal("-92233720368547758075.0", "-92233720368547758075.0");
+        assertDecimal("1d2147483647", "1e2147483647");
+        assertDecimal("1.0d-2147483646", "1.0e-2147483646");
+        assertDecimal("0.00000000000000000000000000000123", "0.00000000000000000000000000000123");
+        assertDecimal("123456789.12345678901234_5", "123456789.123456789012345");
+        assertDecimal("-1.0000000000000000000000000001d2", "-1.0000000000000000000000000001e2");
+    }
+
+    @Test
+    public void testFloats()
+    {
+        final String[] texts = {
+            "0e0", "-0e0", "1e0", "1.5e3", "-2.25E-2", "1_000.5e1", "0.1e0", "123456789012345678e-5",
+            "9007199254740993e0", "1.7976931348623157e308", "1e309", "4.9e-324", "1e-400", "2.2250738585072011e-308",
+            "12345678901234567890123e-10", "1.000000000000000000000000001e-3", "1e2147483648", "-1e-2147483649",
+        };
+        for (final String text : texts)
+        {
+            final IonReader reader = reader(text);
+            assertEquals(text, IonType.FLOAT, reader.getType());
+            final double expected = Double.parseDouble(text.replace("_", ""));
+            assertEquals(text, Double.doubleToLongBits(expected), Double.doubleToLongBits(reader.doubleValue()));
+        }
+    }
+
+    @Test
+    public void testTimestamps()
+    {
+        final String[] texts = {
+            "2001T", "2001-02T", "2001-02-03", "2001-02-03T", "2001-02-03T04:05Z", "2001-02-03T04:05-00:00",
+            "2001-02-03T04:05:06+01:30", "2001-02-03T04:05:06.0Z", "2001-02-03T04:05:06.000-08:00",
+            "2001-02-03T04:05:06.12345678901234567-23:59", "2001-02-03T04:05:06.123456789012345678901234Z",
+            "2000-02-29T23:59:59.999-00:01", "0001-01-01T00:00+00:00",
+        };
+        for (final String text : texts)
+        {
+            final IonReader reader = reader(text);
+            assertEquals(text, IonType.TIMESTAMP, reader.getType());
+            final Timestamp expected = Timestamp.valueOf(text);
+            final Timestamp actual = reader.timestampValue();
+            assertEquals(text, expected, actual);
+            assertEquals(text, expected.toString(), actual.toString());
+        }
+    }
+
+    @Test
+    public void testInvalidTimestamps()
+    {
+        final String[] texts = {
+            "2001-13T", "2001-02-30", "2001-02-03T24:00Z", "2001-02-03T04:60Z", "2001-02-03T04:05:60Z",
+            "2001-02-03T04:05z", "2001-02-03T04:05+24:00", "2001-02-03T04:05+01:60", "0000T",
+        };
+        for (final String text : texts)
+        {
+            try
+            {
+                reader(text).timestampValue();
+                fail("expected an IonException for " + text);
+            }
+            catch (IonReaderTextRawX.IonReaderTextParsingException e)
+            {
+                // reported as Timestamp.valueOf() reports it
+                assertTrue(text, e.getCause() instanceof IllegalArgumentException);
+                try
+                {
+                    Timestamp.valueOf(text);
+                    fail("expected an IllegalArgumentException for " + text);
+                }
+                catch (IllegalArgumentException expected)
+                {
+                    assertEquals(text, expected.getMessage(), e.getCause().getMessage());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNumbersNextToTimestamps()
+    {
+        final IonReader reader = IonReaderBuilder.standard().build("2001 2001-01-01T 2001.5 0x7f");
+        reader.next();
+        assertEquals(2001, reader.intValue());
+        assertEquals(IonType.TIMESTAMP, reader.next());
+        assertEquals(2001, reader.timestampValue().getYear());
+        reader.next();
+        assertEquals(Decimal.valueOf("2001.5"), reader.decimalValue());
+        reader.next();
+        assertEquals(127, reader.intValue());
+    }
+
+    @Test
+    public void testMalformedExponent()
+    {
+        try
+        {
+            reader("1d").decimalValue();
+        }
+        catch (IonException e)
+        {
+            return;
+        }
+        assertTrue("expected an IonException", false);
+    }
+
+    @Test
+    public void testExponentOverflow()
+    {
+        final String[] texts = {
+            "12.5d4294967296", "1d5368709119", "1.0d2147483648", "1d-2147483648", "1.5d-2147483647",
+        };
+        for (final String text : texts)
+        {
+            try
+            {
+                reader(text).decimalValue();
+                fail("expected an IonException for " + text);
+            }
+            catch (IonException e)
+            {
+                // reported by the parser of the text
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidNumbersReportTheirText()
+    {
+        final String[][] cases = {
+            {"-007.5", "-007"},
+            {"1.25x", "1.25x"},
+            {"0.00012e3x", "0.00012e3x"},
+            {"123456789012345678901.5y", "123456789012345678901.5y"},
+        };
+        for (final String[] c : cases)
+        {
+            try
+            {
+                reader(c[0]);
+                fail("expected an IonException for " + c[0]);
+            }
+            catch (IonException e)
+            {
+                assertTrue(e.getMessage(), e.getMessage().contains(c[1]));
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonReader;
+import com.amazon.ion.IonType;
+import com.amazon.ion.system.IonReaderBuilder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.Arrays;
+import org.junit.Test;
+
+/**
+ * Reads the same text through char, byte array and stream sources, including one that hands the reader a single
+ * byte at a time, so that the bulk scans over the current page are exercised at every possible page boundary.
+ */
+public class IonReaderTextSpanTest
+{
+    private static final String LONG_RUN;
+    static
+    {
+        final char[] chars = new char[40000];
+        Arrays.fill(chars, 'x');
+        LONG_RUN = new String(chars);
+    }
+
+    private static final String TEXT =
+        "  \t \"plain ascii\"\n"
+        + "\"tab\there\" \"esc\\\"aped\\n\" \"caf\u00e9 \ud83d\ude00 done\"\r\n"
+        + "\"" + LONG_RUN + "\u00e9\" \"a\" \"b\" \"a\\\n"
+        + "b\"\n"
+        + "abc_$123 'quoted sym' ann::value_1\t{ field_name: \"v\", f2: sym }\n"
+        + "123_456 12345678901234567890 -42 123.456d-2 1.5e3 0x1F\n"
+        + "[" + LONG_RUN + ", " + LONG_RUN.replace('x', '7') + "]";
+
+    /** Hands out at most one byte per read. */
+    private static class TricklingInputStream extends InputStream
+    {
+        private final InputStream in;
+
+        TricklingInputStream(final byte[] bytes)
+        {
+            in = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() throws IOException
+        {
+            return in.read();
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException
+        {
+            return in.read(b, off, Math.min(len, 1));
+        }
+    }
+
+    private static byte[] utf8(final String text)
+    {
+        return text.getBytes(_Private_Utils.UTF8_CHARSET);
+    }
+
+    private static void next(final IonReader reader, final IonType type)
+    {
+        assertEquals(type, reader.next());
+    }
+
+    private static void assertString(final IonReader reader, final String expected)
+    {
+        next(reader, IonType.STRING);
+        assertEquals(expected, reader.stringValue());
+    }
+
+    private static void assertSymbol(final IonReader reader, final String expected)
+    {
+        next(reader, IonType.SYMBOL);
+        assertEquals(expected, reader.stringValue());
+    }
+
+    private static void assertContents(final IonReader reader)
+    {
+        assertString(reader, "plain ascii");
+        assertString(reader, "tab\there");
+        assertString(reader, "esc\"aped\n");
+        assertString(reader, "caf\u00e9 \ud83d\ude00 done");
+        assertString(reader, LONG_RUN + "\u00e9");
+        // skipped without being materialized
+        next(reader, IonType.STRING);
+        next(reader, IonType.STRING);
+        assertString(reader, "ab");
+        assertSymbol(reader, "abc_$123");
+        assertSymbol(reader, "quoted sym");
+        assertSymbol(reader, "value_1");
+        assertEquals("ann", reader.getTypeAnnotations()[0]);
+        next(reader, IonType.STRUCT);
+        reader.stepIn();
+        assertString(reader, "v");
+        assertEquals("field_name", reader.getFieldName());
+        assertSymbol(reader, "sym");
+        assertEquals("f2", reader.getFieldName());
+        assertNull(reader.next());
+        reader.stepOut();
+        next(reader, IonType.INT);
+        assertEquals(123456, reader.intValue());
+        next(reader, IonType.INT);
+        assertEquals(new BigInteger("12345678901234567890"), reader.bigIntegerValue());
+        next(reader, IonType.INT);
+        assertEquals(-42, reader.intValue());
+        next(reader, IonType.DECIMAL);
+        assertEquals(new java.math.BigDecimal("1.23456"), reader.bigDecimalValue());
+        next(reader, IonType.FLOAT);
+        assertEquals(1500.0, reader.doubleValue(), 0.0);
+        next(reader, IonType.INT);
+        assertEquals(31, reader.intValue());
+        next(reader, IonType.LIST);
+        reader.stepIn();
+        assertSymbol(reader, LONG_RUN);
+        next(reader, IonType.INT);
+        assertEquals(new BigInteger(LONG_RUN.replace('x', '7')), reader.bigIntegerValue());
+        reader.stepOut();
+        assertNull(reader.next());
+    }
+
+    @Test
+    public void testCharSource()
+    {
+        assertContents(IonReaderBuilder.standard().build(TEXT));
+    }
+
+    @Test
+    public void testByteArraySource()
+    {
+        assertContents(IonReaderBuilder.standard().build(utf8(TEXT)));
+    }
+
+    @Test
+    public void testStreamSource()
+    {
+        assertContents(IonReaderBuilder.standard().build(new ByteArrayInputStream(utf8(TEXT))));
+    }
+
+    @Test
+    public void testTricklingStreamSource()
+    {
+        assertContents(IonReaderBuilder.standard().build(new TricklingInputStream(utf8(TEXT))));
+    }
+
+    private static void assertInvalid(final String text)
+    {
+        try
+        {
+            final IonReader reader = IonReaderBuilder.standard().build(utf8(text));
+            reader.next();
+            reader.stringValue();
+            fail("expected an error reading " + text);
+        }
+        catch (final IonException e)
+        {
+            // expected
+        }
+    }
+
+    @Test
+    public void testInvalidStrings()
+    {
+        assertInvalid("\"control\u0001char\"");
+        assertInvalid("\"new\nline\"");
+        assertInvalid("\"unterminated");
+        assertInvalid("\"lone \\udc00 low surrogate\"");
+        assertInvalid("\"high \\ud800x then ascii\"");
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonValue;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.junit.IonAssert;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.SimpleCatalog;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelTextDecoderTest
+{
+    private static final int[] BYTES_PER_TASK = {1, 2, 3, 7, 16, 64, 1024, 1024 * 1024};
+
+    private IonSystem system;
+    private ExecutorService executor;
+
+    @Before
+    public void setup()
+    {
+        system = IonSystemBuilder.standard().withCatalog(new SimpleCatalog()).build();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void teardown()
+    {
+        executor.shutdown();
+    }
+
+    private static byte[] utf8(final String text)
+    {
+        return text.getBytes(_Private_Utils.UTF8_CHARSET);
+    }
+
+    private void assertDecodes(final String text) throws IOException
+    {
+        final IonDatagram expected = system.getLoader().load(text);
+        for (final int bytesPerTask : BYTES_PER_TASK)
+        {
+            final List<IonValue> actual =
+                new _Private_ParallelTextDecoder(system, executor, bytesPerTask).decode(utf8(text));
+            assertEquals("bytes per task " + bytesPerTask, expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++)
+            {
+                IonAssert.assertIonEquals(expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testLines() throws IOException
+    {
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++)
+        {
+            text.append("record::{id:").append(i).append(",name:\"value ").append(i).append("\",tags:[a,b]}\n");
+            text.append(i).append(".5e0 sym").append(i % 7).append('\n');
+        }
+        assertDecodes(text.toString());
+    }
+
+    @Test
+    public void testValuesSpanningLines() throws IOException
+    {
+        assertDecodes(
+            "{\n"
+            + "a: 1,\n"
+            + "b: [\n"
+            + "c,\n"
+            + "d\n"
+            + "]\n"
+            + "}\n"
+            + "'''long\n"
+            + "string'''\n"
+            + "'''continued on the next line'''\n"
+            + "'quoted'\n"
+            + "/* a block comment\n"
+            + "123 that looks like values\n"
+            + "\"inside\" */\n"
+            + "ann::\n"
+            + "value\n"
+            + "{{\n"
+            + "aGVsbG8=\n"
+            + "}}\n"
+            + "(sexp\n"
+            + "+ -1)\n"
+            + "last // comment\n"
+        );
+    }
+
+    @Test
+    public void testValueSpanningManyChunks() throws IOException
+    {
+        final StringBuilder text = new StringBuilder("before\n[\n");
+        for (int i = 0; i < 500; i++)
+        {
+            text.append(i).append(",\n");
+        }
+        text.append("]\nafter\n");
+        assertDecodes(text.toString());
+    }
+
+    @Test
+    public void testLocalSymbolTables() throws IOException
+    {
+        final StringBuilder text = new StringBuilder();
+        text.append("$ion_symbol_table::{symbols:[\"first\",\"second\"]}\n");
+        for (int i = 0; i < 50; i++)
+        {
+            text.append("$10 {$11:").append(i).append("}\n");
+        }
+        text.append("$ion_symbol_table::{imports:$ion_symbol_table,symbols:[\"third\"]}\n");
+        for (int i = 0; i < 50; i++)
+        {
+            text.append("[$10, $12]\n");
+        }
+        text.append("$ion_1_0\n");
+        for (int i = 0; i < 50; i++)
+        {
+            text.append("$ion_symbol_table::{symbols:[\"again").append(i).append("\"]} $10\n");
+        }
+        assertDecodes(text.toString());
+    }
+
+    @Test
+    public void testImports() throws IOException
+    {
+        final SymbolTable shared = system.newSharedSymbolTable(
+            "shared", 1, Arrays.asList("one", "two").iterator()
+        );
+        ((SimpleCatalog) system.getCatalog()).putTable(shared);
+        final StringBuilder text = new StringBuilder();
+        text.append("$ion_symbol_table::{imports:[{name:\"shared\",version:1,max_id:2}],symbols:[\"three\"]}\n");
+        for (int i = 0; i < 50; i++)
+        {
+            text.append("($10 $11 $12)\n");
+        }
+        assertDecodes(text.toString());
+    }
+
+    @Test
+    public void testSplit()
+    {
+        final byte[] text = utf8("a\n'''b'''\n'''c'''\n d\n/**/\n}\n'e'\n");
+        assertEquals(Arrays.asList(0, 28, text.length), _Private_ParallelTextDecoder.split(text, 1));
+        assertEquals(Arrays.asList(0, text.length), _Private_ParallelTextDecoder.split(text, text.length));
+    }
+
+    @Test
+    public void testEmpty() throws IOException
+    {
+        assertTrue(new _Private_ParallelTextDecoder(system, executor, 1).decode(new byte[0]).isEmpty());
+    }
+
+    @Test
+    public void testInvalid() throws IOException
+    {
+        for (final int bytesPerTask : BYTES_PER_TASK)
+        {
+            try
+            {
+                new _Private_ParallelTextDecoder(system, executor, bytesPerTask).decode(utf8("1\n2\n[3,\n4\n"));
+                fail("expected an error");
+            }
+            catch (final IonException e)
+            {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testInvalidBeforeChunkEnd() throws IOException
+    {
+        for (final int bytesPerTask : BYTES_PER_TASK)
+        {
+            try
+            {
+                new _Private_ParallelTextDecoder(system, executor, bytesPerTask).decode(utf8("1\n2 ]\n[3,\n4]\n"));
+                fail("expected an error");
+            }
+            catch (final IonException e)
+            {
+                // expected
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBytesPerTaskNotPositive()
+    {
+        new _Private_ParallelTextDecoder(system, executor, 0);
+    }
+}
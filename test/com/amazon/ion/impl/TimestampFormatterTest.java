@@ -0,0 +1,146 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.Timestamp;
+import com.amazon.ion.system.IonTextWriterBuilder;
+import java.math.BigDecimal;
+import java.util.Random;
+import org.junit.Test;
+
+public class TimestampFormatterTest
+{
+    private final _Private_TimestampFormatter formatter = new _Private_TimestampFormatter();
+    private final Random random = new Random(7);
+
+    private void assertFormat(final Timestamp value)
+    {
+        assertEquals(value.toString(), formatter.format(value).toString());
+    }
+
+    private Integer randomOffset()
+    {
+        switch (random.nextInt(4))
+        {
+            case 0:
+                return null;
+            case 1:
+                return 0;
+            default:
+                return random.nextInt(2 * 24 * 60 - 1) - (24 * 60 - 1);
+        }
+    }
+
+    private BigDecimal randomFraction()
+    {
+        final int digits = 1 + random.nextInt(20);
+        return new BigDecimal(random.nextDouble()).setScale(digits, BigDecimal.ROUND_DOWN);
+    }
+
+    @Test
+    public void testPrecisions()
+    {
+        assertFormat(Timestamp.valueOf("2001T"));
+        assertFormat(Timestamp.valueOf("2001-02T"));
+        assertFormat(Timestamp.valueOf("2001-02-03"));
+        assertFormat(Timestamp.valueOf("2001-02-03T04:05Z"));
+        assertFormat(Timestamp.valueOf("2001-02-03T04:05-00:00"));
+        assertFormat(Timestamp.valueOf("2001-02-03T04:05:06+01:30"));
+        assertFormat(Timestamp.valueOf("2001-02-03T04:05:06.000-08:00"));
+        assertFormat(Timestamp.valueOf("2001-02-03T04:05:06.007890-23:59"));
+        assertFormat(Timestamp.valueOf("2001-02-03T04:05:06.12345678901234567890123Z"));
+        // the date is reused only when it matches
+        assertFormat(Timestamp.valueOf("2001-02-03T23:59:59Z"));
+        assertFormat(Timestamp.valueOf("2001-02-04"));
+        assertFormat(Timestamp.valueOf("2001T"));
+        assertFormat(Timestamp.valueOf("2001-02-04T00:00Z"));
+    }
+
+    @Test
+    public void testOffsetsAcrossDates()
+    {
+        assertFormat(Timestamp.valueOf("2000-03-01T00:30+01:00"));
+        assertFormat(Timestamp.valueOf("2000-02-29T23:30-01:00"));
+        assertFormat(Timestamp.valueOf("2001-01-01T00:00+23:59"));
+        assertFormat(Timestamp.valueOf("2000-12-31T23:59-23:59"));
+        assertFormat(Timestamp.valueOf("0001-01-01T00:00:00-00:01"));
+        assertFormat(Timestamp.valueOf("9999-12-31T23:59:59+00:01"));
+    }
+
+    @Test
+    public void testRandom()
+    {
+        for (int i = 0; i < 20000; i++)
+        {
+            final int precision = random.nextInt(5);
+            final int year = 1 + random.nextInt(9999);
+            final int month = 1 + random.nextInt(12);
+            final int day = 1 + random.nextInt(28);
+            final Timestamp value;
+            switch (precision)
+            {
+                case 0:
+                    value = Timestamp.forYear(year);
+                    break;
+                case 1:
+                    value = Timestamp.forMonth(year, month);
+                    break;
+                case 2:
+                    value = Timestamp.forDay(year, month, day);
+                    break;
+                case 3:
+                    value = Timestamp.forMinute(year, month, day, random.nextInt(24), random.nextInt(60),
+                                                randomOffset());
+                    break;
+                default:
+                    value = random.nextBoolean()
+                        ? Timestamp.forSecond(year, month, day, random.nextInt(24), random.nextInt(60),
+                                              random.nextInt(60), randomOffset())
+                        : Timestamp.forSecond(year, month, day, random.nextInt(24), random.nextInt(60),
+                                              randomFraction().add(BigDecimal.valueOf(random.nextInt(60))),
+                                              randomOffset());
+                    break;
+            }
+            assertFormat(value);
+        }
+    }
+
+    @Test
+    public void testSortedRun()
+    {
+        long millis = 1500000000000L;
+        for (int i = 0; i < 5000; i++)
+        {
+            millis += random.nextInt(60 * 60 * 1000);
+            assertFormat(Timestamp.forMillis(millis, i % 3 == 0 ? null : -300));
+        }
+    }
+
+    @Test
+    public void testTextWriter() throws Exception
+    {
+        final StringBuilder out = new StringBuilder();
+        final IonWriter writer = IonTextWriterBuilder.standard().build(out);
+        writer.writeTimestamp(Timestamp.valueOf("2001-02-03T04:05:06.789+01:00"));
+        writer.writeTimestamp(Timestamp.valueOf("2001-02-03T10:00Z"));
+        writer.writeTimestamp(Timestamp.valueOf("2001-02-03"));
+        writer.close();
+        assertEquals("2001-02-03T04:05:06.789+01:00 2001-02-03T10:00Z 2001-02-03", out.toString());
+    }
+}
@@ -18,8 +18,11 @@ package com.amazon.ion.impl;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 public class UnifiedInputStreamXTest extends Assert {
@@ -61,4 +64,79 @@ public class UnifiedInputStreamXTest extends Assert {
 
         assertArrayEquals(expected, actual);
     }
+
+    @Test
+    public void testReadDirectBufferInPlace() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(20);
+        for (int i = 0; i < 20; i++) {
+            buffer.put((byte) (i + 0x80));
+        }
+        buffer.position(5);
+        buffer.limit(15);
+        UnifiedInputStreamX uix = UnifiedInputStreamX.makeStream(buffer);
+        assertNull(uix.getByteArray());
+
+        // the stream reads the buffer itself, not a copy of it
+        buffer.put(6, (byte) 0x01);
+
+        assertEquals(0x85, uix.read());
+        assertEquals(0x01, uix.read());
+        uix.unread(0x01);
+        assertEquals(6, uix.getPosition());
+        assertEquals(0x01, uix.read());
+
+        byte[] actual = new byte[4];
+        assertEquals(4, uix.read(actual, 0, actual.length));
+        assertArrayEquals(new byte[] { (byte) 0x87, (byte) 0x88, (byte) 0x89, (byte) 0x8A }, actual);
+        uix.skip(3);
+        assertEquals(0x8E, uix.read());
+        assertEquals(UnifiedInputStreamX.EOF, uix.read());
+        assertEquals(5, buffer.position());
+    }
+
+    @Test
+    public void testReadMappedFileInPlace() throws Exception {
+        byte[] data = new byte[100];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        File file = File.createTempFile("UnifiedInputStreamXTest", ".bin");
+        try {
+            FileOutputStream out = new FileOutputStream(file);
+            try {
+                out.write(data);
+            }
+            finally {
+                out.close();
+            }
+
+            UnifiedInputStreamX uix = UnifiedInputStreamX.makeMappedStream(_Private_ByteBufferInputStream.forFile(file, 16));
+            assertNull(uix.getByteArray());
+            for (int i = 0; i < 20; i++) {
+                assertEquals(i, uix.read());
+            }
+            // across the window boundary and back
+            uix.unread(19);
+            uix.unread(18);
+            uix.unread(17);
+            uix.unread(16);
+            uix.unread(15);
+            assertEquals(15, uix.getPosition());
+            assertEquals(15, uix.read());
+
+            byte[] actual = new byte[40];
+            assertEquals(40, uix.read(actual, 0, actual.length));
+            assertArrayEquals(Arrays.copyOfRange(data, 16, 56), actual);
+            uix.skip(30);
+            assertEquals(86, uix.getPosition());
+            for (int i = 86; i < 100; i++) {
+                assertEquals(i, uix.read());
+            }
+            assertEquals(UnifiedInputStreamX.EOF, uix.read());
+            uix.close();
+        }
+        finally {
+            file.delete();
+        }
+    }
 }
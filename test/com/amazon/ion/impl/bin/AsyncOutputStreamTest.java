@@ -0,0 +1,247 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AsyncOutputStreamTest
+{
+    /** Records what is written to it once it is let go. */
+    private static class GatedOutputStream extends OutputStream
+    {
+        final ByteArrayOutputStream data = new ByteArrayOutputStream();
+        final CountDownLatch gate = new CountDownLatch(1);
+        volatile Thread writer;
+        volatile int flushes;
+        volatile boolean closed;
+        volatile IOException failure;
+
+        private void pass() throws IOException
+        {
+            writer = Thread.currentThread();
+            try
+            {
+                gate.await();
+            }
+            catch (final InterruptedException e)
+            {
+                throw new IllegalStateException(e);
+            }
+            if (failure != null)
+            {
+                throw failure;
+            }
+        }
+
+        @Override
+        public void write(final int b) throws IOException
+        {
+            pass();
+            data.write(b);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException
+        {
+            pass();
+            data.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            pass();
+            flushes++;
+        }
+
+        @Override
+        public void close()
+        {
+            closed = true;
+        }
+
+        byte[] toByteArray()
+        {
+            return data.toByteArray();
+        }
+
+        int size()
+        {
+            return data.size();
+        }
+    }
+
+    private ExecutorService executor;
+    private GatedOutputStream out;
+
+    @Before
+    public void setup()
+    {
+        executor = Executors.newSingleThreadExecutor();
+        out = new GatedOutputStream();
+    }
+
+    @After
+    public void teardown() throws Exception
+    {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static byte[] bytes(final int length)
+    {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++)
+        {
+            bytes[i] = (byte) i;
+        }
+        return bytes;
+    }
+
+    @Test
+    public void testFlushDoesNotWait() throws IOException
+    {
+        final _Private_AsyncOutputStream async = new _Private_AsyncOutputStream(out, executor, 2);
+        async.write(bytes(100));
+        async.flush();
+        assertEquals(0, out.size());
+
+        out.gate.countDown();
+        async.close();
+        assertArrayEquals(bytes(100), out.toByteArray());
+        assertEquals(1, out.flushes);
+        assertTrue(out.closed);
+        assertFalse(out.writer == Thread.currentThread());
+    }
+
+    @Test
+    public void testWritesSpanningBlocks() throws IOException
+    {
+        out.gate.countDown();
+        final _Private_AsyncOutputStream async = new _Private_AsyncOutputStream(out, executor, 1);
+        final byte[] data = bytes(100000);
+        async.write(data, 0, 50000);
+        async.write(data[50000]);
+        async.flush();
+        async.write(data, 50001, data.length - 50001);
+        async.close();
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    public void testBackpressure() throws Exception
+    {
+        final _Private_AsyncOutputStream async = new _Private_AsyncOutputStream(out, executor, 1);
+        final CountDownLatch written = new CountDownLatch(1);
+        final Thread producer = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    // far more blocks than the queue holds
+                    async.write(bytes(1000000));
+                    written.countDown();
+                }
+                catch (final IOException e)
+                {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        producer.start();
+        assertFalse(written.await(100, TimeUnit.MILLISECONDS));
+
+        out.gate.countDown();
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        producer.join();
+        async.close();
+        assertArrayEquals(bytes(1000000), out.toByteArray());
+    }
+
+    @Test
+    public void testFailureReported() throws IOException
+    {
+        final IOException failure = new IOException("boom");
+        out.failure = failure;
+        out.gate.countDown();
+        final _Private_AsyncOutputStream async = new _Private_AsyncOutputStream(out, executor, 2);
+        async.write(bytes(10));
+        async.flush();
+        try
+        {
+            async.close();
+            fail("Expected failure");
+        }
+        catch (final IOException e)
+        {
+            assertSame(failure, e.getCause());
+        }
+        assertTrue(out.closed);
+    }
+
+    @Test
+    public void testRejectedExecution() throws IOException
+    {
+        executor.shutdown();
+        out.gate.countDown();
+        final _Private_AsyncOutputStream async = new _Private_AsyncOutputStream(out, executor, 2);
+        async.write(bytes(10));
+        async.close();
+        assertArrayEquals(bytes(10), out.toByteArray());
+        assertTrue(out.closed);
+    }
+
+    @Test
+    public void testWriterRunningOnTheExecutor() throws Exception
+    {
+        out.gate.countDown();
+        // the executor's only thread is busy writing, so it never gets to start the background task itself
+        final Future<?> writing = executor.submit(new Callable<Void>()
+        {
+            public Void call() throws IOException
+            {
+                final _Private_AsyncOutputStream async = new _Private_AsyncOutputStream(out, executor, 1);
+                async.write(bytes(1000000));
+                async.flush();
+                async.close();
+                return null;
+            }
+        });
+        writing.get(10, TimeUnit.SECONDS);
+        assertArrayEquals(bytes(1000000), out.toByteArray());
+        assertTrue(out.closed);
+    }
+}
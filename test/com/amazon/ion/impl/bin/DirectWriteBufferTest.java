@@ -0,0 +1,132 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import org.junit.Test;
+
+/**
+ * Runs the {@link WriteBufferTest} suite over off-heap blocks.
+ */
+public class DirectWriteBufferTest extends WriteBufferTest
+{
+    // XXX same prime block size as the heap tests so that we spill often
+    private static final BlockAllocator DIRECT_ALLOCATOR = new DirectBlockAllocatorProvider().vendAllocator(11);
+
+    @Override
+    protected BlockAllocator allocator()
+    {
+        return DIRECT_ALLOCATOR;
+    }
+
+    /** Records the buffers handed to it, requiring that they are direct. */
+    private static final class RecordingChannel implements WritableByteChannel
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final WritableByteChannel delegate = Channels.newChannel(out);
+        int directWrites = 0;
+
+        public int write(final ByteBuffer src) throws IOException
+        {
+            if (src.isDirect())
+            {
+                directWrites++;
+            }
+            return delegate.write(src);
+        }
+
+        public boolean isOpen()
+        {
+            return true;
+        }
+
+        public void close() {}
+    }
+
+    @Test
+    public void testIsDirect()
+    {
+        assertTrue(buf.isDirect());
+    }
+
+    @Test
+    public void testWriteToChannel() throws IOException
+    {
+        final byte[] bytes = "ARGLEFOOBARGLEDOOGLOOP".getBytes("UTF-8");
+        buf.writeBytes(bytes);
+
+        final RecordingChannel channel = new RecordingChannel();
+        buf.writeTo(channel);
+        assertArrayEquals(bytes, channel.out.toByteArray());
+        // the two full blocks go out without a heap copy
+        assertEquals(2, channel.directWrites);
+
+        // the channel must not disturb the buffer
+        final RecordingChannel again = new RecordingChannel();
+        buf.writeTo(again, 3, 12);
+        assertArrayEquals("LEFOOBARGLED".getBytes("UTF-8"), again.out.toByteArray());
+    }
+
+    @Test
+    public void testPatchOffHeapBlock()
+    {
+        for (int i = 0; i < 30; i++)
+        {
+            buf.writeByte((byte) 0);
+        }
+        buf.writeUInt8At(2, 0x42);
+        buf.writeVarUIntDirect2At(10, 0x3FFF);
+        assertEquals(0x42, buf.getUInt8At(2));
+        assertEquals(0x7F, buf.getUInt8At(10));
+        assertEquals(0xFF, buf.getUInt8At(11));
+    }
+
+    @Test
+    public void testTruncateIntoOffHeapBlock() throws IOException
+    {
+        buf.writeBytes("ARGLEFOOBARGLEDOOGLOOP".getBytes("UTF-8"));
+        buf.truncate(14);
+        buf.writeBytes("DOO".getBytes("UTF-8"));
+        assertBuffer("ARGLEFOOBARGLEDOO".getBytes("UTF-8"));
+        assertEquals(17, buf.position());
+    }
+
+    @Test
+    public void testDirectBlockReuse()
+    {
+        final DirectBlockAllocatorProvider.DirectBlockAllocator allocator =
+            (DirectBlockAllocatorProvider.DirectBlockAllocator) new DirectBlockAllocatorProvider().vendAllocator(4);
+        final ByteBuffer direct = allocator.allocateDirectBlock();
+        assertTrue(direct.isDirect());
+        assertEquals(4, direct.capacity());
+        direct.put((byte) 1);
+        allocator.releaseDirectBlock(direct);
+
+        final ByteBuffer again = allocator.allocateDirectBlock();
+        assertSame(direct, again);
+        assertEquals(0, again.position());
+        assertEquals(4, again.limit());
+    }
+}
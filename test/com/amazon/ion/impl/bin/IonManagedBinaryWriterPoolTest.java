@@ -0,0 +1,266 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package com.amazon.ion.impl.bin;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder.AllocatorMode;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.SimpleCatalog;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+
+@SuppressWarnings("deprecation")
+public class IonManagedBinaryWriterPoolTest
+{
+    private IonSystem system;
+    private _Private_IonManagedBinaryWriterBuilder builder;
+
+    @Before
+    public void setup()
+    {
+        system = IonSystemBuilder.standard().withCatalog(new SimpleCatalog()).build();
+        builder = _Private_IonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED);
+    }
+
+    private static void writeMessage(final IonWriter writer, final int n) throws IOException
+    {
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("id");
+        writer.writeInt(n);
+        writer.setFieldName("kind");
+        writer.writeSymbol("kind" + n);
+        writer.stepOut();
+    }
+
+    private byte[] expected(final _Private_IonManagedBinaryWriterBuilder builder, final int n) throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter writer = builder.newWriter(out);
+        writeMessage(writer, n);
+        writer.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testRebindMatchesNewWriter() throws IOException
+    {
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        final IonWriter writer = builder.newWriter(first);
+        writeMessage(writer, 1);
+
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        writer.asFacet(_Private_IonManagedWriter.class).rebind(second);
+        writeMessage(writer, 2);
+        writer.close();
+
+        assertArrayEquals(expected(builder, 1), first.toByteArray());
+        assertArrayEquals(expected(builder, 2), second.toByteArray());
+    }
+
+    @Test
+    public void testRebindReseedsInitialSymbolTable() throws IOException
+    {
+        final SymbolTable symbols = system.newLocalSymbolTable();
+        symbols.intern("kind1");
+        symbols.intern("kind2");
+        final _Private_IonManagedBinaryWriterBuilder seeded = builder.copy().withInitialSymbolTable(symbols);
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        final IonWriter writer = seeded.newWriter(first);
+        writeMessage(writer, 1);
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        writer.asFacet(_Private_IonManagedWriter.class).rebind(second);
+        writeMessage(writer, 2);
+        writer.close();
+
+        assertArrayEquals(expected(seeded, 1), first.toByteArray());
+        assertArrayEquals(expected(seeded, 2), second.toByteArray());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRebindInsideContainer() throws IOException
+    {
+        final IonWriter writer = builder.newWriter(new ByteArrayOutputStream());
+        writer.stepIn(IonType.LIST);
+        writer.asFacet(_Private_IonManagedWriter.class).rebind(new ByteArrayOutputStream());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRebindClosed() throws IOException
+    {
+        final IonWriter writer = builder.newWriter(new ByteArrayOutputStream());
+        writer.close();
+        writer.asFacet(_Private_IonManagedWriter.class).rebind(new ByteArrayOutputStream());
+    }
+
+    @Test
+    public void testAcquireReusesReleasedWriter() throws IOException
+    {
+        final _Private_IonManagedBinaryWriterPool pool = builder.newWriterPool(1);
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        final IonWriter writer = pool.acquire(first);
+        writeMessage(writer, 1);
+        pool.release(writer);
+        assertEquals(1, pool.getIdleCount());
+
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        assertSame(writer, pool.acquire(second));
+        assertEquals(0, pool.getIdleCount());
+        writeMessage(writer, 2);
+        pool.release(writer);
+
+        assertArrayEquals(expected(builder, 1), first.toByteArray());
+        assertArrayEquals(expected(builder, 2), second.toByteArray());
+    }
+
+    @Test
+    public void testReleaseLeavesStreamOpen() throws IOException
+    {
+        final _Private_IonManagedBinaryWriterPool pool = builder.newWriterPool(0);
+        final AtomicReference<Boolean> closed = new AtomicReference<Boolean>(Boolean.FALSE);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream()
+        {
+            @Override
+            public void close()
+            {
+                closed.set(Boolean.TRUE);
+            }
+        };
+        final IonWriter writer = pool.acquire(out);
+        writeMessage(writer, 1);
+        // the pool is full, so this closes the writer
+        pool.release(writer);
+        assertEquals(0, pool.getIdleCount());
+        assertFalse(closed.get());
+        assertArrayEquals(expected(builder, 1), out.toByteArray());
+    }
+
+    @Test
+    public void testAcquireDropsWriterThatFailsToRebind() throws IOException
+    {
+        final _Private_IonManagedBinaryWriterPool pool = builder.newWriterPool(1);
+        final IonWriter writer = pool.acquire(new ByteArrayOutputStream());
+        pool.release(writer);
+        // used after it was released
+        writer.close();
+
+        try
+        {
+            pool.acquire(new ByteArrayOutputStream());
+            fail("Expected IllegalStateException");
+        }
+        catch (final IllegalStateException e)
+        {
+            // expected
+        }
+        assertEquals(0, pool.getIdleCount());
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonWriter next = pool.acquire(out);
+        assertNotSame(writer, next);
+        writeMessage(next, 1);
+        pool.release(next);
+        assertArrayEquals(expected(builder, 1), out.toByteArray());
+    }
+
+    @Test
+    public void testReleaseInsideContainer() throws IOException
+    {
+        final _Private_IonManagedBinaryWriterPool pool = builder.newWriterPool(1);
+        final IonWriter writer = pool.acquire(new ByteArrayOutputStream());
+        writer.stepIn(IonType.LIST);
+        try
+        {
+            pool.release(writer);
+            fail("Expected IllegalStateException");
+        }
+        catch (final IllegalStateException e)
+        {
+            // expected
+        }
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeMaxIdle()
+    {
+        builder.newWriterPool(-1);
+    }
+
+    @Test
+    public void testConcurrentAcquireAndRelease() throws Exception
+    {
+        final _Private_IonManagedBinaryWriterPool pool = builder.newWriterPool(4);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++)
+        {
+            final int offset = t * 1000;
+            threads[t] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        for (int i = 0; i < 200; i++)
+                        {
+                            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                            final IonWriter writer = pool.acquire(out);
+                            writeMessage(writer, offset + i);
+                            pool.release(writer);
+
+                            final IonDatagram data = system.getLoader().load(out.toByteArray());
+                            if (!system.singleValue(expected(builder, offset + i)).equals(data.get(0)))
+                            {
+                                throw new AssertionError("Unexpected message " + data);
+                            }
+                        }
+                    }
+                    catch (final Throwable e)
+                    {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+        if (failure.get() != null)
+        {
+            throw new AssertionError(failure.get());
+        }
+    }
+}
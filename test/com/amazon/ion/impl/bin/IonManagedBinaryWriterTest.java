@@ -35,6 +35,7 @@ import com.amazon.ion.SystemSymbols;
 import com.amazon.ion.impl.bin.IonManagedBinaryWriter.ImportedSymbolResolverMode;
 import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder.AllocatorMode;
 import com.amazon.ion.junit.Injected.Inject;
+import com.amazon.ion.util.IonStreamUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
@@ -142,6 +143,12 @@ public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
         importedSymbolResolverMode = mode;
     }
 
+    /** sub-classes can configure the builder further before the test's options are applied. */
+    protected _Private_IonManagedBinaryWriterBuilder createBuilder()
+    {
+        return _Private_IonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED);
+    }
+
     @Override
     protected IonWriter createWriter(final OutputStream out) throws IOException
     {
@@ -155,8 +162,7 @@ public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
             catalog.putTable(table);
         }
 
-        final _Private_IonManagedBinaryWriterBuilder builder = _Private_IonManagedBinaryWriterBuilder
-            .create(AllocatorMode.POOLED)
+        final _Private_IonManagedBinaryWriterBuilder builder = createBuilder()
             .withImports(importedSymbolResolverMode, symbolTables)
             .withPreallocationMode(preallocationMode)
             .withFloatBinary32Enabled();
@@ -206,6 +212,54 @@ public class IonManagedBinaryWriterTest extends IonRawBinaryWriterTest
         assertValue("name");
     }
 
+    /** Writes a null array through each of the bulk list methods. */
+    private void writeNullLists() throws IOException
+    {
+        final IonWriter delegate = writer.getDelegate();
+        IonStreamUtils.writeBoolList(delegate, (boolean[]) null);
+        IonStreamUtils.writeFloatList(delegate, (float[]) null);
+        IonStreamUtils.writeFloatList(delegate, (double[]) null);
+        IonStreamUtils.writeIntList(delegate, (byte[]) null);
+        IonStreamUtils.writeIntList(delegate, (short[]) null);
+        IonStreamUtils.writeIntList(delegate, (int[]) null);
+        IonStreamUtils.writeIntList(delegate, (long[]) null);
+        IonStreamUtils.writeStringList(delegate, (String[]) null);
+    }
+
+    @Test
+    public void testBulkNullLists() throws Exception
+    {
+        writeNullLists();
+        writer.finish();
+
+        final IonDatagram dg = system().getLoader().load(writer.getBytes());
+        assertEquals(8, dg.size());
+        for (final IonValue value : dg)
+        {
+            assertEquals(IonType.LIST, value.getType());
+            assertTrue(value.isNullValue());
+        }
+    }
+
+    @Test
+    public void testBulkNullListsInLocalSymbolTable() throws Exception
+    {
+        // while a symbol table is being written, the lists go a value at a time
+        writer.addTypeAnnotation("$ion_symbol_table");
+        writer.stepIn(IonType.STRUCT);
+        writer.setFieldName("open_content");
+        writer.stepIn(IonType.LIST);
+        writeNullLists();
+        writer.stepOut();
+        writer.stepOut();
+        writer.writeSymbol("taco");
+        writer.finish();
+
+        final IonDatagram dg = system().getLoader().load(writer.getBytes());
+        assertEquals(1, dg.size());
+        assertEquals("taco", ((IonSymbol) dg.get(0)).stringValue());
+    }
+
     @Test
     public void testLocalSymbolTableAppend() throws Exception
     {
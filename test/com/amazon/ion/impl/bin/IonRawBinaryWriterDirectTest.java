@@ -0,0 +1,47 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.impl.bin.AbstractIonWriter.WriteValueOptimization;
+import com.amazon.ion.impl.bin.IonRawBinaryWriter.StreamCloseMode;
+import com.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Runs the {@link IonRawBinaryWriterTest} suite with off-heap buffers.
+ */
+public class IonRawBinaryWriterDirectTest extends IonRawBinaryWriterTest
+{
+    private static final DirectBlockAllocatorProvider PROVIDER = new DirectBlockAllocatorProvider();
+
+    @Override
+    protected IonWriter createWriter(final OutputStream out) throws IOException
+    {
+        return new IonRawBinaryWriter(
+            PROVIDER,
+            11,
+            out,
+            WriteValueOptimization.NONE,
+            StreamCloseMode.NO_CLOSE,
+            StreamFlushMode.NO_FLUSH,
+            preallocationMode,
+            true,
+            false
+        );
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import static com.amazon.ion.IonType.LIST;
+import static com.amazon.ion.IonType.SEXP;
+import static com.amazon.ion.IonType.STRUCT;
+
+import com.amazon.ion.IonWriter;
+import com.amazon.ion.Timestamp;
+import com.amazon.ion.impl.bin.AbstractIonWriter.WriteValueOptimization;
+import com.amazon.ion.impl.bin.IonRawBinaryWriter.PreallocationMode;
+import com.amazon.ion.impl.bin.IonRawBinaryWriter.StreamCloseMode;
+import com.amazon.ion.impl.bin.IonRawBinaryWriter.StreamFlushMode;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import org.junit.Test;
+
+/**
+ * Runs the {@link IonRawBinaryWriterTest} suite with patch-free encoding.
+ */
+public class IonRawBinaryWriterPatchFreeTest extends IonRawBinaryWriterTest
+{
+    @Override
+    protected IonWriter createWriter(final OutputStream out) throws IOException
+    {
+        return createWriter(out, preallocationMode, true);
+    }
+
+    private static IonRawBinaryWriter createWriter(final OutputStream out,
+                                                   final PreallocationMode preallocationMode,
+                                                   final boolean isPatchFreeEncodingEnabled)
+                                                   throws IOException
+    {
+        return new IonRawBinaryWriter(
+            BlockAllocatorProviders.basicProvider(),
+            11,
+            out,
+            WriteValueOptimization.NONE,
+            StreamCloseMode.NO_CLOSE,
+            StreamFlushMode.NO_FLUSH,
+            preallocationMode,
+            true,
+            isPatchFreeEncodingEnabled
+        );
+    }
+
+    /** Writes containers of all kinds, with lengths that fit in the type descriptor and lengths that don't. */
+    private static void writeNested(final IonRawBinaryWriter writer, final int count) throws IOException
+    {
+        for (int i = 0; i < count; i++)
+        {
+            writer.setTypeAnnotationSymbols(4 + i % 6);
+            writer.stepIn(STRUCT);
+            writer.setFieldNameSymbol(4);
+            writer.stepIn(LIST);
+            for (int j = 0; j < i; j++)
+            {
+                writer.writeString("value " + j);
+            }
+            writer.stepOut();
+            writer.setFieldNameSymbol(5);
+            writer.writeInt(i);
+            writer.setFieldNameSymbol(6);
+            // too large a coefficient for a long, so its length isn't known up front
+            writer.writeDecimal(new BigDecimal(BigInteger.TEN.pow(20 + i), i));
+            writer.setFieldNameSymbol(7);
+            writer.writeTimestamp(Timestamp.valueOf("2019-01-01T00:00:00." + (i + 1) + "Z"));
+            writer.stepOut();
+        }
+        writer.writeString("top-level");
+    }
+
+    /** Writes containers with lengths on either side of where their length fields need another byte. */
+    private static void writeLarge(final IonRawBinaryWriter writer) throws IOException
+    {
+        writer.stepIn(LIST);
+        for (int length = 0x70; length < 0x90; length++)
+        {
+            writer.stepIn(SEXP);
+            writer.writeBlob(new byte[length]);
+            writer.stepOut();
+        }
+        writer.stepIn(LIST);
+        writer.writeBlob(new byte[0x3FF0]);
+        writer.stepOut();
+        writer.stepOut();
+    }
+
+    private static byte[] encode(final PreallocationMode preallocationMode, final boolean isPatchFreeEncodingEnabled)
+                                 throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final IonRawBinaryWriter writer = createWriter(out, preallocationMode, isPatchFreeEncodingEnabled);
+        writer.writeIonVersionMarker();
+        writeNested(writer, 20);
+        writeLarge(writer);
+        writer.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testMinimalLengths() throws IOException
+    {
+        // padding is ignored, so the lengths come out as small as side patching makes them
+        final byte[] patchFree = encode(preallocationMode, true);
+        assertArrayEquals(encode(PreallocationMode.PREALLOCATE_0, false), patchFree);
+
+        final byte[] padded1 = encode(PreallocationMode.PREALLOCATE_1, false);
+        final byte[] padded2 = encode(PreallocationMode.PREALLOCATE_2, false);
+        assertTrue(patchFree.length < padded1.length);
+        assertTrue(patchFree.length < padded2.length);
+        assertEquals(system().getLoader().load(padded2), system().getLoader().load(patchFree));
+    }
+
+    @Test
+    public void testNoPatchPoints() throws IOException
+    {
+        final IonRawBinaryWriter patched = createWriter(new ByteArrayOutputStream(), preallocationMode, false);
+        writeNested(patched, 20);
+        writeLarge(patched);
+        assertTrue(patched.patchCount() > 0);
+        patched.close();
+
+        final IonRawBinaryWriter patchFree = createWriter(new ByteArrayOutputStream(), preallocationMode, true);
+        writeNested(patchFree, 20);
+        writeLarge(patchFree);
+        assertEquals(0, patchFree.patchCount());
+        patchFree.close();
+    }
+
+    @Test
+    public void testTruncateBetweenValues() throws IOException
+    {
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        final IonRawBinaryWriter unpadded = createWriter(expected, PreallocationMode.PREALLOCATE_0, false);
+        writeNested(unpadded, 3);
+        unpadded.close();
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final IonRawBinaryWriter patchFree = createWriter(actual, preallocationMode, true);
+        writeNested(patchFree, 3);
+        final long position = patchFree.position();
+        writeNested(patchFree, 10);
+        patchFree.truncate(position);
+        patchFree.close();
+
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+}
@@ -33,7 +33,9 @@ import static com.amazon.ion.SystemSymbols.NAME_SID;
 import static com.amazon.ion.SystemSymbols.VERSION_SID;
 import static com.amazon.ion.TestUtils.hexDump;
 import static com.amazon.ion.impl.bin.Symbols.systemSymbol;
+import static org.junit.Assume.assumeTrue;
 
+import com.amazon.ion.Decimal;
 import com.amazon.ion.IonException;
 import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonType;
@@ -41,6 +43,7 @@ import com.amazon.ion.IonValue;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.TestUtils;
 import com.amazon.ion.Timestamp;
+import com.amazon.ion.impl._Private_EpochCalendar;
 import com.amazon.ion.impl.bin.AbstractIonWriter.WriteValueOptimization;
 import com.amazon.ion.impl.bin.IonBinaryWriterAdapter.Factory;
 import com.amazon.ion.impl.bin.IonRawBinaryWriter.PreallocationMode;
@@ -50,6 +53,7 @@ import com.amazon.ion.junit.Injected;
 import com.amazon.ion.junit.Injected.Inject;
 import com.amazon.ion.junit.IonAssert;
 import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.util.IonStreamUtils;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigDecimal;
@@ -123,7 +127,8 @@ public class IonRawBinaryWriterTest extends Assert
             StreamCloseMode.NO_CLOSE,
             StreamFlushMode.NO_FLUSH,
             preallocationMode,
-            true
+            true,
+            false
         );
     }
 
@@ -310,6 +315,49 @@ public class IonRawBinaryWriterTest extends Assert
         assertValue(DECIMAL_45_DIGIT);
     }
 
+    private static final long[] LONG_DECIMAL_COEFFICIENTS = {
+        0, 1, -1, 127, -127, 128, -128, 0x7FFF, -0x8000, 0x7FFFFF, 0x800000, 0x7FFFFFFFL, -0x80000000L,
+        0x7FFFFFFFFFL, 0x7FFFFFFFFFFFL, 0x7FFFFFFFFFFFFFL, 0x80000000000000L, Long.MAX_VALUE, Long.MIN_VALUE
+    };
+
+    private static final int[] LONG_DECIMAL_SCALES = {0, 2, -3, 63, 64, -64, -65, 100000, Integer.MAX_VALUE};
+
+    @Test
+    public void testLongDecimal() throws Exception
+    {
+        for (final long coefficient : LONG_DECIMAL_COEFFICIENTS)
+        {
+            for (final int scale : LONG_DECIMAL_SCALES)
+            {
+                final BigDecimal value = BigDecimal.valueOf(coefficient, scale);
+                writer.writeDecimal(value);
+                assertValue(system().newDecimal(value).toString());
+            }
+        }
+
+        writer.writeDecimal(Decimal.negativeZero(2));
+        assertValue("-0.00");
+    }
+
+    @Test
+    public void testDecimalFromLong() throws Exception
+    {
+        final IonWriter delegate = writer.getDelegate();
+        if (!(delegate instanceof _Private_IonRawWriter))
+        {
+            return;
+        }
+        final _Private_IonRawWriter raw = (_Private_IonRawWriter) delegate;
+        for (final long coefficient : LONG_DECIMAL_COEFFICIENTS)
+        {
+            for (final int scale : LONG_DECIMAL_SCALES)
+            {
+                raw.writeDecimal(coefficient, scale);
+                assertValue(system().newDecimal(BigDecimal.valueOf(coefficient, scale)).toString());
+            }
+        }
+    }
+
     @Test
     public void testTimestamp() throws Exception
     {
@@ -342,6 +390,64 @@ public class IonRawBinaryWriterTest extends Assert
             TestUtils.hexDump(writer.getBytes()));
     }
 
+    private static final String[] PRIMITIVE_TIMESTAMPS = {
+        "2019T",
+        "2019-03T",
+        "2019-03-04",
+        "2019-03-04T05:06Z",
+        "2019-03-04T05:06-07:00",
+        "2019-03-04T05:06:07+08:30",
+        "2019-03-04T05:06:07.123-00:00",
+        "2019-03-04T05:06:07.000Z",
+        "2000-02-29T23:59:59.999999999Z",
+        "1969-12-31T23:59:59.5Z",
+        "1582-10-04T23:59:59Z",
+        "0001-01-01T00:00:00Z",
+        "9999-12-31T23:59:59.999+23:59",
+    };
+
+    @Test
+    public void testTimestampFromParts() throws Exception
+    {
+        assumeTrue(rawDelegate() != null);
+        for (final String text : PRIMITIVE_TIMESTAMPS)
+        {
+            final Timestamp ts = Timestamp.valueOf(text);
+            final long millis = ts.getMillis();
+            final long epochSecond = (long) Math.floor(millis / 1000.0);
+            final BigDecimal fraction = ts.getZDecimalSecond().subtract(BigDecimal.valueOf(ts.getZSecond()));
+            final int nanos = fraction.movePointRight(9).intValue();
+            final int digits = fraction.scale();
+            final Integer offset = ts.getLocalOffset();
+            rawDelegate().writeTimestamp(epochSecond, nanos, digits,
+                offset == null ? _Private_EpochCalendar.UNKNOWN_OFFSET : offset, ts.getPrecision());
+            assertValue(ts.toString());
+        }
+    }
+
+    @Test
+    public void testTimestampMillis() throws Exception
+    {
+        assumeTrue(rawDelegate() != null);
+        final long[] millis = {0, 1, -1, 1551675967123L, -12219292800001L, -62135769600000L};
+        for (final long value : millis)
+        {
+            rawDelegate().writeTimestampMillis(value, 0);
+            assertValue(Timestamp.forMillis(value, 0).toString());
+        }
+        rawDelegate().writeTimestampMillis(1551675967123L, -480);
+        assertValue(Timestamp.forMillis(1551675967123L, -480).toString());
+        rawDelegate().writeTimestampMillis(1551675967123L, _Private_EpochCalendar.UNKNOWN_OFFSET);
+        assertValue(Timestamp.forMillis(1551675967123L, null).toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTimestampFromPartsOutOfRange() throws Exception
+    {
+        assumeTrue(rawDelegate() != null);
+        rawDelegate().writeTimestampMillis(-62135769600000L, -1);
+    }
+
     // note that we stick to system symbols for round trip assertions
     @Test
     public void testSymbol() throws Exception
@@ -397,6 +503,20 @@ public class IonRawBinaryWriterTest extends Assert
         assertValue("'''" + bigStr + "'''");
     }
 
+    @Test
+    public void testStringMultiByte() throws Exception
+    {
+        final String text = "h\u00F4 \u30CF\u30ED \uD83D\uDCA9";
+        writer.writeString(text);
+        assertValue("\"" + text + "\"");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStringUnpairedSurrogate() throws Exception
+    {
+        writer.writeString("bad \uD83D surrogate");
+    }
+
     @Test
     public void testClob() throws Exception
     {
@@ -438,6 +558,139 @@ public class IonRawBinaryWriterTest extends Assert
         assertValue("imports::[name::\"kumo\"]");
     }
 
+    /** Writes through the bulk list API of the writer under test. */
+    private _Private_IonRawWriter rawDelegate()
+    {
+        final IonWriter delegate = writer.getDelegate();
+        return delegate instanceof _Private_IonRawWriter ? (_Private_IonRawWriter) delegate : null;
+    }
+
+    /**
+     * Writes an array of values as a list through the bulk list API of the raw writer under test, or through
+     * {@link IonStreamUtils} when the writer under test is not a raw writer.
+     */
+    private void writeList(final Object values) throws IOException
+    {
+        final _Private_IonRawWriter raw = rawDelegate();
+        final IonWriter delegate = writer.getDelegate();
+        if (values instanceof long[])
+        {
+            if (raw != null)
+            {
+                raw.writeInts((long[]) values);
+            }
+            else
+            {
+                IonStreamUtils.writeIntList(delegate, (long[]) values);
+            }
+        }
+        else if (values instanceof int[])
+        {
+            if (raw != null)
+            {
+                raw.writeInts((int[]) values);
+            }
+            else
+            {
+                IonStreamUtils.writeIntList(delegate, (int[]) values);
+            }
+        }
+        else if (values instanceof double[])
+        {
+            if (raw != null)
+            {
+                raw.writeFloats((double[]) values);
+            }
+            else
+            {
+                IonStreamUtils.writeFloatList(delegate, (double[]) values);
+            }
+        }
+        else if (values instanceof boolean[])
+        {
+            if (raw != null)
+            {
+                raw.writeBools((boolean[]) values);
+            }
+            else
+            {
+                IonStreamUtils.writeBoolList(delegate, (boolean[]) values);
+            }
+        }
+        else
+        {
+            if (raw != null)
+            {
+                raw.writeStrings((String[]) values);
+            }
+            else
+            {
+                IonStreamUtils.writeStringList(delegate, (String[]) values);
+            }
+        }
+    }
+
+    @Test
+    public void testBulkInts() throws Exception
+    {
+        writeList(new long[0]);
+        assertValue("[]");
+
+        writer.setTypeAnnotationSymbols(systemSymbol(NAME_SID));
+        writeList(new long[] {0, 1, -1, 255, 256, -65536, 1L << 40, Long.MAX_VALUE, Long.MIN_VALUE});
+        assertValue("name::[0, 1, -1, 255, 256, -65536, 1099511627776, 9223372036854775807, -9223372036854775808]");
+
+        writer.stepIn(IonType.STRUCT);
+        {
+            writer.setFieldNameSymbol(systemSymbol(NAME_SID));
+            writeList(new long[] {1, 2});
+        }
+        writer.stepOut();
+        assertValue("{name:[1, 2]}");
+    }
+
+    @Test
+    public void testBulkIntsFromInts() throws Exception
+    {
+        final int[] values = {0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        writeList(values);
+        assertValue("[0, 1, -1, 2147483647, -2147483648]");
+    }
+
+    @Test
+    public void testBulkFloats() throws Exception
+    {
+        final double[] values = {0.0, 1.5, 0.1, Double.NaN, Double.NEGATIVE_INFINITY};
+        writeList(values);
+        assertValue("[0e0, 1.5e0, 0.1e0, nan, -inf]");
+    }
+
+    @Test
+    public void testBulkBools() throws Exception
+    {
+        final boolean[] values = {true, false, true};
+        writeList(values);
+        assertValue("[true, false, true]");
+    }
+
+    @Test
+    public void testBulkStrings() throws Exception
+    {
+        final String[] values = {"", "kumo", null, "a string that is longer than thirteen octets", "\u00e9\u20ac\ud83d\ude00"};
+        writeList(values);
+        assertValue("[\"\", \"kumo\", null.string, \"a string that is longer than thirteen octets\", \"\\u00e9\\u20ac\\U0001f600\"]");
+    }
+
+    @Test
+    public void testBulkNullList() throws Exception
+    {
+        if (rawDelegate() != null)
+        {
+            rawDelegate().writeInts((long[]) null);
+            assertValue("null.list");
+        }
+    }
+
     @Test
     public void testSexp() throws Exception
     {
@@ -482,5 +735,74 @@ public class IonRawBinaryWriterTest extends Assert
         assertValue("{name:\"kumo\", version:1, imports:[0, 1, 2]}");
     }
 
+    @Test
+    public void testNestedSidePatches() throws Exception
+    {
+        // large enough that every container level needs a side patch in all preallocation modes
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 300; i++)
+        {
+            text.append((char) ('a' + (i % 26)));
+        }
+        final String value = text.toString();
+
+        final StringBuilder expected = new StringBuilder("[");
+        writer.stepIn(IonType.LIST);
+        {
+            for (int i = 0; i < 60; i++)
+            {
+                if (i > 0)
+                {
+                    expected.append(", ");
+                }
+                expected.append("(\"").append(value).append("\" [\"").append(value).append("\"])");
+                writer.stepIn(IonType.SEXP);
+                {
+                    writer.writeString(value);
+                    writer.stepIn(IonType.LIST);
+                    {
+                        writer.writeString(value);
+                    }
+                    writer.stepOut();
+                }
+                writer.stepOut();
+            }
+        }
+        writer.stepOut();
+        expected.append("]");
+        assertValue(expected.toString());
+    }
+
+    @Test
+    public void testDeeplyNestedSidePatches() throws Exception
+    {
+        // every level has small siblings that don't need a patch ahead of the one that does
+        final int depth = 100;
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 300; i++)
+        {
+            text.append((char) ('a' + (i % 26)));
+        }
+        final String value = text.toString();
+
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < depth; i++)
+        {
+            writer.stepIn(IonType.LIST);
+            writer.stepIn(IonType.LIST);
+            writer.writeInt(i);
+            writer.stepOut();
+            expected.append("[[").append(i).append("], ");
+        }
+        writer.writeString(value);
+        expected.append('"').append(value).append('"');
+        for (int i = 0; i < depth; i++)
+        {
+            writer.stepOut();
+            expected.append(']');
+        }
+        assertValue(expected.toString());
+    }
+
     // TODO test large stuff...
 }
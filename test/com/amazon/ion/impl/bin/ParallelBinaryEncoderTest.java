@@ -0,0 +1,155 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonList;
+import com.amazon.ion.IonStruct;
+import com.amazon.ion.IonSystem;
+import com.amazon.ion.SymbolTable;
+import com.amazon.ion.impl.bin._Private_IonManagedBinaryWriterBuilder.AllocatorMode;
+import com.amazon.ion.junit.IonAssert;
+import com.amazon.ion.system.IonSystemBuilder;
+import com.amazon.ion.system.SimpleCatalog;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelBinaryEncoderTest
+{
+    private IonSystem system;
+    private ExecutorService executor;
+
+    @Before
+    public void setup()
+    {
+        system = IonSystemBuilder.standard().withCatalog(new SimpleCatalog()).build();
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void teardown()
+    {
+        executor.shutdown();
+    }
+
+    private IonDatagram newData(final int count)
+    {
+        final IonDatagram data = system.newDatagram();
+        for (int i = 0; i < count; i++)
+        {
+            final IonStruct struct = system.newEmptyStruct();
+            struct.setTypeAnnotations("record" + (i % 3));
+            struct.put("id", system.newInt(i));
+            struct.put("name", system.newString("value " + i));
+            struct.put("kind", system.newSymbol("kind" + (i % 17)));
+            final IonList tags = system.newEmptyList();
+            tags.add(system.newSymbol("tag" + i));
+            tags.add(system.newSymbol("name"));
+            struct.put("field" + (i % 5), tags);
+            data.add(struct);
+            data.add(system.newSymbol("top" + (i % 11)));
+        }
+        return data;
+    }
+
+    private byte[] encode(final _Private_IonManagedBinaryWriterBuilder builder,
+                          final IonDatagram data,
+                          final int valuesPerTask)
+                          throws IOException
+    {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new _Private_ParallelBinaryEncoder(builder, executor, valuesPerTask).encode(data, out);
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        final IonDatagram data = newData(500);
+        final byte[] bytes = encode(_Private_IonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED), data, 7);
+        IonAssert.assertIonEquals(data, system.getLoader().load(bytes));
+    }
+
+    @Test
+    public void testValuesLeftAsTheyAre() throws IOException
+    {
+        final IonDatagram data = newData(50);
+        encode(_Private_IonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED), data, 7);
+        assertFalse(data.isReadOnly());
+        assertFalse(data.get(0).isReadOnly());
+        // still ours to change
+        ((IonStruct) data.get(0)).put("id", system.newInt(-1));
+        data.add(system.newString("more"));
+    }
+
+    @Test
+    public void testSingleSymbolTable() throws IOException
+    {
+        final IonDatagram data = newData(100);
+        final byte[] bytes = encode(_Private_IonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED), data, 10);
+
+        // a single table, declaring each symbol once
+        final IonDatagram loaded = system.getLoader().load(bytes);
+        assertEquals(data.size(), loaded.size());
+        assertEquals(data.size() + 2, loaded.systemSize());
+        final SymbolTable symbols = loaded.get(0).getSymbolTable();
+        for (int i = 1; i < loaded.size(); i++)
+        {
+            assertTrue(symbols == loaded.get(i).getSymbolTable());
+        }
+    }
+
+    @Test
+    public void testImports() throws IOException
+    {
+        final SymbolTable shared = system.newSharedSymbolTable(
+            "shared", 1, Collections.singletonList("name").iterator()
+        );
+        ((SimpleCatalog) system.getCatalog()).putTable(shared);
+        final IonDatagram data = newData(50);
+        final byte[] bytes = encode(
+            _Private_IonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED).withImports(shared), data, 3
+        );
+        IonAssert.assertIonEquals(data, system.getLoader().load(bytes));
+    }
+
+    @Test
+    public void testEmpty() throws IOException
+    {
+        final byte[] bytes = encode(
+            _Private_IonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED), system.newDatagram(), 3
+        );
+        assertEquals(0, bytes.length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testValuesPerTaskNotPositive()
+    {
+        new _Private_ParallelBinaryEncoder(
+            _Private_IonManagedBinaryWriterBuilder.create(AllocatorMode.POOLED), executor, 0
+        );
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StripedBlockAllocatorProviderTest
+{
+    private StripedBlockAllocatorProvider provider;
+
+    @Before
+    public void setup()
+    {
+        provider = new StripedBlockAllocatorProvider();
+    }
+
+    @After
+    public void teardown()
+    {
+        // make sure the provider is not retained
+        provider = null;
+    }
+
+    @Test
+    public void testReuseBlockAfterClose()
+    {
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final Block block1 = allocator.allocateBlock();
+        final Block block2 = allocator.allocateBlock();
+        assertNotSame(block1.data, block2.data);
+        assertEquals(0, block1.limit);
+        assertEquals(8, block1.data.length);
+        block1.limit = 7;
+        block1.close();
+        final Block block1Again = allocator.allocateBlock();
+        assertSame(block1.data, block1Again.data);
+        assertEquals(0, block1Again.limit);
+    }
+
+    @Test
+    public void testSameAllocatorForSameBlockSize()
+    {
+        assertSame(provider.vendAllocator(8), provider.vendAllocator(8));
+        assertNotSame(provider.vendAllocator(8), provider.vendAllocator(16));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidBlockSize()
+    {
+        provider.vendAllocator(0);
+    }
+
+    @Test
+    public void testSpillPastThreadCacheIntoSharedPool()
+    {
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final int count = StripedBlockAllocatorProvider.THREAD_CACHE_MAX_BLOCKS * 4;
+        final List<Block> blocks = new ArrayList<Block>();
+        for (int i = 0; i < count; i++)
+        {
+            blocks.add(allocator.allocateBlock());
+        }
+        for (final Block block : blocks)
+        {
+            block.close();
+        }
+
+        // everything released should come back--first from the thread cache, then the shared pool
+        final Map<Block, Boolean> reallocated = new IdentityHashMap<Block, Boolean>();
+        for (int i = 0; i < count; i++)
+        {
+            reallocated.put(allocator.allocateBlock(), Boolean.TRUE);
+        }
+        for (final Block block : blocks)
+        {
+            assertTrue(reallocated.containsKey(block));
+        }
+    }
+
+    @Test
+    public void testBlocksReleasedOnOneThreadAreVisibleToAnother() throws Exception
+    {
+        final BlockAllocator allocator = provider.vendAllocator(8);
+        final int count = StripedBlockAllocatorProvider.THREAD_CACHE_MAX_BLOCKS * 2;
+        final List<Block> blocks = new ArrayList<Block>();
+        for (int i = 0; i < count; i++)
+        {
+            blocks.add(allocator.allocateBlock());
+        }
+
+        // release on another thread--overflowing its cache into the shared pool
+        final Thread releaser = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                for (final Block block : blocks)
+                {
+                    block.close();
+                }
+            }
+        };
+        releaser.start();
+        releaser.join();
+
+        final AtomicReference<Block> stolen = new AtomicReference<Block>();
+        final Thread thief = new Thread()
+        {
+            @Override
+            public void run()
+            {
+                stolen.set(allocator.allocateBlock());
+            }
+        };
+        thief.start();
+        thief.join();
+
+        assertTrue(blocks.contains(stolen.get()));
+        assertEquals(0, stolen.get().limit);
+    }
+
+    @Test
+    public void testConcurrentAllocateAndClose() throws Exception
+    {
+        final BlockAllocator allocator = provider.vendAllocator(64);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++)
+        {
+            threads[t] = new Thread()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        final Map<Block, Boolean> owned = new IdentityHashMap<Block, Boolean>();
+                        for (int i = 0; i < 10000; i++)
+                        {
+                            final Block block = allocator.allocateBlock();
+                            if (owned.put(block, Boolean.TRUE) != null)
+                            {
+                                throw new AssertionError("Block allocated twice");
+                            }
+                            block.limit = 1;
+                            if (i % 3 == 0)
+                            {
+                                for (final Block ownedBlock : owned.keySet())
+                                {
+                                    ownedBlock.close();
+                                }
+                                owned.clear();
+                            }
+                        }
+                    }
+                    catch (final Throwable e)
+                    {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+        if (failure.get() != null)
+        {
+            throw new AssertionError(failure.get());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package com.amazon.ion.impl.bin;
+
+import static com.amazon.ion.impl.bin.Symbols.symbol;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.amazon.ion.SymbolToken;
+import java.util.Iterator;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SymbolIdMapTest
+{
+    private SymbolIdMap map;
+
+    @Before
+    public void setup()
+    {
+        map = new SymbolIdMap();
+    }
+
+    @Test
+    public void testGetMissing()
+    {
+        assertNull(map.get("foo"));
+        map.put(symbol("foo", 10));
+        assertNull(map.get("bar"));
+    }
+
+    @Test
+    public void testPutAndGetAcrossGrowth()
+    {
+        final int count = 1000;
+        final SymbolToken[] tokens = new SymbolToken[count];
+        for (int i = 0; i < count; i++)
+        {
+            tokens[i] = symbol("symbol" + i, 10 + i);
+            map.put(tokens[i]);
+        }
+        assertEquals(count, map.size());
+        for (int i = 0; i < count; i++)
+        {
+            // look up with an equal, but not identical, string
+            assertSame(tokens[i], map.get(new String("symbol" + i)));
+            assertSame(tokens[i], map.tokenAt(i));
+        }
+    }
+
+    @Test
+    public void testCollidingHashes()
+    {
+        // "Aa" and "BB" share a hash code
+        final SymbolToken aa = symbol("Aa", 10);
+        final SymbolToken bb = symbol("BB", 11);
+        map.put(aa);
+        map.put(bb);
+        assertSame(aa, map.get("Aa"));
+        assertSame(bb, map.get("BB"));
+    }
+
+    @Test
+    public void testInsertionOrder()
+    {
+        final String[] texts = {"zebra", "apple", "mango", "", "kiwi"};
+        for (int i = 0; i < texts.length; i++)
+        {
+            map.put(symbol(texts[i], 10 + i));
+        }
+        final Iterator<String> iter = map.textIterator();
+        for (final String text : texts)
+        {
+            assertEquals(text, iter.next());
+        }
+        assertFalse(iter.hasNext());
+    }
+
+    @Test
+    public void testClear()
+    {
+        for (int i = 0; i < 100; i++)
+        {
+            map.put(symbol("symbol" + i, 10 + i));
+        }
+        map.clear();
+        assertEquals(0, map.size());
+        assertNull(map.get("symbol0"));
+        assertFalse(map.textIterator().hasNext());
+
+        final SymbolToken token = symbol("symbol0", 10);
+        map.put(token);
+        assertSame(token, map.get("symbol0"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testTokenAtOutOfBounds()
+    {
+        map.put(symbol("foo", 10));
+        map.tokenAt(1);
+    }
+}
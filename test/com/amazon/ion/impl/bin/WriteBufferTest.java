@@ -18,10 +18,12 @@ package com.amazon.ion.impl.bin;
 import static com.amazon.ion.TestUtils.hexDump;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import org.junit.After;
 import org.junit.Before;
@@ -32,12 +34,17 @@ public class WriteBufferTest
     // XXX make this a prime to make it more likely that we collide on the edges of the buffer
     private static BlockAllocator ALLOCATOR = BlockAllocatorProviders.basicProvider().vendAllocator(11);
 
-    private WriteBuffer buf;
+    protected WriteBuffer buf;
+
+    protected BlockAllocator allocator()
+    {
+        return ALLOCATOR;
+    }
 
     @Before
     public void setup()
     {
-        buf = new WriteBuffer(ALLOCATOR);
+        buf = new WriteBuffer(allocator());
     }
 
     @After
@@ -60,7 +67,7 @@ public class WriteBufferTest
         return out.toByteArray();
     }
 
-    private void assertBuffer(final byte[] expected)
+    protected void assertBuffer(final byte[] expected)
     {
 
         final byte[] actual = bytes();
@@ -903,6 +910,56 @@ public class WriteBufferTest
         catch (final IllegalArgumentException e) {}
     }
 
+    @Test
+    public void testUTF8Spanning() throws IOException
+    {
+        // XXX a single call that straddles several blocks with every encoded length, including a split surrogate pair
+        final String text = "hello \u00F4\u30CF\uD83D\uDCA9 world \u30ED\u00F4\uD83D\uDCA9\uD83D\uDCA9!!";
+        buf.writeUTF8("ab");
+        final int octets = buf.writeUTF8(text);
+        final byte[] expected = ("ab" + text).getBytes("UTF-8");
+        assertEquals(expected.length - 2, octets);
+        assertBuffer(expected);
+    }
+
+    @Test
+    public void testUTF8Length() throws IOException
+    {
+        final String[] texts = {
+            "",
+            "hello world",
+            "h\u00F4!",
+            "\u30CF\u30ED World",
+            "\uD83D\uDCA9",
+            "mixed \u00F4\u30CF\uD83D\uDCA9 text",
+        };
+        for (final String text : texts)
+        {
+            assertEquals(text, text.getBytes("UTF-8").length, WriteBuffer.utf8Length(text));
+        }
+    }
+
+    @Test
+    public void testUTF8LengthBadSurrogate()
+    {
+        final String[] texts = {
+            "\uD83D",
+            "\uD83D ",
+            "\u00F4\uD83D ",
+            "\uDCA9",
+            "\u30CF\uDCA9\uD83D",
+        };
+        for (final String text : texts)
+        {
+            try
+            {
+                WriteBuffer.utf8Length(text);
+                fail("Expected error!");
+            }
+            catch (final IllegalArgumentException e) {}
+        }
+    }
+
     @Test
     public void testBytes() throws IOException
     {
@@ -921,4 +978,38 @@ public class WriteBufferTest
         buf.truncate(3);
         assertBuffer("ARG".getBytes("UTF-8"));
     }
+
+    @Test
+    public void testTruncateAndRewrite() throws IOException
+    {
+        buf.writeBytes("ARGLEFOOBARGLEDOOARGLEFOO".getBytes("UTF-8"));
+        buf.truncate(3);
+        // the blocks after the truncated one get reused
+        buf.writeBytes("BARGLEDOOARGLEFOOBARGLE".getBytes("UTF-8"));
+        assertBuffer("ARGBARGLEDOOARGLEFOOBARGLE".getBytes("UTF-8"));
+    }
+
+    @Test
+    public void testBytesFromByteBuffer() throws IOException
+    {
+        final ByteBuffer bytes = ByteBuffer.wrap("XXARGLEFOOBARGLEDOOXX".getBytes("UTF-8"));
+        bytes.position(2);
+        bytes.limit(bytes.limit() - 2);
+        buf.writeBytes("ARG".getBytes("UTF-8"));
+        buf.writeBytes(bytes);
+        assertFalse(bytes.hasRemaining());
+        assertBuffer("ARGARGLEFOOBARGLEDOO".getBytes("UTF-8"));
+    }
+
+    @Test
+    public void testWriteToBuffer() throws IOException
+    {
+        final WriteBuffer source = new WriteBuffer(allocator());
+        source.writeBytes("ARGLEFOOBARGLEDOOARGLE".getBytes("UTF-8"));
+        buf.writeBytes("DOO".getBytes("UTF-8"));
+        source.writeTo(buf, 5, 12);
+        source.writeTo(buf, 0, 5);
+        source.close();
+        assertBuffer("DOOFOOBARGLEDOOARGLE".getBytes("UTF-8"));
+    }
 }
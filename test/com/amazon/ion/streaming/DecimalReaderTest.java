@@ -0,0 +1,172 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazon.ion.streaming;
+
+import com.amazon.ion.Decimal;
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonType;
+import com.amazon.ion.ReaderMaker;
+import com.amazon.ion.facet.Facets;
+import com.amazon.ion.impl._Private_DecimalReader;
+import com.amazon.ion.junit.Injected.Inject;
+import java.math.BigDecimal;
+import org.junit.Test;
+
+public class DecimalReaderTest
+    extends ReaderFacetTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS = BINARY_READERS;
+
+    private static final BigDecimal[] LONG_DECIMALS = {
+        BigDecimal.ZERO,
+        new BigDecimal("0.00"),
+        new BigDecimal("1.23"),
+        new BigDecimal("-1.23"),
+        new BigDecimal("19.99"),
+        new BigDecimal("-128e10"),
+        BigDecimal.valueOf(Long.MAX_VALUE, 4),
+        BigDecimal.valueOf(Long.MIN_VALUE, -7),
+        BigDecimal.valueOf(-0x7FFFFFFFFFFFFFL, 1),
+    };
+
+    private static final BigDecimal BIG_DECIMAL = new BigDecimal("123456789012345678901234567890.123456789");
+
+    private _Private_DecimalReader decimals;
+
+    public DecimalReaderTest()
+    {
+        mySpanProviderRequired = false;
+        mySeekableReaderRequired = false;
+    }
+
+    @Override
+    protected void initFacets()
+    {
+        super.initFacets();
+        decimals = Facets.assumeFacet(_Private_DecimalReader.class, in);
+    }
+
+    private void readDecimals(BigDecimal... values)
+    {
+        IonDatagram dg = system().newDatagram();
+        for (BigDecimal value : values)
+        {
+            dg.add().newDecimal(value);
+        }
+        read(dg.getBytes());
+    }
+
+    @Test
+    public void testLongDecimals()
+    {
+        readDecimals(LONG_DECIMALS);
+        for (BigDecimal expected : LONG_DECIMALS)
+        {
+            assertEquals(IonType.DECIMAL, in.next());
+            assertTrue(decimals.decimalFitsInLong());
+            assertEquals(expected.unscaledValue().longValue(), decimals.unscaledDecimalValue());
+            assertEquals(expected.scale(), decimals.decimalScale());
+        }
+        expectEof();
+    }
+
+    @Test
+    public void testDecimalValueAfterParts()
+    {
+        readDecimals(LONG_DECIMALS);
+        for (BigDecimal expected : LONG_DECIMALS)
+        {
+            in.next();
+            decimals.unscaledDecimalValue();
+            assertEquals(expected, in.decimalValue());
+            assertEquals(expected.doubleValue(), in.doubleValue(), 0);
+        }
+    }
+
+    @Test
+    public void testPartsAfterDecimalValue()
+    {
+        readDecimals(LONG_DECIMALS);
+        for (BigDecimal expected : LONG_DECIMALS)
+        {
+            in.next();
+            assertEquals(expected, in.decimalValue());
+            assertEquals(expected.unscaledValue().longValue(), decimals.unscaledDecimalValue());
+            assertEquals(expected.scale(), decimals.decimalScale());
+        }
+    }
+
+    @Test
+    public void testBigDecimal()
+    {
+        readDecimals(BIG_DECIMAL);
+        in.next();
+        assertFalse(decimals.decimalFitsInLong());
+        assertEquals(BIG_DECIMAL.scale(), decimals.decimalScale());
+        try
+        {
+            decimals.unscaledDecimalValue();
+            fail("Expected IllegalStateException");
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+        assertEquals(BIG_DECIMAL, in.decimalValue());
+    }
+
+    @Test
+    public void testNegativeZero()
+    {
+        readDecimals(Decimal.negativeZero(2));
+        in.next();
+        assertFalse(decimals.decimalFitsInLong());
+        assertEquals(2, decimals.decimalScale());
+        assertTrue(Decimal.isNegativeZero(in.decimalValue()));
+        assertEquals(2, in.decimalValue().scale());
+    }
+
+    @Test
+    public void testDecimalsInContainer()
+    {
+        read("{price:9.99, name:\"widget\"}");
+        in.next();
+        in.stepIn();
+        in.next();
+        assertEquals(999, decimals.unscaledDecimalValue());
+        assertEquals(2, decimals.decimalScale());
+        assertEquals(IonType.STRING, in.next());
+        assertEquals("widget", in.stringValue());
+        expectEof();
+        in.stepOut();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotDecimal()
+    {
+        read("1");
+        in.next();
+        decimals.decimalScale();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNullDecimal()
+    {
+        read("null.decimal");
+        in.next();
+        decimals.decimalFitsInLong();
+    }
+}
@@ -25,6 +25,9 @@ import com.amazon.ion.Span;
 import com.amazon.ion.SpanProvider;
 import com.amazon.ion.TextSpan;
 import com.amazon.ion.facet.Facets;
+import com.amazon.ion.impl._Private_DecimalReader;
+import com.amazon.ion.impl._Private_TimestampReader;
+import com.amazon.ion.impl._Private_Utf8StringReader;
 import org.junit.After;
 
 
@@ -52,6 +55,14 @@ public abstract class ReaderFacetTestCase
     public static final ReaderMaker[] NON_TEXT_SPAN_READERS =
         ReaderMaker.valuesWithout(ReaderMaker.Feature.TEXT);
 
+    /**
+     * These are the readers of Ion binary, which support the
+     * {@link _Private_DecimalReader}, {@link _Private_TimestampReader} and
+     * {@link _Private_Utf8StringReader} facets.
+     */
+    public static final ReaderMaker[] BINARY_READERS =
+        ReaderMaker.valuesWith(ReaderMaker.Feature.BINARY);
+
     /**
      * These readers don't support the {@link SeekableReader} facet.
      *
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazon.ion.streaming;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonType;
+import com.amazon.ion.ReaderMaker;
+import com.amazon.ion.Timestamp;
+import com.amazon.ion.facet.Facets;
+import com.amazon.ion.impl._Private_EpochCalendar;
+import com.amazon.ion.impl._Private_TimestampReader;
+import com.amazon.ion.junit.Injected.Inject;
+import java.math.BigDecimal;
+import org.junit.Test;
+
+public class TimestampReaderTest
+    extends ReaderFacetTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS = BINARY_READERS;
+
+    private static final Timestamp[] TIMESTAMPS = {
+        Timestamp.valueOf("2019T"),
+        Timestamp.valueOf("2019-03T"),
+        Timestamp.valueOf("2019-03-04"),
+        Timestamp.valueOf("2019-03-04T05:06Z"),
+        Timestamp.valueOf("2019-03-04T05:06-07:00"),
+        Timestamp.valueOf("2019-03-04T05:06:07+08:30"),
+        Timestamp.valueOf("2019-03-04T05:06:07.123-00:00"),
+        Timestamp.valueOf("2019-03-04T05:06:07.000Z"),
+        Timestamp.valueOf("2000-02-29T23:59:59.999999999Z"),
+        Timestamp.valueOf("1969-12-31T23:59:59.5Z"),
+        Timestamp.valueOf("1582-10-15T00:00:00Z"),
+        Timestamp.valueOf("1582-10-04T23:59:59Z"),
+        Timestamp.valueOf("1000-01-01T12:00Z"),
+        Timestamp.valueOf("0001-01-01T00:00:00Z"),
+        Timestamp.valueOf("9999-12-31T23:59:59.999Z"),
+        Timestamp.valueOf("2019-03-04T05:06:07.1234567890123Z"),
+        Timestamp.valueOf("2019-03-04T05:06:07.12345678901234567890123456789Z"),
+    };
+
+    private _Private_TimestampReader timestamps;
+
+    public TimestampReaderTest()
+    {
+        mySpanProviderRequired = false;
+        mySeekableReaderRequired = false;
+    }
+
+    @Override
+    protected void initFacets()
+    {
+        super.initFacets();
+        timestamps = Facets.assumeFacet(_Private_TimestampReader.class, in);
+    }
+
+    private void readTimestamps(Timestamp... values)
+    {
+        IonDatagram dg = system().newDatagram();
+        for (Timestamp value : values)
+        {
+            dg.add().newTimestamp(value);
+        }
+        read(dg.getBytes());
+    }
+
+    private void checkParts(Timestamp expected)
+    {
+        long millis = expected.getMillis();
+        assertEquals(expected.toString(), millis, timestamps.timestampEpochMillis());
+        assertEquals(expected.toString(), Math.floor(millis / 1000.0), timestamps.timestampEpochSecond(), 0);
+
+        BigDecimal fraction = expected.getZDecimalSecond().subtract(BigDecimal.valueOf(expected.getZSecond()));
+        int nanos = fraction.movePointRight(9).intValue();
+        assertEquals(expected.toString(), nanos, timestamps.timestampNanos());
+        int digits = Math.max(0, fraction.scale());
+        assertEquals(expected.toString(), digits, timestamps.timestampFractionDigits());
+
+        Integer offset = expected.getLocalOffset();
+        assertEquals(offset == null ? _Private_EpochCalendar.UNKNOWN_OFFSET : offset.intValue(),
+                     timestamps.timestampLocalOffset());
+        assertEquals(expected.getPrecision(), timestamps.timestampPrecision());
+    }
+
+    @Test
+    public void testParts()
+    {
+        readTimestamps(TIMESTAMPS);
+        for (Timestamp expected : TIMESTAMPS)
+        {
+            assertEquals(IonType.TIMESTAMP, in.next());
+            checkParts(expected);
+        }
+        expectEof();
+    }
+
+    @Test
+    public void testTimestampValueAfterParts()
+    {
+        readTimestamps(TIMESTAMPS);
+        for (Timestamp expected : TIMESTAMPS)
+        {
+            in.next();
+            timestamps.timestampEpochMillis();
+            assertEquals(expected, in.timestampValue());
+        }
+    }
+
+    @Test
+    public void testPartsAfterTimestampValue()
+    {
+        readTimestamps(TIMESTAMPS);
+        for (Timestamp expected : TIMESTAMPS)
+        {
+            in.next();
+            assertEquals(expected, in.timestampValue());
+            checkParts(expected);
+        }
+    }
+
+    @Test
+    public void testTimestampsInContainer()
+    {
+        Timestamp created = Timestamp.valueOf("2019-03-04T05:06:07.890Z");
+        read("{created:" + created + ", name:\"widget\"}");
+        in.next();
+        in.stepIn();
+        in.next();
+        assertEquals(created.getMillis(), timestamps.timestampEpochMillis());
+        assertEquals(IonType.STRING, in.next());
+        assertEquals("widget", in.stringValue());
+        expectEof();
+        in.stepOut();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotTimestamp()
+    {
+        read("1");
+        in.next();
+        timestamps.timestampEpochMillis();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNullTimestamp()
+    {
+        read("null.timestamp");
+        in.next();
+        timestamps.timestampPrecision();
+    }
+}
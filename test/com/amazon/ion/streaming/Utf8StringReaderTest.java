@@ -0,0 +1,176 @@
+/*
+ * Copyright 2007-2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+package com.amazon.ion.streaming;
+
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
+import com.amazon.ion.IonType;
+import com.amazon.ion.ReaderMaker;
+import com.amazon.ion.facet.Facets;
+import com.amazon.ion.impl._Private_Utf8StringReader;
+import com.amazon.ion.junit.Injected.Inject;
+import java.nio.charset.Charset;
+import org.junit.Test;
+
+public class Utf8StringReaderTest
+    extends ReaderFacetTestCase
+{
+    @Inject("readerMaker")
+    public static final ReaderMaker[] READER_MAKERS = BINARY_READERS;
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static final String[] STRINGS = {
+        "",
+        "hello",
+        "h\u00e9llo",
+        "\u65e5\u672c\u8a9e",
+        "smile \uD83D\uDE00",
+        longString(100000),
+        "after the long one",
+    };
+
+    private static String longString(int length)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++)
+        {
+            builder.append(i % 7 == 0 ? '\u00e9' : (char) ('a' + i % 26));
+        }
+        return builder.toString();
+    }
+
+    private _Private_Utf8StringReader strings;
+
+    public Utf8StringReaderTest()
+    {
+        mySpanProviderRequired = false;
+        mySeekableReaderRequired = false;
+    }
+
+    @Override
+    protected void initFacets()
+    {
+        super.initFacets();
+        strings = Facets.assumeFacet(_Private_Utf8StringReader.class, in);
+    }
+
+    private void readStrings(String... values)
+    {
+        IonDatagram dg = system().newDatagram();
+        for (String value : values)
+        {
+            dg.add().newString(value);
+        }
+        read(dg.getBytes());
+    }
+
+    private String utf8()
+    {
+        return new String(strings.stringUtf8Bytes(), strings.stringUtf8Offset(), strings.stringUtf8Length(), UTF8);
+    }
+
+    @Test
+    public void testUtf8Bytes()
+    {
+        readStrings(STRINGS);
+        for (String expected : STRINGS)
+        {
+            assertEquals(IonType.STRING, in.next());
+            assertEquals(expected.getBytes(UTF8).length, strings.stringUtf8Length());
+            assertEquals(expected, utf8());
+            assertTrue(strings.stringEquals(expected.getBytes(UTF8)));
+            assertFalse(strings.stringEquals((expected + "!").getBytes(UTF8)));
+            assertEquals(expected, strings.stringCharSequence().toString());
+        }
+        expectEof();
+    }
+
+    @Test
+    public void testStringValueAfterBytes()
+    {
+        readStrings(STRINGS);
+        for (String expected : STRINGS)
+        {
+            in.next();
+            strings.stringUtf8Length();
+            assertEquals(expected, in.stringValue());
+        }
+    }
+
+    @Test
+    public void testBytesAfterStringValue()
+    {
+        readStrings(STRINGS);
+        for (String expected : STRINGS)
+        {
+            in.next();
+            assertEquals(expected, in.stringValue());
+            assertEquals(expected, utf8());
+            assertTrue(strings.stringEquals(expected.getBytes(UTF8)));
+        }
+    }
+
+    @Test
+    public void testCharSequenceIsReused()
+    {
+        read("\"abc\" \"de\"");
+        in.next();
+        CharSequence first = strings.stringCharSequence();
+        assertEquals(3, first.length());
+        assertEquals('b', first.charAt(1));
+        in.next();
+        CharSequence second = strings.stringCharSequence();
+        assertSame(first, second);
+        assertEquals("de", second.toString());
+    }
+
+    @Test
+    public void testStringsInStruct()
+    {
+        read("{route:\"orders\", count:3}");
+        in.next();
+        in.stepIn();
+        in.next();
+        assertTrue(strings.stringEquals("orders".getBytes(UTF8)));
+        assertEquals(IonType.INT, in.next());
+        assertEquals(3, in.intValue());
+        in.stepOut();
+    }
+
+    @Test(expected = IonException.class)
+    public void testInvalidUtf8()
+    {
+        read(new byte[] {(byte) 0xE0, 0x01, 0x00, (byte) 0xEA, (byte) 0x82, (byte) 0xC3, 0x28});
+        in.next();
+        strings.stringCharSequence();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotString()
+    {
+        read("1");
+        in.next();
+        strings.stringUtf8Length();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNullString()
+    {
+        read("null.string");
+        in.next();
+        strings.stringUtf8Bytes();
+    }
+}
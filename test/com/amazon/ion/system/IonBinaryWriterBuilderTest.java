@@ -18,13 +18,18 @@ package com.amazon.ion.system;
 import static com.amazon.ion.TestUtils.symbolTableEquals;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonStruct;
+import com.amazon.ion.IonSymbol;
 import com.amazon.ion.IonSystem;
+import com.amazon.ion.IonType;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.impl.Symtabs;
@@ -34,6 +39,10 @@ import com.amazon.ion.impl._Private_Utils;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -141,6 +150,127 @@ public class IonBinaryWriterBuilderTest
     }
 
 
+    //-------------------------------------------------------------------------
+
+    @Test
+    public void testAutoFlushThreshold()
+    {
+        IonBinaryWriterBuilder b = IonBinaryWriterBuilder.standard();
+        assertEquals(0, b.getAutoFlushThreshold());
+        b.setAutoFlushThreshold(1024);
+        assertEquals(1024, b.getAutoFlushThreshold());
+
+        IonBinaryWriterBuilder b2 = b.immutable().withAutoFlushThreshold(0);
+        assertEquals(1024, b.getAutoFlushThreshold());
+        assertEquals(0, b2.getAutoFlushThreshold());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAutoFlushThresholdImmutability()
+    {
+        IonBinaryWriterBuilder b = IonBinaryWriterBuilder.standard();
+        b.setAutoFlushThreshold(1024);
+
+        IonBinaryWriterBuilder b2 = b.immutable();
+        assertEquals(1024, b2.getAutoFlushThreshold());
+        b2.setAutoFlushThreshold(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAutoFlushThresholdNegative()
+    {
+        IonBinaryWriterBuilder.standard().setAutoFlushThreshold(-1);
+    }
+
+    private void checkAutoFlush(IonBinaryWriterBuilder b) throws IOException
+    {
+        IonSystem system = IonSystemBuilder.standard().build();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = b.withAutoFlushThreshold(64).build(out);
+        int flushes = 0;
+        for (int i = 0; i < 100; i++)
+        {
+            int size = out.size();
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("field" + (i % 10));
+            writer.writeSymbol("symbol" + i);
+            writer.stepOut();
+            if (out.size() != size)
+            {
+                flushes++;
+                // no more than a value past the threshold is ever buffered
+                assertTrue(out.size() - size < 64 * 2);
+            }
+        }
+        assertTrue(flushes > 10);
+        writer.close();
+
+        IonDatagram dg = system.getLoader().load(out.toByteArray());
+        assertEquals(100, dg.size());
+        for (int i = 0; i < 100; i++)
+        {
+            IonStruct struct = (IonStruct) dg.get(i);
+            assertEquals("symbol" + i, ((IonSymbol) struct.get("field" + (i % 10))).stringValue());
+        }
+    }
+
+    @Test
+    public void testAsyncOutput() throws IOException
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            IonBinaryWriterBuilder b = IonBinaryWriterBuilder.standard()
+                .withAsyncOutputExecutor(executor)
+                .withAsyncOutputQueueDepth(1)
+                .immutable();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IonWriter writer = b.build(out);
+            for (int i = 0; i < 10000; i++)
+            {
+                writer.writeString("value " + i);
+                if (i % 1000 == 0)
+                {
+                    writer.flush();
+                }
+            }
+            writer.close();
+
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            writer = IonBinaryWriterBuilder.standard().build(expected);
+            for (int i = 0; i < 10000; i++)
+            {
+                writer.writeString("value " + i);
+                if (i % 1000 == 0)
+                {
+                    writer.flush();
+                }
+            }
+            writer.close();
+
+            assertArrayEquals(expected.toByteArray(), out.toByteArray());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAutoFlush() throws IOException
+    {
+        checkAutoFlush(IonBinaryWriterBuilder.standard());
+    }
+
+    @Test
+    public void testAutoFlushWithLocalSymbolTableAppend() throws IOException
+    {
+        checkAutoFlush(IonBinaryWriterBuilder.standard().withLocalSymbolTableAppendEnabled());
+    }
+
+
     //-------------------------------------------------------------------------
 
     @Test
@@ -387,4 +517,131 @@ public class IonBinaryWriterBuilderTest
         b.setImports(new SymbolTable[0]);
         assertArrayEquals(new SymbolTable[0], b.getImports());
     }
+
+
+    /** Collects everything written to it, counting the calls. */
+    private static final class RecordingChannel
+        implements GatheringByteChannel
+    {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int gatheringWrites;
+        int writes;
+        boolean open = true;
+
+        public long write(ByteBuffer[] srcs, int offset, int length)
+        {
+            gatheringWrites++;
+            long total = 0;
+            for (int i = offset; i < offset + length; i++)
+            {
+                total += drain(srcs[i]);
+            }
+            return total;
+        }
+
+        public long write(ByteBuffer[] srcs)
+        {
+            return write(srcs, 0, srcs.length);
+        }
+
+        public int write(ByteBuffer src)
+        {
+            writes++;
+            return drain(src);
+        }
+
+        private int drain(ByteBuffer src)
+        {
+            int length = src.remaining();
+            while (src.hasRemaining())
+            {
+                bytes.write(src.get());
+            }
+            return length;
+        }
+
+        public boolean isOpen()
+        {
+            return open;
+        }
+
+        public void close()
+        {
+            open = false;
+        }
+    }
+
+    private static void writeNestedData(IonWriter writer)
+        throws IOException
+    {
+        for (int i = 0; i < 50; i++)
+        {
+            writer.stepIn(IonType.STRUCT);
+            writer.setFieldName("name");
+            writer.writeSymbol("sym" + (i % 5));
+            writer.setFieldName("values");
+            writer.stepIn(IonType.LIST);
+            for (int j = 0; j < i; j++)
+            {
+                writer.writeString("value " + j);
+            }
+            writer.stepOut();
+            writer.stepOut();
+        }
+    }
+
+    @Test
+    public void testBuildChannel()
+        throws IOException
+    {
+        IonBinaryWriterBuilder b = IonBinaryWriterBuilder.standard();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        IonWriter streamWriter = b.build(expected);
+        writeNestedData(streamWriter);
+        streamWriter.close();
+
+        RecordingChannel channel = new RecordingChannel();
+        IonWriter writer = b.build(channel);
+        writeNestedData(writer);
+        writer.finish();
+
+        // the symbol table, data, and length patches all go out together
+        assertEquals(1, channel.gatheringWrites);
+        assertEquals(0, channel.writes);
+        assertArrayEquals(expected.toByteArray(), channel.bytes.toByteArray());
+
+        writer.close();
+        assertFalse(channel.isOpen());
+    }
+
+    @Test
+    public void testBuildChannelWithAsyncOutput()
+        throws IOException
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            IonBinaryWriterBuilder b = IonBinaryWriterBuilder.standard();
+
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            IonWriter streamWriter = b.build(expected);
+            writeNestedData(streamWriter);
+            streamWriter.close();
+
+            RecordingChannel channel = new RecordingChannel();
+            IonWriter writer = b.withAsyncOutputExecutor(executor).build(channel);
+            writeNestedData(writer);
+            writer.close();
+
+            // the data went through the background task
+            assertEquals(0, channel.gatheringWrites);
+            assertArrayEquals(expected.toByteArray(), channel.bytes.toByteArray());
+            assertFalse(channel.isOpen());
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
 }
@@ -20,12 +20,18 @@ import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 
 import com.amazon.ion.IonCatalog;
+import com.amazon.ion.IonDatagram;
+import com.amazon.ion.IonException;
 import com.amazon.ion.IonReader;
+import com.amazon.ion.IonSystem;
 import com.amazon.ion.IonType;
 import com.amazon.ion.IonWriter;
 import com.amazon.ion.impl._Private_IonBinaryWriterBuilder;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -111,4 +117,109 @@ public class IonReaderBuilderTest
         assertEquals(42, reader.intValue());
     }
 
+    private static byte[] binaryInts(int count) throws IOException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IonWriter writer = _Private_IonBinaryWriterBuilder.standard().build(out);
+        for (int i = 0; i < count; i++)
+        {
+            writer.writeInt(i);
+        }
+        writer.close();
+        return out.toByteArray();
+    }
+
+    private static void assertInts(int count, IonReader reader) throws IOException
+    {
+        for (int i = 0; i < count; i++)
+        {
+            assertEquals(IonType.INT, reader.next());
+            assertEquals(i, reader.intValue());
+        }
+        assertEquals(null, reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void testBuildFromHeapByteBuffer() throws IOException
+    {
+        byte[] ion = binaryInts(100);
+        byte[] padded = new byte[ion.length + 10];
+        System.arraycopy(ion, 0, padded, 7, ion.length);
+        ByteBuffer buffer = ByteBuffer.wrap(padded, 2, ion.length + 5).slice();
+        buffer.position(5);
+        buffer.limit(5 + ion.length);
+        assertInts(100, IonReaderBuilder.standard().build(buffer));
+        assertEquals(5, buffer.position());
+    }
+
+    @Test
+    public void testBuildFromDirectByteBuffer() throws IOException
+    {
+        byte[] ion = binaryInts(100);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(ion.length);
+        buffer.put(ion);
+        buffer.flip();
+        assertInts(100, IonReaderBuilder.standard().build(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testBuildFromDirectByteBufferNested() throws IOException
+    {
+        IonSystem system = IonSystemBuilder.standard().build();
+        IonDatagram expected = system.getLoader().load(
+            "a::b::{c: [1, 2.5e0, \"three\", {d: (e f::g)}], h: \"a string long enough to be worth decoding in place\"} i::null.int"
+        );
+        byte[] ion = expected.getBytes();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(ion.length + 3);
+        buffer.position(3);
+        buffer.put(ion);
+        buffer.position(3);
+        IonReader reader = IonReaderBuilder.standard().build(buffer);
+        assertEquals(expected, system.getLoader().load(reader));
+        reader.close();
+
+        // a read-only heap buffer has no accessible array either
+        buffer = ByteBuffer.wrap(ion).asReadOnlyBuffer();
+        assertEquals(expected, system.getLoader().load(IonReaderBuilder.standard().build(buffer)));
+    }
+
+    @Test
+    public void testBuildFromTextByteBuffer() throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap("0 1 2".getBytes("UTF-8")).asReadOnlyBuffer();
+        assertInts(3, IonReaderBuilder.standard().build(buffer));
+    }
+
+    @Test
+    public void testBuildFromFile() throws IOException
+    {
+        File file = File.createTempFile("IonReaderBuilderTest", ".10n");
+        try
+        {
+            FileOutputStream out = new FileOutputStream(file);
+            try
+            {
+                out.write(binaryInts(10000));
+            }
+            finally
+            {
+                out.close();
+            }
+            assertInts(10000, IonReaderBuilder.standard().build(file));
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testBuildFromMissingFile()
+    {
+        thrown.expect(IonException.class);
+        IonReaderBuilder.standard().build(new File("does-not-exist.10n"));
+    }
+
 }
@@ -34,9 +34,12 @@ import com.amazon.ion.IonWriter;
 import com.amazon.ion.SymbolTable;
 import com.amazon.ion.impl.Symtabs;
 import com.amazon.ion.impl._Private_IonWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -434,4 +437,57 @@ public class IonTextWriterBuilderTest
         assertEquals(99, b2.getLongStringThreshold());
         b2.setLongStringThreshold(80);
     }
+
+
+    //-------------------------------------------------------------------------
+
+
+    @Test
+    public void testAsyncOutput() throws Exception
+    {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try
+        {
+            IonTextWriterBuilder b = IonTextWriterBuilder.standard();
+            assertEquals(null, b.getAsyncOutputExecutor());
+            assertEquals(IonTextWriterBuilder.DEFAULT_ASYNC_OUTPUT_QUEUE_DEPTH,
+                         b.getAsyncOutputQueueDepth());
+
+            b = b.withAsyncOutputExecutor(executor).withAsyncOutputQueueDepth(1);
+            assertSame(executor, b.getAsyncOutputExecutor());
+            assertEquals(1, b.getAsyncOutputQueueDepth());
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IonWriter writer = b.build(out);
+            for (int i = 0; i < 10000; i++)
+            {
+                writer.writeInt(i);
+            }
+            writer.close();
+
+            StringBuilder expected = new StringBuilder();
+            for (int i = 0; i < 10000; i++)
+            {
+                expected.append(i == 0 ? "" : " ").append(i);
+            }
+            assertEquals(expected.toString(), out.toString("UTF-8"));
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAsyncOutputImmutability()
+    {
+        IonTextWriterBuilder b = IonTextWriterBuilder.standard().immutable();
+        b.setAsyncOutputQueueDepth(4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAsyncOutputQueueDepthNotPositive()
+    {
+        IonTextWriterBuilder.standard().setAsyncOutputQueueDepth(0);
+    }
 }